@@ -0,0 +1,111 @@
+package com.example.blogs.app.api.user.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of registering a taken username through a failing insert that is rolled back,
+ * as the JPA save path did, with {@code INSERT ... ON CONFLICT DO NOTHING RETURNING} followed by the conflict probe.
+ * Runs against the database in {@code POSTGRES_URL}, {@code POSTGRES_USERNAME} and {@code POSTGRES_PASSWORD}
+ * using a temporary copy of the users table, so no data is written to the real one.
+ * The failing path excludes Hibernate and Spring exception translation, so it understates the old cost.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserInsertConflictBenchmark {
+
+    private static final String TAKEN_USERNAME = "taken";
+
+    private Connection connection;
+
+    private PreparedStatement plainInsert;
+
+    private PreparedStatement conflictFreeInsert;
+
+    private PreparedStatement usernameProbe;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getenv("POSTGRES_URL"),
+                System.getenv("POSTGRES_USERNAME"),
+                System.getenv("POSTGRES_PASSWORD")
+        );
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMPORARY TABLE users (LIKE public.users INCLUDING ALL)");
+            statement.execute("INSERT INTO users (username, email, password_hash) "
+                    + "VALUES ('" + TAKEN_USERNAME + "', 'taken@example.com', 'hash')");
+        }
+
+        plainInsert = connection.prepareStatement(
+                "INSERT INTO users (username, email, password_hash) VALUES (?, ?, ?)"
+        );
+        conflictFreeInsert = connection.prepareStatement(
+                "INSERT INTO users (username, email, password_hash) VALUES (?, ?, ?) "
+                        + "ON CONFLICT DO NOTHING RETURNING id, token_epoch"
+        );
+        usernameProbe = connection.prepareStatement(
+                "SELECT EXISTS (SELECT 1 FROM users WHERE lower(username) = lower(?))"
+        );
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public boolean failingInsertWithRollback() throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            bind(plainInsert);
+            plainInsert.executeUpdate();
+            connection.commit();
+            return false;
+        } catch (SQLException e) {
+            connection.rollback();
+            return true;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    @Benchmark
+    public boolean onConflictDoNothingWithProbe() throws SQLException {
+        bind(conflictFreeInsert);
+        try (ResultSet inserted = conflictFreeInsert.executeQuery()) {
+            if (inserted.next()) {
+                return false;
+            }
+        }
+
+        usernameProbe.setString(1, TAKEN_USERNAME);
+        try (ResultSet probe = usernameProbe.executeQuery()) {
+            probe.next();
+            return probe.getBoolean(1);
+        }
+    }
+
+    private static void bind(PreparedStatement statement) throws SQLException {
+        statement.setString(1, TAKEN_USERNAME);
+        statement.setString(2, "new@example.com");
+        statement.setString(3, "hash");
+    }
+}
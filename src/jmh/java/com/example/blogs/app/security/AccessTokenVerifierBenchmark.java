@@ -0,0 +1,157 @@
+package com.example.blogs.app.security;
+
+import com.example.blogs.app.config.JWTConfig;
+import com.example.blogs.app.config.JWTDecoderConfig;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares authenticating an access token through the previous decoder path
+ * (a JJWT parser built per request, a Spring {@code Jwt}, and the principal converter)
+ * with the HS256 fast path of {@link AccessTokenVerifierImpl}, with and without the verified token cache.
+ * Run with {@code ./gradlew jmh}; the gc profiler reports allocated bytes per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AccessTokenVerifierBenchmark {
+
+    private static final String SECRET_KEY = "benchmark-secret-key-that-is-at-least-256-bits-long";
+
+    private final SigningKeyRing signingKeyRing = new SigningKeyRingImpl(SECRET_KEY, "");
+
+    private final SecretKey signingKey = signingKeyRing.activeKey().secretKey();
+
+    private final PrincipalCache principalCache = new UnusedPrincipalCache();
+
+    private final JWTToUserPrincipalConverter converter = new JWTToUserPrincipalConverter(principalCache);
+
+    private AccessTokenVerifier verifier;
+
+    private AccessTokenVerifier cachingVerifier;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        var decoder = new JWTDecoderConfig().jwtDecoder(new JWTConfig(signingKeyRing).jwtParser());
+        verifier = new AccessTokenVerifierImpl(
+                signingKeyRing, decoder, converter, new NoOpVerifiedTokenCache(), principalCache
+        );
+        cachingVerifier = new AccessTokenVerifierImpl(
+                signingKeyRing,
+                decoder,
+                converter,
+                new VerifiedTokenCacheImpl(10_000, new SimpleMeterRegistry()),
+                principalCache
+        );
+        token = Jwts.builder()
+                .header().keyId(signingKeyRing.activeKey().id()).and()
+                .subject("9f1c2d3e-4b5a-6789-0abc-def012345678")
+                .claims(Map.of(
+                        "id", "12345",
+                        "username", "john_doe",
+                        "email", "john@example.com",
+                        "profilePictureUrl", "https://cdn.example.com/avatars/12345.png",
+                        "epoch", 0,
+                        "type", "access"
+                ))
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + Duration.ofDays(1).toMillis()))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    @Benchmark
+    public Object decoderPath() {
+        return decodeAndConvert();
+    }
+
+    @Benchmark
+    public UserPrincipal fastPath() {
+        return verifier.verify(token);
+    }
+
+    @Benchmark
+    public UserPrincipal cachedPath() {
+        return cachingVerifier.verify(token);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object decoderPathContended() {
+        return decodeAndConvert();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPrincipal fastPathContended() {
+        return verifier.verify(token);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPrincipal cachedPathContended() {
+        return cachingVerifier.verify(token);
+    }
+
+    private Object decodeAndConvert() {
+        Claims claims = Jwts.parser()
+                .verifyWith(signingKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        Jwt jwt = new Jwt(
+                token,
+                claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant(),
+                Map.of("alg", "HS256", "typ", "JWT"),
+                Map.copyOf(claims)
+        );
+        return converter.convert(jwt).getPrincipal();
+    }
+
+    private static final class NoOpVerifiedTokenCache implements VerifiedTokenCache {
+
+        @Override
+        public UserPrincipal get(String token) {
+            return null;
+        }
+
+        @Override
+        public void put(String token, UserPrincipal principal, Instant expiresAt) {
+        }
+    }
+
+    /**
+     * Benchmark tokens carry the full claim set, so the principal cache is never consulted.
+     */
+    private static final class UnusedPrincipalCache implements PrincipalCache {
+
+        @Override
+        public UserPrincipal get(Long userId) {
+            throw new IllegalStateException("Unexpected slim token");
+        }
+
+        @Override
+        public void invalidate(Long userId) {
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.blogs.app.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the pooled token hasher with the original per-call {@code MessageDigest.getInstance} implementation.
+ * Run with {@code ./gradlew jmh}; the gc profiler reports allocated bytes per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HasherBenchmark {
+
+    /**
+     * Refresh token of realistic size: header, claims with id, username, email, epoch, type and jti, signature.
+     */
+    private static final String REFRESH_TOKEN = "eyJhbGciOiJIUzI1NiJ9."
+            + "eyJzdWIiOiIxMjM0NSIsImlkIjoxMjM0NSwidXNlcm5hbWUiOiJqb2huX2RvZSIsImVtYWlsIjoiam9obkBleGFtcGxlLmNvbSIs"
+            + "InByb2ZpbGVQaWN0dXJlVXJsIjoiaHR0cHM6Ly9jZG4uZXhhbXBsZS5jb20vYXZhdGFycy8xMjM0NS5wbmciLCJlcG9jaCI6MCwi"
+            + "dHlwZSI6InJlZnJlc2giLCJqdGkiOiIwMUpBWjNYUTdNOFRWMlNYUEpaQ0s0RkJZRSIsImlhdCI6MTcyOTAwMDAwMCwiZXhwIjox"
+            + "NzI5NjA0ODAwfQ."
+            + "Xq3l4cN1u2k0n8yQmXn9l8m7v6b5c4d3e2f1g0h9i8j";
+
+    private HasherImpl pooledHasher;
+
+    @Setup
+    public void setUp() {
+        pooledHasher = new HasherImpl();
+    }
+
+    @Benchmark
+    public String perCallInstanceHex() throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hash = digest.digest(REFRESH_TOKEN.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(hash);
+    }
+
+    @Benchmark
+    public TokenHash pooledBinary() {
+        return pooledHasher.hash(REFRESH_TOKEN);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String perCallInstanceHexContended() throws NoSuchAlgorithmException {
+        return perCallInstanceHex();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public TokenHash pooledBinaryContended() {
+        return pooledHasher.hash(REFRESH_TOKEN);
+    }
+}
@@ -15,8 +15,8 @@ import org.springframework.web.bind.annotation.*;
 
 /**
  * REST controller for user authentication, registration, and token management.
- * Provides endpoints for user registration, login, token refresh, logout, and
- * retrieving authenticated user information.
+ * Provides endpoints for user registration, name availability checks, login, token refresh, logout,
+ * logout from all devices, and retrieving authenticated user information.
  */
 @Tag(name = "Authentication", description = "User authentication and registration endpoints")
 @RestController
@@ -40,6 +40,24 @@ public class AuthController {
                 .body(authService.register(registerRequest));
     }
 
+    /**
+     * Reports whether a username and an email address are still free to register.
+     *
+     * @param username the username to check, optional
+     * @param email    the email address to check, optional
+     * @return HTTP 200 with the availability of each queried name
+     */
+    @AuthControllerDocs.Availability
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityResponse> availability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(authService.checkAvailability(username, email));
+    }
+
     /**
      * Authenticates a user and returns authentication tokens.
      *
@@ -69,10 +87,10 @@ public class AuthController {
     }
 
     /**
-     * Refreshes the access token using a valid refresh token.
+     * Refreshes the access token using a valid refresh token and rotates the refresh token.
      *
      * @param tokenRequest the refresh token request containing the refresh token
-     * @return HTTP 200 with a new access token
+     * @return HTTP 200 with a new access token and the rotated refresh token
      */
     @AuthControllerDocs.Refresh
     @PostMapping("/refresh")
@@ -94,4 +112,17 @@ public class AuthController {
         authService.logout(logoutRequest);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
+
+    /**
+     * Revokes every refresh token of the authenticated user to logout from all devices.
+     *
+     * @param user the authenticated user principal from the JWT token
+     * @return HTTP 204 No Content on successful logout
+     */
+    @AuthControllerDocs.LogoutAll
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(@AuthenticationPrincipal UserPrincipal user) {
+        authService.logoutAll(user.id());
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
 }
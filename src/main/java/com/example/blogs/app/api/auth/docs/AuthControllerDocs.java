@@ -1,5 +1,6 @@
 package com.example.blogs.app.api.auth.docs;
 
+import com.example.blogs.app.api.auth.dto.AvailabilityResponse;
 import com.example.blogs.app.api.auth.dto.TokenPair;
 import com.example.blogs.app.exception.ErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -244,6 +245,78 @@ public class AuthControllerDocs {
     public @interface Register {
     }
 
+    /**
+     * Meta-annotation combining all OpenAPI documentation for the name availability endpoint.
+     * <p>
+     * Apply this annotation to controller methods to include complete API documentation
+     * for username and email availability checks, including response schemas and examples.
+     * </p>
+     */
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Operation(
+            summary = "Check username and email availability",
+            description = """
+                    Reports whether a username and an email address are still free to register.
+                                
+                    ## Parameters
+                    - **username**: Username to check (optional)
+                    - **email**: Email address to check (optional)
+                                
+                    ## Response
+                    Returns the availability of each queried name; names that were not queried are omitted.
+                    Names are compared ignoring case.
+                                
+                    ## Notes
+                    - Registration performs the same check before hashing the password
+                    - A name reported as available can still be taken by a concurrent registration
+                    """,
+            tags = {"Authentication"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Availability of the queried names",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = AvailabilityResponse.class),
+                            examples = @ExampleObject(
+                                    name = "Availability",
+                                    summary = "Username is free, email is taken",
+                                    value = """
+                                            {
+                                              "usernameAvailable": true,
+                                              "emailAvailable": false
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error - unexpected failure",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    name = "Server Error",
+                                    summary = "Unexpected error occurred during the availability check",
+                                    value = """
+                                            {
+                                              "timestamp": "2024-12-22T02:36:59.123456",
+                                              "status": 500,
+                                              "error": "Internal Server Error",
+                                              "message": "An unexpected error occurred while processing your request",
+                                              "path": "/auth/availability"
+                                            }
+                                            """
+                            )
+                    )
+            )
+    })
+    public @interface Availability {
+    }
+
     /**
      * Meta-annotation combining all OpenAPI documentation for the user login endpoint.
      * <p>
@@ -522,7 +595,7 @@ public class AuthControllerDocs {
     @Operation(
             summary = "Refresh access token",
             description = """
-                    Generates a new access token using a valid refresh token.
+                    Generates a new access token using a valid refresh token and rotates the refresh token.
                                 
                     ## Requirements
                     - Valid refresh token obtained from login or registration
@@ -530,8 +603,9 @@ public class AuthControllerDocs {
                     - Token type must be "refresh"
                                 
                     ## Response
-                    Returns a new access token with updated expiration:
+                    Returns a new access token with updated expiration and a rotated refresh token:
                     - **Access Token**: Short-lived token for API authentication (15 min)
+                    - **Refresh Token**: Replaces the presented refresh token and keeps its expiration
                                 
                     ## Use Case
                     Use this endpoint when your access token has expired but your refresh token is still valid.
@@ -541,23 +615,25 @@ public class AuthControllerDocs {
                     - Refresh token is validated and verified
                     - User claims are preserved from the original refresh token
                     - Only refresh token type is accepted (access tokens will be rejected)
+                    - Each refresh token can be used once; replaying a used refresh token revokes the session
                     """,
             tags = {"Authentication"}
     )
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
-                    description = "Successfully refreshed access token",
+                    description = "Successfully refreshed access token and rotated refresh token",
                     content = @Content(
                             mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = com.example.blogs.app.api.auth.dto.AccessTokenResponse.class),
                             examples = @ExampleObject(
                                     name = "New Access Token",
                                     summary = "New access token generated",
-                                    description = "Fresh access token with updated expiration",
+                                    description = "Fresh access token with updated expiration and the rotated refresh token",
                                     value = """
                                             {
-                                              "accessToken": "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.eyJzdWIiOiIxMjMiLCJ1c2VybmFtZSI6ImpvaG5kb2UiLCJpYXQiOjE3MDMyNTYwMDAsImV4cCI6MTcwMzI1NjkwMH0.signature"
+                                              "accessToken": "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.eyJzdWIiOiIxMjMiLCJ1c2VybmFtZSI6ImpvaG5kb2UiLCJpYXQiOjE3MDMyNTYwMDAsImV4cCI6MTcwMzI1NjkwMH0.signature",
+                                              "refreshToken": "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.eyJzdWIiOiJqb2huZG9lIiwiaWF0IjoxNzAzMjU2MDAwLCJleHAiOjE3MDM4NjA4MDB9.signature"
                                             }
                                             """
                             )
@@ -721,6 +797,7 @@ public class AuthControllerDocs {
                     - Token is hashed before storage to prevent token exposure
                     - Expired tokens are automatically cleaned up by scheduled task
                     - Once revoked, the token cannot be used to refresh access tokens
+                    - Revoking a token also revokes every token rotated within the same session
                     - Duplicate revocation attempts return 409 Conflict
                     """,
             tags = {"Authentication"}
@@ -854,4 +931,109 @@ public class AuthControllerDocs {
     })
     public @interface Logout {
     }
+
+    /**
+     * Meta-annotation combining all OpenAPI documentation for the logout from all devices endpoint.
+     * <p>
+     * Apply this annotation to controller methods to include complete API documentation
+     * for revoking every refresh token of the authenticated user.
+     * </p>
+     */
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Operation(
+            summary = "Logout user from all devices",
+            description = """
+                    Revokes every refresh token issued to the authenticated user.
+                                
+                    ## Requirements
+                    - Valid JWT access token must be provided in Authorization header
+                    - Token must not be expired
+                                
+                    ## Response
+                    Returns HTTP 204 No Content on successful revocation
+                                
+                    ## Use Case
+                    Use this endpoint when a user wants to sign out everywhere, e.g. after losing a device
+                    or suspecting that the account was compromised.
+                                
+                    ## Security
+                    - Increments the user's token epoch; refresh tokens carrying an older epoch are rejected
+                    - Costs a single row update regardless of the number of active sessions
+                    - Access tokens already issued remain valid until they expire
+                    """,
+            tags = {"Authentication"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "All refresh tokens revoked - logout from all devices successful",
+                    content = @Content()
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - missing, invalid, or expired token",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    name = "Missing Authorization Header",
+                                    summary = "No authentication token provided",
+                                    value = """
+                                            {
+                                              "timestamp": "2024-12-22T02:36:59.123456",
+                                              "status": 401,
+                                              "error": "Unauthorized",
+                                              "message": "Full authentication is required to access this resource",
+                                              "path": "/auth/logout-all"
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "User not found - the account no longer exists",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    name = "User Not Found",
+                                    summary = "The authenticated user was deleted",
+                                    value = """
+                                            {
+                                              "timestamp": "2024-12-22T02:36:59.123456",
+                                              "status": 404,
+                                              "error": "Not Found",
+                                              "message": "User not found",
+                                              "path": "/auth/logout-all"
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error - unexpected failure",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    name = "Server Error",
+                                    summary = "Unexpected error occurred during logout",
+                                    value = """
+                                            {
+                                              "timestamp": "2024-12-22T02:36:59.123456",
+                                              "status": 500,
+                                              "error": "Internal Server Error",
+                                              "message": "An unexpected error occurred while processing your request",
+                                              "path": "/auth/logout-all"
+                                            }
+                                            """
+                            )
+                    )
+            )
+    })
+    public @interface LogoutAll {
+    }
 }
\ No newline at end of file
@@ -3,17 +3,24 @@ package com.example.blogs.app.api.auth.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 /**
- * Response payload containing a new access token after refresh token validation.
+ * Response payload containing a new access token and the rotated refresh token after refresh token validation.
  *
- * @param accessToken newly generated access token with short expiration (15 min)
+ * @param accessToken  newly generated access token with short expiration (15 min)
+ * @param refreshToken rotated refresh token replacing the presented one, which can no longer be used
  */
-@Schema(description = "Response containing a new access token")
+@Schema(description = "Response containing a new access token and the rotated refresh token")
 public record AccessTokenResponse(
         @Schema(
                 description = "Short-lived JWT access token for API authentication",
                 example = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.eyJzdWIiOiIxMjMiLCJ1c2VybmFtZSI6ImpvaG5kb2UiLCJpYXQiOjE3MDMyNTYwMDAsImV4cCI6MTcwMzI1NjkwMH0.signature"
         )
-        String accessToken
+        String accessToken,
+
+        @Schema(
+                description = "Rotated refresh token; the presented refresh token is used up, and replaying it revokes the session",
+                example = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.eyJzdWIiOiJqb2huZG9lIn0.signature"
+        )
+        String refreshToken
 ) {
 }
 
@@ -0,0 +1,22 @@
+package com.example.blogs.app.api.auth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Response payload reporting whether a username and an email address are still free to register.
+ * Fields for names that were not queried are omitted.
+ *
+ * @param usernameAvailable whether the queried username is free, or null if no username was queried
+ * @param emailAvailable    whether the queried email is free, or null if no email was queried
+ */
+@Schema(description = "Availability of a username and email address for registration")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AvailabilityResponse(
+        @Schema(description = "Whether the username is free; omitted if no username was queried", example = "true")
+        Boolean usernameAvailable,
+
+        @Schema(description = "Whether the email is free; omitted if no email was queried", example = "false")
+        Boolean emailAvailable
+) {
+}
@@ -0,0 +1,21 @@
+package com.example.blogs.app.api.auth.dto;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a single expired revoked token purge run.
+ *
+ * @param droppedPartitions number of fully expired daily partitions dropped
+ * @param deletedRows       number of expired rows deleted in batches
+ * @param batches           number of delete batches executed
+ * @param duration          wall-clock time spent on the run
+ * @param completed         false if the run stopped at its time budget and the remainder is left for the next run
+ */
+public record PurgeReport(
+        int droppedPartitions,
+        long deletedRows,
+        int batches,
+        Duration duration,
+        boolean completed
+) {
+}
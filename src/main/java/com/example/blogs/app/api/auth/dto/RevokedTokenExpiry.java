@@ -0,0 +1,17 @@
+package com.example.blogs.app.api.auth.dto;
+
+import com.example.blogs.app.security.TokenHash;
+
+import java.time.LocalDateTime;
+
+/**
+ * Hash and expiration of a revoked token, loaded into revocation stores that drop entries once they expire.
+ *
+ * @param token     hashed refresh token
+ * @param expiresAt token expiration timestamp
+ */
+public record RevokedTokenExpiry(
+        TokenHash token,
+        LocalDateTime expiresAt
+) {
+}
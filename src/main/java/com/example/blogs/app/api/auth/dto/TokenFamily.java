@@ -0,0 +1,18 @@
+package com.example.blogs.app.api.auth.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Position of a refresh token within its family, written to the {@code fid} and {@code gen} claims.
+ *
+ * @param id         family identifier, one per login session
+ * @param generation number of rotations since login; only the token of the current generation is accepted
+ * @param expiresAt  expiration of every refresh token of the family, fixed at login
+ */
+public record TokenFamily(
+        UUID id,
+        int generation,
+        Instant expiresAt
+) {
+}
@@ -0,0 +1,18 @@
+package com.example.blogs.app.api.auth.dto;
+
+import com.example.blogs.app.security.TokenHash;
+
+import java.util.Map;
+
+/**
+ * Refresh token that passed every verification stage.
+ *
+ * @param tokenHash SHA-256 hash of the raw token, as stored in the revoked tokens table;
+ *                  null for tokens of a token family, which are never stored there
+ * @param claims    verified claims from the token payload
+ */
+public record VerifiedRefreshToken(
+        TokenHash tokenHash,
+        Map<String, Object> claims
+) {
+}
@@ -1,5 +1,6 @@
 package com.example.blogs.app.api.auth.entity;
 
+import com.example.blogs.app.security.TokenHash;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -8,8 +9,10 @@ import java.time.LocalDateTime;
 
 /**
  * Revoked JWT token entity with automatic timestamp tracking and expiration indexing.
- * Stores hashed refresh tokens that have been explicitly revoked before their natural expiration.
- * Includes an index on expires_at to optimize scheduled cleanup operations.
+ * Stores hashed refresh tokens that have been explicitly revoked before their natural expiration,
+ * as raw 32-byte digests.
+ * The table is range-partitioned by expires_at into daily partitions, so cleanup drops whole partitions;
+ * uniqueness is therefore enforced on (token, expires_at).
  */
 @Entity
 @Getter
@@ -18,7 +21,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Table(
         name = "revoked_tokens",
-        indexes = @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at")
+        uniqueConstraints = @UniqueConstraint(columnNames = {"token", "expires_at"}),
+        indexes = @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at")
 )
 public class RevokedTokenEntity {
 
@@ -26,8 +30,9 @@ public class RevokedTokenEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 64)
-    private String token;
+    @Convert(converter = TokenHashConverter.class)
+    @Column(nullable = false, length = TokenHash.LENGTH)
+    private TokenHash token;
 
     @CreationTimestamp
     @Column(name = "revoked_at", nullable = false)
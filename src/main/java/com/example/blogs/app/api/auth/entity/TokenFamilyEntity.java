@@ -0,0 +1,44 @@
+package com.example.blogs.app.api.auth.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Refresh token family: one row per login session, shared by every refresh token rotated from it.
+ * Only the refresh token carrying the current generation is accepted; presenting an older one
+ * means a used token was replayed and revokes the whole family.
+ * Expires together with the refresh token issued at login, since rotated tokens keep that expiration.
+ */
+@Entity
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(
+        name = "token_families",
+        indexes = {
+                @Index(name = "idx_token_families_user_id", columnList = "user_id"),
+                @Index(name = "idx_token_families_expires_at", columnList = "expires_at")
+        }
+)
+public class TokenFamilyEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private int generation;
+
+    @Column(nullable = false)
+    private boolean revoked;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
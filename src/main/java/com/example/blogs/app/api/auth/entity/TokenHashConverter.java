@@ -0,0 +1,22 @@
+package com.example.blogs.app.api.auth.entity;
+
+import com.example.blogs.app.security.TokenHash;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps token hashes to their raw bytes in {@code BYTEA} columns.
+ */
+@Converter
+public class TokenHashConverter implements AttributeConverter<TokenHash, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(TokenHash tokenHash) {
+        return tokenHash == null ? null : tokenHash.bytes();
+    }
+
+    @Override
+    public TokenHash convertToEntityAttribute(byte[] bytes) {
+        return bytes == null ? null : TokenHash.of(bytes);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.blogs.app.api.auth.exception;
+
+/**
+ * Thrown when a database error occurs during scheduled cleanup of expired refresh token families.
+ * This exception is mapped to HTTP 500 Internal Server Error status.
+ */
+public class FailedToCleanTokenFamiliesException extends RuntimeException {
+    /**
+     * Constructs a new FailedToCleanTokenFamiliesException with the underlying cause.
+     *
+     * @param cause the database exception that prevented cleanup
+     */
+    public FailedToCleanTokenFamiliesException(Throwable cause) {
+        super("Failed to clean expired token families", cause);
+    }
+}
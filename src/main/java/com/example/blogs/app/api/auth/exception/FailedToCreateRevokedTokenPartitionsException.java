@@ -0,0 +1,16 @@
+package com.example.blogs.app.api.auth.exception;
+
+/**
+ * Thrown when upcoming partitions of the revoked tokens table cannot be created.
+ * Revocations still succeed through the default partition, which is purged row by row.
+ */
+public class FailedToCreateRevokedTokenPartitionsException extends RuntimeException {
+    /**
+     * Constructs a new FailedToCreateRevokedTokenPartitionsException with the underlying cause.
+     *
+     * @param cause the database exception that prevented partition creation
+     */
+    public FailedToCreateRevokedTokenPartitionsException(Throwable cause) {
+        super("Failed to create revoked token partitions", cause);
+    }
+}
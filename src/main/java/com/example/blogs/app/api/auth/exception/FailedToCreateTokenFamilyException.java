@@ -0,0 +1,16 @@
+package com.example.blogs.app.api.auth.exception;
+
+/**
+ * Thrown when a database error occurs while starting a refresh token family for a new session.
+ * This exception is mapped to HTTP 500 Internal Server Error status.
+ */
+public class FailedToCreateTokenFamilyException extends RuntimeException {
+    /**
+     * Constructs a new FailedToCreateTokenFamilyException with the underlying cause.
+     *
+     * @param cause the database exception that prevented the family from being created
+     */
+    public FailedToCreateTokenFamilyException(Throwable cause) {
+        super("Failed to create token family", cause);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.blogs.app.api.auth.exception;
+
+/**
+ * Thrown when a database error occurs while rotating or revoking a refresh token family.
+ * This exception is mapped to HTTP 500 Internal Server Error status.
+ */
+public class FailedToUpdateTokenFamilyException extends RuntimeException {
+    /**
+     * Constructs a new FailedToUpdateTokenFamilyException with the underlying cause.
+     *
+     * @param cause the database exception that prevented the family update
+     */
+    public FailedToUpdateTokenFamilyException(Throwable cause) {
+        super("Failed to update token family", cause);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.blogs.app.api.auth.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the password hashing lane cannot accept more work, either because its queue is full
+ * or because a queued task waited longer than the configured maximum.
+ * This exception is mapped to HTTP 503 Service Unavailable status with a Retry-After header.
+ */
+@Getter
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new PasswordHashingBusyException with a default message.
+     *
+     * @param retryAfterSeconds number of seconds the client should wait before retrying
+     */
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        super("Authentication service is busy, please retry later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.blogs.app.api.auth.repository;
+
+import com.example.blogs.app.api.auth.entity.RevokedTokenEntity;
+
+import java.util.List;
+
+/**
+ * Bulk write operations for revoked tokens that bypass the JPA persistence context.
+ */
+public interface RevokedTokenBulkRepository {
+    /**
+     * Inserts all revoked tokens with a single multi-row statement, skipping tokens that are already revoked.
+     * Each entity must carry its token, revocation timestamp, and expiration timestamp.
+     *
+     * @param revokedTokens revoked tokens to insert
+     * @return number of inserted rows
+     */
+    int insertAllIgnoringDuplicates(List<RevokedTokenEntity> revokedTokens);
+}
@@ -0,0 +1,45 @@
+package com.example.blogs.app.api.auth.repository;
+
+import com.example.blogs.app.api.auth.entity.RevokedTokenEntity;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * JDBC implementation of bulk revoked token writes, picked up by Spring Data as a repository fragment.
+ */
+@AllArgsConstructor
+public class RevokedTokenBulkRepositoryImpl implements RevokedTokenBulkRepository {
+
+    private static final String INSERT_PREFIX = "INSERT INTO revoked_tokens (token, revoked_at, expires_at) VALUES ";
+
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?)";
+
+    private static final String INSERT_SUFFIX = " ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertAllIgnoringDuplicates(List<RevokedTokenEntity> revokedTokens) {
+        if (revokedTokens.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        Object[] args = new Object[revokedTokens.size() * 3];
+        for (int i = 0; i < revokedTokens.size(); i++) {
+            RevokedTokenEntity revokedToken = revokedTokens.get(i);
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+            args[i * 3] = revokedToken.getToken().bytes();
+            args[i * 3 + 1] = revokedToken.getRevokedAt();
+            args[i * 3 + 2] = revokedToken.getExpiresAt();
+        }
+        sql.append(INSERT_SUFFIX);
+
+        return jdbcTemplate.update(sql.toString(), args);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.blogs.app.api.auth.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Maintenance of the daily range partitions of the revoked tokens table.
+ * The partition for a given day holds tokens expiring within that day, so once the day is over
+ * the whole partition can be dropped instead of deleting its rows one by one.
+ */
+public interface RevokedTokenPartitionRepository {
+    /**
+     * @return days that currently have a dedicated partition, in ascending order
+     */
+    List<LocalDate> findPartitionDays();
+
+    /**
+     * Creates the partition for tokens expiring within the given day, if it does not exist yet.
+     *
+     * @param day expiration day covered by the partition
+     */
+    void createPartition(LocalDate day);
+
+    /**
+     * Drops the partition for tokens expiring within the given day together with all its rows.
+     *
+     * @param day expiration day covered by the partition
+     */
+    void dropPartition(LocalDate day);
+
+    /**
+     * Deletes one bounded batch of expired tokens that landed in the default partition
+     * because no daily partition covered them.
+     *
+     * @param now   cutoff timestamp for deletion
+     * @param limit maximum number of rows to delete
+     * @return number of deleted rows; less than the limit once no expired rows are left
+     */
+    int deleteExpiredFromDefaultPartition(LocalDateTime now, int limit);
+}
@@ -0,0 +1,74 @@
+package com.example.blogs.app.api.auth.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC implementation of revoked token partition maintenance, picked up by Spring Data as a repository fragment.
+ * Partition names are derived from the covered day ({@code revoked_tokens_pYYYYMMDD}) and never from user input.
+ */
+@AllArgsConstructor
+public class RevokedTokenPartitionRepositoryImpl implements RevokedTokenPartitionRepository {
+
+    private static final String PARTITION_PREFIX = "revoked_tokens_p";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARTITION_PREFIX + "(\\d{8})");
+
+    private static final String FIND_PARTITIONS = """
+            SELECT child.relname
+            FROM pg_inherits
+                     JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+            WHERE pg_inherits.inhparent = 'revoked_tokens'::regclass
+            """;
+
+    private static final String DELETE_EXPIRED_BATCH = """
+            DELETE FROM revoked_tokens_default
+            WHERE id IN (SELECT id FROM revoked_tokens_default WHERE expires_at < ? LIMIT ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<LocalDate> findPartitionDays() {
+        return jdbcTemplate.queryForList(FIND_PARTITIONS, String.class).stream()
+                .map(RevokedTokenPartitionRepositoryImpl::parsePartitionDay)
+                .filter(Objects::nonNull)
+                .sorted()
+                .toList();
+    }
+
+    @Override
+    public void createPartition(LocalDate day) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(day)
+                + " PARTITION OF revoked_tokens FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+    }
+
+    @Override
+    public void dropPartition(LocalDate day) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(day));
+    }
+
+    @Override
+    public int deleteExpiredFromDefaultPartition(LocalDateTime now, int limit) {
+        return jdbcTemplate.update(DELETE_EXPIRED_BATCH, now, limit);
+    }
+
+    private static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+    }
+
+    private static LocalDate parsePartitionDay(String tableName) {
+        Matcher matcher = PARTITION_NAME.matcher(tableName);
+        return matcher.matches() ? LocalDate.parse(matcher.group(1), PARTITION_SUFFIX) : null;
+    }
+}
@@ -1,27 +1,69 @@
 package com.example.blogs.app.api.auth.repository;
 
+import com.example.blogs.app.api.auth.dto.RevokedTokenExpiry;
 import com.example.blogs.app.api.auth.entity.RevokedTokenEntity;
+import com.example.blogs.app.security.TokenHash;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Data access for revoked token entities with operations for token validation and cleanup.
+ * The underlying table is range-partitioned by expiration day; see {@link RevokedTokenPartitionRepository}.
  */
-public interface RevokedTokenRepository extends JpaRepository<RevokedTokenEntity, Long> {
+public interface RevokedTokenRepository extends JpaRepository<RevokedTokenEntity, Long>,
+        RevokedTokenBulkRepository,
+        RevokedTokenPartitionRepository {
     /**
      * Checks if a token exists in the revoked tokens table.
      *
      * @param token hashed token to check
      * @return true if token is revoked, false otherwise
      */
-    boolean existsByToken(String token);
+    boolean existsByToken(TokenHash token);
 
     /**
-     * Deletes all revoked tokens that expired before the specified timestamp.
-     * Used by scheduled cleanup tasks to prevent unbounded table growth.
+     * Returns hashes of all revoked tokens that are still within their validity window.
+     * Used to warm up and rebuild the in-memory revoked token filter.
      *
-     * @param now cutoff timestamp for deletion
+     * @param now cutoff timestamp; tokens expiring after it are returned
+     * @return hashed tokens that have not yet expired
      */
-    void deleteByExpiresAtBefore(LocalDateTime now);
+    @Query("SELECT r.token FROM RevokedTokenEntity r WHERE r.expiresAt > :now")
+    List<TokenHash> findTokensByExpiresAtAfter(@Param("now") LocalDateTime now);
+
+    /**
+     * Returns hashes of tokens revoked after the specified timestamp.
+     * Used to pick up revocations persisted by other application instances.
+     *
+     * @param since lower bound (exclusive) of the revocation timestamp
+     * @return hashed tokens revoked after the given timestamp
+     */
+    @Query("SELECT r.token FROM RevokedTokenEntity r WHERE r.revokedAt > :since")
+    List<TokenHash> findTokensByRevokedAtAfter(@Param("since") LocalDateTime since);
+
+    /**
+     * Returns hashes and expirations of all revoked tokens that are still within their validity window.
+     * Used to populate revocation stores that keep track of expirations.
+     *
+     * @param now cutoff timestamp; tokens expiring after it are returned
+     * @return hashes and expirations of tokens that have not yet expired
+     */
+    @Query("SELECT new com.example.blogs.app.api.auth.dto.RevokedTokenExpiry(r.token, r.expiresAt) "
+            + "FROM RevokedTokenEntity r WHERE r.expiresAt > :now")
+    List<RevokedTokenExpiry> findExpiriesByExpiresAtAfter(@Param("now") LocalDateTime now);
+
+    /**
+     * Returns hashes and expirations of tokens revoked after the specified timestamp.
+     * Used to bring revocation stores that keep track of expirations up to date.
+     *
+     * @param since lower bound (exclusive) of the revocation timestamp
+     * @return hashes and expirations of tokens revoked after the given timestamp
+     */
+    @Query("SELECT new com.example.blogs.app.api.auth.dto.RevokedTokenExpiry(r.token, r.expiresAt) "
+            + "FROM RevokedTokenEntity r WHERE r.revokedAt > :since")
+    List<RevokedTokenExpiry> findExpiriesByRevokedAtAfter(@Param("since") LocalDateTime since);
 }
@@ -0,0 +1,54 @@
+package com.example.blogs.app.api.auth.repository;
+
+import com.example.blogs.app.api.auth.entity.TokenFamilyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Data access for refresh token families.
+ * Rotation and revocation are single-row updates by primary key that never load the entity.
+ */
+public interface TokenFamilyRepository extends JpaRepository<TokenFamilyEntity, UUID> {
+    /**
+     * Advances the generation of an active family if the presented generation is the current one.
+     *
+     * @param id         family identifier
+     * @param generation generation of the presented refresh token
+     * @return 1 if the family was rotated, 0 if it is unknown, revoked, or at another generation
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE TokenFamilyEntity f SET f.generation = f.generation + 1
+            WHERE f.id = :id AND f.generation = :generation AND f.revoked = false
+            """)
+    int rotate(@Param("id") UUID id, @Param("generation") int generation);
+
+    /**
+     * Revokes an active family, invalidating every refresh token rotated from it.
+     *
+     * @param id family identifier
+     * @return 1 if the family was revoked, 0 if it is unknown or already revoked
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TokenFamilyEntity f SET f.revoked = true WHERE f.id = :id AND f.revoked = false")
+    int revoke(@Param("id") UUID id);
+
+    /**
+     * Deletes families whose refresh tokens have expired, revoked or not.
+     *
+     * @param now cutoff timestamp
+     * @return number of deleted families
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM TokenFamilyEntity f WHERE f.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,7 +1,9 @@
 package com.example.blogs.app.api.auth.repository.adapter;
 
 import com.example.blogs.app.api.auth.entity.RevokedTokenEntity;
+import com.example.blogs.app.security.TokenHash;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
@@ -18,7 +20,7 @@ public interface RevokedTokenRepositoryAdapter {
      * @throws com.example.blogs.app.api.auth.exception.TokenAlreadyRevokedException if token was already revoked
      * @throws com.example.blogs.app.api.auth.exception.FailedToRevokeTokenExecption if persistence fails
      */
-    RevokedTokenEntity saveRevokedToken(String token, LocalDateTime expiresAt);
+    RevokedTokenEntity saveRevokedToken(TokenHash token, LocalDateTime expiresAt);
 
     /**
      * Checks if a token has been revoked.
@@ -27,13 +29,35 @@ public interface RevokedTokenRepositoryAdapter {
      * @return true if token exists in revoked tokens table
      * @throws com.example.blogs.app.api.auth.exception.FailedToCheckTokenRevokedException if check fails
      */
-    boolean isTokenRevoked(String token);
+    boolean isTokenRevoked(TokenHash token);
 
     /**
-     * Removes all revoked tokens that expired before the specified timestamp.
+     * Drops the daily partitions whose whole day lies before the specified timestamp,
+     * removing all their tokens at once; tokens of the current day are removed when that day is over.
      *
      * @param now cutoff timestamp for deletion
+     * @return number of dropped partitions
      * @throws com.example.blogs.app.api.auth.exception.FailedToCleanRevokedTokensException if cleanup fails
      */
-    void deleteExpiredTokens(LocalDateTime now);
+    int dropExpiredPartitions(LocalDateTime now);
+
+    /**
+     * Deletes one bounded batch of expired tokens stored outside the daily partitions.
+     * Each batch runs in its own short transaction.
+     *
+     * @param now       cutoff timestamp for deletion
+     * @param batchSize maximum number of tokens to delete
+     * @return number of deleted tokens; less than the batch size once no expired tokens are left
+     * @throws com.example.blogs.app.api.auth.exception.FailedToCleanRevokedTokensException if cleanup fails
+     */
+    int deleteExpiredTokens(LocalDateTime now, int batchSize);
+
+    /**
+     * Creates the missing daily partitions for tokens expiring between the given days.
+     *
+     * @param from first expiration day to cover (inclusive)
+     * @param to   last expiration day to cover (inclusive)
+     * @throws com.example.blogs.app.api.auth.exception.FailedToCreateRevokedTokenPartitionsException if a partition cannot be created
+     */
+    void createPartitions(LocalDate from, LocalDate to);
 }
@@ -3,37 +3,97 @@ package com.example.blogs.app.api.auth.repository.adapter;
 import com.example.blogs.app.api.auth.entity.RevokedTokenEntity;
 import com.example.blogs.app.api.auth.exception.FailedToCheckTokenRevokedException;
 import com.example.blogs.app.api.auth.exception.FailedToCleanRevokedTokensException;
+import com.example.blogs.app.api.auth.exception.FailedToCreateRevokedTokenPartitionsException;
 import com.example.blogs.app.api.auth.exception.FailedToRevokeTokenExecption;
 import com.example.blogs.app.api.auth.exception.TokenAlreadyRevokedException;
 import com.example.blogs.app.api.auth.repository.RevokedTokenRepository;
+import com.example.blogs.app.api.auth.revocation.RevocationPublisher;
+import com.example.blogs.app.api.auth.revocation.RevokedTokenFilter;
+import com.example.blogs.app.api.auth.revocation.RevokedTokenWriteBehind;
+import com.example.blogs.app.security.TokenHash;
 import com.example.blogs.app.util.SqlExceptionUtils;
-import lombok.AllArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Translates database constraint violations and SQL errors into domain-specific exceptions
  * for revoked token operations.
+ * Revocation checks consult the local {@link RevokedTokenFilter} first and only query
+ * the database when the filter reports a possible hit it cannot confirm on its own.
+ * When write-behind is enabled, revocations are buffered by {@link RevokedTokenWriteBehind}
+ * and batched into group commits; buffered tokens are reported as revoked straight away.
+ * Persisted revocations are announced to the other instances through the {@link RevocationPublisher}.
  */
 @Component
-@AllArgsConstructor
 public class RevokedTokenRepositoryAdapterImpl implements RevokedTokenRepositoryAdapter {
 
+    private static final String FILTER_LOOKUPS_METRIC = "revoked_token_filter.lookups";
+
     private final RevokedTokenRepository revokedTokenJpaRepository;
 
     private final SqlExceptionUtils sqlExceptionUtils;
 
+    private final RevokedTokenFilter revokedTokenFilter;
+
+    private final RevokedTokenWriteBehind revokedTokenWriteBehind;
+
+    private final RevocationPublisher revocationPublisher;
+
+    private final Counter filterMisses;
+
+    private final Counter filterHits;
+
+    private final Counter filterFalsePositives;
+
+    /**
+     * Constructs the adapter with its repository, revocation filter, and metrics registry.
+     *
+     * @param revokedTokenJpaRepository JPA repository for revoked tokens
+     * @param sqlExceptionUtils         helper for detecting constraint violations
+     * @param revokedTokenFilter        in-memory filter consulted before the database
+     * @param revokedTokenWriteBehind   optional group-commit buffer for revocations
+     * @param revocationPublisher       publisher announcing persisted revocations to other instances
+     * @param meterRegistry             registry for filter hit/miss/false-positive counters
+     */
+    public RevokedTokenRepositoryAdapterImpl(
+            RevokedTokenRepository revokedTokenJpaRepository,
+            SqlExceptionUtils sqlExceptionUtils,
+            RevokedTokenFilter revokedTokenFilter,
+            RevokedTokenWriteBehind revokedTokenWriteBehind,
+            RevocationPublisher revocationPublisher,
+            MeterRegistry meterRegistry
+    ) {
+        this.revokedTokenJpaRepository = revokedTokenJpaRepository;
+        this.sqlExceptionUtils = sqlExceptionUtils;
+        this.revokedTokenFilter = revokedTokenFilter;
+        this.revokedTokenWriteBehind = revokedTokenWriteBehind;
+        this.revocationPublisher = revocationPublisher;
+        this.filterMisses = meterRegistry.counter(FILTER_LOOKUPS_METRIC, "result", "miss");
+        this.filterHits = meterRegistry.counter(FILTER_LOOKUPS_METRIC, "result", "hit");
+        this.filterFalsePositives = meterRegistry.counter(FILTER_LOOKUPS_METRIC, "result", "false_positive");
+    }
+
     @Override
-    public RevokedTokenEntity saveRevokedToken(String token, LocalDateTime expiresAt) {
+    public RevokedTokenEntity saveRevokedToken(TokenHash token, LocalDateTime expiresAt) {
+        if (revokedTokenWriteBehind.isEnabled()) {
+            return enqueueRevokedToken(token, expiresAt);
+        }
+
         RevokedTokenEntity entity = RevokedTokenEntity.builder()
                 .token(token)
                 .expiresAt(expiresAt)
                 .build();
 
+        RevokedTokenEntity saved;
         try {
-            return revokedTokenJpaRepository.save(entity);
+            saved = revokedTokenJpaRepository.save(entity);
         } catch (Exception e) {
             if (sqlExceptionUtils.containsUniqueViolation(e, "token")) {
                 throw new TokenAlreadyRevokedException();
@@ -41,24 +101,130 @@ public class RevokedTokenRepositoryAdapterImpl implements RevokedTokenRepository
 
             throw new FailedToRevokeTokenExecption();
         }
+
+        revokedTokenFilter.put(token, expiresAt);
+        revocationPublisher.publishRevokedTokens(List.of(saved));
+        return saved;
     }
 
     @Override
-    public boolean isTokenRevoked(String token) {
+    public boolean isTokenRevoked(TokenHash token) {
+        if (revokedTokenWriteBehind.isPending(token)) {
+            return true;
+        }
+
+        if (revokedTokenFilter.definitelyContains(token)) {
+            filterHits.increment();
+            return true;
+        }
+
+        if (!revokedTokenFilter.mightContain(token)) {
+            filterMisses.increment();
+            return false;
+        }
+
+        boolean revoked;
         try {
-            return revokedTokenJpaRepository.existsByToken(token);
+            revoked = revokedTokenJpaRepository.existsByToken(token);
         } catch (Exception e) {
             throw new FailedToCheckTokenRevokedException(e);
         }
+
+        if (revoked) {
+            filterHits.increment();
+        } else {
+            filterFalsePositives.increment();
+        }
+        return revoked;
+    }
+
+    @Override
+    public int dropExpiredPartitions(LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        int dropped = 0;
+        try {
+            for (LocalDate day : revokedTokenJpaRepository.findPartitionDays()) {
+                if (day.isBefore(today)) {
+                    revokedTokenJpaRepository.dropPartition(day);
+                    dropped++;
+                }
+            }
+        } catch (Exception e) {
+            throw new FailedToCleanRevokedTokensException(e);
+        }
+        return dropped;
     }
 
     @Override
-    @Transactional
-    public void deleteExpiredTokens(LocalDateTime now) {
+    public int deleteExpiredTokens(LocalDateTime now, int batchSize) {
         try {
-            revokedTokenJpaRepository.deleteByExpiresAtBefore(now);
+            return revokedTokenJpaRepository.deleteExpiredFromDefaultPartition(now, batchSize);
         } catch (Exception e) {
             throw new FailedToCleanRevokedTokensException(e);
         }
     }
+
+    @Override
+    public void createPartitions(LocalDate from, LocalDate to) {
+        Set<LocalDate> existing;
+        try {
+            existing = new HashSet<>(revokedTokenJpaRepository.findPartitionDays());
+        } catch (Exception e) {
+            throw new FailedToCreateRevokedTokenPartitionsException(e);
+        }
+
+        Exception failure = null;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            if (existing.contains(day)) {
+                continue;
+            }
+
+            try {
+                revokedTokenJpaRepository.createPartition(day);
+            } catch (Exception e) {
+                // Fails when the default partition already holds rows of that day; keep creating the others.
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw new FailedToCreateRevokedTokenPartitionsException(failure);
+        }
+    }
+
+    /**
+     * Buffers a revocation for the next group commit instead of saving it in its own transaction.
+     * Duplicates are detected up front, since the batched insert silently skips them.
+     *
+     * @param token     hashed refresh token to revoke
+     * @param expiresAt token expiration timestamp
+     * @return buffered, not yet persisted revoked token entity
+     */
+    private RevokedTokenEntity enqueueRevokedToken(TokenHash token, LocalDateTime expiresAt) {
+        if (isTokenRevoked(token)) {
+            throw new TokenAlreadyRevokedException();
+        }
+
+        RevokedTokenEntity entity = RevokedTokenEntity.builder()
+                .token(token)
+                .revokedAt(LocalDateTime.now())
+                .expiresAt(expiresAt)
+                .build();
+
+        boolean enqueued;
+        try {
+            enqueued = revokedTokenWriteBehind.enqueue(entity);
+        } catch (Exception e) {
+            throw new FailedToRevokeTokenExecption();
+        }
+
+        if (!enqueued) {
+            throw new TokenAlreadyRevokedException();
+        }
+        return entity;
+    }
 }
@@ -0,0 +1,47 @@
+package com.example.blogs.app.api.auth.repository.adapter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Adapter for refresh token family operations with domain-specific exception handling.
+ */
+public interface TokenFamilyRepositoryAdapter {
+    /**
+     * Starts a new family for a login session at generation 0.
+     *
+     * @param userId    identifier of the user the session belongs to
+     * @param expiresAt expiration timestamp of the session's refresh tokens
+     * @return identifier of the new family
+     * @throws com.example.blogs.app.api.auth.exception.FailedToCreateTokenFamilyException if persistence fails
+     */
+    UUID createFamily(Long userId, LocalDateTime expiresAt);
+
+    /**
+     * Advances an active family past the presented generation.
+     *
+     * @param familyId   family identifier from the refresh token
+     * @param generation generation from the refresh token
+     * @return true if the token was the current one of an active family, false otherwise
+     * @throws com.example.blogs.app.api.auth.exception.FailedToUpdateTokenFamilyException if the update fails
+     */
+    boolean rotate(UUID familyId, int generation);
+
+    /**
+     * Revokes a family so none of its refresh tokens can be used again.
+     *
+     * @param familyId family identifier
+     * @return true if the family was active, false if it is unknown or already revoked
+     * @throws com.example.blogs.app.api.auth.exception.FailedToUpdateTokenFamilyException if the update fails
+     */
+    boolean revoke(UUID familyId);
+
+    /**
+     * Deletes families whose refresh tokens have expired.
+     *
+     * @param now cutoff timestamp for deletion
+     * @return number of deleted families
+     * @throws com.example.blogs.app.api.auth.exception.FailedToCleanTokenFamiliesException if cleanup fails
+     */
+    int deleteExpiredFamilies(LocalDateTime now);
+}
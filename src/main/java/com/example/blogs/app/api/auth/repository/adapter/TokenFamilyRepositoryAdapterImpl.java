@@ -0,0 +1,63 @@
+package com.example.blogs.app.api.auth.repository.adapter;
+
+import com.example.blogs.app.api.auth.entity.TokenFamilyEntity;
+import com.example.blogs.app.api.auth.exception.FailedToCleanTokenFamiliesException;
+import com.example.blogs.app.api.auth.exception.FailedToCreateTokenFamilyException;
+import com.example.blogs.app.api.auth.exception.FailedToUpdateTokenFamilyException;
+import com.example.blogs.app.api.auth.repository.TokenFamilyRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Translates SQL errors into domain-specific exceptions for refresh token family operations.
+ */
+@Component
+@AllArgsConstructor
+public class TokenFamilyRepositoryAdapterImpl implements TokenFamilyRepositoryAdapter {
+
+    private final TokenFamilyRepository tokenFamilyRepository;
+
+    @Override
+    public UUID createFamily(Long userId, LocalDateTime expiresAt) {
+        TokenFamilyEntity entity = TokenFamilyEntity.builder()
+                .userId(userId)
+                .expiresAt(expiresAt)
+                .build();
+
+        try {
+            return tokenFamilyRepository.save(entity).getId();
+        } catch (Exception e) {
+            throw new FailedToCreateTokenFamilyException(e);
+        }
+    }
+
+    @Override
+    public boolean rotate(UUID familyId, int generation) {
+        try {
+            return tokenFamilyRepository.rotate(familyId, generation) == 1;
+        } catch (Exception e) {
+            throw new FailedToUpdateTokenFamilyException(e);
+        }
+    }
+
+    @Override
+    public boolean revoke(UUID familyId) {
+        try {
+            return tokenFamilyRepository.revoke(familyId) == 1;
+        } catch (Exception e) {
+            throw new FailedToUpdateTokenFamilyException(e);
+        }
+    }
+
+    @Override
+    public int deleteExpiredFamilies(LocalDateTime now) {
+        try {
+            return tokenFamilyRepository.deleteExpired(now);
+        } catch (Exception e) {
+            throw new FailedToCleanTokenFamiliesException(e);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.blogs.app.api.auth.revocation;
+
+import com.example.blogs.app.api.auth.dto.RevokedTokenExpiry;
+import com.example.blogs.app.api.auth.repository.RevokedTokenRepository;
+import com.example.blogs.app.security.TokenHash;
+import com.example.blogs.app.util.MappedDigestSet;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Exact revoked token filter persisted in a memory-mapped {@link MappedDigestSet}.
+ * The set survives restarts, so warm-up only loads the revocations newer than its high-water mark
+ * instead of every unexpired revoked token, and positive lookups need no database round trip.
+ * Expired hashes are dropped when the cleanup rebuilds the filter, which compacts the file in place,
+ * but only once enough of them have accumulated or the set is over half full; otherwise the file is kept as is.
+ * <p>
+ * Until the first catch-up completes every lookup is reported as a possible hit so the database stays authoritative.
+ * If a hash cannot be recorded, the filter falls back to the same mode and reloads all unexpired tokens
+ * on its next synchronization.
+ */
+@Slf4j
+public class MappedRevokedTokenFilter implements RevokedTokenFilter {
+
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private static final long NO_HIGH_WATER_MARK = Long.MIN_VALUE;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final long minCapacity;
+
+    private final double compactionThreshold;
+
+    private volatile MappedDigestSet set;
+
+    private volatile boolean complete;
+
+    private long failedAdds;
+
+    /**
+     * Constructs the filter, reopening the set file if it exists and is valid, or creating an empty one otherwise.
+     *
+     * @param revokedTokenRepository repository used to catch up with revocations
+     * @param file                   location of the set file
+     * @param expectedInsertions     number of revoked tokens the set is initially sized for
+     * @param compactionThreshold    fraction of expired entries above which a rebuild rewrites the file
+     */
+    public MappedRevokedTokenFilter(
+            RevokedTokenRepository revokedTokenRepository,
+            Path file,
+            long expectedInsertions,
+            double compactionThreshold
+    ) {
+        if (compactionThreshold < 0 || compactionThreshold >= 1) {
+            throw new IllegalArgumentException("Compaction threshold must be at least 0 and below 1");
+        }
+
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.minCapacity = MappedDigestSet.capacityFor(expectedInsertions);
+        this.compactionThreshold = compactionThreshold;
+        this.set = openOrCreate(file, minCapacity);
+    }
+
+    /**
+     * Catches up with the revocations persisted since the set was last synchronized,
+     * or loads all non-expired revoked tokens into a new set, once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh(set.highWaterMark() == NO_HIGH_WATER_MARK);
+    }
+
+    @Override
+    public boolean mightContain(TokenHash token) {
+        return !complete || contains(set, token);
+    }
+
+    @Override
+    public boolean definitelyContains(TokenHash token) {
+        return contains(set, token);
+    }
+
+    @Override
+    public synchronized void put(TokenHash token, LocalDateTime expiresAt) {
+        add(token, expiresAt);
+    }
+
+    /**
+     * Compacts the set file if more than the threshold fraction of its entries has expired
+     * or it is over half full; otherwise leaves the file untouched, as the expired entries only cost slots.
+     */
+    @Override
+    public synchronized void rebuild(LocalDateTime now) {
+        MappedDigestSet current = set;
+        long expiredUntil = toEpochSecond(now);
+        long expired = current.countExpired(expiredUntil);
+        if (expired <= current.size() * compactionThreshold && !current.needsGrowth()) {
+            log.debug("Kept revoked token store with {} entries, {} of them expired", current.size(), expired);
+            return;
+        }
+
+        long capacity = Math.max(minCapacity, MappedDigestSet.capacityFor(current.size() - expired));
+        try {
+            set = current.rewrite(capacity, expiredUntil);
+            log.info("Compacted revoked token store from {} to {} entries", current.size(), set.size());
+        } catch (IOException e) {
+            log.warn("Failed to compact revoked token store", e);
+        }
+    }
+
+    @Override
+    @Scheduled(
+            initialDelayString = "${revoked-token-filter.sync-interval}",
+            fixedDelayString = "${revoked-token-filter.sync-interval}"
+    )
+    public void synchronize() {
+        if (set.highWaterMark() == NO_HIGH_WATER_MARK) {
+            return;
+        }
+
+        refresh(!complete);
+    }
+
+    /**
+     * Writes the set back to its file before the application context shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        set.force();
+    }
+
+    /**
+     * Loads revocations from the database and advances the high-water mark
+     * if no revocation failed to be recorded in the meantime.
+     * The query runs outside the lock; revocations recorded concurrently go into the same set, so none are lost.
+     *
+     * @param full whether to load all unexpired tokens instead of the ones revoked after the high-water mark
+     */
+    private void refresh(boolean full) {
+        long failuresBefore;
+        synchronized (this) {
+            failuresBefore = failedAdds;
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<RevokedTokenExpiry> revokedTokens = full
+                ? revokedTokenRepository.findExpiriesByExpiresAtAfter(startedAt)
+                : revokedTokenRepository.findExpiriesByRevokedAtAfter(
+                        toLocalDateTime(set.highWaterMark()).minus(SYNC_OVERLAP)
+                );
+
+        synchronized (this) {
+            for (RevokedTokenExpiry revokedToken : revokedTokens) {
+                add(revokedToken.token(), revokedToken.expiresAt());
+            }
+
+            if (failedAdds == failuresBefore) {
+                set.highWaterMark(toEpochSecond(startedAt));
+                complete = true;
+            }
+        }
+    }
+
+    private void add(TokenHash token, LocalDateTime expiresAt) {
+        try {
+            MappedDigestSet current = set;
+            if (current.needsGrowth()) {
+                set = current = current.rewrite(current.capacity() * 2, toEpochSecond(LocalDateTime.now()));
+            }
+
+            current.put(
+                    token.word(0), token.word(1), token.word(2), token.word(3),
+                    Math.max(1L, toEpochSecond(expiresAt))
+            );
+        } catch (IOException | IllegalStateException e) {
+            failedAdds++;
+            complete = false;
+            log.error("Failed to record revoked token; falling back to database lookups until the next sync", e);
+        }
+    }
+
+    private static boolean contains(MappedDigestSet set, TokenHash token) {
+        return set.contains(token.word(0), token.word(1), token.word(2), token.word(3));
+    }
+
+    private static MappedDigestSet openOrCreate(Path file, long capacity) {
+        try {
+            if (Files.exists(file)) {
+                try {
+                    MappedDigestSet existing = MappedDigestSet.open(file);
+                    log.info("Opened revoked token store with {} entries", existing.size());
+                    return existing;
+                } catch (IOException e) {
+                    log.warn("Discarding unreadable revoked token store {}", file, e);
+                }
+            }
+
+            Path directory = file.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            return MappedDigestSet.create(file, capacity);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create revoked token store " + file, e);
+        }
+    }
+
+    private static long toEpochSecond(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.blogs.app.api.auth.revocation;
+
+/**
+ * Receives revocations broadcast by other application instances and applies them to the local caches.
+ */
+public interface RevocationListener {
+    /**
+     * Applies a single revocation notification to the local revocation filter or token epoch cache.
+     * Malformed payloads are ignored.
+     *
+     * @param payload notification payload as produced by {@link RevocationPublisher}
+     */
+    void handle(String payload);
+
+    /**
+     * @return true while the listener connection is subscribed to the revocation channel
+     */
+    boolean isListening();
+}
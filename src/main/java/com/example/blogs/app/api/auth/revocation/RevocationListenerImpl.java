@@ -0,0 +1,266 @@
+package com.example.blogs.app.api.auth.revocation;
+
+import com.example.blogs.app.security.TokenHash;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * PostgreSQL {@code LISTEN} based revocation listener.
+ * A dedicated thread holds its own connection outside the pool, subscribed to the revocation channel,
+ * and feeds incoming token hashes into the {@link RevokedTokenFilter} and logout-all events into the
+ * {@link TokenEpochCache}. Notifications sent while the connection is down are lost, so after every
+ * (re)subscription the listener pulls revocations by {@code revoked_at} and drops all cached epochs.
+ */
+@Slf4j
+@Component
+public class RevocationListenerImpl implements RevocationListener {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private static final String METRIC_PREFIX = "revocation_events";
+
+    private final RevokedTokenFilter revokedTokenFilter;
+
+    private final TokenEpochCache tokenEpochCache;
+
+    private final boolean enabled;
+
+    private final String channel;
+
+    private final DataSource listenerDataSource;
+
+    private final Duration pollTimeout;
+
+    private final Duration reconnectDelay;
+
+    private final Counter tokensReceived;
+
+    private final Counter logoutAllsReceived;
+
+    private final Counter reconnects;
+
+    private volatile boolean running;
+
+    private volatile boolean listening;
+
+    private volatile Connection connection;
+
+    private Thread thread;
+
+    /**
+     * Constructs the listener with the caches it feeds, its connection settings, and metrics registry.
+     *
+     * @param revokedTokenFilter   filter receiving revoked token hashes
+     * @param tokenEpochCache      cache invalidated on logout-all events
+     * @param enabled              whether the listener connection is opened at all
+     * @param channel              name of the notification channel shared by all instances
+     * @param dataSourceProperties connection settings of the database; the listener connection is opened
+     *                             from them directly rather than borrowed from the pool
+     * @param pollTimeout          how long to wait for notifications before validating the connection
+     * @param reconnectDelay       pause between reconnection attempts
+     * @param meterRegistry        registry for received notification and reconnect counters
+     */
+    public RevocationListenerImpl(
+            RevokedTokenFilter revokedTokenFilter,
+            TokenEpochCache tokenEpochCache,
+            @Value("${revocation-events.enabled}") boolean enabled,
+            @Value("${revocation-events.channel}") String channel,
+            DataSourceProperties dataSourceProperties,
+            @Value("${revocation-events.poll-timeout}") Duration pollTimeout,
+            @Value("${revocation-events.reconnect-delay}") Duration reconnectDelay,
+            MeterRegistry meterRegistry
+    ) {
+        if (!RevocationPublisherImpl.CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel name: " + channel);
+        }
+
+        this.revokedTokenFilter = revokedTokenFilter;
+        this.tokenEpochCache = tokenEpochCache;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.listenerDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .build();
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+        this.tokensReceived = meterRegistry.counter(METRIC_PREFIX + ".received", "type", "tokens");
+        this.logoutAllsReceived = meterRegistry.counter(METRIC_PREFIX + ".received", "type", "logout_all");
+        this.reconnects = meterRegistry.counter(METRIC_PREFIX + ".reconnects");
+    }
+
+    /**
+     * Starts the listener thread once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+
+        running = true;
+        thread = Thread.ofPlatform()
+                .name("revocation-listener")
+                .daemon()
+                .start(this::listen);
+    }
+
+    /**
+     * Stops the listener thread and closes its connection.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (thread == null) {
+            return;
+        }
+
+        thread.interrupt();
+        closeQuietly(connection);
+        try {
+            thread.join(reconnectDelay.plus(pollTimeout).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    @Override
+    public void handle(String payload) {
+        try {
+            if (payload.startsWith(RevocationPublisherImpl.TOKENS_PREFIX)) {
+                String[] entries = payload.substring(RevocationPublisherImpl.TOKENS_PREFIX.length()).split(",");
+                for (String entry : entries) {
+                    putRevokedToken(entry);
+                }
+                tokensReceived.increment(entries.length);
+            } else if (payload.startsWith(RevocationPublisherImpl.LOGOUT_ALL_PREFIX)) {
+                tokenEpochCache.invalidate(Long.parseLong(
+                        payload.substring(RevocationPublisherImpl.LOGOUT_ALL_PREFIX.length())
+                ));
+                logoutAllsReceived.increment();
+            } else {
+                log.warn("Ignoring revocation notification of unknown type: {}", payload);
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed revocation notification: {}", payload, e);
+        }
+    }
+
+    @Override
+    public boolean isListening() {
+        return listening;
+    }
+
+    private void putRevokedToken(String entry) {
+        int separator = entry.indexOf(RevocationPublisherImpl.EXPIRY_SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Missing token expiration");
+        }
+
+        revokedTokenFilter.put(
+                TokenHash.fromHex(entry.substring(0, separator)),
+                LocalDateTime.ofEpochSecond(Long.parseLong(entry.substring(separator + 1)), 0, ZoneOffset.UTC)
+        );
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection listenerConnection = listenerDataSource.getConnection()) {
+                connection = listenerConnection;
+                subscribe(listenerConnection);
+                listening = true;
+                catchUp();
+                receive(listenerConnection);
+            } catch (SQLException e) {
+                if (running) {
+                    reconnects.increment();
+                    log.warn("Revocation listener connection lost, reconnecting in {} ms", reconnectDelay.toMillis(), e);
+                }
+            } finally {
+                listening = false;
+                connection = null;
+            }
+
+            if (running && !sleep(reconnectDelay)) {
+                return;
+            }
+        }
+    }
+
+    private void subscribe(Connection listenerConnection) throws SQLException {
+        try (Statement statement = listenerConnection.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        }
+    }
+
+    /**
+     * Recovers revocations whose notifications may have been missed while no subscription was active.
+     * Revocations committed from now on are delivered by the subscription, so the catch-up only has to cover the gap.
+     */
+    private void catchUp() {
+        try {
+            revokedTokenFilter.synchronize();
+            tokenEpochCache.invalidateAll();
+        } catch (RuntimeException e) {
+            log.warn("Revocation catch-up failed; the next scheduled sync will retry", e);
+        }
+    }
+
+    private void receive(Connection listenerConnection) throws SQLException {
+        PGConnection pgConnection = listenerConnection.unwrap(PGConnection.class);
+        int timeoutMillis = Math.toIntExact(Math.max(pollTimeout.toMillis(), 1));
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(timeoutMillis);
+            if (notifications == null || notifications.length == 0) {
+                if (!listenerConnection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Revocation listener connection is no longer valid");
+                }
+                continue;
+            }
+
+            for (PGNotification notification : notifications) {
+                handle(notification.getParameter());
+            }
+        }
+    }
+
+    private static boolean sleep(Duration delay) {
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection listenerConnection) {
+        if (listenerConnection == null) {
+            return;
+        }
+
+        try {
+            listenerConnection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close revocation listener connection", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.blogs.app.api.auth.revocation;
+
+import com.example.blogs.app.api.auth.entity.RevokedTokenEntity;
+
+import java.util.Collection;
+
+/**
+ * Broadcasts committed revocations to the other application instances.
+ * Publishing is best effort: the database stays authoritative and instances that miss a notification
+ * catch up from the revoked tokens table on their next synchronization.
+ */
+public interface RevocationPublisher {
+    /**
+     * Announces persisted token revocations.
+     *
+     * @param revokedTokens persisted revoked tokens with their expirations
+     */
+    void publishRevokedTokens(Collection<RevokedTokenEntity> revokedTokens);
+
+    /**
+     * Announces that the token epoch of a user was incremented.
+     *
+     * @param userId user whose sessions were all revoked
+     */
+    void publishLogoutAll(Long userId);
+}
@@ -0,0 +1,121 @@
+package com.example.blogs.app.api.auth.revocation;
+
+import com.example.blogs.app.api.auth.entity.RevokedTokenEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.regex.Pattern;
+
+/**
+ * PostgreSQL {@code NOTIFY} based revocation publisher.
+ * Token hashes are sent in hexadecimal form along with their expiration in epoch seconds,
+ * packed into as few notifications as the 8000 byte payload limit allows.
+ * When called inside a transaction the notification is delivered on commit, otherwise immediately.
+ */
+@Slf4j
+@Component
+public class RevocationPublisherImpl implements RevocationPublisher {
+
+    static final String TOKENS_PREFIX = "t:";
+
+    static final String LOGOUT_ALL_PREFIX = "u:";
+
+    static final char EXPIRY_SEPARATOR = '@';
+
+    static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private static final String NOTIFY = "SELECT pg_notify(?, ?)";
+
+    private static final RowCallbackHandler IGNORE_RESULT = resultSet -> {
+    };
+
+    private static final int MAX_TOKENS_PER_NOTIFICATION = 100;
+
+    private static final String METRIC_PREFIX = "revocation_events";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final boolean enabled;
+
+    private final String channel;
+
+    private final Counter published;
+
+    private final Counter failures;
+
+    /**
+     * Constructs the publisher with its notification channel and metrics registry.
+     *
+     * @param jdbcTemplate  template used to issue {@code pg_notify} calls
+     * @param enabled       whether revocations are broadcast at all
+     * @param channel       name of the notification channel shared by all instances
+     * @param meterRegistry registry for published and failed notification counters
+     */
+    public RevocationPublisherImpl(
+            JdbcTemplate jdbcTemplate,
+            @Value("${revocation-events.enabled}") boolean enabled,
+            @Value("${revocation-events.channel}") String channel,
+            MeterRegistry meterRegistry
+    ) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel name: " + channel);
+        }
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.published = meterRegistry.counter(METRIC_PREFIX + ".published");
+        this.failures = meterRegistry.counter(METRIC_PREFIX + ".publish_failures");
+    }
+
+    @Override
+    public void publishRevokedTokens(Collection<RevokedTokenEntity> revokedTokens) {
+        if (!enabled || revokedTokens.isEmpty()) {
+            return;
+        }
+
+        StringBuilder payload = new StringBuilder(TOKENS_PREFIX);
+        int count = 0;
+        for (RevokedTokenEntity revokedToken : revokedTokens) {
+            if (count == MAX_TOKENS_PER_NOTIFICATION) {
+                notify(payload.toString());
+                payload.setLength(TOKENS_PREFIX.length());
+                count = 0;
+            }
+
+            if (count > 0) {
+                payload.append(',');
+            }
+            payload.append(revokedToken.getToken().toHex())
+                    .append(EXPIRY_SEPARATOR)
+                    .append(revokedToken.getExpiresAt().toEpochSecond(ZoneOffset.UTC));
+            count++;
+        }
+        notify(payload.toString());
+    }
+
+    @Override
+    public void publishLogoutAll(Long userId) {
+        if (enabled) {
+            notify(LOGOUT_ALL_PREFIX + userId);
+        }
+    }
+
+    private void notify(String payload) {
+        try {
+            jdbcTemplate.query(NOTIFY, IGNORE_RESULT, channel, payload);
+            published.increment();
+        } catch (DataAccessException e) {
+            failures.increment();
+            log.warn("Failed to publish revocation notification; other instances will catch up on their next sync", e);
+        }
+    }
+}
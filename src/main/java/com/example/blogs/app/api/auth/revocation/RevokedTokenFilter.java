@@ -0,0 +1,50 @@
+package com.example.blogs.app.api.auth.revocation;
+
+import com.example.blogs.app.security.TokenHash;
+
+import java.time.LocalDateTime;
+
+/**
+ * Local membership layer for revoked token hashes.
+ * A negative answer means the token was definitely never revoked, so the database lookup can be skipped.
+ * Probabilistic implementations may report tokens that were never revoked; exact implementations
+ * also answer positive lookups on their own through {@link #definitelyContains(TokenHash)}.
+ */
+public interface RevokedTokenFilter {
+    /**
+     * Checks whether a token hash might be in the revoked tokens table.
+     *
+     * @param token hashed refresh token to check
+     * @return false if the token is definitely not revoked, true if the database must be consulted
+     */
+    boolean mightContain(TokenHash token);
+
+    /**
+     * Checks whether a token hash is known to be revoked without consulting the database.
+     *
+     * @param token hashed refresh token to check
+     * @return true if the token is definitely revoked; always false for probabilistic implementations
+     */
+    boolean definitelyContains(TokenHash token);
+
+    /**
+     * Records a newly revoked token hash.
+     *
+     * @param token     hashed refresh token that was revoked
+     * @param expiresAt token expiration timestamp, after which the hash may be dropped
+     */
+    void put(TokenHash token, LocalDateTime expiresAt);
+
+    /**
+     * Rebuilds the filter so it only holds revoked tokens that have not expired yet,
+     * dropping hashes of expired tokens that cannot be removed individually.
+     *
+     * @param now cutoff timestamp; only tokens expiring after it are loaded
+     */
+    void rebuild(LocalDateTime now);
+
+    /**
+     * Loads revocations persisted by other application instances since the last synchronization.
+     */
+    void synchronize();
+}
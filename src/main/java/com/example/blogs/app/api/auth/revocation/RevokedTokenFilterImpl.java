@@ -0,0 +1,125 @@
+package com.example.blogs.app.api.auth.revocation;
+
+import com.example.blogs.app.api.auth.repository.RevokedTokenRepository;
+import com.example.blogs.app.security.TokenHash;
+import com.example.blogs.app.util.BloomFilter;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Bloom filter backed implementation of the revoked token filter.
+ * Warms up from the revoked tokens table at startup, is rebuilt after each cleanup run,
+ * and periodically pulls revocations written by other instances as a backstop for missed revocation notifications.
+ * Until the initial load completes every lookup is reported as a possible hit so the database stays authoritative.
+ * Token hashes are SHA-256 digests, so their leading words feed the filter directly without rehashing.
+ * Expiration timestamps are ignored; expired hashes leave the filter when it is rebuilt.
+ */
+public class RevokedTokenFilterImpl implements RevokedTokenFilter {
+
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final long expectedInsertions;
+
+    private final double falsePositiveProbability;
+
+    private volatile BloomFilter current;
+
+    private volatile BloomFilter pending;
+
+    private volatile LocalDateTime syncedUntil;
+
+    /**
+     * Constructs the filter with its backing repository and sizing parameters.
+     *
+     * @param revokedTokenRepository   repository used to load revoked token hashes
+     * @param expectedInsertions       number of revoked tokens the filter is sized for
+     * @param falsePositiveProbability target false positive rate at the expected size
+     */
+    public RevokedTokenFilterImpl(
+            RevokedTokenRepository revokedTokenRepository,
+            long expectedInsertions,
+            double falsePositiveProbability
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    /**
+     * Loads all non-expired revoked tokens once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild(LocalDateTime.now());
+    }
+
+    @Override
+    public boolean mightContain(TokenHash token) {
+        BloomFilter filter = current;
+        return filter == null || filter.mightContain(token.word(0), token.word(1));
+    }
+
+    @Override
+    public boolean definitelyContains(TokenHash token) {
+        return false;
+    }
+
+    @Override
+    public void put(TokenHash token, LocalDateTime expiresAt) {
+        add(token);
+    }
+
+    @Override
+    public synchronized void rebuild(LocalDateTime now) {
+        BloomFilter fresh = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        pending = fresh;
+
+        try {
+            LocalDateTime loadStartedAt = LocalDateTime.now();
+            revokedTokenRepository.findTokensByExpiresAtAfter(now).forEach(token -> put(fresh, token));
+
+            current = fresh;
+            syncedUntil = loadStartedAt;
+        } finally {
+            pending = null;
+        }
+    }
+
+    @Override
+    @Scheduled(
+            initialDelayString = "${revoked-token-filter.sync-interval}",
+            fixedDelayString = "${revoked-token-filter.sync-interval}"
+    )
+    public synchronized void synchronize() {
+        LocalDateTime since = syncedUntil;
+        if (since == null) {
+            return;
+        }
+
+        LocalDateTime syncStartedAt = LocalDateTime.now();
+        revokedTokenRepository.findTokensByRevokedAtAfter(since.minus(SYNC_OVERLAP)).forEach(this::add);
+        syncedUntil = syncStartedAt;
+    }
+
+    private void add(TokenHash token) {
+        BloomFilter filter = current;
+        if (filter != null) {
+            put(filter, token);
+        }
+
+        BloomFilter next = pending;
+        if (next != null) {
+            put(next, token);
+        }
+    }
+
+    private static void put(BloomFilter filter, TokenHash token) {
+        filter.put(token.word(0), token.word(1));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.blogs.app.api.auth.revocation;
+
+import com.example.blogs.app.api.auth.entity.RevokedTokenEntity;
+import com.example.blogs.app.security.TokenHash;
+
+/**
+ * Group-commit buffer for token revocations.
+ * Revocations are visible to lookups as soon as they are enqueued and are persisted
+ * in multi-row batches, trading a bounded crash-loss window for far fewer commits.
+ */
+public interface RevokedTokenWriteBehind {
+    /**
+     * @return true if revocations should be routed through this buffer instead of being saved directly
+     */
+    boolean isEnabled();
+
+    /**
+     * Buffers a revocation for the next batch flush.
+     * When the buffer is full the calling thread flushes synchronously before enqueueing, and if concurrent
+     * callers have refilled it by then, persists its own revocation directly, so the buffer never exceeds its cap.
+     *
+     * @param revokedToken revoked token carrying its hash, revocation and expiration timestamps
+     * @return false if the token is already waiting to be flushed
+     * @throws org.springframework.dao.DataAccessException if a synchronous flush fails
+     */
+    boolean enqueue(RevokedTokenEntity revokedToken);
+
+    /**
+     * Checks whether a token hash has been revoked but not yet persisted.
+     *
+     * @param token hashed refresh token to check
+     * @return true if the token is waiting to be flushed
+     */
+    boolean isPending(TokenHash token);
+
+    /**
+     * Persists all buffered revocations.
+     *
+     * @throws org.springframework.dao.DataAccessException if a batch cannot be written; its entries stay buffered
+     */
+    void flush();
+}
@@ -0,0 +1,263 @@
+package com.example.blogs.app.api.auth.revocation;
+
+import com.example.blogs.app.api.auth.entity.RevokedTokenEntity;
+import com.example.blogs.app.api.auth.repository.RevokedTokenRepository;
+import com.example.blogs.app.security.TokenHash;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free write-behind buffer for token revocations.
+ * Enqueued revocations go into a concurrent deque and an overlay map consulted by revocation lookups,
+ * and are flushed every few milliseconds as multi-row {@code INSERT ... ON CONFLICT DO NOTHING} statements.
+ * The number of buffered revocations, and therefore what a crash can lose, is capped by {@code max-pending}:
+ * callers reserve a slot before buffering, and when none is left they flush synchronously, falling back to
+ * persisting their own revocation directly if concurrent callers took the freed slots.
+ * Persisted tokens are added to the {@link RevokedTokenFilter} before they leave the overlay,
+ * so a filter rebuild running concurrently with a flush cannot hide them, and are then announced
+ * to the other instances by the {@link RevocationPublisher}.
+ */
+@Slf4j
+@Component
+public class RevokedTokenWriteBehindImpl implements RevokedTokenWriteBehind {
+
+    private static final String METRIC_PREFIX = "revoked_token_write_behind";
+
+    private static final int MAX_BATCH_SIZE = 65535 / 3;
+
+    private static final long FAILURE_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private static final long NOT_FAILING = Long.MIN_VALUE;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final RevokedTokenFilter revokedTokenFilter;
+
+    private final RevocationPublisher revocationPublisher;
+
+    private final boolean enabled;
+
+    private final int batchSize;
+
+    private final int maxPending;
+
+    private final ConcurrentLinkedDeque<RevokedTokenEntity> queue = new ConcurrentLinkedDeque<>();
+
+    private final Map<TokenHash, RevokedTokenEntity> overlay = new ConcurrentHashMap<>();
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final DistributionSummary batchSizes;
+
+    private final Timer flushDuration;
+
+    private final Timer commitLag;
+
+    private final Counter duplicates;
+
+    private final Counter flushFailures;
+
+    private volatile long failureLoggedAt = NOT_FAILING;
+
+    /**
+     * Constructs the buffer with its persistence target, filter, sizing parameters, and metrics registry.
+     *
+     * @param revokedTokenRepository repository used for multi-row inserts
+     * @param revokedTokenFilter     filter updated once revocations are persisted
+     * @param revocationPublisher    publisher announcing persisted revocations to other instances
+     * @param enabled                whether revocations are routed through the buffer
+     * @param batchSize              maximum number of rows per insert statement
+     * @param maxPending             maximum number of buffered revocations before callers flush synchronously
+     * @param meterRegistry          registry for batch size, flush latency, and failure metrics
+     */
+    public RevokedTokenWriteBehindImpl(
+            RevokedTokenRepository revokedTokenRepository,
+            RevokedTokenFilter revokedTokenFilter,
+            RevocationPublisher revocationPublisher,
+            @Value("${revoked-token-write-behind.enabled}") boolean enabled,
+            @Value("${revoked-token-write-behind.batch-size}") int batchSize,
+            @Value("${revoked-token-write-behind.max-pending}") int maxPending,
+            MeterRegistry meterRegistry
+    ) {
+        if (batchSize <= 0 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("Max pending must be positive");
+        }
+
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.revokedTokenFilter = revokedTokenFilter;
+        this.revocationPublisher = revocationPublisher;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.batchSizes = DistributionSummary.builder(METRIC_PREFIX + ".batch_size")
+                .description("Number of revocations written per insert statement")
+                .register(meterRegistry);
+        this.flushDuration = Timer.builder(METRIC_PREFIX + ".flush_duration")
+                .description("Time spent executing a batch insert")
+                .register(meterRegistry);
+        this.commitLag = Timer.builder(METRIC_PREFIX + ".commit_lag")
+                .description("Time from revocation until the oldest revocation of a batch was committed")
+                .register(meterRegistry);
+        this.duplicates = meterRegistry.counter(METRIC_PREFIX + ".duplicates");
+        this.flushFailures = meterRegistry.counter(METRIC_PREFIX + ".flush_failures");
+        meterRegistry.gauge(METRIC_PREFIX + ".pending", pending);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean enqueue(RevokedTokenEntity revokedToken) {
+        if (overlay.putIfAbsent(revokedToken.getToken(), revokedToken) != null) {
+            return false;
+        }
+
+        try {
+            if (!reserveSlot()) {
+                flush();
+                if (!reserveSlot()) {
+                    // Concurrent callers refilled the buffer; persist this revocation directly rather than exceed the cap
+                    List<RevokedTokenEntity> single = List.of(revokedToken);
+                    persist(single);
+                    revocationPublisher.publishRevokedTokens(single);
+                    return true;
+                }
+            }
+        } catch (RuntimeException e) {
+            overlay.remove(revokedToken.getToken(), revokedToken);
+            throw e;
+        }
+
+        queue.offer(revokedToken);
+        return true;
+    }
+
+    @Override
+    public boolean isPending(TokenHash token) {
+        return !overlay.isEmpty() && overlay.containsKey(token);
+    }
+
+    @Override
+    public void flush() {
+        List<RevokedTokenEntity> batch = drainBatch();
+        while (!batch.isEmpty()) {
+            writeBatch(batch);
+            batch = drainBatch();
+        }
+    }
+
+    /**
+     * Periodically flushes buffered revocations.
+     * The affected entries stay buffered and are retried on the next run. Failures are logged when a streak
+     * of them starts and then at most every ten seconds, so an outage is visible without a warning per run.
+     */
+    @Scheduled(
+            initialDelayString = "${revoked-token-write-behind.flush-interval}",
+            fixedDelayString = "${revoked-token-write-behind.flush-interval}"
+    )
+    public void flushPending() {
+        try {
+            flush();
+            failureLoggedAt = NOT_FAILING;
+        } catch (Exception e) {
+            long now = System.nanoTime();
+            if (failureLoggedAt == NOT_FAILING || now - failureLoggedAt >= FAILURE_LOG_INTERVAL_NANOS) {
+                failureLoggedAt = now;
+                log.warn("Failed to flush {} pending token revocations; they are lost if this instance stops",
+                        pending.get(), e);
+            }
+        }
+    }
+
+    /**
+     * Flushes buffered revocations before the application context shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Failed to flush {} pending token revocations on shutdown", pending.get(), e);
+        }
+    }
+
+    private List<RevokedTokenEntity> drainBatch() {
+        List<RevokedTokenEntity> batch = new ArrayList<>(Math.min(batchSize, Math.max(pending.get(), 1)));
+        RevokedTokenEntity revokedToken;
+        while (batch.size() < batchSize && (revokedToken = queue.poll()) != null) {
+            batch.add(revokedToken);
+        }
+        return batch;
+    }
+
+    /**
+     * Reserves a buffer slot, counting it as pending only if that keeps the buffer within {@code maxPending}.
+     *
+     * @return true if the slot was reserved
+     */
+    private boolean reserveSlot() {
+        if (pending.incrementAndGet() <= maxPending) {
+            return true;
+        }
+        pending.decrementAndGet();
+        return false;
+    }
+
+    private void writeBatch(List<RevokedTokenEntity> batch) {
+        try {
+            persist(batch);
+        } catch (RuntimeException e) {
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                queue.offerFirst(batch.get(i));
+            }
+            throw e;
+        }
+        pending.addAndGet(-batch.size());
+        revocationPublisher.publishRevokedTokens(batch);
+    }
+
+    /**
+     * Inserts the revocations, then adds them to the filter and drops them from the overlay.
+     */
+    private void persist(List<RevokedTokenEntity> batch) {
+        int inserted;
+        long startedAt = System.nanoTime();
+        try {
+            inserted = revokedTokenRepository.insertAllIgnoringDuplicates(batch);
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            throw e;
+        }
+        flushDuration.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        batchSizes.record(batch.size());
+        duplicates.increment(batch.size() - inserted);
+        commitLag.record(Duration.between(batch.getFirst().getRevokedAt(), LocalDateTime.now()));
+
+        for (RevokedTokenEntity revokedToken : batch) {
+            revokedTokenFilter.put(revokedToken.getToken(), revokedToken.getExpiresAt());
+            overlay.remove(revokedToken.getToken(), revokedToken);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.blogs.app.api.auth.revocation;
+
+/**
+ * Local cache of per-user token epochs.
+ * A refresh token is only accepted while its embedded epoch is not older than the user's current epoch,
+ * so bumping the epoch invalidates every session of the user with a single row update.
+ */
+public interface TokenEpochCache {
+    /**
+     * Returns the current token epoch of a user, loading it from the database on a cache miss.
+     *
+     * @param userId user identifier
+     * @return the current token epoch
+     * @throws com.example.blogs.app.api.user.exception.UserNotFoundException if no user is found
+     */
+    int currentEpoch(Long userId);
+
+    /**
+     * Drops the cached epoch of a user so the next lookup reads the database.
+     *
+     * @param userId user identifier
+     */
+    void invalidate(Long userId);
+
+    /**
+     * Drops all cached epochs, used when logout-all events from other instances may have been missed.
+     */
+    void invalidateAll();
+}
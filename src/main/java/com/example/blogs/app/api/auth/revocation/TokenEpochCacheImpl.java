@@ -0,0 +1,54 @@
+package com.example.blogs.app.api.auth.revocation;
+
+import com.example.blogs.app.api.user.service.UserService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Caffeine backed token epoch cache.
+ * Logout-all events of other instances arrive through the {@link RevocationListener};
+ * entries additionally expire after a fixed time to live, which bounds how long an instance
+ * that missed such an event may keep accepting refresh tokens.
+ */
+@Component
+public class TokenEpochCacheImpl implements TokenEpochCache {
+
+    private final LoadingCache<Long, Integer> epochs;
+
+    /**
+     * Constructs the cache with its loading source and eviction parameters.
+     *
+     * @param userService service used to load token epochs on a cache miss
+     * @param ttl         time after which a cached epoch is reloaded
+     * @param maxSize     maximum number of cached users
+     */
+    public TokenEpochCacheImpl(
+            UserService userService,
+            @Value("${token-epoch-cache.ttl}") Duration ttl,
+            @Value("${token-epoch-cache.max-size}") long maxSize
+    ) {
+        this.epochs = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build(userService::findTokenEpoch);
+    }
+
+    @Override
+    public int currentEpoch(Long userId) {
+        return epochs.get(userId);
+    }
+
+    @Override
+    public void invalidate(Long userId) {
+        epochs.invalidate(userId);
+    }
+
+    @Override
+    public void invalidateAll() {
+        epochs.invalidateAll();
+    }
+}
@@ -1,7 +1,6 @@
 package com.example.blogs.app.api.auth.service;
 
 import com.example.blogs.app.api.auth.dto.*;
-import com.example.blogs.app.api.auth.entity.RevokedTokenEntity;
 import com.example.blogs.app.api.auth.exception.InvalidCredentialsException;
 import com.example.blogs.app.api.auth.exception.UnauthorizedException;
 
@@ -12,6 +11,7 @@ import com.example.blogs.app.api.auth.exception.UnauthorizedException;
 public interface AuthService {
     /**
      * Registers a new user and returns JWT tokens for immediate authentication.
+     * Taken usernames and emails are rejected before the password is hashed.
      *
      * @param registerRequest user registration details
      * @return access and refresh token pair
@@ -20,6 +20,17 @@ public interface AuthService {
      */
     TokenPair register(RegisterRequest registerRequest);
 
+    /**
+     * Checks whether a username and an email address are still free to register, ignoring case.
+     * Either may be omitted; its availability is then left out of the response.
+     *
+     * @param username username to check, or null
+     * @param email    email address to check, or null
+     * @return availability of the queried names
+     * @throws com.example.blogs.app.api.user.exception.FailedToFindUserException for database errors
+     */
+    AvailabilityResponse checkAvailability(String username, String email);
+
     /**
      * Authenticates a user and generates JWT tokens.
      *
@@ -30,21 +41,30 @@ public interface AuthService {
     TokenPair login(LoginRequest loginRequest);
 
     /**
-     * Refreshes an access token using a valid refresh token.
+     * Refreshes an access token using a valid refresh token and rotates the refresh token.
+     * The presented refresh token is used up; presenting it again revokes the whole session.
      *
      * @param tokenRequest request containing the refresh token
-     * @return new access token with updated expiration
-     * @throws UnauthorizedException if refresh token is invalid, expired, or revoked
+     * @return new access token with updated expiration and the rotated refresh token
+     * @throws UnauthorizedException if refresh token is invalid, expired, revoked, or already used
      */
     AccessTokenResponse refreshAccessToken(RefreshTokenRequest tokenRequest);
 
     /**
-     * Revokes a refresh token and invalidates all associated sessions.
+     * Revokes a refresh token together with every token rotated within its session.
      *
      * @param logoutRequest request containing the refresh token to revoke
-     * @return persisted revoked token entity
      * @throws com.example.blogs.app.api.auth.exception.TokenAlreadyRevokedException if token was already revoked
      * @throws UnauthorizedException if refresh token is invalid or expired
      */
-    RevokedTokenEntity logout(LogoutRequest logoutRequest);
+    void logout(LogoutRequest logoutRequest);
+
+    /**
+     * Revokes every refresh token issued to a user so all devices have to log in again.
+     * Access tokens already issued stay valid until they expire.
+     *
+     * @param userId identifier of the user
+     * @throws com.example.blogs.app.api.user.exception.UserNotFoundException if no user is found
+     */
+    void logoutAll(Long userId);
 }
@@ -1,25 +1,37 @@
 package com.example.blogs.app.api.auth.service;
 
 import com.example.blogs.app.api.auth.dto.*;
-import com.example.blogs.app.api.auth.entity.RevokedTokenEntity;
 import com.example.blogs.app.api.auth.exception.InvalidCredentialsException;
+import com.example.blogs.app.api.auth.exception.TokenAlreadyRevokedException;
 import com.example.blogs.app.api.auth.exception.UnauthorizedException;
 import com.example.blogs.app.api.auth.repository.adapter.RevokedTokenRepositoryAdapter;
+import com.example.blogs.app.api.auth.repository.adapter.TokenFamilyRepositoryAdapter;
+import com.example.blogs.app.api.auth.revocation.RevocationPublisher;
+import com.example.blogs.app.api.auth.revocation.TokenEpochCache;
 import com.example.blogs.app.api.user.dto.CreateUserCommand;
 import com.example.blogs.app.api.user.entity.UserEntity;
+import com.example.blogs.app.api.user.exception.EmailTakenException;
+import com.example.blogs.app.api.user.exception.UsernameTakenException;
 import com.example.blogs.app.api.user.service.UserService;
 import com.example.blogs.app.security.Hasher;
+import com.example.blogs.app.security.TokenHash;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Orchestrates user authentication operations by coordinating password hashing, user validation, and token generation.
+ * Every login starts a refresh token family that is rotated in place on each refresh;
+ * replaying a used refresh token revokes the family, and logout revokes it as well.
  */
+@Slf4j
 @Service
 @AllArgsConstructor
 public class AuthServiceImpl implements AuthService {
@@ -36,8 +48,23 @@ public class AuthServiceImpl implements AuthService {
 
     private final Hasher hasher;
 
+    private final RefreshTokenVerifier refreshTokenVerifier;
+
+    private final TokenEpochCache tokenEpochCache;
+
+    private final TokenFamilyRepositoryAdapter tokenFamilyRepositoryAdapter;
+
+    private final RevocationPublisher revocationPublisher;
+
     @Override
     public TokenPair register(RegisterRequest registerRequest) {
+        if (userService.isUsernameTaken(registerRequest.username())) {
+            throw new UsernameTakenException();
+        }
+        if (userService.isEmailTaken(registerRequest.email())) {
+            throw new EmailTakenException();
+        }
+
         String passwordHash = passwordEncoder.encode(registerRequest.password());
 
         CreateUserCommand command = new CreateUserCommand(
@@ -48,7 +75,15 @@ public class AuthServiceImpl implements AuthService {
 
         UserEntity user = userService.createUser(command);
 
-        return tokenPairGenerator.generateTokens(user);
+        return startSession(user);
+    }
+
+    @Override
+    public AvailabilityResponse checkAvailability(String username, String email) {
+        return new AvailabilityResponse(
+                username != null ? !userService.isUsernameTaken(username) : null,
+                email != null ? !userService.isEmailTaken(email) : null
+        );
     }
 
     @Override
@@ -66,64 +101,148 @@ public class AuthServiceImpl implements AuthService {
             throw new InvalidCredentialsException();
         }
 
-        return tokenPairGenerator.generateTokens(user);
+        if (passwordEncoder.upgradeEncoding(user.getPasswordHash())) {
+            rehashPassword(user, loginRequest.password());
+        }
+
+        return startSession(user);
+    }
+
+    /**
+     * Starts a new refresh token family for a login session and issues its first token pair.
+     *
+     * @param user authenticated user
+     * @return token pair whose refresh token is generation 0 of the new family
+     */
+    private TokenPair startSession(UserEntity user) {
+        Instant expiresAt = jwtService.refreshTokenExpiresAt(Instant.now());
+        UUID familyId = tokenFamilyRepositoryAdapter.createFamily(user.getId(), toLocalDateTime(expiresAt));
+
+        return tokenPairGenerator.generateTokens(user, new TokenFamily(familyId, 0, expiresAt));
+    }
+
+    /**
+     * Rehashes a verified password with the current work factor and stores the new hash.
+     * Failures are logged and ignored: the login itself already succeeded and the next login retries.
+     *
+     * @param user        authenticated user
+     * @param rawPassword verified plaintext password
+     */
+    private void rehashPassword(UserEntity user, String rawPassword) {
+        try {
+            String passwordHash = passwordEncoder.encode(rawPassword);
+            userService.updatePasswordHash(user.getId(), passwordHash);
+            user.setPasswordHash(passwordHash);
+        } catch (Exception e) {
+            log.warn("Failed to rehash password for user {}", user.getId(), e);
+        }
     }
 
     /**
-     * Refreshes an access token by validating the refresh token and generating a new access token.
-     * Verifies that the token is valid, not expired, and is of type "refresh".
+     * Refreshes an access token by validating the refresh token, then rotates the refresh token within its family.
+     * The token passes the staged verifier (structure, signature and expiry, type, epoch)
+     * so only well-formed, correctly signed refresh tokens ever reach the database.
+     * Rotation is a single update of the family row that succeeds only for the current generation;
+     * any other generation means a used token was replayed, and the whole family is revoked.
+     * Tokens issued before token families are revoked individually and move the session into a new family.
      *
      * @param tokenRequest request containing the refresh token
-     * @return new access token with user claims and updated expiration
-     * @throws UnauthorizedException if refresh token is invalid, expired, or not a refresh token type
+     * @return new access token with user claims and updated expiration, and the rotated refresh token
+     * @throws UnauthorizedException if refresh token is invalid, expired, revoked, already used,
+     *                               or not a refresh token type
      */
     @Override
     public AccessTokenResponse refreshAccessToken(RefreshTokenRequest tokenRequest) {
-        String tokenHash = hasher.hash(tokenRequest.refreshToken());
-        if (revokedTokenRepositoryAdapter.isTokenRevoked(tokenHash)) {
+        VerifiedRefreshToken verified = refreshTokenVerifier.verify(tokenRequest.refreshToken());
+        Map<String, Object> claims = verified.claims();
+        Instant expiresAt = expiresAt(claims);
+
+        TokenPair tokenPair = claims.get("fid") == null
+                ? rotateIntoNewFamily(verified, expiresAt)
+                : rotateWithinFamily(claims, expiresAt);
+
+        return new AccessTokenResponse(tokenPair.accessToken(), tokenPair.refreshToken());
+    }
+
+    private TokenPair rotateWithinFamily(Map<String, Object> claims, Instant expiresAt) {
+        UUID familyId = familyId(claims);
+        int generation = claims.get("gen") instanceof Number gen ? gen.intValue() : -1;
+
+        if (!tokenFamilyRepositoryAdapter.rotate(familyId, generation)) {
+            if (tokenFamilyRepositoryAdapter.revoke(familyId)) {
+                log.warn("Refresh token reuse detected for token family {}, revoked the family", familyId);
+            }
             throw new UnauthorizedException();
         }
 
-        Map<String, Object> claims;
+        return tokenPairGenerator.rotateTokens(claims, new TokenFamily(familyId, generation + 1, expiresAt));
+    }
+
+    private TokenPair rotateIntoNewFamily(VerifiedRefreshToken verified, Instant expiresAt) {
         try {
-            claims = jwtService.parseClaims(tokenRequest.refreshToken());
-        } catch (Exception e) {
+            revokedTokenRepositoryAdapter.saveRevokedToken(verified.tokenHash(), toLocalDateTime(expiresAt));
+        } catch (TokenAlreadyRevokedException e) {
             throw new UnauthorizedException();
         }
 
-        String subject = claims.get("sub").toString();
+        Long userId = Long.valueOf(verified.claims().get("id").toString());
+        UUID familyId = tokenFamilyRepositoryAdapter.createFamily(userId, toLocalDateTime(expiresAt));
 
-        if (!"refresh".equals(claims.get("type"))) {
-            throw new UnauthorizedException();
-        }
+        return tokenPairGenerator.rotateTokens(verified.claims(), new TokenFamily(familyId, 0, expiresAt));
+    }
 
-        Map<String, Object> accessTokenClaims = Map.ofEntries(
-                Map.entry("username", claims.get("username")),
-                Map.entry("email", claims.get("email")),
-                Map.entry("profilePictureUrl", claims.get("profilePictureUrl"))
-        );
+    /**
+     * Revokes the family of the refresh token, or the token itself if it was issued before token families.
+     *
+     * @param logoutRequest request containing the refresh token to revoke
+     * @throws TokenAlreadyRevokedException if the family or token was already revoked
+     * @throws UnauthorizedException        if refresh token is invalid or expired
+     */
+    @Override
+    public void logout(LogoutRequest logoutRequest) {
+        Map<String, Object> claims = refreshTokenVerifier.verifySignature(logoutRequest.refreshToken());
+
+        if (claims.get("fid") != null) {
+            if (!tokenFamilyRepositoryAdapter.revoke(familyId(claims))) {
+                throw new TokenAlreadyRevokedException();
+            }
+            return;
+        }
 
-        String accessToken = jwtService.generateAccessToken(subject, accessTokenClaims);
+        TokenHash tokenHash = hasher.hash(logoutRequest.refreshToken());
 
-        return new AccessTokenResponse(accessToken);
+        revokedTokenRepositoryAdapter.saveRevokedToken(tokenHash, toLocalDateTime(expiresAt(claims)));
     }
 
+    /**
+     * Invalidates every refresh token of the user by bumping the token epoch.
+     * Costs a single row update regardless of the number of sessions and leaves the revoked tokens table untouched.
+     * The local epoch cache entry is dropped immediately, and the logout-all event is published to the other
+     * instances, whose revocation listeners drop their cached epoch on receipt. The epoch cache TTL only bounds
+     * staleness on an instance whose listener is disconnected.
+     *
+     * @param userId identifier of the authenticated user
+     */
     @Override
-    public RevokedTokenEntity logout(LogoutRequest logoutRequest) {
-        Map<String, Object> claims;
+    public void logoutAll(Long userId) {
+        userService.incrementTokenEpoch(userId);
+        tokenEpochCache.invalidate(userId);
+        revocationPublisher.publishLogoutAll(userId);
+    }
+
+    private static UUID familyId(Map<String, Object> claims) {
         try {
-            claims = jwtService.parseClaims(logoutRequest.refreshToken());
-        } catch (Exception e) {
+            return UUID.fromString(claims.get("fid").toString());
+        } catch (IllegalArgumentException e) {
             throw new UnauthorizedException();
         }
+    }
 
-        String exp = claims.get("exp").toString();
-        LocalDateTime expiresAt = LocalDateTime.ofEpochSecond(
-                Long.parseLong(exp), 0, ZoneOffset.UTC
-        );
-
-        String tokenHash = hasher.hash(logoutRequest.refreshToken());
+    private static Instant expiresAt(Map<String, Object> claims) {
+        return Instant.ofEpochSecond(Long.parseLong(claims.get("exp").toString()));
+    }
 
-        return revokedTokenRepositoryAdapter.saveRevokedToken(tokenHash, expiresAt);
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofEpochSecond(instant.getEpochSecond(), 0, ZoneOffset.UTC);
     }
 }
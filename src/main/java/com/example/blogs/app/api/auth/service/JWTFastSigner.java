@@ -0,0 +1,37 @@
+package com.example.blogs.app.api.auth.service;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Specialized HS256 signer for flat claim sets, producing the same compact tokens as the JJWT builder
+ * without building claim objects, serializing through Jackson, or initializing a new {@code Mac} per token.
+ */
+public interface JWTFastSigner {
+    /**
+     * @return true if token generation should use this signer for supported claim sets
+     */
+    boolean isEnabled();
+
+    /**
+     * Checks whether the subject and claims can be written by this signer.
+     * Only flat claim sets with string, integer, and boolean values are supported;
+     * anything else has to go through the regular JWT builder.
+     *
+     * @param subject the token subject
+     * @param claims  additional JWT claims
+     * @return true if {@link #sign} can write the token
+     */
+    boolean supports(String subject, Map<String, Object> claims);
+
+    /**
+     * Signs a token with the subject, the claims in iteration order, and the issued-at and expiration times.
+     *
+     * @param subject   the token subject
+     * @param claims    additional JWT claims; must be {@link #supports supported}
+     * @param issuedAt  issue time, written in whole seconds
+     * @param expiresAt expiration time, written in whole seconds
+     * @return signed compact JWT
+     */
+    String sign(String subject, Map<String, Object> claims, Instant issuedAt, Instant expiresAt);
+}
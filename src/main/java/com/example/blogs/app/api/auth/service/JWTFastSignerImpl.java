@@ -0,0 +1,299 @@
+package com.example.blogs.app.api.auth.service;
+
+import com.example.blogs.app.security.SigningKey;
+import com.example.blogs.app.security.SigningKeyRing;
+import com.example.blogs.app.util.StripedPool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HS256 signer writing the compact token straight into reusable byte buffers.
+ * Tokens are signed with the active key of the {@link SigningKeyRing}, using its pre-encoded {@code kid} header
+ * and pre-initialized {@code Mac}. The payload is written as JSON in the same member order as the JJWT builder
+ * ({@code sub}, the claims, {@code iat}, {@code exp}), so for the same inputs both produce identical tokens.
+ * Buffers are recycled through a {@link StripedPool}, which stays bounded under virtual threads.
+ */
+@Component
+public class JWTFastSignerImpl implements JWTFastSigner {
+
+    private static final int SIGNATURE_LENGTH = 32;
+
+    private static final int MAX_POOLED_BUFFER_SIZE = 8 * 1024;
+
+    private static final byte[] BASE64_URL_ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+
+    private static final Set<String> RESERVED_CLAIMS = Set.of("sub", "iat", "exp");
+
+    private final SigningKeyRing signingKeyRing;
+
+    private final boolean enabled;
+
+    private final StripedPool<SigningBuffers> pool = new StripedPool<>(SigningBuffers::new);
+
+    /**
+     * Constructs the signer with the signing key ring.
+     *
+     * @param signingKeyRing key ring providing the active signing key
+     * @param enabled        whether token generation should use this signer
+     */
+    public JWTFastSignerImpl(
+            SigningKeyRing signingKeyRing,
+            @Value("${jwt.fast-signer.enabled}") boolean enabled
+    ) {
+        this.signingKeyRing = signingKeyRing;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean supports(String subject, Map<String, Object> claims) {
+        if (!isWritable(subject)) {
+            return false;
+        }
+
+        for (Map.Entry<String, Object> claim : claims.entrySet()) {
+            if (RESERVED_CLAIMS.contains(claim.getKey()) || !isWritable(claim.getKey())) {
+                return false;
+            }
+
+            Object value = claim.getValue();
+            boolean supported = value instanceof String text ? isWritable(text)
+                    : value instanceof Integer || value instanceof Long || value instanceof Boolean;
+            if (!supported) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String sign(String subject, Map<String, Object> claims, Instant issuedAt, Instant expiresAt) {
+        SigningKey key = signingKeyRing.activeKey();
+        Mac mac = key.acquireMac();
+        SigningBuffers buffers = pool.acquire();
+
+        String token = buffers.sign(key, mac, subject, claims, issuedAt.getEpochSecond(), expiresAt.getEpochSecond());
+
+        key.releaseMac(mac);
+        if (buffers.token.length <= MAX_POOLED_BUFFER_SIZE) {
+            pool.release(buffers);
+        }
+        return token;
+    }
+
+    /**
+     * Checks that a string is written by Jackson verbatim apart from quote and backslash escaping:
+     * no control characters and no unpaired surrogates.
+     */
+    private static boolean isWritable(String text) {
+        if (text == null) {
+            return false;
+        }
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x20) {
+                return false;
+            }
+            if (Character.isHighSurrogate(c)) {
+                if (i + 1 == text.length() || !Character.isLowSurrogate(text.charAt(i + 1))) {
+                    return false;
+                }
+                i++;
+            } else if (Character.isLowSurrogate(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int encodedLength(int length) {
+        return length / 3 * 4 + (length % 3 == 0 ? 0 : length % 3 + 1);
+    }
+
+    private static void encodeBase64Url(byte[] source, int length, byte[] target, int offset) {
+        int i = 0;
+        for (; i + 3 <= length; i += 3) {
+            int bits = (source[i] & 0xff) << 16 | (source[i + 1] & 0xff) << 8 | source[i + 2] & 0xff;
+            target[offset++] = BASE64_URL_ALPHABET[bits >>> 18 & 0x3f];
+            target[offset++] = BASE64_URL_ALPHABET[bits >>> 12 & 0x3f];
+            target[offset++] = BASE64_URL_ALPHABET[bits >>> 6 & 0x3f];
+            target[offset++] = BASE64_URL_ALPHABET[bits & 0x3f];
+        }
+
+        int remaining = length - i;
+        if (remaining == 1) {
+            int bits = (source[i] & 0xff) << 16;
+            target[offset++] = BASE64_URL_ALPHABET[bits >>> 18 & 0x3f];
+            target[offset] = BASE64_URL_ALPHABET[bits >>> 12 & 0x3f];
+        } else if (remaining == 2) {
+            int bits = (source[i] & 0xff) << 16 | (source[i + 1] & 0xff) << 8;
+            target[offset++] = BASE64_URL_ALPHABET[bits >>> 18 & 0x3f];
+            target[offset++] = BASE64_URL_ALPHABET[bits >>> 12 & 0x3f];
+            target[offset] = BASE64_URL_ALPHABET[bits >>> 6 & 0x3f];
+        }
+    }
+
+    /**
+     * Per-slot signing state: growable buffers for the payload JSON and the token.
+     */
+    private static final class SigningBuffers {
+
+        private final byte[] signature = new byte[SIGNATURE_LENGTH];
+
+        private byte[] json = new byte[512];
+
+        private int jsonLength;
+
+        private byte[] token = new byte[1024];
+
+        private String sign(
+                SigningKey key,
+                Mac mac,
+                String subject,
+                Map<String, Object> claims,
+                long issuedAt,
+                long expiresAt
+        ) {
+            jsonLength = 0;
+            writeByte('{');
+            writeName("sub");
+            writeString(subject);
+            for (Map.Entry<String, Object> claim : claims.entrySet()) {
+                writeByte(',');
+                writeName(claim.getKey());
+                writeValue(claim.getValue());
+            }
+            writeByte(',');
+            writeName("iat");
+            writeLong(issuedAt);
+            writeByte(',');
+            writeName("exp");
+            writeLong(expiresAt);
+            writeByte('}');
+
+            String header = key.headerSegment();
+            int payloadStart = header.length() + 1;
+            int payloadEnd = payloadStart + encodedLength(jsonLength);
+            int tokenLength = payloadEnd + 1 + encodedLength(SIGNATURE_LENGTH);
+            if (token.length < tokenLength) {
+                token = new byte[Math.max(tokenLength, token.length * 2)];
+            }
+
+            for (int i = 0; i < header.length(); i++) {
+                token[i] = (byte) header.charAt(i);
+            }
+            token[header.length()] = '.';
+            encodeBase64Url(json, jsonLength, token, payloadStart);
+
+            mac.update(token, 0, payloadEnd);
+            try {
+                mac.doFinal(signature, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException("Signature buffer too small", e);
+            }
+
+            token[payloadEnd] = '.';
+            encodeBase64Url(signature, SIGNATURE_LENGTH, token, payloadEnd + 1);
+            return new String(token, 0, tokenLength, StandardCharsets.ISO_8859_1);
+        }
+
+        private void writeValue(Object value) {
+            if (value instanceof String text) {
+                writeString(text);
+            } else if (value instanceof Boolean flag) {
+                writeAscii(flag ? "true" : "false");
+            } else {
+                writeLong(((Number) value).longValue());
+            }
+        }
+
+        private void writeName(String name) {
+            writeString(name);
+            writeByte(':');
+        }
+
+        private void writeString(String text) {
+            // at most three bytes per char: escapes take two, surrogate pairs four per two chars
+            ensureJsonCapacity(text.length() * 3 + 2);
+            json[jsonLength++] = '"';
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"' || c == '\\') {
+                    json[jsonLength++] = '\\';
+                    json[jsonLength++] = (byte) c;
+                } else if (c < 0x80) {
+                    json[jsonLength++] = (byte) c;
+                } else if (c < 0x800) {
+                    json[jsonLength++] = (byte) (0xc0 | c >> 6);
+                    json[jsonLength++] = (byte) (0x80 | c & 0x3f);
+                } else if (Character.isHighSurrogate(c)) {
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    json[jsonLength++] = (byte) (0xf0 | codePoint >> 18);
+                    json[jsonLength++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                    json[jsonLength++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                    json[jsonLength++] = (byte) (0x80 | codePoint & 0x3f);
+                } else {
+                    json[jsonLength++] = (byte) (0xe0 | c >> 12);
+                    json[jsonLength++] = (byte) (0x80 | c >> 6 & 0x3f);
+                    json[jsonLength++] = (byte) (0x80 | c & 0x3f);
+                }
+            }
+            json[jsonLength++] = '"';
+        }
+
+        private void writeLong(long value) {
+            if (value == Long.MIN_VALUE) {
+                writeAscii(Long.toString(value));
+                return;
+            }
+
+            ensureJsonCapacity(20);
+            if (value < 0) {
+                json[jsonLength++] = '-';
+                value = -value;
+            }
+            int start = jsonLength;
+            do {
+                json[jsonLength++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value > 0);
+            for (int left = start, right = jsonLength - 1; left < right; left++, right--) {
+                byte digit = json[left];
+                json[left] = json[right];
+                json[right] = digit;
+            }
+        }
+
+        private void writeAscii(String text) {
+            ensureJsonCapacity(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                json[jsonLength++] = (byte) text.charAt(i);
+            }
+        }
+
+        private void writeByte(char c) {
+            ensureJsonCapacity(1);
+            json[jsonLength++] = (byte) c;
+        }
+
+        private void ensureJsonCapacity(int additional) {
+            if (jsonLength + additional > json.length) {
+                json = Arrays.copyOf(json, Math.max(jsonLength + additional, json.length * 2));
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.blogs.app.api.auth.service;
 import com.example.blogs.app.api.auth.exception.FailedToParseClaimsException;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
 
 /**
@@ -28,6 +29,16 @@ public interface JWTHelper {
      */
     String generateToken(String subject, Map<String, Object> claims, Duration expiration);
 
+    /**
+     * Generates a token with custom claims that expires at a fixed point in time.
+     *
+     * @param subject   the token subject
+     * @param claims    additional JWT claims
+     * @param expiresAt expiration timestamp
+     * @return signed JWT token
+     */
+    String generateToken(String subject, Map<String, Object> claims, Instant expiresAt);
+
     /**
      * Parses and extracts claims from a JWT token.
      *
@@ -1,45 +1,51 @@
 package com.example.blogs.app.api.auth.service;
 
 import com.example.blogs.app.api.auth.exception.FailedToParseClaimsException;
+import com.example.blogs.app.security.SigningKey;
+import com.example.blogs.app.security.SigningKeyRing;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import lombok.Getter;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Generates JWT tokens using JJWT library with HMAC SHA256 signing.
+ * Tokens are signed with the active key of the {@link SigningKeyRing} and name it in their {@code kid} header.
+ * When the fast signer is enabled, flat claim sets are signed by {@link JWTFastSigner} instead of the JJWT builder.
  */
 @Getter
 @Component
 public class JWTHelperImpl implements JWTHelper {
 
-    private final SecretKey signingKey;
+    private final SigningKeyRing signingKeyRing;
 
     private final JwtParser jwtParser;
 
+    private final JWTFastSigner jwtFastSigner;
+
     /**
-     * Constructs a JWTHelperImpl with the configured secret key.
+     * Constructs a JWTHelperImpl with the signing key ring.
      *
-     * @param secretKey the secret key used for signing tokens, loaded from application properties
-     * @param jwtParser the JWT parser for validating and parsing tokens
+     * @param signingKeyRing key ring providing the active signing key
+     * @param jwtParser      the JWT parser for validating and parsing tokens
+     * @param jwtFastSigner  specialized signer used for flat claim sets when enabled
      */
-    public JWTHelperImpl(@Value("${jwt.secret-key}") String secretKey, JwtParser jwtParser) {
-        this.signingKey = new SecretKeySpec(
-                secretKey.getBytes(StandardCharsets.UTF_8),
-                "HmacSHA256"
-        );
+    public JWTHelperImpl(
+            SigningKeyRing signingKeyRing,
+            JwtParser jwtParser,
+            JWTFastSigner jwtFastSigner
+    ) {
+        this.signingKeyRing = signingKeyRing;
         this.jwtParser = jwtParser;
+        this.jwtFastSigner = jwtFastSigner;
     }
 
     /**
@@ -64,12 +70,36 @@ public class JWTHelperImpl implements JWTHelper {
      */
     @Override
     public String generateToken(String subject, Map<String, Object> claims, Duration expiration) {
+        Instant issuedAt = Instant.now();
+        return sign(subject, claims, issuedAt, issuedAt.plus(expiration));
+    }
+
+    /**
+     * Generates a JWT token with custom claims and a fixed expiration timestamp.
+     *
+     * @param subject   the token subject (typically user ID)
+     * @param claims    additional JWT claims to include in payload
+     * @param expiresAt expiration timestamp, truncated to seconds
+     * @return signed JWT token string
+     */
+    @Override
+    public String generateToken(String subject, Map<String, Object> claims, Instant expiresAt) {
+        return sign(subject, claims, Instant.now(), expiresAt);
+    }
+
+    private String sign(String subject, Map<String, Object> claims, Instant issuedAt, Instant expiresAt) {
+        if (jwtFastSigner.isEnabled() && jwtFastSigner.supports(subject, claims)) {
+            return jwtFastSigner.sign(subject, claims, issuedAt, expiresAt);
+        }
+
+        SigningKey signingKey = signingKeyRing.activeKey();
         return Jwts.builder()
+                .header().keyId(signingKey.id()).and()
                 .subject(subject)
                 .claims(claims)
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + expiration.toMillis()))
-                .signWith(signingKey)
+                .issuedAt(Date.from(issuedAt))
+                .expiration(Date.from(expiresAt))
+                .signWith(signingKey.secretKey())
                 .compact();
     }
 
@@ -1,5 +1,6 @@
 package com.example.blogs.app.api.auth.service;
 
+import java.time.Instant;
 import java.util.Map;
 
 /**
@@ -23,6 +24,22 @@ public interface JWTService {
      */
     String generateRefreshToken(String subject, Map<String, Object> claims);
 
+    /**
+     * Generates a refresh token expiring at a fixed point in time, e.g. a token rotated within its family.
+     *
+     * @param subject   the subject of the token
+     * @param claims    additional claims to include in the token
+     * @param expiresAt expiration timestamp
+     * @return signed JWT refresh token
+     */
+    String generateRefreshToken(String subject, Map<String, Object> claims, Instant expiresAt);
+
+    /**
+     * @param issuedAt issue timestamp of a new refresh token
+     * @return expiration timestamp of a refresh token issued at the given time
+     */
+    Instant refreshTokenExpiresAt(Instant issuedAt);
+
     /**
      * Generates an access token with short-lived expiration.
      *
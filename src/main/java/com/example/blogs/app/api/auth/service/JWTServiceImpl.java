@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
 
 /**
@@ -71,6 +72,30 @@ public class JWTServiceImpl implements JWTService {
         return jwtHelper.generateToken(subject, claims, refreshTokenExpiration);
     }
 
+    /**
+     * Generates a refresh token expiring at a fixed point in time.
+     *
+     * @param subject   the subject of the token
+     * @param claims    additional claims to include in the token
+     * @param expiresAt expiration timestamp
+     * @return signed JWT refresh token
+     */
+    @Override
+    public String generateRefreshToken(String subject, Map<String, Object> claims, Instant expiresAt) {
+        return jwtHelper.generateToken(subject, claims, expiresAt);
+    }
+
+    /**
+     * Computes the expiration of a refresh token from the configured refresh token lifetime.
+     *
+     * @param issuedAt issue timestamp of a new refresh token
+     * @return expiration timestamp of a refresh token issued at the given time
+     */
+    @Override
+    public Instant refreshTokenExpiresAt(Instant issuedAt) {
+        return issuedAt.plus(refreshTokenExpiration);
+    }
+
     /**
      * Generates an access token with short-lived expiration.
      *
@@ -0,0 +1,32 @@
+package com.example.blogs.app.api.auth.service;
+
+import com.example.blogs.app.api.auth.dto.VerifiedRefreshToken;
+import com.example.blogs.app.api.auth.exception.UnauthorizedException;
+
+import java.util.Map;
+
+/**
+ * Staged verifier for refresh tokens presented to the refresh and logout endpoints.
+ * Stages run from cheapest to most expensive so malformed, forged, or expired tokens
+ * are rejected before any database work is done.
+ */
+public interface RefreshTokenVerifier {
+    /**
+     * Runs the structural and signature/expiry stages.
+     *
+     * @param token raw refresh token
+     * @return verified claims from the token payload
+     * @throws UnauthorizedException if the token is malformed, forged, or expired
+     */
+    Map<String, Object> verifySignature(String token);
+
+    /**
+     * Runs every stage: structure, signature/expiry, token type, epoch, and revocation lookup.
+     * Tokens of a token family skip the revocation lookup; the family rotation decides whether they are current.
+     *
+     * @param token raw refresh token
+     * @return verified token hash and claims
+     * @throws UnauthorizedException if any stage rejects the token
+     */
+    VerifiedRefreshToken verify(String token);
+}
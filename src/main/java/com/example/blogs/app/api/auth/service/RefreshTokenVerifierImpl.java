@@ -0,0 +1,169 @@
+package com.example.blogs.app.api.auth.service;
+
+import com.example.blogs.app.api.auth.dto.VerifiedRefreshToken;
+import com.example.blogs.app.api.auth.exception.UnauthorizedException;
+import com.example.blogs.app.api.auth.repository.adapter.RevokedTokenRepositoryAdapter;
+import com.example.blogs.app.api.auth.revocation.TokenEpochCache;
+import com.example.blogs.app.api.user.exception.UserNotFoundException;
+import com.example.blogs.app.security.Hasher;
+import com.example.blogs.app.security.TokenHash;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Verifies refresh tokens in stages ordered by cost:
+ * <ol>
+ *     <li>structure - three non-empty Base64URL segments within a length bound, no allocation</li>
+ *     <li>signature - HMAC signature and expiration, CPU only</li>
+ *     <li>type - the token must be a refresh token</li>
+ *     <li>epoch - the token epoch must not be older than the user's current epoch, served from a local cache</li>
+ *     <li>revocation - hash and revoked token lookup, the only stage that may touch the database;
+ *     skipped for tokens of a token family, whose rotation checks them against the family row instead</li>
+ * </ol>
+ * Each stage publishes its own rejection counter.
+ */
+@Component
+public class RefreshTokenVerifierImpl implements RefreshTokenVerifier {
+
+    private static final int MAX_TOKEN_LENGTH = 4096;
+
+    private static final String REJECTIONS_METRIC = "refresh_token_verifier.rejections";
+
+    private final JWTService jwtService;
+
+    private final Hasher hasher;
+
+    private final RevokedTokenRepositoryAdapter revokedTokenRepositoryAdapter;
+
+    private final TokenEpochCache tokenEpochCache;
+
+    private final Counter structureRejections;
+
+    private final Counter signatureRejections;
+
+    private final Counter typeRejections;
+
+    private final Counter epochRejections;
+
+    private final Counter revocationRejections;
+
+    /**
+     * Constructs the verifier with its collaborators and per-stage rejection counters.
+     *
+     * @param jwtService                    service used to verify signature and expiration
+     * @param hasher                        hasher producing the revoked token lookup key
+     * @param revokedTokenRepositoryAdapter adapter for revoked token lookups
+     * @param tokenEpochCache               cache of current per-user token epochs
+     * @param meterRegistry                 registry for rejection counters
+     */
+    public RefreshTokenVerifierImpl(
+            JWTService jwtService,
+            Hasher hasher,
+            RevokedTokenRepositoryAdapter revokedTokenRepositoryAdapter,
+            TokenEpochCache tokenEpochCache,
+            MeterRegistry meterRegistry
+    ) {
+        this.jwtService = jwtService;
+        this.hasher = hasher;
+        this.revokedTokenRepositoryAdapter = revokedTokenRepositoryAdapter;
+        this.tokenEpochCache = tokenEpochCache;
+        this.structureRejections = meterRegistry.counter(REJECTIONS_METRIC, "stage", "structure");
+        this.signatureRejections = meterRegistry.counter(REJECTIONS_METRIC, "stage", "signature");
+        this.typeRejections = meterRegistry.counter(REJECTIONS_METRIC, "stage", "type");
+        this.epochRejections = meterRegistry.counter(REJECTIONS_METRIC, "stage", "epoch");
+        this.revocationRejections = meterRegistry.counter(REJECTIONS_METRIC, "stage", "revocation");
+    }
+
+    @Override
+    public Map<String, Object> verifySignature(String token) {
+        if (!hasJwtStructure(token)) {
+            structureRejections.increment();
+            throw new UnauthorizedException();
+        }
+
+        try {
+            return jwtService.parseClaims(token);
+        } catch (Exception e) {
+            signatureRejections.increment();
+            throw new UnauthorizedException();
+        }
+    }
+
+    @Override
+    public VerifiedRefreshToken verify(String token) {
+        Map<String, Object> claims = verifySignature(token);
+
+        if (!"refresh".equals(claims.get("type"))) {
+            typeRejections.increment();
+            throw new UnauthorizedException();
+        }
+
+        if (!isCurrentEpoch(claims)) {
+            epochRejections.increment();
+            throw new UnauthorizedException();
+        }
+
+        if (claims.get("fid") != null) {
+            return new VerifiedRefreshToken(null, claims);
+        }
+
+        TokenHash tokenHash = hasher.hash(token);
+        if (revokedTokenRepositoryAdapter.isTokenRevoked(tokenHash)) {
+            revocationRejections.increment();
+            throw new UnauthorizedException();
+        }
+
+        return new VerifiedRefreshToken(tokenHash, claims);
+    }
+
+    private boolean isCurrentEpoch(Map<String, Object> claims) {
+        Long userId;
+        try {
+            userId = Long.valueOf(String.valueOf(claims.get("id")));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        int tokenEpoch = claims.get("epoch") instanceof Number epoch ? epoch.intValue() : 0;
+        try {
+            return tokenEpoch >= tokenEpochCache.currentEpoch(userId);
+        } catch (UserNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static boolean hasJwtStructure(String token) {
+        if (token == null || token.isEmpty() || token.length() > MAX_TOKEN_LENGTH) {
+            return false;
+        }
+
+        int separators = 0;
+        int segmentLength = 0;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (segmentLength == 0 || ++separators > 2) {
+                    return false;
+                }
+                segmentLength = 0;
+            } else if (isBase64UrlChar(c)) {
+                segmentLength++;
+            } else {
+                return false;
+            }
+        }
+
+        return separators == 2 && segmentLength > 0;
+    }
+
+    private static boolean isBase64UrlChar(char c) {
+        return (c >= 'A' && c <= 'Z')
+                || (c >= 'a' && c <= 'z')
+                || (c >= '0' && c <= '9')
+                || c == '-'
+                || c == '_';
+    }
+}
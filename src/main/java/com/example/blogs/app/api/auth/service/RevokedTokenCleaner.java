@@ -6,7 +6,8 @@ package com.example.blogs.app.api.auth.service;
  */
 public interface RevokedTokenCleaner {
     /**
-     * Deletes all revoked tokens with expiration timestamps before the current time.
+     * Deletes revoked tokens with expiration timestamps before the current day
+     * and prepares the partitions for upcoming expiration days.
      * Executed on a configurable cron schedule.
      */
     void cleanUpExpiredTokens();
@@ -1,37 +1,102 @@
 package com.example.blogs.app.api.auth.service;
 
 import com.example.blogs.app.api.auth.repository.adapter.RevokedTokenRepositoryAdapter;
+import com.example.blogs.app.api.auth.repository.adapter.TokenFamilyRepositoryAdapter;
+import com.example.blogs.app.api.auth.revocation.RevokedTokenFilter;
+import com.example.blogs.app.scheduling.ClusterJobRunner;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.scheduling.support.CronTrigger;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
  * Configures and executes scheduled cleanup of expired revoked tokens.
  * Uses a cron expression from application configuration to determine cleanup frequency.
+ * Each run also creates the daily partitions for the configured number of days ahead,
+ * so new revocations never have to fall back to the default partition,
+ * and deletes the refresh token families whose sessions have expired.
+ * Every instance fires the trigger, but {@link ClusterJobRunner} lets only one of them run the cleanup,
+ * while each instance still rebuilds its own revoked token filter.
  */
+@Slf4j
 @Component
 public class RevokedTokenCleanerImpl implements RevokedTokenCleaner, SchedulingConfigurer {
 
+    static final String JOB_NAME = "revoked-token-cleanup";
+
     private final RevokedTokenRepositoryAdapter revokedTokenRepositoryAdapter;
 
+    private final RevokedTokenPurger revokedTokenPurger;
+
+    private final RevokedTokenFilter revokedTokenFilter;
+
+    private final TokenFamilyRepositoryAdapter tokenFamilyRepositoryAdapter;
+
+    private final ClusterJobRunner clusterJobRunner;
+
     private final String cron;
 
+    private final int partitionDaysAhead;
+
+    private final Duration maxJitter;
+
+    private final Duration minInterval;
+
     /**
      * Constructs a new revoked token cleaner with repository adapter and cron schedule.
      *
      * @param revokedTokenRepositoryAdapter adapter for accessing revoked token data
+     * @param revokedTokenPurger batched purge of expired revoked tokens
+     * @param revokedTokenFilter in-memory filter rebuilt on every trigger
+     * @param tokenFamilyRepositoryAdapter adapter deleting expired refresh token families
+     * @param clusterJobRunner runner ensuring a single instance cleans up per trigger
      * @param cron cron expression defining cleanup schedule (e.g., "0 0 2 * * *" for 2 AM daily)
+     * @param partitionDaysAhead number of days ahead to keep partitions for; must exceed the refresh token lifetime
+     * @param maxJitter upper bound of the random delay before an instance competes for the cleanup
+     * @param minInterval window in which a cleanup started by another instance counts as the same trigger
      */
     public RevokedTokenCleanerImpl(
             RevokedTokenRepositoryAdapter revokedTokenRepositoryAdapter,
-            @Value("${revoked-token-cleaner.cron}") String cron
+            RevokedTokenPurger revokedTokenPurger,
+            RevokedTokenFilter revokedTokenFilter,
+            TokenFamilyRepositoryAdapter tokenFamilyRepositoryAdapter,
+            ClusterJobRunner clusterJobRunner,
+            @Value("${revoked-token-cleaner.cron}") String cron,
+            @Value("${revoked-token-partitions.days-ahead}") int partitionDaysAhead,
+            @Value("${revoked-token-cleaner.max-jitter}") Duration maxJitter,
+            @Value("${revoked-token-cleaner.min-interval}") Duration minInterval
     ) {
         this.revokedTokenRepositoryAdapter = revokedTokenRepositoryAdapter;
+        this.revokedTokenPurger = revokedTokenPurger;
+        this.revokedTokenFilter = revokedTokenFilter;
+        this.tokenFamilyRepositoryAdapter = tokenFamilyRepositoryAdapter;
+        this.clusterJobRunner = clusterJobRunner;
         this.cron = cron;
+        this.partitionDaysAhead = partitionDaysAhead;
+        this.maxJitter = maxJitter;
+        this.minInterval = minInterval;
+    }
+
+    /**
+     * Creates the upcoming partitions once the application has started,
+     * without waiting for the first scheduled cleanup run.
+     * A failure does not prevent startup; the next cleanup run retries.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preparePartitions() {
+        try {
+            createUpcomingPartitions(LocalDate.now());
+        } catch (Exception e) {
+            log.warn("Failed to create upcoming revoked token partitions", e);
+        }
     }
 
     /**
@@ -43,18 +108,42 @@ public class RevokedTokenCleanerImpl implements RevokedTokenCleaner, SchedulingC
     @Override
     public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
         taskRegistrar.addTriggerTask(
-                this::cleanUpExpiredTokens,
+                this::runScheduledCleanup,
                 triggerContext -> new CronTrigger(cron).nextExecution(triggerContext)
         );
     }
 
     /**
-     * Executes the cleanup operation by deleting all expired revoked tokens.
-     * Called automatically by the Spring scheduler based on the configured cron expression.
+     * Runs one cleanup trigger: the database cleanup on whichever instance wins the cluster-wide lock,
+     * then a rebuild of this instance's revoked token filter so expired hashes leave it as well.
+     * Both run once the jitter has passed, without holding the scheduler thread that fired the trigger.
+     * The rebuild only loads unexpired tokens, so it does not have to wait for the purge of another instance.
+     */
+    public void runScheduledCleanup() {
+        clusterJobRunner.runExclusively(JOB_NAME, maxJitter, minInterval, this::cleanUpExpiredTokens)
+                .whenComplete((ran, failure) -> {
+                    if (failure != null) {
+                        log.warn("Failed to clean up expired revoked tokens", failure);
+                    }
+                    revokedTokenFilter.rebuild(LocalDateTime.now());
+                });
+    }
+
+    /**
+     * Executes the cleanup operation by purging expired revoked tokens within the purge time budget,
+     * deleting expired token families, and creating the partitions for the upcoming days.
+     * Called on a single instance per trigger of the configured cron expression.
      */
     @Override
     public void cleanUpExpiredTokens() {
         LocalDateTime now = LocalDateTime.now();
-        revokedTokenRepositoryAdapter.deleteExpiredTokens(now);
+        revokedTokenPurger.purge(now);
+        int deletedFamilies = tokenFamilyRepositoryAdapter.deleteExpiredFamilies(now);
+        log.info("Deleted {} expired token families", deletedFamilies);
+        createUpcomingPartitions(now.toLocalDate());
+    }
+
+    private void createUpcomingPartitions(LocalDate today) {
+        revokedTokenRepositoryAdapter.createPartitions(today, today.plusDays(partitionDaysAhead));
     }
 }
@@ -0,0 +1,22 @@
+package com.example.blogs.app.api.auth.service;
+
+import com.example.blogs.app.api.auth.dto.PurgeReport;
+
+import java.time.LocalDateTime;
+
+/**
+ * Removes expired revoked tokens in bounded steps so a cleanup run never holds locks
+ * or pool connections long enough to slow down the request path.
+ */
+public interface RevokedTokenPurger {
+    /**
+     * Drops fully expired partitions and deletes the remaining expired tokens in batches
+     * until none are left or the time budget is spent. A run cut short by the budget
+     * leaves the rest in place; the next run picks up where it stopped.
+     *
+     * @param now cutoff timestamp for deletion
+     * @return summary of the run
+     * @throws com.example.blogs.app.api.auth.exception.FailedToCleanRevokedTokensException if a batch fails
+     */
+    PurgeReport purge(LocalDateTime now);
+}
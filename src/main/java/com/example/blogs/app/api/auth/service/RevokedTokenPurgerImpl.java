@@ -0,0 +1,126 @@
+package com.example.blogs.app.api.auth.service;
+
+import com.example.blogs.app.api.auth.dto.PurgeReport;
+import com.example.blogs.app.api.auth.repository.adapter.RevokedTokenRepositoryAdapter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Batched purge of expired revoked tokens.
+ * Every batch is a separate {@code DELETE ... WHERE id IN (SELECT ... LIMIT n)} statement,
+ * followed by a pause that hands the connection pool back to request traffic.
+ */
+@Slf4j
+@Component
+public class RevokedTokenPurgerImpl implements RevokedTokenPurger {
+
+    private static final String METRIC_PREFIX = "revoked_token_purge";
+
+    private final RevokedTokenRepositoryAdapter revokedTokenRepositoryAdapter;
+
+    private final int batchSize;
+
+    private final Duration batchPause;
+
+    private final Duration timeBudget;
+
+    private final Counter droppedPartitions;
+
+    private final Counter deletedRows;
+
+    private final Counter batches;
+
+    private final Counter incompleteRuns;
+
+    private final Timer duration;
+
+    /**
+     * Constructs the purger with its repository adapter, batching parameters, and metrics registry.
+     *
+     * @param revokedTokenRepositoryAdapter adapter executing partition drops and delete batches
+     * @param batchSize                     maximum number of rows deleted per batch
+     * @param batchPause                    pause between consecutive batches
+     * @param timeBudget                    time after which a run stops and leaves the rest for the next run
+     * @param meterRegistry                 registry for purge progress metrics
+     */
+    public RevokedTokenPurgerImpl(
+            RevokedTokenRepositoryAdapter revokedTokenRepositoryAdapter,
+            @Value("${revoked-token-purge.batch-size}") int batchSize,
+            @Value("${revoked-token-purge.batch-pause}") Duration batchPause,
+            @Value("${revoked-token-purge.time-budget}") Duration timeBudget,
+            MeterRegistry meterRegistry
+    ) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        this.revokedTokenRepositoryAdapter = revokedTokenRepositoryAdapter;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.timeBudget = timeBudget;
+        this.droppedPartitions = meterRegistry.counter(METRIC_PREFIX + ".dropped_partitions");
+        this.deletedRows = meterRegistry.counter(METRIC_PREFIX + ".deleted_rows");
+        this.batches = meterRegistry.counter(METRIC_PREFIX + ".batches");
+        this.incompleteRuns = meterRegistry.counter(METRIC_PREFIX + ".incomplete_runs");
+        this.duration = meterRegistry.timer(METRIC_PREFIX + ".duration");
+    }
+
+    @Override
+    public PurgeReport purge(LocalDateTime now) {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + timeBudget.toNanos();
+
+        int dropped = revokedTokenRepositoryAdapter.dropExpiredPartitions(now);
+        droppedPartitions.increment(dropped);
+
+        long deleted = 0;
+        int executedBatches = 0;
+        boolean completed = false;
+        while (true) {
+            int batchDeleted = revokedTokenRepositoryAdapter.deleteExpiredTokens(now, batchSize);
+            executedBatches++;
+            deleted += batchDeleted;
+            batches.increment();
+            deletedRows.increment(batchDeleted);
+
+            if (batchDeleted < batchSize) {
+                completed = true;
+                break;
+            }
+            if (System.nanoTime() - deadline >= 0 || !pause()) {
+                break;
+            }
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        duration.record(elapsed);
+        if (!completed) {
+            incompleteRuns.increment();
+        }
+
+        PurgeReport report = new PurgeReport(dropped, deleted, executedBatches, elapsed, completed);
+        log.info("Purged expired revoked tokens: {}", report);
+        return report;
+    }
+
+    private boolean pause() {
+        if (batchPause.isZero() || batchPause.isNegative()) {
+            return true;
+        }
+
+        try {
+            Thread.sleep(batchPause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
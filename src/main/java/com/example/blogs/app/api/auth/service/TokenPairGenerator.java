@@ -1,5 +1,6 @@
 package com.example.blogs.app.api.auth.service;
 
+import com.example.blogs.app.api.auth.dto.TokenFamily;
 import com.example.blogs.app.api.auth.dto.TokenPair;
 import com.example.blogs.app.api.user.entity.UserEntity;
 
@@ -12,10 +13,20 @@ public interface TokenPairGenerator {
     /**
      * Generates a complete token pair containing access and refresh tokens for the user.
      *
-     * @param user the user entity to generate tokens for
+     * @param user   the user entity to generate tokens for
+     * @param family the new family of the session; its position is written to the refresh token
      * @return token pair with access and refresh tokens
      */
-    TokenPair generateTokens(UserEntity user);
+    TokenPair generateTokens(UserEntity user, TokenFamily family);
+
+    /**
+     * Generates the next token pair of a session from the claims of its verified refresh token.
+     *
+     * @param refreshClaims claims of the verified refresh token
+     * @param family        position of the new refresh token within its family
+     * @return token pair with a new access token and the rotated refresh token
+     */
+    TokenPair rotateTokens(Map<String, Object> refreshClaims, TokenFamily family);
 
     /**
      * Creates JWT claims map from user entity data with token type.
@@ -25,4 +36,12 @@ public interface TokenPairGenerator {
      * @return map of claims including username, email, profilePictureUrl, and type
      */
     Map<String, Object> createClaims(UserEntity user, String type);
+
+    /**
+     * Creates access token claims for the user of a verified refresh token.
+     *
+     * @param refreshClaims claims of a verified refresh token
+     * @return access token claims including the user id, token epoch, and type
+     */
+    Map<String, Object> createAccessClaims(Map<String, Object> refreshClaims);
 }
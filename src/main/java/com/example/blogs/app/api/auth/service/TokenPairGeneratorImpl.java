@@ -1,41 +1,93 @@
 package com.example.blogs.app.api.auth.service;
 
+import com.example.blogs.app.api.auth.dto.TokenFamily;
 import com.example.blogs.app.api.auth.dto.TokenPair;
 import com.example.blogs.app.api.user.entity.UserEntity;
 import com.example.blogs.app.security.JtiGenerator;
-import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Creates JWT token pairs with embedded user claims for access and refresh authentication flows.
+ * Refresh tokens also carry their family ({@code fid}) and generation ({@code gen}) for rotation.
+ * In slim mode tokens carry only the user id, token epoch, and type;
+ * the profile is resolved server side through {@link com.example.blogs.app.security.PrincipalCache}.
  */
 @Component
-@AllArgsConstructor
 public class TokenPairGeneratorImpl implements TokenPairGenerator {
 
+    private static final List<String> FULL_ACCESS_CLAIMS = List.of("id", "username", "email", "profilePictureUrl", "epoch");
+
+    private static final List<String> SLIM_ACCESS_CLAIMS = List.of("id", "epoch");
+
     private final JWTService jwtService;
 
     private final JtiGenerator jtiGenerator;
 
+    private final boolean slimTokens;
+
+    /**
+     * Constructs the generator with its token services and claim mode.
+     *
+     * @param jwtService   service signing access and refresh tokens
+     * @param jtiGenerator generator of token identifiers used as the subject claim
+     * @param slimTokens   whether tokens omit the username, email, and profile picture claims
+     */
+    public TokenPairGeneratorImpl(
+            JWTService jwtService,
+            JtiGenerator jtiGenerator,
+            @Value("${jwt.slim-tokens.enabled}") boolean slimTokens
+    ) {
+        this.jwtService = jwtService;
+        this.jtiGenerator = jtiGenerator;
+        this.slimTokens = slimTokens;
+    }
+
     /**
      * Generates a complete token pair containing access and refresh tokens for the user.
-     * Uses UUID-based JTI as the JWT subject claim for token identification.
+     * Uses a time-ordered JTI from the {@link JtiGenerator}, a UUIDv7 in 26 Crockford base32 characters,
+     * as the JWT subject claim for token identification.
      *
-     * @param user the user entity to generate tokens for
+     * @param user   the user entity to generate tokens for
+     * @param family the new family of the session
      * @return token pair with access and refresh tokens containing user claims
      */
     @Override
-    public TokenPair generateTokens(UserEntity user) {
-        Map<String, Object> accessClaims = createClaims(user, "access");
-        Map<String, Object> refreshClaims = createClaims(user, "refresh");
+    public TokenPair generateTokens(UserEntity user, TokenFamily family) {
+        return sign(createClaims(user, "access"), new HashMap<>(createClaims(user, "refresh")), family);
+    }
+
+    /**
+     * Generates the next token pair of a session, copying the user claims of the verified refresh token.
+     * The rotated refresh token keeps the expiration of the family, so rotation never extends a session.
+     *
+     * @param refreshClaims claims of the verified refresh token
+     * @param family        position of the new refresh token within its family
+     * @return token pair with a new access token and the rotated refresh token
+     */
+    @Override
+    public TokenPair rotateTokens(Map<String, Object> refreshClaims, TokenFamily family) {
+        Map<String, Object> accessClaims = createAccessClaims(refreshClaims);
+
+        Map<String, Object> rotatedClaims = new HashMap<>(accessClaims);
+        rotatedClaims.put("type", "refresh");
+
+        return sign(accessClaims, rotatedClaims, family);
+    }
+
+    private TokenPair sign(Map<String, Object> accessClaims, Map<String, Object> refreshClaims, TokenFamily family) {
+        refreshClaims.put("fid", family.id().toString());
+        refreshClaims.put("gen", family.generation());
 
         String accessJti = jtiGenerator.generateJti();
         String refreshJti = jtiGenerator.generateJti();
 
         String accessToken = jwtService.generateAccessToken(accessJti, accessClaims);
-        String refreshToken = jwtService.generateRefreshToken(refreshJti, refreshClaims);
+        String refreshToken = jwtService.generateRefreshToken(refreshJti, refreshClaims, family.expiresAt());
 
         return new TokenPair(accessToken, refreshToken);
     }
@@ -45,10 +97,19 @@ public class TokenPairGeneratorImpl implements TokenPairGenerator {
      *
      * @param user the user entity to extract claims from
      * @param type the token type ("access" or "refresh")
-     * @return map of claims including id, username, email, profilePictureUrl, and type
+     * @return map of claims including id, username, email, profilePictureUrl, token epoch, and type,
+     * or only id, token epoch, and type in slim mode
      */
     @Override
     public Map<String, Object> createClaims(UserEntity user, String type) {
+        if (slimTokens) {
+            return Map.of(
+                    "id", user.getId().toString(),
+                    "epoch", user.getTokenEpoch(),
+                    "type", type
+            );
+        }
+
         String profilePictureUrl = user.getProfilePictureUrl() != null ? user.getProfilePictureUrl() : "";
 
         return Map.ofEntries(
@@ -56,7 +117,29 @@ public class TokenPairGeneratorImpl implements TokenPairGenerator {
                 Map.entry("username", user.getUsername()),
                 Map.entry("email", user.getEmail()),
                 Map.entry("profilePictureUrl", profilePictureUrl),
+                Map.entry("epoch", user.getTokenEpoch()),
                 Map.entry("type", type)
         );
     }
+
+    /**
+     * Copies the user claims of a verified refresh token into access token claims.
+     * Claims missing from the refresh token, e.g. profile claims of a slim token, are left out.
+     *
+     * @param refreshClaims claims of a verified refresh token
+     * @return access token claims for the same user
+     */
+    @Override
+    public Map<String, Object> createAccessClaims(Map<String, Object> refreshClaims) {
+        Map<String, Object> claims = new HashMap<>();
+        for (String name : slimTokens ? SLIM_ACCESS_CLAIMS : FULL_ACCESS_CLAIMS) {
+            Object value = refreshClaims.get(name);
+            if (value != null) {
+                claims.put(name, value);
+            }
+        }
+        claims.put("type", "access");
+
+        return claims;
+    }
 }
@@ -0,0 +1,38 @@
+package com.example.blogs.app.api.user.availability;
+
+/**
+ * Local membership layer for usernames and email addresses that are already registered.
+ * Names are compared ignoring case, matching the case-insensitive unique indexes on the users table.
+ * A negative answer means the name is definitely free, so the database lookup can be skipped;
+ * a positive answer may be a false positive and must be confirmed by the database.
+ */
+public interface TakenNameFilter {
+    /**
+     * Checks whether a username might already be registered.
+     *
+     * @param username username to check
+     * @return false if the username is definitely free, true if the database must be consulted
+     */
+    boolean mightContainUsername(String username);
+
+    /**
+     * Checks whether an email address might already be registered.
+     *
+     * @param email email address to check
+     * @return false if the email is definitely free, true if the database must be consulted
+     */
+    boolean mightContainEmail(String email);
+
+    /**
+     * Records the names of a newly registered user.
+     *
+     * @param username registered username
+     * @param email    registered email address
+     */
+    void put(String username, String email);
+
+    /**
+     * Loads users registered on other application instances since the last synchronization.
+     */
+    void synchronize();
+}
@@ -0,0 +1,139 @@
+package com.example.blogs.app.api.user.availability;
+
+import com.example.blogs.app.api.user.dto.UserNames;
+import com.example.blogs.app.api.user.repository.UserRepository;
+import com.example.blogs.app.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter backed implementation of the taken name filter, with one filter for usernames and one for emails.
+ * Warms up from the users table at startup and periodically pulls users registered on other instances;
+ * registrations on this instance are added as they are saved.
+ * Until the initial load completes every lookup is reported as a possible hit so the database stays authoritative.
+ * Users are never deleted, so the filters only grow and are not rebuilt.
+ */
+@Component
+public class TakenNameFilterImpl implements TakenNameFilter {
+
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final UserRepository userRepository;
+
+    private final long expectedInsertions;
+
+    private final double falsePositiveProbability;
+
+    private volatile Filters current;
+
+    private volatile Filters pending;
+
+    private volatile LocalDateTime syncedUntil;
+
+    /**
+     * Constructs the filter with its backing repository and sizing parameters.
+     *
+     * @param userRepository           repository used to load registered names
+     * @param expectedInsertions       number of users each filter is sized for
+     * @param falsePositiveProbability target false positive rate at the expected size
+     */
+    public TakenNameFilterImpl(
+            UserRepository userRepository,
+            @Value("${taken-name-filter.expected-insertions}") long expectedInsertions,
+            @Value("${taken-name-filter.false-positive-probability}") double falsePositiveProbability
+    ) {
+        this.userRepository = userRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    /**
+     * Loads the names of all registered users once the application has started.
+     * Names are streamed within a read-only transaction, so only one fetch batch is held in memory at a time.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void warmUp() {
+        Filters fresh = new Filters(
+                new BloomFilter(expectedInsertions, falsePositiveProbability),
+                new BloomFilter(expectedInsertions, falsePositiveProbability)
+        );
+        pending = fresh;
+
+        try {
+            LocalDateTime loadStartedAt = LocalDateTime.now();
+            try (Stream<UserNames> names = userRepository.streamAllNames()) {
+                names.forEach(user -> fresh.put(user.username(), user.email()));
+            }
+
+            current = fresh;
+            syncedUntil = loadStartedAt;
+        } finally {
+            pending = null;
+        }
+    }
+
+    @Override
+    public boolean mightContainUsername(String username) {
+        Filters filters = current;
+        return filters == null || filters.usernames().mightContain(normalize(username));
+    }
+
+    @Override
+    public boolean mightContainEmail(String email) {
+        Filters filters = current;
+        return filters == null || filters.emails().mightContain(normalize(email));
+    }
+
+    @Override
+    public void put(String username, String email) {
+        Filters filters = current;
+        if (filters != null) {
+            filters.put(username, email);
+        }
+
+        Filters next = pending;
+        if (next != null) {
+            next.put(username, email);
+        }
+    }
+
+    @Override
+    @Scheduled(
+            initialDelayString = "${taken-name-filter.sync-interval}",
+            fixedDelayString = "${taken-name-filter.sync-interval}"
+    )
+    public synchronized void synchronize() {
+        LocalDateTime since = syncedUntil;
+        if (since == null) {
+            return;
+        }
+
+        LocalDateTime syncStartedAt = LocalDateTime.now();
+        for (UserNames names : userRepository.findNamesByCreatedAtAfter(since.minus(SYNC_OVERLAP))) {
+            put(names.username(), names.email());
+        }
+        syncedUntil = syncStartedAt;
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+
+        void put(String username, String email) {
+            usernames.put(normalize(username));
+            emails.put(normalize(email));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.blogs.app.api.user.bulkimport;
+
+import com.example.blogs.app.api.auth.dto.RegisterRequest;
+
+/**
+ * Row read from a user import file.
+ *
+ * @param line    line of the row in the import file
+ * @param request registration fields of the row, or null if the row is malformed
+ * @param error   why the row could not be parsed, or null if it was
+ */
+public record ImportRow(
+        long line,
+        RegisterRequest request,
+        String error
+) {
+    /**
+     * @param line    line of the row
+     * @param request parsed registration fields
+     * @return a parsed row
+     */
+    public static ImportRow parsed(long line, RegisterRequest request) {
+        return new ImportRow(line, request, null);
+    }
+
+    /**
+     * @param line  line of the row
+     * @param error why the row could not be parsed
+     * @return a malformed row
+     */
+    public static ImportRow malformed(long line, String error) {
+        return new ImportRow(line, null, error);
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.blogs.app.api.user.bulkimport;
+
+import com.example.blogs.app.api.auth.dto.RegisterRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streaming reader of user import files, holding no more than the rows of one chunk in memory.
+ * <p>
+ * Files ending in {@code .csv} start with a header naming the {@code username}, {@code email} and
+ * {@code password} columns in any order; fields may be quoted with {@code "} and quotes inside quoted fields
+ * are doubled. Files ending in {@code .ndjson} or {@code .jsonl} hold one JSON object per line with the
+ * same fields. Blank lines are skipped, and records spanning several lines are reported as malformed.
+ */
+public final class ImportRowReader implements Closeable {
+
+    private static final String USERNAME = "username";
+
+    private static final String EMAIL = "email";
+
+    private static final String PASSWORD = "password";
+
+    private final BufferedReader reader;
+
+    private final ObjectMapper objectMapper;
+
+    private final int[] csvColumns;
+
+    private long line;
+
+    private ImportRowReader(BufferedReader reader, ObjectMapper objectMapper, int[] csvColumns, long line) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+        this.csvColumns = csvColumns;
+        this.line = line;
+    }
+
+    /**
+     * Opens an import file, choosing the format by its extension.
+     *
+     * @param file         CSV or NDJSON import file
+     * @param objectMapper mapper parsing NDJSON lines
+     * @return a reader positioned at the first row
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the extension is unknown or the CSV header lacks a column
+     */
+    public static ImportRowReader open(Path file, ObjectMapper objectMapper) throws IOException {
+        if (!supports(file)) {
+            throw new IllegalArgumentException("Import file must end in .csv, .ndjson or .jsonl: " + file);
+        }
+
+        BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        if (!isCsv(file)) {
+            return new ImportRowReader(reader, objectMapper, null, 0);
+        }
+
+        try {
+            return new ImportRowReader(reader, objectMapper, readHeader(reader), 1);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param file import file
+     * @return true if the file has one of the supported extensions
+     */
+    public static boolean supports(Path file) {
+        String name = lowerCaseName(file);
+        return isCsv(file) || name.endsWith(".ndjson") || name.endsWith(".jsonl");
+    }
+
+    /**
+     * Reads up to the given number of rows; malformed rows are returned rather than skipped.
+     *
+     * @param maxRows maximum number of rows to read
+     * @return the rows read, empty once the file is exhausted
+     * @throws IOException if the file cannot be read
+     */
+    public List<ImportRow> next(int maxRows) throws IOException {
+        List<ImportRow> rows = new ArrayList<>(maxRows);
+        String text;
+        while (rows.size() < maxRows && (text = reader.readLine()) != null) {
+            line++;
+            if (!text.isBlank()) {
+                rows.add(csvColumns != null ? parseCsv(line, text) : parseJson(line, text));
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ImportRow parseCsv(long line, String text) {
+        List<String> fields = splitCsv(text);
+        if (fields == null) {
+            return ImportRow.malformed(line, "Unterminated quoted field");
+        }
+        int required = Math.max(csvColumns[0], Math.max(csvColumns[1], csvColumns[2])) + 1;
+        if (fields.size() < required) {
+            return ImportRow.malformed(line, "Expected " + required + " fields but found " + fields.size());
+        }
+
+        return ImportRow.parsed(line, new RegisterRequest(
+                fields.get(csvColumns[0]),
+                fields.get(csvColumns[2]),
+                fields.get(csvColumns[1])
+        ));
+    }
+
+    private ImportRow parseJson(long line, String text) {
+        try {
+            JsonNode node = objectMapper.readTree(text);
+            if (!node.isObject()) {
+                return ImportRow.malformed(line, "Expected a JSON object");
+            }
+            return ImportRow.parsed(line, new RegisterRequest(
+                    textOf(node, USERNAME),
+                    textOf(node, PASSWORD),
+                    textOf(node, EMAIL)
+            ));
+        } catch (JsonProcessingException e) {
+            return ImportRow.malformed(line, "Malformed JSON");
+        }
+    }
+
+    private static boolean isCsv(Path file) {
+        return lowerCaseName(file).endsWith(".csv");
+    }
+
+    private static String lowerCaseName(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static String textOf(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    /**
+     * Resolves the positions of the username, email and password columns.
+     *
+     * @return column indexes in username, email, password order
+     */
+    private static int[] readHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        List<String> names = header == null ? null : splitCsv(header);
+        if (names == null) {
+            throw new IllegalArgumentException("Import file has no valid CSV header");
+        }
+
+        List<String> normalized = names.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+        int[] columns = {normalized.indexOf(USERNAME), normalized.indexOf(EMAIL), normalized.indexOf(PASSWORD)};
+        for (int column : columns) {
+            if (column < 0) {
+                throw new IllegalArgumentException("CSV header must name username, email and password columns");
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Splits a CSV record into its fields.
+     *
+     * @return the unquoted fields, or null if a quoted field is not terminated
+     */
+    private static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
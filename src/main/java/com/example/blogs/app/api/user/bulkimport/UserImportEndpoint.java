@@ -0,0 +1,47 @@
+package com.example.blogs.app.api.user.bulkimport;
+
+import com.example.blogs.app.api.user.dto.UserImportProgress;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Actuator endpoint for operators to start a bulk user import from a file on the server and follow its progress.
+ * It is not exposed over HTTP by default; when exposed it is served on the management port
+ * and requires an authenticated request like every actuator endpoint other than health.
+ */
+@Component
+@Endpoint(id = "userimport")
+@AllArgsConstructor
+public class UserImportEndpoint {
+
+    private final UserImporter userImporter;
+
+    /**
+     * @return progress of the running or last finished import, or no content if none has run since startup
+     */
+    @ReadOperation
+    public UserImportProgress progress() {
+        return userImporter.progress();
+    }
+
+    /**
+     * Starts importing a CSV or NDJSON file in the background.
+     *
+     * @param file path of the import file on the server
+     * @return progress of the started import
+     */
+    @WriteOperation
+    public UserImportProgress start(String file) {
+        try {
+            return userImporter.start(Path.of(file));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+}
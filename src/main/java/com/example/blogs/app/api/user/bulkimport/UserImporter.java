@@ -0,0 +1,37 @@
+package com.example.blogs.app.api.user.bulkimport;
+
+import com.example.blogs.app.api.user.dto.UserImportProgress;
+
+import java.nio.file.Path;
+
+/**
+ * Bulk registration of users from CSV or NDJSON files, for onboarding whole tenants at once.
+ * Rows are validated with the same rules as registration, and every rejected row is written with its line
+ * and reason to a {@code .rejections.csv} file next to the import file. Only one import runs at a time.
+ */
+public interface UserImporter {
+    /**
+     * Starts importing the file in the background.
+     *
+     * @param file CSV or NDJSON import file
+     * @return progress of the started import
+     * @throws IllegalArgumentException if the file does not exist or has an unsupported extension
+     * @throws IllegalStateException    if another import is running
+     */
+    UserImportProgress start(Path file);
+
+    /**
+     * Imports the file on the calling thread.
+     *
+     * @param file CSV or NDJSON import file
+     * @return final progress of the import, completed or failed
+     * @throws IllegalArgumentException if the file does not exist or has an unsupported extension
+     * @throws IllegalStateException    if another import is running
+     */
+    UserImportProgress importFile(Path file);
+
+    /**
+     * @return progress of the running or last finished import, or null if none has run since startup
+     */
+    UserImportProgress progress();
+}
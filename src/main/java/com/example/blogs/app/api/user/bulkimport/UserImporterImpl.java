@@ -0,0 +1,469 @@
+package com.example.blogs.app.api.user.bulkimport;
+
+import com.example.blogs.app.api.auth.dto.RegisterRequest;
+import com.example.blogs.app.api.user.availability.TakenNameFilter;
+import com.example.blogs.app.api.user.dto.ImportedUser;
+import com.example.blogs.app.api.user.dto.UserImportProgress;
+import com.example.blogs.app.api.user.dto.UserImportRejection;
+import com.example.blogs.app.api.user.repository.UserStagingRepository;
+import com.example.blogs.app.api.user.repository.UserStagingSession;
+import com.example.blogs.app.api.user.repository.adapter.UserRepositoryAdapter;
+import com.example.blogs.app.security.CalibratedPasswordEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Chunked user importer.
+ * The file is streamed one chunk at a time, so memory use depends on the chunk size rather than the file size.
+ * Every chunk goes through the same steps:
+ * <ol>
+ *     <li>rows are validated like {@link RegisterRequest} and checked against taken names, so rows that would
+ *     be rejected anyway are never hashed; the taken name filter answers most of these checks without a query</li>
+ *     <li>passwords are hashed with the BCrypt encoder on a dedicated fork-join pool, bypassing the bounded
+ *     hashing lane so the import neither waits behind logins nor fills their queue</li>
+ *     <li>the hashed rows are loaded with {@code COPY} into a staging table and merged into the users table,
+ *     which reports rows that conflict with existing users or with each other</li>
+ * </ol>
+ * Each merged chunk is committed, so an interrupted import can simply be rerun; its committed rows are
+ * reported as taken the second time.
+ */
+@Slf4j
+@Component
+public class UserImporterImpl implements UserImporter {
+
+    private static final String METRIC_PREFIX = "user_import";
+
+    private static final String REJECTIONS_SUFFIX = ".rejections.csv";
+
+    private static final String REJECTIONS_HEADER = "line,reason,detail\n";
+
+    // Length of the users.email column; registration does not limit it, but a longer value would fail the whole chunk
+    private static final int MAX_EMAIL_LENGTH = 100;
+
+    // BCrypt only reads the first 72 bytes of a password and the encoder rejects anything longer
+    private static final int MAX_PASSWORD_BYTES = 72;
+
+    private final UserStagingRepository userStagingRepository;
+
+    private final UserRepositoryAdapter userRepositoryAdapter;
+
+    private final TakenNameFilter takenNameFilter;
+
+    private final CalibratedPasswordEncoder passwordEncoder;
+
+    private final Validator validator;
+
+    private final ObjectMapper objectMapper;
+
+    private final int chunkSize;
+
+    private final ForkJoinPool hashingPool;
+
+    private final ExecutorService executor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter importedRows;
+
+    private final Map<UserImportRejection.Reason, Counter> rejectedRows = new EnumMap<>(UserImportRejection.Reason.class);
+
+    private final Timer hashDuration;
+
+    private final Timer loadDuration;
+
+    private volatile Tracker tracker;
+
+    /**
+     * Constructs the importer with its collaborators, chunking and hashing settings, and metrics registry.
+     *
+     * @param userStagingRepository repository staging and merging hashed rows
+     * @param userRepositoryAdapter adapter checking whether names are already taken
+     * @param takenNameFilter       filter receiving the names of imported users
+     * @param passwordEncoder       BCrypt encoder hashing imported passwords
+     * @param validator             validator applying the registration rules to each row
+     * @param objectMapper          mapper parsing NDJSON rows
+     * @param chunkSize             number of rows read, hashed, and merged together
+     * @param hashingThreads        parallelism of the hashing pool; 0 or less uses half of the available processors
+     * @param meterRegistry         registry for row counters, stage timers, and the active import gauge
+     */
+    public UserImporterImpl(
+            UserStagingRepository userStagingRepository,
+            UserRepositoryAdapter userRepositoryAdapter,
+            TakenNameFilter takenNameFilter,
+            CalibratedPasswordEncoder passwordEncoder,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${user-import.chunk-size}") int chunkSize,
+            @Value("${user-import.hashing-threads}") int hashingThreads,
+            MeterRegistry meterRegistry
+    ) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("User import chunk size must be positive");
+        }
+
+        this.userStagingRepository = userStagingRepository;
+        this.userRepositoryAdapter = userRepositoryAdapter;
+        this.takenNameFilter = takenNameFilter;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+
+        int parallelism = hashingThreads > 0
+                ? hashingThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.hashingPool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("user-import-hashing-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.importedRows = meterRegistry.counter(METRIC_PREFIX + ".rows", "result", "imported");
+        for (UserImportRejection.Reason reason : UserImportRejection.Reason.values()) {
+            rejectedRows.put(reason, meterRegistry.counter(
+                    METRIC_PREFIX + ".rows", "result", reason.name().toLowerCase(Locale.ROOT)
+            ));
+        }
+        this.hashDuration = meterRegistry.timer(METRIC_PREFIX + ".chunk_duration", "stage", "hash");
+        this.loadDuration = meterRegistry.timer(METRIC_PREFIX + ".chunk_duration", "stage", "load");
+        Gauge.builder(METRIC_PREFIX + ".active", running, active -> active.get() ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public UserImportProgress start(Path file) {
+        Tracker started = begin(file);
+        try {
+            executor.execute(() -> finish(started));
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            throw new IllegalStateException("User importer is shut down", e);
+        }
+        return started.snapshot();
+    }
+
+    @Override
+    public UserImportProgress importFile(Path file) {
+        return finish(begin(file));
+    }
+
+    @Override
+    public UserImportProgress progress() {
+        Tracker current = tracker;
+        return current != null ? current.snapshot() : null;
+    }
+
+    /**
+     * Stops a running import and releases the import threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        hashingPool.shutdownNow();
+    }
+
+    private Tracker begin(Path file) {
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Import file not found: " + file);
+        }
+        if (!ImportRowReader.supports(file)) {
+            throw new IllegalArgumentException("Import file must end in .csv, .ndjson or .jsonl: " + file);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Another user import is running");
+        }
+
+        Tracker started = new Tracker(file, file.resolveSibling(file.getFileName() + REJECTIONS_SUFFIX));
+        tracker = started;
+        return started;
+    }
+
+    private UserImportProgress finish(Tracker current) {
+        try {
+            return run(current);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private UserImportProgress run(Tracker current) {
+        log.info("Importing users from {}", current.file);
+        try (
+                ImportRowReader reader = ImportRowReader.open(current.file, objectMapper);
+                BufferedWriter rejections = Files.newBufferedWriter(current.rejectionsFile, StandardCharsets.UTF_8);
+                UserStagingSession session = userStagingRepository.openSession()
+        ) {
+            rejections.write(REJECTIONS_HEADER);
+            List<ImportRow> chunk;
+            while (!(chunk = reader.next(chunkSize)).isEmpty()) {
+                importChunk(chunk, session, rejections, current);
+            }
+            current.finish(UserImportProgress.Status.COMPLETED, null);
+        } catch (IOException | RuntimeException e) {
+            log.error("User import from {} failed", current.file, e);
+            current.finish(UserImportProgress.Status.FAILED, e.getMessage());
+        }
+
+        UserImportProgress progress = current.snapshot();
+        log.info("User import from {} {}: {} rows read, {} imported, {} rejected",
+                current.file, progress.status(), progress.rowsRead(), progress.imported(), progress.rejected());
+        return progress;
+    }
+
+    private void importChunk(List<ImportRow> rows, UserStagingSession session, Writer out, Tracker current)
+            throws IOException {
+        List<ImportRow> accepted = new ArrayList<>(rows.size());
+        List<UserImportRejection> rejections = new ArrayList<>();
+        for (ImportRow row : rows) {
+            UserImportRejection rejection = check(row);
+            if (rejection == null) {
+                accepted.add(row);
+            } else {
+                rejections.add(rejection);
+            }
+        }
+
+        String[] hashes = hashDuration.record(() -> hashPasswords(accepted));
+        List<ImportedUser> users = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            ImportRow row = accepted.get(i);
+            if (hashes[i] == null) {
+                rejections.add(new UserImportRejection(
+                        row.line(), UserImportRejection.Reason.INVALID, "Password could not be hashed"
+                ));
+                continue;
+            }
+            RegisterRequest request = row.request();
+            users.add(new ImportedUser(row.line(), request.username(), request.email(), hashes[i]));
+        }
+
+        List<UserImportRejection> conflicts = loadDuration.record(() -> session.merge(users, LocalDateTime.now()));
+        Set<Long> conflictingLines = new HashSet<>();
+        for (UserImportRejection conflict : conflicts) {
+            conflictingLines.add(conflict.line());
+        }
+        for (ImportedUser user : users) {
+            if (!conflictingLines.contains(user.line())) {
+                takenNameFilter.put(user.username(), user.email());
+            }
+        }
+
+        rejections.addAll(conflicts);
+        rejections.sort(Comparator.comparingLong(UserImportRejection::line));
+        for (UserImportRejection rejection : rejections) {
+            writeRejection(out, rejection);
+            rejectedRows.get(rejection.reason()).increment();
+        }
+        out.flush();
+
+        int imported = users.size() - conflicts.size();
+        importedRows.increment(imported);
+        current.advance(rows.size(), imported, rejections.size());
+    }
+
+    /**
+     * Applies the registration rules and the taken name checks to a row.
+     *
+     * @return the rejection of the row, or null if it should be imported
+     */
+    private UserImportRejection check(ImportRow row) {
+        if (row.error() != null) {
+            return new UserImportRejection(row.line(), UserImportRejection.Reason.INVALID, row.error());
+        }
+
+        RegisterRequest request = row.request();
+        Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String detail = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return new UserImportRejection(row.line(), UserImportRejection.Reason.INVALID, detail);
+        }
+        if (request.password().getBytes(StandardCharsets.UTF_8).length > MAX_PASSWORD_BYTES) {
+            return new UserImportRejection(
+                    row.line(),
+                    UserImportRejection.Reason.INVALID,
+                    "Password must be at most " + MAX_PASSWORD_BYTES + " bytes"
+            );
+        }
+        if (request.email().length() > MAX_EMAIL_LENGTH) {
+            return new UserImportRejection(
+                    row.line(),
+                    UserImportRejection.Reason.INVALID,
+                    "Email must be at most " + MAX_EMAIL_LENGTH + " characters"
+            );
+        }
+        if (userRepositoryAdapter.existsByUsername(request.username())) {
+            return new UserImportRejection(
+                    row.line(), UserImportRejection.Reason.USERNAME_TAKEN, "Username is already taken"
+            );
+        }
+        if (userRepositoryAdapter.existsByEmail(request.email())) {
+            return new UserImportRejection(
+                    row.line(), UserImportRejection.Reason.EMAIL_TAKEN, "Email is already taken"
+            );
+        }
+        return null;
+    }
+
+    private String[] hashPasswords(List<ImportRow> rows) {
+        String[] hashes = new String[rows.size()];
+        if (!rows.isEmpty()) {
+            hashingPool.invoke(new HashTask(rows, hashes, 0, rows.size()));
+        }
+        return hashes;
+    }
+
+    private static void writeRejection(Writer out, UserImportRejection rejection) throws IOException {
+        out.write(Long.toString(rejection.line()));
+        out.write(',');
+        out.write(rejection.reason().name());
+        out.write(",\"");
+        out.write(rejection.detail().replace("\"", "\"\""));
+        out.write("\"\n");
+    }
+
+    /**
+     * Hashes the passwords of a range of rows, splitting it in halves until single rows remain,
+     * so idle workers steal what is left of a chunk instead of waiting for a fixed partition.
+     * A row whose password cannot be hashed keeps a null hash and is rejected on its own.
+     */
+    private final class HashTask extends RecursiveAction {
+
+        private final List<ImportRow> rows;
+
+        private final String[] hashes;
+
+        private final int from;
+
+        private final int to;
+
+        private HashTask(List<ImportRow> rows, String[] hashes, int from, int to) {
+            this.rows = rows;
+            this.hashes = hashes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                ImportRow row = rows.get(from);
+                try {
+                    hashes[from] = passwordEncoder.encode(row.request().password());
+                } catch (RuntimeException e) {
+                    // Leaves the hash null so only this row is rejected instead of the whole chunk
+                    log.warn("Failed to hash password of import row {}", row.line(), e);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new HashTask(rows, hashes, from, middle), new HashTask(rows, hashes, middle, to));
+        }
+    }
+
+    /**
+     * Progress of a single import, written by the import thread and read by {@link #progress()}.
+     */
+    private static final class Tracker {
+
+        private final Path file;
+
+        private final Path rejectionsFile;
+
+        private final LocalDateTime startedAt = LocalDateTime.now();
+
+        private final long startedNanos = System.nanoTime();
+
+        private volatile UserImportProgress.Status status = UserImportProgress.Status.RUNNING;
+
+        private volatile long rowsRead;
+
+        private volatile long imported;
+
+        private volatile long rejected;
+
+        private volatile LocalDateTime finishedAt;
+
+        private volatile long finishedNanos;
+
+        private volatile String error;
+
+        private Tracker(Path file, Path rejectionsFile) {
+            this.file = file;
+            this.rejectionsFile = rejectionsFile;
+        }
+
+        private void advance(long rows, long importedRows, long rejectedRows) {
+            rowsRead += rows;
+            imported += importedRows;
+            rejected += rejectedRows;
+        }
+
+        private void finish(UserImportProgress.Status finalStatus, String failure) {
+            finishedNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            error = failure;
+            status = finalStatus;
+        }
+
+        private UserImportProgress snapshot() {
+            long endNanos = status == UserImportProgress.Status.RUNNING ? System.nanoTime() : finishedNanos;
+            double elapsedSeconds = (endNanos - startedNanos) / 1_000_000_000.0;
+            long read = rowsRead;
+
+            return new UserImportProgress(
+                    file.toString(),
+                    rejectionsFile.toString(),
+                    status,
+                    read,
+                    imported,
+                    rejected,
+                    startedAt,
+                    finishedAt,
+                    elapsedSeconds > 0 ? read / elapsedSeconds : 0,
+                    error
+            );
+        }
+    }
+}
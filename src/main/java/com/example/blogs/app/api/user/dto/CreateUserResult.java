@@ -0,0 +1,45 @@
+package com.example.blogs.app.api.user.dto;
+
+import com.example.blogs.app.api.user.entity.UserEntity;
+
+/**
+ * Outcome of a user insert: either the created user or the unique name that was already taken.
+ *
+ * @param status outcome of the insert
+ * @param user   the created user, or null if a name was taken
+ */
+public record CreateUserResult(
+        Status status,
+        UserEntity user
+) {
+    /**
+     * Outcomes of a user insert.
+     */
+    public enum Status {
+        CREATED,
+        USERNAME_TAKEN,
+        EMAIL_TAKEN
+    }
+
+    /**
+     * @param user the created user
+     * @return a result carrying the created user
+     */
+    public static CreateUserResult created(UserEntity user) {
+        return new CreateUserResult(Status.CREATED, user);
+    }
+
+    /**
+     * @return a result reporting that the username was taken
+     */
+    public static CreateUserResult usernameTaken() {
+        return new CreateUserResult(Status.USERNAME_TAKEN, null);
+    }
+
+    /**
+     * @return a result reporting that the email was taken
+     */
+    public static CreateUserResult emailTaken() {
+        return new CreateUserResult(Status.EMAIL_TAKEN, null);
+    }
+}
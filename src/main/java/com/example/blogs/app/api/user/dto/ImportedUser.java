@@ -0,0 +1,17 @@
+package com.example.blogs.app.api.user.dto;
+
+/**
+ * Validated import row with its password already hashed, ready to be staged.
+ *
+ * @param line         line of the row in the import file
+ * @param username     username to register
+ * @param email        email address to register
+ * @param passwordHash BCrypt hash of the imported password
+ */
+public record ImportedUser(
+        long line,
+        String username,
+        String email,
+        String passwordHash
+) {
+}
@@ -0,0 +1,21 @@
+package com.example.blogs.app.api.user.dto;
+
+/**
+ * Columns of a user that login reads, covered by the case-insensitive username and email indexes.
+ *
+ * @param id                user identifier
+ * @param username          username
+ * @param email             email address
+ * @param passwordHash      stored password hash
+ * @param profilePictureUrl profile picture URL, may be null
+ * @param tokenEpoch        current token epoch
+ */
+public record LoginCredentials(
+        Long id,
+        String username,
+        String email,
+        String passwordHash,
+        String profilePictureUrl,
+        int tokenEpoch
+) {
+}
@@ -0,0 +1,39 @@
+package com.example.blogs.app.api.user.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of a bulk user import.
+ *
+ * @param file           import file being read
+ * @param rejectionsFile file receiving one line per rejected row
+ * @param status         whether the import is still running
+ * @param rowsRead       rows read from the import file so far, including rejected ones
+ * @param imported       users created so far
+ * @param rejected       rows rejected so far
+ * @param startedAt      time the import started
+ * @param finishedAt     time the import finished, or null while it is running
+ * @param rowsPerSecond  average number of rows read per second since the start
+ * @param error          message of the failure that stopped the import, or null
+ */
+public record UserImportProgress(
+        String file,
+        String rejectionsFile,
+        Status status,
+        long rowsRead,
+        long imported,
+        long rejected,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        double rowsPerSecond,
+        String error
+) {
+    /**
+     * States of a bulk user import.
+     */
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
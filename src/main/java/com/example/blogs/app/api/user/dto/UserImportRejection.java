@@ -0,0 +1,36 @@
+package com.example.blogs.app.api.user.dto;
+
+/**
+ * Import row that was not turned into a user.
+ *
+ * @param line   line of the row in the import file
+ * @param reason why the row was rejected
+ * @param detail human-readable explanation, such as the failed validation messages
+ */
+public record UserImportRejection(
+        long line,
+        Reason reason,
+        String detail
+) {
+    /**
+     * Reasons an import row is rejected.
+     */
+    public enum Reason {
+        /**
+         * The row is malformed or breaks the registration validation rules.
+         */
+        INVALID,
+        /**
+         * The username is already registered, ignoring case.
+         */
+        USERNAME_TAKEN,
+        /**
+         * The email address is already registered, ignoring case.
+         */
+        EMAIL_TAKEN,
+        /**
+         * The row conflicts with an earlier row of the same chunk or with a concurrent registration.
+         */
+        DUPLICATE_IN_IMPORT
+    }
+}
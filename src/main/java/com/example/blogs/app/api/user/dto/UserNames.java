@@ -0,0 +1,13 @@
+package com.example.blogs.app.api.user.dto;
+
+/**
+ * Username and email of a user, loaded into the taken name filter.
+ *
+ * @param username username
+ * @param email    email address
+ */
+public record UserNames(
+        String username,
+        String email
+) {
+}
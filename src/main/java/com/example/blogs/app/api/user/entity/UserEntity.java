@@ -38,6 +38,9 @@ public class UserEntity {
     @Column(name = "profile_picture_url", nullable = true)
     private String profilePictureUrl;
 
+    @Column(name = "token_epoch", nullable = false)
+    private int tokenEpoch;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -7,8 +7,9 @@ package com.example.blogs.app.api.user.exception;
 public class EmailTakenException extends RuntimeException {
     /**
      * Constructs a new EmailTakenException with a default error message.
+     * Taken names are an expected outcome of registration, so no stack trace is captured.
      */
     public EmailTakenException() {
-        super("Email is already taken");
+        super("Email is already taken", null, false, false);
     }
 }
@@ -0,0 +1,16 @@
+package com.example.blogs.app.api.user.exception;
+
+/**
+ * Thrown when a bulk user import cannot stage or merge a chunk of rows.
+ * Chunks merged before the failure stay committed, so rerunning the import reports them as taken.
+ */
+public class FailedToImportUsersException extends RuntimeException {
+    /**
+     * Constructs a new FailedToImportUsersException with the underlying cause.
+     *
+     * @param cause the database exception that interrupted the import
+     */
+    public FailedToImportUsersException(Throwable cause) {
+        super("Failed to import users", cause);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.blogs.app.api.user.exception;
+
+/**
+ * Thrown when a database error occurs while updating an existing user.
+ * Mapped to HTTP 500 INTERNAL_SERVER_ERROR.
+ */
+public class FailedToUpdateUserException extends RuntimeException {
+    /**
+     * Constructs a new FailedToUpdateUserException with a default message.
+     */
+    public FailedToUpdateUserException() {
+        super("Failed to update user");
+    }
+}
@@ -7,8 +7,9 @@ package com.example.blogs.app.api.user.exception;
 public class UsernameTakenException extends RuntimeException {
     /**
      * Constructs a new UsernameTakenException with a default error message.
+     * Taken names are an expected outcome of registration, so no stack trace is captured.
      */
     public UsernameTakenException() {
-        super("Username is already taken");
+        super("Username is already taken", null, false, false);
     }
 }
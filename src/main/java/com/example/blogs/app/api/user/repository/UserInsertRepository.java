@@ -0,0 +1,28 @@
+package com.example.blogs.app.api.user.repository;
+
+import com.example.blogs.app.api.user.entity.UserEntity;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * User inserts that report unique conflicts as a result instead of a failed statement.
+ */
+public interface UserInsertRepository {
+    /**
+     * Inserts a user unless the username or email is already taken, ignoring case.
+     * A conflict neither raises an error nor aborts the surrounding transaction.
+     *
+     * @param username     username
+     * @param passwordHash password hash
+     * @param email        email address
+     * @param createdAt    creation and last update timestamp
+     * @return Optional<UserEntity> of the inserted user, detached, or empty if a unique constraint was hit
+     */
+    Optional<UserEntity> insertIgnoringConflicts(
+            String username,
+            String passwordHash,
+            String email,
+            LocalDateTime createdAt
+    );
+}
@@ -0,0 +1,49 @@
+package com.example.blogs.app.api.user.repository;
+
+import com.example.blogs.app.api.user.entity.UserEntity;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of conflict-tolerant user inserts, picked up by Spring Data as a repository fragment.
+ * {@code ON CONFLICT DO NOTHING} without a conflict target covers every unique constraint and index on users,
+ * so a taken name returns no row instead of raising a unique violation.
+ */
+@AllArgsConstructor
+public class UserInsertRepositoryImpl implements UserInsertRepository {
+
+    private static final String INSERT = "INSERT INTO users (username, email, password_hash, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?) ON CONFLICT DO NOTHING RETURNING id, token_epoch";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<UserEntity> insertIgnoringConflicts(
+            String username,
+            String passwordHash,
+            String email,
+            LocalDateTime createdAt
+    ) {
+        ResultSetExtractor<Optional<UserEntity>> extractor = resultSet -> {
+            if (!resultSet.next()) {
+                return Optional.empty();
+            }
+
+            return Optional.of(UserEntity.builder()
+                    .id(resultSet.getLong("id"))
+                    .username(username)
+                    .passwordHash(passwordHash)
+                    .email(email)
+                    .tokenEpoch(resultSet.getInt("token_epoch"))
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .build());
+        };
+
+        return jdbcTemplate.query(INSERT, extractor, username, email, passwordHash, createdAt, createdAt);
+    }
+}
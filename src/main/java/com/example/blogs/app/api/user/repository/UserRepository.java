@@ -1,20 +1,123 @@
 package com.example.blogs.app.api.user.repository;
 
+import com.example.blogs.app.api.user.dto.LoginCredentials;
+import com.example.blogs.app.api.user.dto.UserNames;
 import com.example.blogs.app.api.user.entity.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Data access for user entities with unique constraints on username and email.
  */
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
+public interface UserRepository extends JpaRepository<UserEntity, Long>, UserInsertRepository {
     /**
+     * Looks up the login columns of a user by username, ignoring case.
+     * Served by an index-only scan of the {@code lower(username)} covering index.
+     *
      * @param username username
-     * @param email    email address
-     * @return Optional<UserEntity> matching the given username or email
+     * @return Optional<LoginCredentials> of the matching user
      */
-    Optional<UserEntity> findUserByUsernameOrEmail(String username, String email);
+    @Query("SELECT new com.example.blogs.app.api.user.dto.LoginCredentials("
+            + "u.id, u.username, u.email, u.passwordHash, u.profilePictureUrl, u.tokenEpoch) "
+            + "FROM UserEntity u WHERE lower(u.username) = lower(:username)")
+    Optional<LoginCredentials> findLoginCredentialsByUsername(@Param("username") String username);
+
+    /**
+     * Looks up the login columns of a user by email address, ignoring case.
+     * Served by an index-only scan of the {@code lower(email)} covering index.
+     *
+     * @param email email address
+     * @return Optional<LoginCredentials> of the matching user
+     */
+    @Query("SELECT new com.example.blogs.app.api.user.dto.LoginCredentials("
+            + "u.id, u.username, u.email, u.passwordHash, u.profilePictureUrl, u.tokenEpoch) "
+            + "FROM UserEntity u WHERE lower(u.email) = lower(:email)")
+    Optional<LoginCredentials> findLoginCredentialsByEmail(@Param("email") String email);
+
+    /**
+     * Checks whether a username is registered, ignoring case.
+     * Compares with {@code lower()} rather than a derived {@code IgnoreCase} query, which would use
+     * {@code upper()} and miss the {@code lower(username)} index.
+     *
+     * @param username username
+     * @return true if a user with the username exists
+     */
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END "
+            + "FROM UserEntity u WHERE lower(u.username) = lower(:username)")
+    boolean existsByUsernameIgnoringCase(@Param("username") String username);
+
+    /**
+     * Checks whether an email address is registered, ignoring case.
+     *
+     * @param email email address
+     * @return true if a user with the email exists
+     */
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END "
+            + "FROM UserEntity u WHERE lower(u.email) = lower(:email)")
+    boolean existsByEmailIgnoringCase(@Param("email") String email);
+
+    /**
+     * Streams the usernames and emails of all users, fetched from a server-side cursor in batches.
+     * Used to populate the taken name filter without holding every name in memory.
+     * Must be consumed and closed within a transaction.
+     *
+     * @return names of every registered user
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.blogs.app.api.user.dto.UserNames(u.username, u.email) FROM UserEntity u")
+    Stream<UserNames> streamAllNames();
+
+    /**
+     * Returns the usernames and emails of users registered after the specified timestamp.
+     * Used to bring the taken name filter up to date with registrations on other instances.
+     *
+     * @param since lower bound (exclusive) of the creation timestamp
+     * @return names of users created after the given timestamp
+     */
+    @Query("SELECT new com.example.blogs.app.api.user.dto.UserNames(u.username, u.email) "
+            + "FROM UserEntity u WHERE u.createdAt > :since")
+    List<UserNames> findNamesByCreatedAtAfter(@Param("since") LocalDateTime since);
+
+    /**
+     * Replaces the stored password hash of a user without loading the entity.
+     *
+     * @param id           user identifier
+     * @param passwordHash new password hash
+     * @return number of updated rows
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserEntity u SET u.passwordHash = :passwordHash WHERE u.id = :id")
+    int updatePasswordHash(@Param("id") Long id, @Param("passwordHash") String passwordHash);
+
+    /**
+     * @param id user identifier
+     * @return Optional<Integer> current token epoch of the user
+     */
+    @Query("SELECT u.tokenEpoch FROM UserEntity u WHERE u.id = :id")
+    Optional<Integer> findTokenEpochById(@Param("id") Long id);
+
+    /**
+     * Increments the token epoch of a user, invalidating every refresh token issued before.
+     *
+     * @param id user identifier
+     * @return number of updated rows
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserEntity u SET u.tokenEpoch = u.tokenEpoch + 1 WHERE u.id = :id")
+    int incrementTokenEpoch(@Param("id") Long id);
 }
@@ -0,0 +1,14 @@
+package com.example.blogs.app.api.user.repository;
+
+/**
+ * Bulk loading of imported users through a staging table.
+ */
+public interface UserStagingRepository {
+    /**
+     * Opens a staging session holding one database connection until it is closed.
+     *
+     * @return an empty staging session
+     * @throws com.example.blogs.app.api.user.exception.FailedToImportUsersException if the session cannot be opened
+     */
+    UserStagingSession openSession();
+}
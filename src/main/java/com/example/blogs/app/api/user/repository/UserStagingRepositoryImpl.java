@@ -0,0 +1,207 @@
+package com.example.blogs.app.api.user.repository;
+
+import com.example.blogs.app.api.user.dto.ImportedUser;
+import com.example.blogs.app.api.user.dto.UserImportRejection;
+import com.example.blogs.app.api.user.exception.FailedToImportUsersException;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PostgreSQL implementation of the user staging area.
+ * Each session creates a temporary staging table on its connection, loads chunks into it with {@code COPY}
+ * and merges them with a single {@code INSERT ... SELECT ... ON CONFLICT DO NOTHING}.
+ * The staging table clears itself on every commit, so it never holds more than one chunk.
+ * <p>
+ * Inserted rows are matched back to staged rows by password hash: BCrypt salts every hash randomly,
+ * so hashes of a chunk are unique even when the passwords are not. The rejection reasons are read from
+ * the snapshot taken before the insert, so rows clashing with users registered earlier are reported as taken
+ * and rows clashing only with rows inserted by the same statement as duplicates.
+ */
+@Slf4j
+@Repository
+@AllArgsConstructor
+public class UserStagingRepositoryImpl implements UserStagingRepository {
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMPORARY TABLE IF NOT EXISTS user_import_staging (
+                line          BIGINT NOT NULL,
+                username      TEXT   NOT NULL,
+                email         TEXT   NOT NULL,
+                password_hash TEXT   NOT NULL
+            ) ON COMMIT DELETE ROWS
+            """;
+
+    private static final String DROP_STAGING = "DROP TABLE IF EXISTS user_import_staging";
+
+    private static final String COPY_STAGING =
+            "COPY user_import_staging (line, username, email, password_hash) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String MERGE_STAGING = """
+            WITH inserted AS (
+                INSERT INTO users (username, email, password_hash, created_at, updated_at)
+                SELECT username, email, password_hash, ?, ?
+                FROM user_import_staging
+                ORDER BY line
+                ON CONFLICT DO NOTHING
+                RETURNING password_hash
+            )
+            SELECT s.line,
+                   CASE
+                       WHEN EXISTS (SELECT 1 FROM users u WHERE lower(u.username) = lower(s.username))
+                           THEN 'USERNAME_TAKEN'
+                       WHEN EXISTS (SELECT 1 FROM users u WHERE lower(u.email) = lower(s.email))
+                           THEN 'EMAIL_TAKEN'
+                       ELSE 'DUPLICATE_IN_IMPORT'
+                   END AS reason
+            FROM user_import_staging s
+            WHERE NOT EXISTS (SELECT 1 FROM inserted i WHERE i.password_hash = s.password_hash)
+            ORDER BY s.line
+            """;
+
+    private final DataSource dataSource;
+
+    @Override
+    public UserStagingSession openSession() {
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            boolean autoCommit = connection.getAutoCommit();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING);
+            }
+            connection.setAutoCommit(false);
+            return new Session(connection, autoCommit);
+        } catch (SQLException e) {
+            if (connection != null) {
+                close(connection);
+            }
+            throw new FailedToImportUsersException(e);
+        }
+    }
+
+    private static void close(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.warn("Failed to close user import connection", e);
+        }
+    }
+
+    private static String detailOf(UserImportRejection.Reason reason) {
+        return switch (reason) {
+            case USERNAME_TAKEN -> "Username is already taken";
+            case EMAIL_TAKEN -> "Email is already taken";
+            default -> "Conflicts with an earlier row of the import or a concurrent registration";
+        };
+    }
+
+    private static void appendCsvField(StringBuilder row, String value) {
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        row.append('"');
+    }
+
+    private record Session(Connection connection, boolean autoCommit) implements UserStagingSession {
+
+        @Override
+        public List<UserImportRejection> merge(List<ImportedUser> users, LocalDateTime createdAt) {
+            if (users.isEmpty()) {
+                return List.of();
+            }
+
+            try {
+                copy(users);
+                List<UserImportRejection> rejections = insert(createdAt);
+                connection.commit();
+                return rejections;
+            } catch (SQLException e) {
+                rollback();
+                throw new FailedToImportUsersException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            rollback();
+            try {
+                connection.setAutoCommit(autoCommit);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(DROP_STAGING);
+                }
+            } catch (SQLException e) {
+                log.warn("Failed to drop user import staging table", e);
+            } finally {
+                UserStagingRepositoryImpl.close(connection);
+            }
+        }
+
+        private void copy(List<ImportedUser> users) throws SQLException {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING);
+            try {
+                StringBuilder row = new StringBuilder(128);
+                for (ImportedUser user : users) {
+                    row.setLength(0);
+                    row.append(user.line()).append(',');
+                    appendCsvField(row, user.username());
+                    row.append(',');
+                    appendCsvField(row, user.email());
+                    row.append(',');
+                    appendCsvField(row, user.passwordHash());
+                    row.append('\n');
+
+                    byte[] bytes = row.toString().getBytes(StandardCharsets.UTF_8);
+                    copyIn.writeToCopy(bytes, 0, bytes.length);
+                }
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        }
+
+        private List<UserImportRejection> insert(LocalDateTime createdAt) throws SQLException {
+            try (PreparedStatement statement = connection.prepareStatement(MERGE_STAGING)) {
+                statement.setObject(1, createdAt);
+                statement.setObject(2, createdAt);
+
+                List<UserImportRejection> rejections = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        UserImportRejection.Reason reason = UserImportRejection.Reason.valueOf(resultSet.getString("reason"));
+                        rejections.add(new UserImportRejection(resultSet.getLong("line"), reason, detailOf(reason)));
+                    }
+                }
+                return rejections;
+            }
+        }
+
+        private void rollback() {
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                log.warn("Failed to roll back user import chunk", e);
+            }
+        }
+    }
+}
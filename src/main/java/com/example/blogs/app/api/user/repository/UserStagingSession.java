@@ -0,0 +1,30 @@
+package com.example.blogs.app.api.user.repository;
+
+import com.example.blogs.app.api.user.dto.ImportedUser;
+import com.example.blogs.app.api.user.dto.UserImportRejection;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Connection-bound staging area that merges chunks of imported users into the users table.
+ * Each chunk is merged and committed on its own, so memory and transaction size stay bounded by the chunk.
+ */
+public interface UserStagingSession extends AutoCloseable {
+    /**
+     * Stages the users and inserts every one whose username and email are free, ignoring case.
+     * Rows whose password hashes are not unique cannot be told apart and must not be passed together.
+     *
+     * @param users     imported users with unique password hashes
+     * @param createdAt creation time recorded for the inserted users
+     * @return the rows that were not inserted, ordered by line
+     * @throws com.example.blogs.app.api.user.exception.FailedToImportUsersException if the chunk cannot be merged
+     */
+    List<UserImportRejection> merge(List<ImportedUser> users, LocalDateTime createdAt);
+
+    /**
+     * Drops the staging table and returns the connection.
+     */
+    @Override
+    void close();
+}
@@ -1,6 +1,7 @@
 package com.example.blogs.app.api.user.repository.adapter;
 
 import com.example.blogs.app.api.user.dto.CreateUserCommand;
+import com.example.blogs.app.api.user.dto.CreateUserResult;
 import com.example.blogs.app.api.user.entity.UserEntity;
 
 /**
@@ -8,18 +9,41 @@ import com.example.blogs.app.api.user.entity.UserEntity;
  */
 public interface UserRepositoryAdapter {
     /**
-     * Persists a new user entity.
+     * Persists a new user unless its username or email is already taken, ignoring case.
+     * Taken names are reported in the result rather than thrown.
      *
      * @param command user creation details
-     * @return the saved user entity
-     * @throws com.example.blogs.app.api.user.exception.UsernameTakenException if username already exists
-     * @throws com.example.blogs.app.api.user.exception.EmailTakenException if email already exists
-     * @throws com.example.blogs.app.api.user.exception.FailedToCreateUser for other persistence failures
+     * @return the created user, or which of the names was already taken
+     * @throws com.example.blogs.app.api.user.exception.FailedToCreateUser for persistence failures
      */
-    UserEntity save(CreateUserCommand command);
+    CreateUserResult save(CreateUserCommand command);
 
     /**
-     * Finds a user by username or email address.
+     * Checks whether a username is registered, ignoring case.
+     * Names the in-memory filter has never seen are reported as free without a database round trip.
+     *
+     * @param username username to check
+     * @return true if the username is taken
+     * @throws com.example.blogs.app.api.user.exception.FailedToFindUserException for database errors
+     */
+    boolean existsByUsername(String username);
+
+    /**
+     * Checks whether an email address is registered, ignoring case.
+     * Emails the in-memory filter has never seen are reported as free without a database round trip.
+     *
+     * @param email email address to check
+     * @return true if the email is taken
+     * @throws com.example.blogs.app.api.user.exception.FailedToFindUserException for database errors
+     */
+    boolean existsByEmail(String email);
+
+    /**
+     * Finds a user by username or email address, ignoring case, for login.
+     * Inputs containing {@code @} are looked up as an email first and fall back to a username,
+     * everything else only as a username, so each lookup hits a single index.
+     * The returned entity is detached and carries only the columns login reads:
+     * id, username, email, password hash, profile picture URL and token epoch.
      *
      * @param usernameOrEmail the username or email to search for
      * @return the matching user entity
@@ -27,4 +51,43 @@ public interface UserRepositoryAdapter {
      * @throws com.example.blogs.app.api.user.exception.FailedToFindUserException for database errors
      */
     UserEntity findByUsernameOrEmail(String usernameOrEmail);
-}
\ No newline at end of file
+
+    /**
+     * Finds a user by identifier.
+     *
+     * @param id user identifier
+     * @return the matching user entity
+     * @throws com.example.blogs.app.api.user.exception.UserNotFoundException if no user is found
+     * @throws com.example.blogs.app.api.user.exception.FailedToFindUserException for database errors
+     */
+    UserEntity findById(Long id);
+
+    /**
+     * Replaces the stored password hash of a user.
+     *
+     * @param id           user identifier
+     * @param passwordHash new password hash
+     * @throws com.example.blogs.app.api.user.exception.UserNotFoundException if no user is found
+     * @throws com.example.blogs.app.api.user.exception.FailedToUpdateUserException for database errors
+     */
+    void updatePasswordHash(Long id, String passwordHash);
+
+    /**
+     * Finds the current token epoch of a user.
+     *
+     * @param id user identifier
+     * @return the current token epoch
+     * @throws com.example.blogs.app.api.user.exception.UserNotFoundException if no user is found
+     * @throws com.example.blogs.app.api.user.exception.FailedToFindUserException for database errors
+     */
+    int findTokenEpoch(Long id);
+
+    /**
+     * Increments the token epoch of a user.
+     *
+     * @param id user identifier
+     * @throws com.example.blogs.app.api.user.exception.UserNotFoundException if no user is found
+     * @throws com.example.blogs.app.api.user.exception.FailedToUpdateUserException for database errors
+     */
+    void incrementTokenEpoch(Long id);
+}
@@ -1,54 +1,148 @@
 package com.example.blogs.app.api.user.repository.adapter;
 
+import com.example.blogs.app.api.user.availability.TakenNameFilter;
 import com.example.blogs.app.api.user.dto.CreateUserCommand;
+import com.example.blogs.app.api.user.dto.CreateUserResult;
+import com.example.blogs.app.api.user.dto.LoginCredentials;
 import com.example.blogs.app.api.user.entity.UserEntity;
 import com.example.blogs.app.api.user.exception.*;
 import com.example.blogs.app.api.user.repository.UserRepository;
-import lombok.AllArgsConstructor;
-import org.hibernate.exception.ConstraintViolationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
 /**
- * Translates database constraint violations and errors into domain-specific exceptions.
+ * Translates database errors into domain-specific exceptions.
+ * Users are inserted with {@code ON CONFLICT DO NOTHING}, so a taken name costs no failed statement,
+ * rollback, or exception; a follow-up probe tells username conflicts from email conflicts.
+ * Username and email existence checks consult the local {@link TakenNameFilter} first and only query
+ * the database when the filter reports a possible hit; saved users are added to the filter.
  */
 @Component
-@AllArgsConstructor
 public class UserRepositoryAdapterImpl implements UserRepositoryAdapter {
 
+    private static final String FILTER_LOOKUPS_METRIC = "taken_name_filter.lookups";
+
     private final UserRepository userRepository;
 
+    private final TakenNameFilter takenNameFilter;
+
+    private final Counter filterMisses;
+
+    private final Counter filterHits;
+
+    private final Counter filterFalsePositives;
+
+    /**
+     * Constructs the adapter with its repository, taken name filter, and metrics registry.
+     *
+     * @param userRepository  JPA repository for users
+     * @param takenNameFilter in-memory filter of registered names consulted before the database
+     * @param meterRegistry   registry for filter hit/miss/false-positive counters
+     */
+    public UserRepositoryAdapterImpl(
+            UserRepository userRepository,
+            TakenNameFilter takenNameFilter,
+            MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.takenNameFilter = takenNameFilter;
+        this.filterMisses = meterRegistry.counter(FILTER_LOOKUPS_METRIC, "result", "miss");
+        this.filterHits = meterRegistry.counter(FILTER_LOOKUPS_METRIC, "result", "hit");
+        this.filterFalsePositives = meterRegistry.counter(FILTER_LOOKUPS_METRIC, "result", "false_positive");
+    }
+
     @Override
-    public UserEntity save(CreateUserCommand command) {
-        UserEntity user = UserEntity.builder()
-                .username(command.username())
-                .passwordHash(command.passwordHash())
-                .email(command.email())
-                .build();
+    public CreateUserResult save(CreateUserCommand command) {
+        Optional<UserEntity> inserted;
+        try {
+            inserted = userRepository.insertIgnoringConflicts(
+                    command.username(),
+                    command.passwordHash(),
+                    command.email(),
+                    LocalDateTime.now()
+            );
+        } catch (Exception e) {
+            throw new FailedToCreateUser();
+        }
+
+        if (inserted.isEmpty()) {
+            return findConflict(command);
+        }
+
+        UserEntity user = inserted.get();
+        takenNameFilter.put(user.getUsername(), user.getEmail());
+        return CreateUserResult.created(user);
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return exists(
+                takenNameFilter.mightContainUsername(username),
+                () -> userRepository.existsByUsernameIgnoringCase(username)
+        );
+    }
 
+    @Override
+    public boolean existsByEmail(String email) {
+        return exists(
+                takenNameFilter.mightContainEmail(email),
+                () -> userRepository.existsByEmailIgnoringCase(email)
+        );
+    }
+
+    @Override
+    public UserEntity findByUsernameOrEmail(String usernameOrEmail) {
         try {
-            return userRepository.save(user);
+            Optional<LoginCredentials> credentials = usernameOrEmail.indexOf('@') >= 0
+                    ? userRepository.findLoginCredentialsByEmail(usernameOrEmail)
+                            .or(() -> userRepository.findLoginCredentialsByUsername(usernameOrEmail))
+                    : userRepository.findLoginCredentialsByUsername(usernameOrEmail);
+
+            return credentials
+                    .map(UserRepositoryAdapterImpl::toUser)
+                    .orElseThrow(UserNotFoundException::new);
+        } catch (UserNotFoundException e) {
+            throw e;
         } catch (Exception e) {
-            Throwable cause = e.getCause();
+            throw new FailedToFindUserException();
+        }
+    }
 
-            if (cause instanceof ConstraintViolationException cve) {
-                String constraint = cve.getConstraintName();
+    @Override
+    public UserEntity findById(Long id) {
+        try {
+            return userRepository.findById(id)
+                    .orElseThrow(UserNotFoundException::new);
+        } catch (UserNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new FailedToFindUserException();
+        }
+    }
 
-                if ("users_username_key".equals(constraint)) {
-                    throw new UsernameTakenException();
-                }
-                if ("users_email_key".equals(constraint)) {
-                    throw new EmailTakenException();
-                }
-            }
+    @Override
+    public void updatePasswordHash(Long id, String passwordHash) {
+        int updated;
+        try {
+            updated = userRepository.updatePasswordHash(id, passwordHash);
+        } catch (Exception e) {
+            throw new FailedToUpdateUserException();
+        }
 
-            throw new FailedToCreateUser();
+        if (updated == 0) {
+            throw new UserNotFoundException();
         }
     }
 
     @Override
-    public UserEntity findByUsernameOrEmail(String usernameOrEmail) {
+    public int findTokenEpoch(Long id) {
         try {
-            return userRepository.findUserByUsernameOrEmail(usernameOrEmail, usernameOrEmail)
+            return userRepository.findTokenEpochById(id)
                     .orElseThrow(UserNotFoundException::new);
         } catch (UserNotFoundException e) {
             throw e;
@@ -56,4 +150,76 @@ public class UserRepositoryAdapterImpl implements UserRepositoryAdapter {
             throw new FailedToFindUserException();
         }
     }
+
+    @Override
+    public void incrementTokenEpoch(Long id) {
+        int updated;
+        try {
+            updated = userRepository.incrementTokenEpoch(id);
+        } catch (Exception e) {
+            throw new FailedToUpdateUserException();
+        }
+
+        if (updated == 0) {
+            throw new UserNotFoundException();
+        }
+    }
+
+    /**
+     * Probes which name caused a conflicting insert. Users are never deleted,
+     * so the conflicting row is visible to the probe once the insert has returned.
+     *
+     * @param command user creation details of the conflicting insert
+     * @return result reporting the taken username, or else the taken email
+     */
+    private CreateUserResult findConflict(CreateUserCommand command) {
+        boolean usernameTaken;
+        boolean emailTaken;
+        try {
+            usernameTaken = userRepository.existsByUsernameIgnoringCase(command.username());
+            emailTaken = !usernameTaken && userRepository.existsByEmailIgnoringCase(command.email());
+        } catch (Exception e) {
+            throw new FailedToCreateUser();
+        }
+
+        if (usernameTaken) {
+            return CreateUserResult.usernameTaken();
+        }
+        if (emailTaken) {
+            return CreateUserResult.emailTaken();
+        }
+        throw new FailedToCreateUser();
+    }
+
+    private boolean exists(boolean mightContain, BooleanSupplier query) {
+        if (!mightContain) {
+            filterMisses.increment();
+            return false;
+        }
+
+        boolean exists;
+        try {
+            exists = query.getAsBoolean();
+        } catch (Exception e) {
+            throw new FailedToFindUserException();
+        }
+
+        if (exists) {
+            filterHits.increment();
+        } else {
+            filterFalsePositives.increment();
+        }
+        return exists;
+    }
+
+    private static UserEntity toUser(LoginCredentials credentials) {
+        return UserEntity.builder()
+                .id(credentials.id())
+                .username(credentials.username())
+                .email(credentials.email())
+                .passwordHash(credentials.passwordHash())
+                .profilePictureUrl(credentials.profilePictureUrl())
+                .tokenEpoch(credentials.tokenEpoch())
+                .build();
+    }
 }
@@ -20,7 +20,25 @@ public interface UserService {
     UserEntity createUser(CreateUserCommand command);
 
     /**
-     * Retrieves a user by username or email address.
+     * Checks whether a username is already registered, ignoring case.
+     *
+     * @param username username to check
+     * @return true if the username is taken
+     * @throws com.example.blogs.app.api.user.exception.FailedToFindUserException for database errors
+     */
+    boolean isUsernameTaken(String username);
+
+    /**
+     * Checks whether an email address is already registered, ignoring case.
+     *
+     * @param email email address to check
+     * @return true if the email is taken
+     * @throws com.example.blogs.app.api.user.exception.FailedToFindUserException for database errors
+     */
+    boolean isEmailTaken(String email);
+
+    /**
+     * Retrieves a user by username or email address, ignoring case.
      *
      * @param usernameOrEmail the username or email to search for
      * @return the matching user entity
@@ -28,4 +46,45 @@ public interface UserService {
      * @throws com.example.blogs.app.api.user.exception.FailedToFindUserException for database errors
      */
     UserEntity findUserByUsernameOrEmail(String usernameOrEmail);
+
+    /**
+     * Retrieves a user by identifier.
+     *
+     * @param id user identifier
+     * @return the matching user entity
+     * @throws com.example.blogs.app.api.user.exception.UserNotFoundException if no user is found
+     * @throws com.example.blogs.app.api.user.exception.FailedToFindUserException for database errors
+     */
+    UserEntity findUserById(Long id);
+
+    /**
+     * Replaces the stored password hash of a user, e.g. after rehashing with a new work factor.
+     *
+     * @param id           user identifier
+     * @param passwordHash new password hash
+     * @throws com.example.blogs.app.api.user.exception.UserNotFoundException if no user is found
+     * @throws com.example.blogs.app.api.user.exception.FailedToUpdateUserException for database errors
+     */
+    void updatePasswordHash(Long id, String passwordHash);
+
+    /**
+     * Retrieves the current token epoch of a user.
+     * Refresh tokens carrying an older epoch are no longer accepted.
+     *
+     * @param id user identifier
+     * @return the current token epoch
+     * @throws com.example.blogs.app.api.user.exception.UserNotFoundException if no user is found
+     * @throws com.example.blogs.app.api.user.exception.FailedToFindUserException for database errors
+     */
+    int findTokenEpoch(Long id);
+
+    /**
+     * Increments the token epoch of a user, invalidating every refresh token issued before,
+     * e.g. on logout from all devices or a password change.
+     *
+     * @param id user identifier
+     * @throws com.example.blogs.app.api.user.exception.UserNotFoundException if no user is found
+     * @throws com.example.blogs.app.api.user.exception.FailedToUpdateUserException for database errors
+     */
+    void incrementTokenEpoch(Long id);
 }
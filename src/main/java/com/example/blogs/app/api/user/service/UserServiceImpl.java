@@ -1,13 +1,16 @@
 package com.example.blogs.app.api.user.service;
 
 import com.example.blogs.app.api.user.dto.CreateUserCommand;
+import com.example.blogs.app.api.user.dto.CreateUserResult;
 import com.example.blogs.app.api.user.entity.UserEntity;
+import com.example.blogs.app.api.user.exception.EmailTakenException;
+import com.example.blogs.app.api.user.exception.UsernameTakenException;
 import com.example.blogs.app.api.user.repository.adapter.UserRepositoryAdapter;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
- * Translates database constraint violations into domain-specific exceptions during user creation.
+ * Translates taken usernames and emails reported by user creation into domain-specific exceptions.
  */
 @Service
 @AllArgsConstructor
@@ -17,11 +20,47 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserEntity createUser(CreateUserCommand command) {
-        return userRepositoryAdapter.save(command);
+        CreateUserResult result = userRepositoryAdapter.save(command);
+
+        return switch (result.status()) {
+            case CREATED -> result.user();
+            case USERNAME_TAKEN -> throw new UsernameTakenException();
+            case EMAIL_TAKEN -> throw new EmailTakenException();
+        };
+    }
+
+    @Override
+    public boolean isUsernameTaken(String username) {
+        return userRepositoryAdapter.existsByUsername(username);
+    }
+
+    @Override
+    public boolean isEmailTaken(String email) {
+        return userRepositoryAdapter.existsByEmail(email);
     }
 
     @Override
     public UserEntity findUserByUsernameOrEmail(String usernameOrEmail) {
         return userRepositoryAdapter.findByUsernameOrEmail(usernameOrEmail);
     }
+
+    @Override
+    public UserEntity findUserById(Long id) {
+        return userRepositoryAdapter.findById(id);
+    }
+
+    @Override
+    public void updatePasswordHash(Long id, String passwordHash) {
+        userRepositoryAdapter.updatePasswordHash(id, passwordHash);
+    }
+
+    @Override
+    public int findTokenEpoch(Long id) {
+        return userRepositoryAdapter.findTokenEpoch(id);
+    }
+
+    @Override
+    public void incrementTokenEpoch(Long id) {
+        userRepositoryAdapter.incrementTokenEpoch(id);
+    }
 }
@@ -1,43 +1,47 @@
 package com.example.blogs.app.config;
 
+import com.example.blogs.app.security.SigningKey;
+import com.example.blogs.app.security.SigningKeyRing;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import org.springframework.beans.factory.annotation.Value;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import javax.crypto.SecretKey;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
 
 /**
  * Configuration for JWT parsing and validation using JJWT library.
  * Provides a shared JwtParser bean for token verification across the application.
+ * The verification key is looked up in the {@link SigningKeyRing} by the token's {@code kid} header.
  */
 @Configuration
+@AllArgsConstructor
 public class JWTConfig {
 
-    private final SecretKey signingKey;
+    private final SigningKeyRing signingKeyRing;
 
     /**
-     * Constructs JWTConfig with HMAC SHA256 signing key from application properties.
-     *
-     * @param secretKey the secret key for JWT signing and verification
-     */
-    public JWTConfig(@Value("${jwt.secret-key}") String secretKey) {
-        this.signingKey = new SecretKeySpec(
-                secretKey.getBytes(StandardCharsets.UTF_8),
-                "HmacSHA256"
-        );
-    }
-
-    /**
-     * Creates a JWT parser bean configured with the signing key for token verification.
+     * Creates a JWT parser bean resolving the verification key of each token from the key ring.
      *
      * @return configured JwtParser for parsing and validating JWT tokens
      */
     @Bean
     public JwtParser jwtParser() {
-        return Jwts.parser().verifyWith(signingKey).build();
+        return Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        SigningKey key = signingKeyRing.find(header.getKeyId());
+                        if (key == null) {
+                            throw new UnsupportedJwtException("Unknown signing key id");
+                        }
+                        return key.secretKey();
+                    }
+                })
+                .build();
     }
 }
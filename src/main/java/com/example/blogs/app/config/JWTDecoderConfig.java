@@ -2,48 +2,33 @@ package com.example.blogs.app.config;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
-import org.springframework.beans.factory.annotation.Value;
+import io.jsonwebtoken.JwtParser;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 
-import javax.crypto.SecretKey;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
  * Provides JWT decoder bean for validating and parsing JWT tokens in Spring Security OAuth2 resource server.
+ * Serves as the general path behind {@link com.example.blogs.app.security.AccessTokenVerifier}
+ * for tokens outside its HS256 fast path.
  */
 @Configuration
 public class JWTDecoderConfig {
-    private final SecretKey secretKey;
-
-    /**
-     * Constructs JwtDecoderConfig with the configured HMAC SHA256 secret key.
-     *
-     * @param secret the secret key for JWT verification, loaded from application properties
-     */
-    public JWTDecoderConfig(@Value("${jwt.secret-key}") String secret) {
-        this.secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-    }
 
     /**
      * Creates a JWT decoder bean that validates and parses JWT tokens using JJWT library.
      *
+     * @param jwtParser shared parser resolving verification keys from the key ring
      * @return JWT decoder for Spring Security OAuth2 resource server
      */
     @Bean
-    public JwtDecoder jwtDecoder() {
+    public JwtDecoder jwtDecoder(JwtParser jwtParser) {
         return token -> {
             try {
-                Claims claims = Jwts.parser()
-                        .verifyWith(secretKey)
-                        .build()
-                        .parseSignedClaims(token)
-                        .getPayload();
+                Claims claims = jwtParser.parseSignedClaims(token).getPayload();
 
                 return new Jwt(
                         token,
@@ -1,22 +1,77 @@
 package com.example.blogs.app.config;
 
+import com.example.blogs.app.security.BoundedPasswordEncoder;
+import com.example.blogs.app.security.CalibratedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.context.annotation.Primary;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 /**
  * Provides BCrypt password encoding for secure password hashing.
+ * The BCrypt work factor is either fixed by configuration or calibrated at startup to hit a target hash time.
+ * Hashing runs on a dedicated bounded executor so bursts of logins and registrations
+ * cannot starve cheaper endpoints of CPU.
  */
 @Configuration
 public class PasswordConfig {
     /**
-     * Creates a BCrypt password encoder bean for password hashing.
+     * Creates the BCrypt encoder with a configured or calibrated work factor.
      *
-     * @return BCrypt password encoder with default strength (10 rounds)
+     * @param strength       fixed BCrypt work factor; 0 or less calibrates against the target hash time
+     * @param targetHashTime desired duration of a single hash used for calibration
+     * @param minStrength    lowest work factor calibration may choose
+     * @param maxStrength    highest work factor calibration may choose
+     * @return BCrypt encoder that reports hashes with a different work factor for upgrade
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public CalibratedPasswordEncoder bcryptPasswordEncoder(
+            @Value("${password-hashing.bcrypt.strength}") int strength,
+            @Value("${password-hashing.bcrypt.target-hash-time}") Duration targetHashTime,
+            @Value("${password-hashing.bcrypt.min-strength}") int minStrength,
+            @Value("${password-hashing.bcrypt.max-strength}") int maxStrength
+    ) {
+        int workFactor = strength > 0
+                ? strength
+                : CalibratedPasswordEncoder.calibrate(targetHashTime, minStrength, maxStrength);
+
+        return new CalibratedPasswordEncoder(workFactor);
+    }
+
+    /**
+     * Creates the application password encoder: the BCrypt encoder backed by a bounded hashing executor.
+     *
+     * @param bcryptPasswordEncoder BCrypt encoder performing the hashing
+     * @param threads       number of hashing threads; 0 or less uses the number of available processors
+     * @param queueCapacity maximum number of hashing tasks waiting for a thread
+     * @param maxQueueWait  maximum time a task may wait in the queue before failing with 503
+     * @param retryAfter    Retry-After hint returned with 503 responses
+     * @param meterRegistry registry for hashing executor metrics
+     * @return bounded BCrypt password encoder
+     */
+    @Primary
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(
+            CalibratedPasswordEncoder bcryptPasswordEncoder,
+            @Value("${password-hashing.threads}") int threads,
+            @Value("${password-hashing.queue-capacity}") int queueCapacity,
+            @Value("${password-hashing.max-queue-wait}") Duration maxQueueWait,
+            @Value("${password-hashing.retry-after}") Duration retryAfter,
+            MeterRegistry meterRegistry
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        return new BoundedPasswordEncoder(
+                bcryptPasswordEncoder,
+                poolSize,
+                queueCapacity,
+                maxQueueWait,
+                retryAfter,
+                meterRegistry
+        );
     }
 }
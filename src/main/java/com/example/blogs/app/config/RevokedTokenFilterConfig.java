@@ -0,0 +1,49 @@
+package com.example.blogs.app.config;
+
+import com.example.blogs.app.api.auth.repository.RevokedTokenRepository;
+import com.example.blogs.app.api.auth.revocation.MappedRevokedTokenFilter;
+import com.example.blogs.app.api.auth.revocation.RevokedTokenFilter;
+import com.example.blogs.app.api.auth.revocation.RevokedTokenFilterImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Selects the revoked token filter implementation.
+ * By default revoked token hashes are held in an in-memory Bloom filter that is loaded from the database at startup;
+ * when a store file is configured they are kept in an exact memory-mapped set that survives restarts instead.
+ */
+@Configuration
+public class RevokedTokenFilterConfig {
+    /**
+     * Creates the revoked token filter.
+     *
+     * @param revokedTokenRepository   repository used to load revoked token hashes
+     * @param expectedInsertions       number of revoked tokens the filter is sized for
+     * @param falsePositiveProbability target false positive rate of the Bloom filter at the expected size
+     * @param storeFile                memory-mapped store location; blank selects the Bloom filter
+     * @param compactionThreshold      fraction of expired entries above which the store file is compacted
+     * @return the configured revoked token filter
+     */
+    @Bean
+    public RevokedTokenFilter revokedTokenFilter(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${revoked-token-filter.expected-insertions}") long expectedInsertions,
+            @Value("${revoked-token-filter.false-positive-probability}") double falsePositiveProbability,
+            @Value("${revoked-token-filter.store-file}") String storeFile,
+            @Value("${revoked-token-filter.store-compaction-threshold}") double compactionThreshold
+    ) {
+        if (storeFile.isBlank()) {
+            return new RevokedTokenFilterImpl(revokedTokenRepository, expectedInsertions, falsePositiveProbability);
+        }
+
+        return new MappedRevokedTokenFilter(
+                revokedTokenRepository,
+                Path.of(storeFile),
+                expectedInsertions,
+                compactionThreshold
+        );
+    }
+}
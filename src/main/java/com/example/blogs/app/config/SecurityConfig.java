@@ -1,6 +1,9 @@
 package com.example.blogs.app.config;
 
-import com.example.blogs.app.security.JWTToUserPrincipalConverter;
+import com.example.blogs.app.security.AccessTokenAuthenticationManager;
+import com.example.blogs.app.security.AccessTokenVerifier;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -18,26 +21,31 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
     /**
      * Configures the security filter chain with JWT-based stateless authentication.
-     * Protects /auth/me endpoint and permits all other requests.
+     * Protects /auth/me and /auth/logout-all endpoints and every actuator endpoint except health,
+     * and permits all other requests.
+     * Bearer tokens are authenticated by the access token verifier, which builds the principal without a Spring Jwt.
      *
-     * @param http the HttpSecurity to configure
+     * @param http                the HttpSecurity to configure
+     * @param accessTokenVerifier verifier resolving the user principal from bearer tokens
      * @return configured SecurityFilterChain
      * @throws Exception if configuration fails
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AccessTokenVerifier accessTokenVerifier) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/auth/me").authenticated()
+                        .requestMatchers("/auth/me", "/auth/logout-all").authenticated()
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).authenticated()
                         .anyRequest().permitAll()
                 )
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
-                .oauth2ResourceServer(
-                        oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(new JWTToUserPrincipalConverter()))
-                );
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(
+                        jwt -> jwt.authenticationManager(new AccessTokenAuthenticationManager(accessTokenVerifier))
+                ));
 
         return http.build();
     }
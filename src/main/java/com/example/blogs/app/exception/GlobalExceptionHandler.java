@@ -1,7 +1,9 @@
 package com.example.blogs.app.exception;
 
+import com.example.blogs.app.api.auth.exception.PasswordHashingBusyException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -41,6 +43,7 @@ public class GlobalExceptionHandler {
             case MethodArgumentNotValidException e -> handleValidationException(e, request);
             case HandlerMethodValidationException e -> handleMethodValidationException(e, request);
             case HttpMessageNotReadableException ignored -> handleMissingRequestBodyException(request);
+            case PasswordHashingBusyException e -> handlePasswordHashingBusyException(e, request);
             default -> handleRegularException(exception, request);
         };
     }
@@ -100,6 +103,18 @@ public class GlobalExceptionHandler {
                 .body(errorResponse);
     }
 
+    private ResponseEntity<ErrorResponse> handlePasswordHashingBusyException(
+            PasswordHashingBusyException exception,
+            HttpServletRequest request
+    ) {
+        ResponseEntity<ErrorResponse> response = handleRegularException(exception, request);
+
+        return ResponseEntity
+                .status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
     private ResponseEntity<ErrorResponse> handleRegularException(
             Exception exception,
             HttpServletRequest request
@@ -0,0 +1,33 @@
+package com.example.blogs.app.scheduling;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs scheduled jobs on at most one application instance per trigger.
+ * Every instance fires the same trigger; only the instance that wins a cluster-wide lock executes the job,
+ * the others skip without waiting.
+ */
+public interface ClusterJobRunner {
+    /**
+     * After a random jitter, executes the job if no other instance is running it
+     * and no instance has started it within the minimum interval.
+     * The jitter is waited out without blocking the calling thread; without jitter the job runs on it.
+     *
+     * @param jobName     name identifying the job across all instances
+     * @param maxJitter   upper bound of the random delay spreading instances that fire at the same moment
+     * @param minInterval runs started by any instance within this interval count as the same trigger;
+     *                    must exceed the jitter and stay below the trigger period
+     * @param job         the job to execute
+     * @return CompletableFuture<Boolean> completed with true if this instance executed the job,
+     * or exceptionally if the job failed
+     */
+    CompletableFuture<Boolean> runExclusively(String jobName, Duration maxJitter, Duration minInterval, Runnable job);
+
+    /**
+     * @param jobName name of the job
+     * @return Optional<JobRunReport> last execution of the job by any instance
+     */
+    Optional<JobRunReport> lastRun(String jobName);
+}
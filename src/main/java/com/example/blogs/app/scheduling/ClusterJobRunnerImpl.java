@@ -0,0 +1,170 @@
+package com.example.blogs.app.scheduling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * PostgreSQL advisory lock based job runner.
+ * The jitter is a delayed task on the task scheduler, so waiting out the jitter does not occupy a scheduler thread.
+ * The lock is a session-level {@code pg_try_advisory_lock} taken for the duration of the job on a connection
+ * opened outside the connection pool, so a long job does not hold a pooled connection,
+ * and the lock is released by the server even if the instance dies mid-run.
+ * Losing instances return immediately. The winner records its run in {@code scheduled_job_runs},
+ * which also lets late instances recognise a trigger that has already been handled.
+ */
+@Slf4j
+@Component
+public class ClusterJobRunnerImpl implements ClusterJobRunner {
+
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_lock(hashtext(?))";
+
+    private static final String UNLOCK = "SELECT pg_advisory_unlock(hashtext(?))";
+
+    private static final String RUNS_METRIC = "scheduled_job.runs";
+
+    private final DataSource lockDataSource;
+
+    private final JobRunRepository jobRunRepository;
+
+    private final TaskScheduler taskScheduler;
+
+    private final MeterRegistry meterRegistry;
+
+    private final String nodeId;
+
+    /**
+     * Constructs the runner with its lock connection settings, run log, scheduler, and metrics registry.
+     *
+     * @param dataSourceProperties connection settings of the database; lock connections are opened from them
+     *                             directly rather than borrowed from the pool
+     * @param jobRunRepository     log of the last run of each job
+     * @param taskScheduler        scheduler running the jittered attempts
+     * @param meterRegistry        registry for run outcome counters and durations
+     * @param nodeId               identifier of this instance; defaults to the JVM name (pid@host) when blank
+     */
+    public ClusterJobRunnerImpl(
+            DataSourceProperties dataSourceProperties,
+            JobRunRepository jobRunRepository,
+            TaskScheduler taskScheduler,
+            MeterRegistry meterRegistry,
+            @Value("${cluster.node-id:}") String nodeId
+    ) {
+        this.lockDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .build();
+        this.jobRunRepository = jobRunRepository;
+        this.taskScheduler = taskScheduler;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = nodeId == null || nodeId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName()
+                : nodeId;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> runExclusively(
+            String jobName,
+            Duration maxJitter,
+            Duration minInterval,
+            Runnable job
+    ) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        Runnable attempt = () -> {
+            try {
+                result.complete(tryRun(jobName, minInterval, job));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        };
+
+        if (maxJitter.isZero() || maxJitter.isNegative()) {
+            attempt.run();
+        } else {
+            long jitterMillis = ThreadLocalRandom.current().nextLong(maxJitter.toMillis() + 1);
+            taskScheduler.schedule(attempt, Instant.now().plusMillis(jitterMillis));
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<JobRunReport> lastRun(String jobName) {
+        return jobRunRepository.findByJobName(jobName);
+    }
+
+    private boolean tryRun(String jobName, Duration minInterval, Runnable job) {
+        try (Connection lockConnection = lockDataSource.getConnection()) {
+            if (!advisoryLock(lockConnection, TRY_LOCK, jobName)) {
+                recordOutcome(jobName, "skipped_locked");
+                return false;
+            }
+
+            try {
+                return runLocked(jobName, minInterval, job);
+            } finally {
+                advisoryLock(lockConnection, UNLOCK, jobName);
+            }
+        } catch (SQLException e) {
+            recordOutcome(jobName, "lock_failed");
+            log.warn("Failed to coordinate scheduled job {}", jobName, e);
+            return false;
+        }
+    }
+
+    private boolean runLocked(String jobName, Duration minInterval, Runnable job) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        boolean alreadyRan = jobRunRepository.findByJobName(jobName)
+                .map(lastRun -> lastRun.startedAt().isAfter(startedAt.minus(minInterval)))
+                .orElse(false);
+        if (alreadyRan) {
+            recordOutcome(jobName, "skipped_recent");
+            return false;
+        }
+
+        long startedNanos = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            job.run();
+            succeeded = true;
+        } finally {
+            Duration duration = Duration.ofNanos(System.nanoTime() - startedNanos);
+            meterRegistry.timer("scheduled_job.duration", "job", jobName).record(duration);
+            recordOutcome(jobName, succeeded ? "succeeded" : "failed");
+            jobRunRepository.save(new JobRunReport(
+                    jobName, nodeId, startedAt, LocalDateTime.now(), duration, succeeded
+            ));
+            log.info("Scheduled job {} {} on {} in {} ms",
+                    jobName, succeeded ? "succeeded" : "failed", nodeId, duration.toMillis());
+        }
+        return true;
+    }
+
+    private void recordOutcome(String jobName, String outcome) {
+        meterRegistry.counter(RUNS_METRIC, "job", jobName, "outcome", outcome).increment();
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql, String jobName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, jobName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+}
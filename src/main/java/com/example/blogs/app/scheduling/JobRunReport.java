@@ -0,0 +1,24 @@
+package com.example.blogs.app.scheduling;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Last execution of a cluster-wide scheduled job.
+ *
+ * @param jobName    name identifying the job across all instances
+ * @param ownerNode  identifier of the instance that executed the job
+ * @param startedAt  time the execution started
+ * @param finishedAt time the execution finished
+ * @param duration   time the execution took
+ * @param succeeded  false if the job threw an exception
+ */
+public record JobRunReport(
+        String jobName,
+        String ownerNode,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        Duration duration,
+        boolean succeeded
+) {
+}
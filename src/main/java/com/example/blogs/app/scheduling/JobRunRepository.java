@@ -0,0 +1,27 @@
+package com.example.blogs.app.scheduling;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persists the last execution of each cluster-wide scheduled job so every instance can see it.
+ */
+public interface JobRunRepository {
+    /**
+     * @param jobName name of the job
+     * @return Optional<JobRunReport> last recorded execution of the job
+     */
+    Optional<JobRunReport> findByJobName(String jobName);
+
+    /**
+     * @return last recorded execution of every job
+     */
+    List<JobRunReport> findAll();
+
+    /**
+     * Records an execution, replacing the previous one of the same job.
+     *
+     * @param report execution to record
+     */
+    void save(JobRunReport report);
+}
@@ -0,0 +1,71 @@
+package com.example.blogs.app.scheduling;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of the scheduled job run log, keeping one row per job.
+ */
+@Repository
+@AllArgsConstructor
+public class JobRunRepositoryImpl implements JobRunRepository {
+
+    private static final String SELECT_RUNS = """
+            SELECT job_name, owner_node, started_at, finished_at, duration_ms, succeeded
+            FROM scheduled_job_runs
+            """;
+
+    private static final String UPSERT_RUN = """
+            INSERT INTO scheduled_job_runs (job_name, owner_node, started_at, finished_at, duration_ms, succeeded)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (job_name) DO UPDATE
+                SET owner_node  = EXCLUDED.owner_node,
+                    started_at  = EXCLUDED.started_at,
+                    finished_at = EXCLUDED.finished_at,
+                    duration_ms = EXCLUDED.duration_ms,
+                    succeeded   = EXCLUDED.succeeded
+            """;
+
+    private static final RowMapper<JobRunReport> REPORT_MAPPER = (rs, rowNum) -> new JobRunReport(
+            rs.getString("job_name"),
+            rs.getString("owner_node"),
+            rs.getObject("started_at", LocalDateTime.class),
+            rs.getObject("finished_at", LocalDateTime.class),
+            Duration.ofMillis(rs.getLong("duration_ms")),
+            rs.getBoolean("succeeded")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<JobRunReport> findByJobName(String jobName) {
+        return jdbcTemplate.query(SELECT_RUNS + " WHERE job_name = ?", REPORT_MAPPER, jobName)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<JobRunReport> findAll() {
+        return jdbcTemplate.query(SELECT_RUNS + " ORDER BY job_name", REPORT_MAPPER);
+    }
+
+    @Override
+    public void save(JobRunReport report) {
+        jdbcTemplate.update(
+                UPSERT_RUN,
+                report.jobName(),
+                report.ownerNode(),
+                report.startedAt(),
+                report.finishedAt(),
+                report.duration().toMillis(),
+                report.succeeded()
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.blogs.app.scheduling;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint reporting the last run of every cluster-wide scheduled job,
+ * including the instance that owned it and how long it took.
+ * Served only on the management port and only to authenticated requests, as it reveals the cluster topology.
+ */
+@Component
+@Endpoint(id = "scheduledjobs")
+@AllArgsConstructor
+public class ScheduledJobsEndpoint {
+
+    private final JobRunRepository jobRunRepository;
+
+    /**
+     * @return last run of every job, as recorded by whichever instance executed it
+     */
+    @ReadOperation
+    public List<JobRunReport> lastRuns() {
+        return jobRunRepository.findAll();
+    }
+}
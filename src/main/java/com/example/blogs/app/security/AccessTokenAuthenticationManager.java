@@ -0,0 +1,27 @@
+package com.example.blogs.app.security;
+
+import lombok.AllArgsConstructor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+
+/**
+ * Authenticates bearer tokens through {@link AccessTokenVerifier}, building the {@link UserPrincipal}
+ * directly instead of decoding into a Spring {@code Jwt} and converting it afterwards.
+ */
+@AllArgsConstructor
+public class AccessTokenAuthenticationManager implements AuthenticationManager {
+
+    private final AccessTokenVerifier accessTokenVerifier;
+
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+        if (!(authentication instanceof BearerTokenAuthenticationToken bearerToken)) {
+            throw new ProviderNotFoundException("Only bearer tokens are supported");
+        }
+
+        String token = bearerToken.getToken();
+        return new UserPrincipalAuthenticationToken(accessTokenVerifier.verify(token), token);
+    }
+}
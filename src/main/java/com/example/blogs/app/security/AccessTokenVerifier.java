@@ -0,0 +1,17 @@
+package com.example.blogs.app.security;
+
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+
+/**
+ * Verifies access tokens presented as bearer tokens and resolves the authenticated user from their claims.
+ */
+public interface AccessTokenVerifier {
+    /**
+     * Verifies the token signature and validity window and builds the principal from its claims.
+     *
+     * @param token compact JWT from the Authorization header
+     * @return principal built from the id, username, email, and profilePictureUrl claims
+     * @throws InvalidBearerTokenException if the token is malformed, its signature does not match, or it has expired
+     */
+    UserPrincipal verify(String token);
+}
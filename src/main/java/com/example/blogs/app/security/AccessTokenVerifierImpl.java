@@ -0,0 +1,569 @@
+package com.example.blogs.app.security;
+
+import com.example.blogs.app.api.user.exception.UserNotFoundException;
+import com.example.blogs.app.util.StripedPool;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * HS256 access token verifier working directly on the compact token.
+ * Tokens with a header written by this application are verified in place: the header segment selects the key
+ * from the {@link SigningKeyRing} with a single lookup, the HMAC is computed with the key's pre-initialized {@code Mac} over the raw header and payload characters and compared in constant time
+ * with the decoded signature, and only the claims needed for {@link UserPrincipal} and the validity window
+ * are read from the payload, without building a claims map or a Spring {@code Jwt}.
+ * Any other token, or a payload using JSON the reader does not handle, goes through the regular {@link JwtDecoder},
+ * so both paths accept and reject the same tokens.
+ * Verified tokens are kept in the {@link VerifiedTokenCache} until they expire, so repeat presentations skip both paths.
+ * Slim tokens carry only the user id; the cache keeps their id-only principal and the profile is resolved
+ * through the {@link PrincipalCache} on every request, so profile changes are not hidden by cached tokens.
+ */
+@Component
+public class AccessTokenVerifierImpl implements AccessTokenVerifier {
+
+    private static final int SIGNATURE_LENGTH = 32;
+
+    private static final int ENCODED_SIGNATURE_LENGTH = 43;
+
+    private static final int CHUNK_SIZE = 256;
+
+    private static final int MAX_POOLED_PAYLOAD_SIZE = 8 * 1024;
+
+    private static final String INVALID_TOKEN = "Invalid JWT token";
+
+    private static final byte[] BASE64_URL_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(BASE64_URL_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_URL_VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final SigningKeyRing signingKeyRing;
+
+    private final StripedPool<VerificationBuffers> pool = new StripedPool<>(VerificationBuffers::new);
+
+    private final JwtDecoder jwtDecoder;
+
+    private final JWTToUserPrincipalConverter jwtToUserPrincipalConverter;
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final PrincipalCache principalCache;
+
+    /**
+     * Constructs the verifier with the signing key ring and the decoder used for tokens outside the fast path.
+     *
+     * @param signingKeyRing              key ring resolving the verification key from the token header
+     * @param jwtDecoder                  full decoder for tokens the fast path does not handle
+     * @param jwtToUserPrincipalConverter converter building the principal from decoded tokens
+     * @param verifiedTokenCache          cache of tokens that already passed verification
+     * @param principalCache              cache resolving the principal of slim tokens
+     */
+    public AccessTokenVerifierImpl(
+            SigningKeyRing signingKeyRing,
+            JwtDecoder jwtDecoder,
+            JWTToUserPrincipalConverter jwtToUserPrincipalConverter,
+            VerifiedTokenCache verifiedTokenCache,
+            PrincipalCache principalCache
+    ) {
+        this.signingKeyRing = signingKeyRing;
+        this.jwtDecoder = jwtDecoder;
+        this.jwtToUserPrincipalConverter = jwtToUserPrincipalConverter;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.principalCache = principalCache;
+    }
+
+    @Override
+    public UserPrincipal verify(String token) {
+        UserPrincipal cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return resolve(cached);
+        }
+
+        int headerEnd = token.indexOf('.');
+        SigningKey key = headerEnd < 0 ? null : signingKeyRing.findByHeaderSegment(token.substring(0, headerEnd));
+        if (key == null) {
+            return verifyWithDecoder(token);
+        }
+
+        int signatureStart = token.indexOf('.', headerEnd + 1) + 1;
+        if (signatureStart == 0 || token.length() - signatureStart != ENCODED_SIGNATURE_LENGTH) {
+            throw new InvalidBearerTokenException(INVALID_TOKEN);
+        }
+
+        Mac mac = key.acquireMac();
+        VerificationBuffers buffers = pool.acquire();
+        AccessTokenClaims claims;
+        try {
+            claims = buffers.verify(token, mac, headerEnd + 1, signatureStart);
+        } finally {
+            key.releaseMac(mac);
+            if (buffers.payload.length <= MAX_POOLED_PAYLOAD_SIZE) {
+                pool.release(buffers);
+            }
+        }
+
+        if (claims == null) {
+            return verifyWithDecoder(token);
+        }
+
+        UserPrincipal principal = claims.toPrincipal(System.currentTimeMillis());
+        verifiedTokenCache.put(token, principal, Instant.ofEpochSecond(claims.expiresAt()));
+        return resolve(principal);
+    }
+
+    private UserPrincipal verifyWithDecoder(String token) {
+        Jwt jwt;
+        UserPrincipal principal;
+        try {
+            jwt = jwtDecoder.decode(token);
+            principal = (UserPrincipal) jwtToUserPrincipalConverter.convert(jwt).getPrincipal();
+        } catch (RuntimeException e) {
+            throw new InvalidBearerTokenException(INVALID_TOKEN, e);
+        }
+
+        if (jwt.hasClaim("username")) {
+            verifiedTokenCache.put(token, principal, jwt.getExpiresAt());
+        }
+        return principal;
+    }
+
+    /**
+     * Completes the id-only principal of a slim token from the principal cache.
+     */
+    private UserPrincipal resolve(UserPrincipal principal) {
+        if (principal.username() != null) {
+            return principal;
+        }
+
+        try {
+            return principalCache.get(principal.id());
+        } catch (UserNotFoundException e) {
+            throw new InvalidBearerTokenException(INVALID_TOKEN, e);
+        }
+    }
+
+    /**
+     * Decodes base64url characters of {@code source[start, end)} into {@code target}.
+     *
+     * @return number of decoded bytes, or -1 if the input is not valid unpadded base64url
+     */
+    private static int decodeBase64Url(String source, int start, int end, byte[] target) {
+        int length = end - start;
+        if (length % 4 == 1) {
+            return -1;
+        }
+
+        int bits = 0;
+        int bitCount = 0;
+        int written = 0;
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+            int value = c < 128 ? BASE64_URL_VALUES[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            bits = bits << 6 | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                target[written++] = (byte) (bits >> bitCount);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Claims read from a verified payload.
+     */
+    private record AccessTokenClaims(
+            String id,
+            String username,
+            String email,
+            String profilePictureUrl,
+            Long issuedAt,
+            Long expiresAt,
+            Long notBefore
+    ) {
+        private UserPrincipal toPrincipal(long nowMillis) {
+            if (issuedAt == null || expiresAt == null || id == null) {
+                throw new InvalidBearerTokenException(INVALID_TOKEN);
+            }
+            if (nowMillis > expiresAt * 1000 || notBefore != null && nowMillis < notBefore * 1000) {
+                throw new InvalidBearerTokenException(INVALID_TOKEN);
+            }
+
+            try {
+                return new UserPrincipal(Long.parseLong(id), username, email, profilePictureUrl);
+            } catch (NumberFormatException e) {
+                throw new InvalidBearerTokenException(INVALID_TOKEN, e);
+            }
+        }
+    }
+
+    /**
+     * Per-slot verification state: buffers for the signed bytes, the signature, and the decoded payload.
+     * The {@code Mac} is reset whenever verification stops early, so it can always be returned to its key.
+     */
+    private static final class VerificationBuffers {
+
+        private final byte[] chunk = new byte[CHUNK_SIZE];
+
+        private final byte[] expectedSignature = new byte[SIGNATURE_LENGTH];
+
+        private final byte[] actualSignature = new byte[SIGNATURE_LENGTH];
+
+        private byte[] payload = new byte[1024];
+
+        /**
+         * @return the payload claims, or null if the payload has to be read by the regular decoder
+         * @throws InvalidBearerTokenException if the token is malformed or its signature does not match
+         */
+        private AccessTokenClaims verify(String token, Mac mac, int payloadStart, int signatureStart) {
+            int signedEnd = signatureStart - 1;
+            if (decodeBase64Url(token, signatureStart, token.length(), actualSignature) != SIGNATURE_LENGTH
+                    || !updateMac(mac, token, signedEnd)) {
+                throw new InvalidBearerTokenException(INVALID_TOKEN);
+            }
+
+            try {
+                mac.doFinal(expectedSignature, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException("Signature buffer too small", e);
+            }
+            if (!MessageDigest.isEqual(expectedSignature, actualSignature)) {
+                throw new InvalidBearerTokenException(INVALID_TOKEN);
+            }
+
+            int maxPayloadLength = (signedEnd - payloadStart) / 4 * 3 + 2;
+            if (payload.length < maxPayloadLength) {
+                payload = new byte[maxPayloadLength];
+            }
+            int payloadLength = decodeBase64Url(token, payloadStart, signedEnd, payload);
+            if (payloadLength < 0) {
+                throw new InvalidBearerTokenException(INVALID_TOKEN);
+            }
+
+            return new ClaimsReader(payload, payloadLength).read();
+        }
+
+        private boolean updateMac(Mac mac, String token, int end) {
+            for (int offset = 0; offset < end; offset += CHUNK_SIZE) {
+                int count = Math.min(CHUNK_SIZE, end - offset);
+                for (int i = 0; i < count; i++) {
+                    char c = token.charAt(offset + i);
+                    if (c >= 0x80) {
+                        mac.reset();
+                        return false;
+                    }
+                    chunk[i] = (byte) c;
+                }
+                mac.update(chunk, 0, count);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Minimal reader for the flat JSON payloads written by this application.
+     * Reads the principal claims and the time claims and skips everything else;
+     * returns null when a claim it needs has a shape it does not handle, so the regular decoder decides.
+     */
+    private static final class ClaimsReader {
+
+        private final byte[] json;
+
+        private final int end;
+
+        private int position;
+
+        private boolean unsupported;
+
+        private ClaimsReader(byte[] json, int end) {
+            this.json = json;
+            this.end = end;
+        }
+
+        private AccessTokenClaims read() {
+            String id = null;
+            String username = null;
+            String email = null;
+            String profilePictureUrl = null;
+            Long issuedAt = null;
+            Long expiresAt = null;
+            Long notBefore = null;
+
+            skipWhitespace();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+            } else {
+                while (true) {
+                    int keyStart = position + 1;
+                    int keyEnd = skipString();
+                    if (keyEnd < 0) {
+                        return null;
+                    }
+                    skipWhitespace();
+                    expect(':');
+                    skipWhitespace();
+
+                    if (isKey(keyStart, keyEnd, "id")) {
+                        id = readText();
+                    } else if (isKey(keyStart, keyEnd, "username")) {
+                        username = readText();
+                    } else if (isKey(keyStart, keyEnd, "email")) {
+                        email = readText();
+                    } else if (isKey(keyStart, keyEnd, "profilePictureUrl")) {
+                        profilePictureUrl = readText();
+                    } else if (isKey(keyStart, keyEnd, "iat")) {
+                        issuedAt = readSeconds();
+                        if (issuedAt == null) {
+                            return null;
+                        }
+                    } else if (isKey(keyStart, keyEnd, "exp")) {
+                        expiresAt = readSeconds();
+                        if (expiresAt == null) {
+                            return null;
+                        }
+                    } else if (isKey(keyStart, keyEnd, "nbf")) {
+                        notBefore = readSeconds();
+                        if (notBefore == null) {
+                            return null;
+                        }
+                    } else {
+                        skipValue(0);
+                    }
+
+                    skipWhitespace();
+                    byte separator = next();
+                    if (separator == '}') {
+                        break;
+                    }
+                    if (separator != ',') {
+                        throw new InvalidBearerTokenException(INVALID_TOKEN);
+                    }
+                    skipWhitespace();
+                }
+            }
+
+            skipWhitespace();
+            if (position != end) {
+                throw new InvalidBearerTokenException(INVALID_TOKEN);
+            }
+            if (unsupported) {
+                return null;
+            }
+            return new AccessTokenClaims(id, username, email, profilePictureUrl, issuedAt, expiresAt, notBefore);
+        }
+
+        /**
+         * Reads a claim the way {@code Jwt.getClaimAsString} would: strings as-is, numbers and booleans as text.
+         * Objects and arrays, which the principal never contains, are left to the regular decoder.
+         */
+        private String readText() {
+            byte first = peek();
+            if (first == '"') {
+                return readString();
+            }
+            if (first == '{' || first == '[') {
+                skipValue(0);
+                unsupported = true;
+                return null;
+            }
+
+            int start = position;
+            skipValue(0);
+            String literal = new String(json, start, position - start, StandardCharsets.US_ASCII);
+            return "null".equals(literal) ? null : literal;
+        }
+
+        private Long readSeconds() {
+            int start = position;
+            if (peek() == '-') {
+                position++;
+            }
+            while (position < end && json[position] >= '0' && json[position] <= '9') {
+                position++;
+            }
+
+            int length = position - start;
+            if (length == 0 || length > 18 || position < end && isNumberPart(json[position])) {
+                return null;
+            }
+            return Long.parseLong(new String(json, start, length, StandardCharsets.US_ASCII));
+        }
+
+        private String readString() {
+            int start = position + 1;
+            int stringEnd = skipString();
+            if (stringEnd < 0) {
+                return unescape(start);
+            }
+            return new String(json, start, stringEnd - start, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Skips a string starting at the current position.
+         *
+         * @return the index of the closing quote, or -1 if the string contains escapes
+         */
+        private int skipString() {
+            expect('"');
+            boolean escaped = false;
+            while (position < end) {
+                byte b = json[position++];
+                if (b == '"') {
+                    return escaped ? -1 : position - 1;
+                }
+                if (b == '\\') {
+                    escaped = true;
+                    position++;
+                } else if (b >= 0 && b < 0x20) {
+                    throw new InvalidBearerTokenException(INVALID_TOKEN);
+                }
+            }
+            throw new InvalidBearerTokenException(INVALID_TOKEN);
+        }
+
+        private String unescape(int start) {
+            StringBuilder text = new StringBuilder();
+            int runStart = start;
+            int i = start;
+            while (json[i] != '"') {
+                if (json[i] != '\\') {
+                    i++;
+                    continue;
+                }
+
+                text.append(new String(json, runStart, i - runStart, StandardCharsets.UTF_8));
+                byte escape = json[i + 1];
+                switch (escape) {
+                    case '"', '\\', '/' -> text.append((char) escape);
+                    case 'b' -> text.append('\b');
+                    case 'f' -> text.append('\f');
+                    case 'n' -> text.append('\n');
+                    case 'r' -> text.append('\r');
+                    case 't' -> text.append('\t');
+                    case 'u' -> {
+                        if (i + 6 > end) {
+                            throw new InvalidBearerTokenException(INVALID_TOKEN);
+                        }
+                        try {
+                            text.append((char) Integer.parseInt(
+                                    new String(json, i + 2, 4, StandardCharsets.US_ASCII), 16
+                            ));
+                        } catch (NumberFormatException e) {
+                            throw new InvalidBearerTokenException(INVALID_TOKEN, e);
+                        }
+                        i += 4;
+                    }
+                    default -> throw new InvalidBearerTokenException(INVALID_TOKEN);
+                }
+                i += 2;
+                runStart = i;
+            }
+            text.append(new String(json, runStart, i - runStart, StandardCharsets.UTF_8));
+            return text.toString();
+        }
+
+        private void skipValue(int depth) {
+            if (depth > 32) {
+                throw new InvalidBearerTokenException(INVALID_TOKEN);
+            }
+
+            byte first = peek();
+            if (first == '"') {
+                skipString();
+            } else if (first == '{' || first == '[') {
+                byte close = first == '{' ? (byte) '}' : (byte) ']';
+                position++;
+                skipWhitespace();
+                if (peek() == close) {
+                    position++;
+                    return;
+                }
+                while (true) {
+                    if (first == '{') {
+                        skipString();
+                        skipWhitespace();
+                        expect(':');
+                        skipWhitespace();
+                    }
+                    skipValue(depth + 1);
+                    skipWhitespace();
+                    byte separator = next();
+                    if (separator == close) {
+                        return;
+                    }
+                    if (separator != ',') {
+                        throw new InvalidBearerTokenException(INVALID_TOKEN);
+                    }
+                    skipWhitespace();
+                }
+            } else {
+                int start = position;
+                while (position < end && isNumberPart(json[position])) {
+                    position++;
+                }
+                if (position == start) {
+                    throw new InvalidBearerTokenException(INVALID_TOKEN);
+                }
+            }
+        }
+
+        private boolean isKey(int start, int end, String name) {
+            if (end - start != name.length()) {
+                return false;
+            }
+            for (int i = 0; i < name.length(); i++) {
+                if (json[start + i] != name.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isNumberPart(byte b) {
+            return b >= '0' && b <= '9' || b >= 'a' && b <= 'z' || b == '-' || b == '+' || b == '.' || b == 'E';
+        }
+
+        private void skipWhitespace() {
+            while (position < end && (json[position] == ' ' || json[position] == '\t'
+                    || json[position] == '\n' || json[position] == '\r')) {
+                position++;
+            }
+        }
+
+        private void expect(char c) {
+            if (next() != c) {
+                throw new InvalidBearerTokenException(INVALID_TOKEN);
+            }
+        }
+
+        private byte peek() {
+            if (position >= end) {
+                throw new InvalidBearerTokenException(INVALID_TOKEN);
+            }
+            return json[position];
+        }
+
+        private byte next() {
+            byte b = peek();
+            position++;
+            return b;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.blogs.app.security;
+
+import com.example.blogs.app.api.auth.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Password encoder decorator that runs the expensive hashing work on a dedicated, bounded executor.
+ * Keeps BCrypt from occupying every CPU on request threads: at most {@code threads} hashes run at once,
+ * up to {@code queueCapacity} wait, and anything beyond that fails fast with {@link PasswordHashingBusyException}.
+ * Tasks that waited in the queue longer than {@code maxQueueWait} are dropped before hashing starts.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final String REJECTIONS_METRIC = "password_hashing.rejections";
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final long maxQueueWaitNanos;
+
+    private final long retryAfterSeconds;
+
+    private final Timer hashLatency;
+
+    private final Timer queueWait;
+
+    private final Counter queueFullRejections;
+
+    private final Counter queueTimeoutRejections;
+
+    /**
+     * Creates a bounded encoder around the given delegate.
+     *
+     * @param delegate      encoder performing the actual hashing
+     * @param threads       number of hashing threads, typically the number of CPU cores
+     * @param queueCapacity maximum number of hashing tasks waiting for a thread
+     * @param maxQueueWait  maximum time a task may wait in the queue before it is dropped
+     * @param retryAfter    Retry-After hint returned to clients when the lane is saturated
+     * @param meterRegistry registry for queue depth, latency, and rejection metrics
+     */
+    public BoundedPasswordEncoder(
+            PasswordEncoder delegate,
+            int threads,
+            int queueCapacity,
+            Duration maxQueueWait,
+            Duration retryAfter,
+            MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.hashLatency = meterRegistry.timer("password_hashing.duration");
+        this.queueWait = meterRegistry.timer("password_hashing.queue_wait");
+        this.queueFullRejections = meterRegistry.counter(REJECTIONS_METRIC, "reason", "queue_full");
+        this.queueTimeoutRejections = meterRegistry.counter(REJECTIONS_METRIC, "reason", "queue_timeout");
+        Gauge.builder("password_hashing.queue_depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("password_hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Stops accepting new hashing tasks and lets queued ones finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long waited = System.nanoTime() - enqueuedAt;
+                queueWait.record(waited, TimeUnit.NANOSECONDS);
+                if (waited > maxQueueWaitNanos) {
+                    queueTimeoutRejections.increment();
+                    throw new PasswordHashingBusyException(retryAfterSeconds);
+                }
+                return hashLatency.record(task);
+            });
+        } catch (RejectedExecutionException e) {
+            queueFullRejections.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
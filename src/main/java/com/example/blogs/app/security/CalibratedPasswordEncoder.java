@@ -0,0 +1,121 @@
+package com.example.blogs.app.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * BCrypt password encoder whose work factor is chosen per node at startup.
+ * Every BCrypt hash already carries its own cost ({@code $2a$NN$...}), so hashes produced with
+ * different work factors keep verifying; {@link #upgradeEncoding(String)} reports hashes whose
+ * cost is below the calibrated one so they can be rehashed on the next successful login.
+ * Hashes made at a higher cost, for example by a faster node class, are kept, so a user moving between
+ * node classes is neither rehashed on every login nor downgraded.
+ */
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    private static final int CALIBRATION_SAMPLES = 3;
+
+    private final BCryptPasswordEncoder delegate;
+
+    private final int strength;
+
+    /**
+     * Creates an encoder with a fixed BCrypt work factor.
+     *
+     * @param strength BCrypt log rounds (4-31)
+     */
+    public CalibratedPasswordEncoder(int strength) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * Measures BCrypt on the current hardware and picks the work factor whose median hash time
+     * is closest to the target, clamped to the given bounds.
+     *
+     * @param targetHashTime desired duration of a single hash
+     * @param minStrength    lowest acceptable work factor
+     * @param maxStrength    highest acceptable work factor
+     * @return calibrated BCrypt work factor
+     */
+    public static int calibrate(Duration targetHashTime, int minStrength, int maxStrength) {
+        long targetNanos = targetHashTime.toNanos();
+        long previousNanos = 0;
+
+        for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+            long nanos = measure(candidate);
+            if (nanos >= targetNanos) {
+                boolean previousIsCloser = candidate > minStrength
+                        && targetNanos - previousNanos < nanos - targetNanos;
+                return previousIsCloser ? candidate - 1 : candidate;
+            }
+            previousNanos = nanos;
+        }
+
+        return maxStrength;
+    }
+
+    /**
+     * @return BCrypt work factor used for new hashes
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    /**
+     * Reports whether the stored hash was produced with a lower work factor than the calibrated one.
+     *
+     * @param encodedPassword stored BCrypt hash
+     * @return true if the hash should be recomputed with the current work factor
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = parseCost(encodedPassword);
+        return cost > 0 && cost < strength;
+    }
+
+    private static int parseCost(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7
+                || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$'
+                || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+
+        char tens = encodedPassword.charAt(4);
+        char ones = encodedPassword.charAt(5);
+        if (!Character.isDigit(tens) || !Character.isDigit(ones)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
+
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(CALIBRATION_PASSWORD);
+
+        long[] samples = new long[CALIBRATION_SAMPLES];
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(samples);
+        return samples[CALIBRATION_SAMPLES / 2];
+    }
+}
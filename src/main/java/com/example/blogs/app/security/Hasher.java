@@ -8,7 +8,7 @@ public interface Hasher {
      * Generates a SHA-256 hash of the input string.
      *
      * @param input plaintext string to hash
-     * @return hexadecimal representation of the hash
+     * @return raw 32-byte digest of the input
      */
-    String hash(String input);
+    TokenHash hash(String input);
 }
@@ -1,28 +1,102 @@
 package com.example.blogs.app.security;
 
-import lombok.AllArgsConstructor;
+import com.example.blogs.app.util.StripedPool;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.util.HexFormat;
+import java.security.NoSuchAlgorithmException;
 
 /**
  * SHA-256 based hashing implementation for creating one-way token digests.
- * Uses UTF-8 encoding and hexadecimal output format.
+ * Digests are cloned from a single prototype and recycled through a {@link StripedPool},
+ * so hashing neither repeats the provider lookup nor pins virtual threads, and the pool stays bounded
+ * no matter how many threads are alive.
+ * ASCII input, which covers every JWT, is fed to the digest in chunks straight from its chars
+ * without an intermediate UTF-8 copy of the whole string; other input falls back to UTF-8 encoding.
  */
 @Component
-@AllArgsConstructor
 public class HasherImpl implements Hasher {
 
-    @Override
-    public String hash(String input) {
+    private static final String ALGORITHM = "SHA-256";
+
+    private static final int CHUNK_SIZE = 256;
+
+    private final MessageDigest prototype;
+
+    private final StripedPool<PooledDigest> pool;
+
+    /**
+     * Creates a hasher with a pool sized to a few digests per available processor.
+     */
+    public HasherImpl() {
+        this(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * Creates a hasher with the given number of pool slots, rounded up to a power of two.
+     *
+     * @param poolSize number of digests kept for reuse
+     */
+    HasherImpl(int poolSize) {
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(hash);
-        } catch (Exception e) {
+            this.prototype = MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
             throw new IllegalStateException("SHA-256 not available", e);
         }
+
+        this.pool = new StripedPool<>(poolSize, () -> new PooledDigest(newDigest()));
+    }
+
+    @Override
+    public TokenHash hash(String input) {
+        PooledDigest pooled = pool.acquire();
+        update(pooled, input);
+        TokenHash hash = TokenHash.wrap(pooled.digest.digest());
+        pool.release(pooled);
+        return hash;
+    }
+
+    private static void update(PooledDigest pooled, String input) {
+        MessageDigest digest = pooled.digest;
+        byte[] chunk = pooled.chunk;
+        int length = input.length();
+
+        for (int offset = 0; offset < length; offset += CHUNK_SIZE) {
+            int count = Math.min(CHUNK_SIZE, length - offset);
+            for (int i = 0; i < count; i++) {
+                char c = input.charAt(offset + i);
+                if (c >= 0x80) {
+                    digest.reset();
+                    digest.update(input.getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                chunk[i] = (byte) c;
+            }
+            digest.update(chunk, 0, count);
+        }
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return (MessageDigest) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            try {
+                return MessageDigest.getInstance(ALGORITHM);
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 not available", ex);
+            }
+        }
+    }
+
+    private static final class PooledDigest {
+
+        private final MessageDigest digest;
+
+        private final byte[] chunk = new byte[CHUNK_SIZE];
+
+        private PooledDigest(MessageDigest digest) {
+            this.digest = digest;
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.example.blogs.app.security;
 
+import lombok.AllArgsConstructor;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -8,11 +9,16 @@ import org.springframework.stereotype.Component;
 /**
  * Converts JWT tokens to UserPrincipal authentication tokens for Spring Security context.
  * Extracts user information from custom JWT claims (id, username, email, profilePictureUrl)
- * rather than from the subject claim, which contains a UUID-based JTI.
+ * rather than from the subject claim, which contains a compact time-ordered JTI
+ * (a UUIDv7 encoded as 26 Crockford base32 characters).
+ * Slim tokens carry only the id, so their principal is resolved through the {@link PrincipalCache}.
  */
 @Component
+@AllArgsConstructor
 public class JWTToUserPrincipalConverter implements Converter<Jwt, AbstractAuthenticationToken> {
 
+    private final PrincipalCache principalCache;
+
     /**
      * Extracts user information from JWT claims and creates an authentication token.
      * Retrieves user ID from the custom "id" claim rather than the subject claim.
@@ -22,8 +28,13 @@ public class JWTToUserPrincipalConverter implements Converter<Jwt, AbstractAuthe
      */
     @Override
     public AbstractAuthenticationToken convert(Jwt source) {
+        Long id = Long.parseLong(source.getClaimAsString("id"));
+        if (!source.hasClaim("username")) {
+            return new UserPrincipalAuthenticationToken(principalCache.get(id), source);
+        }
+
         UserPrincipal principal = new UserPrincipal(
-                Long.parseLong(source.getClaimAsString("id")),
+                id,
                 source.getClaimAsString("username"),
                 source.getClaimAsString("email"),
                 source.getClaimAsString("profilePictureUrl")
@@ -2,21 +2,64 @@ package com.example.blogs.app.security;
 
 import org.springframework.stereotype.Component;
 
-import java.util.UUID;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * Default implementation of JtiGenerator that produces UUID-based token identifiers.
+ * Default implementation of JtiGenerator that produces time-ordered 128-bit token identifiers.
+ * Identifiers follow the UUIDv7 layout (48-bit Unix millisecond timestamp, version, variant, 74 random bits)
+ * and are written as 26 Crockford base32 characters, so they sort by creation time both as numbers and as strings.
+ * Entropy comes from {@link ThreadLocalRandom} instead of the shared {@code SecureRandom} behind
+ * {@code UUID.randomUUID()}; identifiers only have to be unique, since tokens are protected by their signature.
  */
 @Component
 public class JtiGeneratorImpl implements JtiGenerator {
 
     /**
-     * Generates a unique JWT Token Identifier using UUID.randomUUID().
+     * Number of characters of an encoded identifier.
+     */
+    public static final int LENGTH = 26;
+
+    private static final byte[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".getBytes(StandardCharsets.US_ASCII);
+
+    private static final long VERSION = 0x7000L;
+
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+
+    /**
+     * Generates a unique JWT Token Identifier ordered by its creation millisecond.
      *
-     * @return a randomly generated UUID string
+     * @return a 26 character Crockford base32 encoded UUIDv7
      */
     @Override
     public String generateJti() {
-        return UUID.randomUUID().toString();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSignificantBits = System.currentTimeMillis() << 16 | VERSION | random.nextInt(1 << 12);
+        long leastSignificantBits = random.nextLong() >>> 2 | VARIANT;
+        return encode(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * Encodes a 128-bit value as 26 big-endian Crockford base32 characters; the first character holds the top 3 bits.
+     *
+     * @param mostSignificantBits  upper 64 bits
+     * @param leastSignificantBits lower 64 bits
+     * @return the encoded value
+     */
+    static String encode(long mostSignificantBits, long leastSignificantBits) {
+        byte[] chars = new byte[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            int shift = 125 - 5 * i;
+            int digit;
+            if (shift >= Long.SIZE) {
+                digit = (int) (mostSignificantBits >>> (shift - Long.SIZE));
+            } else if (shift > Long.SIZE - 5) {
+                digit = (int) (leastSignificantBits >>> shift | mostSignificantBits << (Long.SIZE - shift));
+            } else {
+                digit = (int) (leastSignificantBits >>> shift);
+            }
+            chars[i] = ALPHABET[digit & 31];
+        }
+        return new String(chars, StandardCharsets.US_ASCII);
     }
 }
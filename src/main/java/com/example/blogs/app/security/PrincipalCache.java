@@ -0,0 +1,25 @@
+package com.example.blogs.app.security;
+
+/**
+ * Local cache of user principals for slim access tokens, which carry only the user id.
+ * Profile fields are read from the database instead of the token, so profile changes show up
+ * without waiting for a token refresh.
+ */
+public interface PrincipalCache {
+    /**
+     * Returns the principal of a user, loading it from the database on a cache miss.
+     *
+     * @param userId user identifier
+     * @return the user principal
+     * @throws com.example.blogs.app.api.user.exception.UserNotFoundException if no user is found
+     */
+    UserPrincipal get(Long userId);
+
+    /**
+     * Drops the cached principal of a user so the next lookup reads the database.
+     * Must be called after writing any profile field carried by the principal.
+     *
+     * @param userId user identifier
+     */
+    void invalidate(Long userId);
+}
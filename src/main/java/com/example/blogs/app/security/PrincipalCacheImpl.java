@@ -0,0 +1,67 @@
+package com.example.blogs.app.security;
+
+import com.example.blogs.app.api.user.entity.UserEntity;
+import com.example.blogs.app.api.user.service.UserService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Caffeine backed principal cache.
+ * Entries expire after a fixed time to live, and {@code principal-cache.ttl} alone bounds how long
+ * a stale profile is served. No profile writer exists yet; {@link #invalidate(Long)} is the hook
+ * future profile writers must call to drop the local entry right away.
+ */
+@Component
+public class PrincipalCacheImpl implements PrincipalCache {
+
+    private static final String CACHE_NAME = "user_principals";
+
+    private final LoadingCache<Long, UserPrincipal> principals;
+
+    /**
+     * Constructs the cache with its loading source and eviction parameters.
+     *
+     * @param userService   service used to load users on a cache miss
+     * @param ttl           time after which a cached principal is reloaded
+     * @param maxSize       maximum number of cached users
+     * @param meterRegistry registry for the hit, miss, and eviction metrics
+     */
+    public PrincipalCacheImpl(
+            UserService userService,
+            @Value("${principal-cache.ttl}") Duration ttl,
+            @Value("${principal-cache.max-size}") long maxSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.principals = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build(userId -> toPrincipal(userService.findUserById(userId)));
+
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, CACHE_NAME);
+    }
+
+    @Override
+    public UserPrincipal get(Long userId) {
+        return principals.get(userId);
+    }
+
+    @Override
+    public void invalidate(Long userId) {
+        principals.invalidate(userId);
+    }
+
+    /**
+     * Builds the principal with the same values full tokens carry, including an empty picture URL when none is set.
+     */
+    private static UserPrincipal toPrincipal(UserEntity user) {
+        String profilePictureUrl = user.getProfilePictureUrl() != null ? user.getProfilePictureUrl() : "";
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getEmail(), profilePictureUrl);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.blogs.app.security;
+
+import com.example.blogs.app.util.StripedPool;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * HS256 key of the {@link SigningKeyRing}, identified by its {@code kid}.
+ * Holds the encoded JWS header naming the key and a pool of {@code Mac} instances initialized with it,
+ * so signing and verification never pay for key setup.
+ */
+public final class SigningKey {
+
+    /**
+     * Minimum HS256 key length in bytes required by RFC 7518.
+     */
+    public static final int MIN_LENGTH = 32;
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final String id;
+
+    private final SecretKey secretKey;
+
+    private final String headerSegment;
+
+    private final Mac prototype;
+
+    private final StripedPool<Mac> macs;
+
+    /**
+     * Creates a key with its identifier and raw secret.
+     *
+     * @param id     key identifier written to the {@code kid} header; letters, digits, '.', '_' and '-' only
+     * @param secret raw key bytes, at least {@link #MIN_LENGTH} long
+     * @throws IllegalArgumentException if the identifier or the secret is invalid
+     */
+    public SigningKey(String id, byte[] secret) {
+        if (id == null || id.isEmpty() || !id.chars().allMatch(SigningKey::isKeyIdChar)) {
+            throw new IllegalArgumentException("Invalid signing key id: " + id);
+        }
+        if (secret.length < MIN_LENGTH) {
+            throw new IllegalArgumentException("Signing key " + id + " must be at least 256 bits for HS256");
+        }
+
+        this.id = id;
+        this.secretKey = new SecretKeySpec(secret, ALGORITHM);
+        this.headerSegment = encodeHeader("{\"kid\":\"" + id + "\",\"alg\":\"HS256\"}");
+        this.prototype = initMac(secretKey);
+        this.macs = new StripedPool<>(this::newMac);
+    }
+
+    /**
+     * @return key identifier written to the {@code kid} header
+     */
+    public String id() {
+        return id;
+    }
+
+    /**
+     * @return the key for JJWT signing and verification
+     */
+    public SecretKey secretKey() {
+        return secretKey;
+    }
+
+    /**
+     * @return Base64URL encoded {@code {"kid":"<id>","alg":"HS256"}} header, as written by the JJWT builder
+     */
+    public String headerSegment() {
+        return headerSegment;
+    }
+
+    /**
+     * Takes an initialized {@code Mac} for this key.
+     *
+     * @return a {@code Mac} owned by the caller until it is released
+     */
+    public Mac acquireMac() {
+        return macs.acquire();
+    }
+
+    /**
+     * Returns a {@code Mac} obtained from {@link #acquireMac()}; it must be reset, e.g. by {@code doFinal}.
+     *
+     * @param mac the {@code Mac} to return
+     */
+    public void releaseMac(Mac mac) {
+        macs.release(mac);
+    }
+
+    /**
+     * Encodes a JSON header the way the JJWT builder does.
+     *
+     * @param json header JSON
+     * @return unpadded Base64URL encoding of the header
+     */
+    static String encodeHeader(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            return initMac(secretKey);
+        }
+    }
+
+    private static Mac initMac(SecretKey key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private static boolean isKeyIdChar(int c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '.' || c == '_' || c == '-';
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.blogs.app.security;
+
+/**
+ * Set of HS256 keys used to sign and verify JWTs, indexed by their {@code kid} header.
+ * New tokens are signed with the active key; every key in the ring stays valid for verification,
+ * so the active key can change at runtime without invalidating issued tokens.
+ */
+public interface SigningKeyRing {
+    /**
+     * @return the key new tokens are signed with
+     */
+    SigningKey activeKey();
+
+    /**
+     * Finds the key a token was signed with.
+     *
+     * @param keyId the {@code kid} header of the token, or null for tokens issued before keys were identified
+     * @return the matching key, or null if the ring does not contain it
+     */
+    SigningKey find(String keyId);
+
+    /**
+     * Finds the key named by an encoded JWS header, for verifiers working on the compact token.
+     * Only headers written by this application ({@code kid} and {@code alg} HS256) are recognized.
+     *
+     * @param headerSegment the Base64URL encoded header, i.e. the token up to its first '.'
+     * @return the matching key, or null if the header is not one this application writes
+     */
+    SigningKey findByHeaderSegment(String headerSegment);
+
+    /**
+     * Reloads the ring from its source if the source has changed.
+     * An invalid source is logged and ignored, so the current keys stay in use.
+     */
+    void reload();
+}
@@ -0,0 +1,198 @@
+package com.example.blogs.app.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Key ring built from the configured JWT secret and an optional key ring file.
+ * <p>
+ * The secret from {@code jwt.secret-key} is in the ring under an identifier derived from its SHA-256 digest,
+ * and verifies tokens without a {@code kid} header that were issued before keys were identified.
+ * Without a key ring file it is also the active key.
+ * <p>
+ * The key ring file is a properties file with {@code keys.<kid>=<secret>} entries and {@code active=<kid>}.
+ * It is polled for changes and swapped in atomically, so a key is rotated without a restart:
+ * add the new key, wait until every instance has loaded it, make it active,
+ * and remove the old key once the tokens it signed have expired.
+ * The configured secret is not listed in the file, so it is removed by setting {@code configured-key.retired=true},
+ * after which tokens signed with it, including tokens without a {@code kid} header, are rejected.
+ */
+@Slf4j
+@Component
+public class SigningKeyRingImpl implements SigningKeyRing {
+
+    private static final String UNKEYED_HEADER_SEGMENT = SigningKey.encodeHeader("{\"alg\":\"HS256\"}");
+
+    private static final String KEY_PREFIX = "keys.";
+
+    private static final String ACTIVE_KEY = "active";
+
+    private static final String CONFIGURED_KEY_RETIRED = "configured-key.retired";
+
+    private final SigningKey configuredKey;
+
+    private final Path keyRingFile;
+
+    private volatile Keys keys;
+
+    private FileTime loadedModificationTime;
+
+    /**
+     * Constructs the ring from the configured secret and loads the key ring file if one is set.
+     *
+     * @param secretKey   the configured JWT secret; verifies tokens without a {@code kid} header
+     * @param keyRingFile path of the key ring file, or blank to sign with the configured secret only
+     * @throws IllegalStateException if the key ring file cannot be read or is invalid
+     */
+    public SigningKeyRingImpl(
+            @Value("${jwt.secret-key}") String secretKey,
+            @Value("${jwt.key-ring.file}") String keyRingFile
+    ) {
+        byte[] secret = secretKey.getBytes(StandardCharsets.UTF_8);
+        this.configuredKey = new SigningKey(fingerprint(secret), secret);
+        this.keyRingFile = keyRingFile == null || keyRingFile.isBlank() ? null : Path.of(keyRingFile);
+
+        if (this.keyRingFile == null) {
+            this.keys = build(Map.of(), configuredKey.id(), false);
+            return;
+        }
+
+        try {
+            loadedModificationTime = Files.getLastModifiedTime(this.keyRingFile);
+            this.keys = load(this.keyRingFile);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Failed to load JWT key ring from " + keyRingFile, e);
+        }
+    }
+
+    @Override
+    public SigningKey activeKey() {
+        return keys.active();
+    }
+
+    @Override
+    public SigningKey find(String keyId) {
+        Keys current = keys;
+        return keyId == null ? current.unkeyed() : current.byId().get(keyId);
+    }
+
+    @Override
+    public SigningKey findByHeaderSegment(String headerSegment) {
+        return keys.byHeaderSegment().get(headerSegment);
+    }
+
+    @Override
+    @Scheduled(
+            initialDelayString = "${jwt.key-ring.reload-interval}",
+            fixedDelayString = "${jwt.key-ring.reload-interval}"
+    )
+    public synchronized void reload() {
+        if (keyRingFile == null) {
+            return;
+        }
+
+        try {
+            FileTime modificationTime = Files.getLastModifiedTime(keyRingFile);
+            if (modificationTime.equals(loadedModificationTime)) {
+                return;
+            }
+
+            Keys loaded = load(keyRingFile);
+            String previousActiveId = keys.active().id();
+            keys = loaded;
+            loadedModificationTime = modificationTime;
+
+            log.info("Reloaded JWT key ring: {} keys, active key {} (was {}), configured key {}",
+                    loaded.byId().size(), loaded.active().id(), previousActiveId,
+                    loaded.unkeyed() == null ? "retired" : "in use");
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Failed to reload JWT key ring from {}, keeping the current keys", keyRingFile, e);
+        }
+    }
+
+    private Keys load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        Map<String, SigningKey> fileKeys = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(KEY_PREFIX)) {
+                String id = name.substring(KEY_PREFIX.length());
+                fileKeys.put(id, new SigningKey(id, properties.getProperty(name).getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+
+        String activeId = properties.getProperty(ACTIVE_KEY);
+        if (activeId == null || activeId.isBlank()) {
+            throw new IllegalArgumentException("Key ring file does not name an active key");
+        }
+        boolean configuredKeyRetired = Boolean.parseBoolean(
+                properties.getProperty(CONFIGURED_KEY_RETIRED, "false").strip()
+        );
+        return build(fileKeys, activeId.strip(), configuredKeyRetired);
+    }
+
+    private Keys build(Map<String, SigningKey> fileKeys, String activeId, boolean configuredKeyRetired) {
+        Map<String, SigningKey> byId = new HashMap<>(fileKeys);
+        if (!configuredKeyRetired) {
+            byId.putIfAbsent(configuredKey.id(), configuredKey);
+        }
+
+        SigningKey active = byId.get(activeId);
+        if (active == null) {
+            throw new IllegalArgumentException("Active key " + activeId + " is not in the key ring");
+        }
+
+        Map<String, SigningKey> byHeaderSegment = new HashMap<>();
+        for (SigningKey key : byId.values()) {
+            byHeaderSegment.put(key.headerSegment(), key);
+        }
+        SigningKey unkeyed = configuredKeyRetired ? null : configuredKey;
+        if (unkeyed != null) {
+            byHeaderSegment.put(UNKEYED_HEADER_SEGMENT, unkeyed);
+        }
+
+        return new Keys(active, unkeyed, Map.copyOf(byId), Map.copyOf(byHeaderSegment));
+    }
+
+    /**
+     * Derives a stable identifier for the configured secret, equal on every instance sharing it.
+     */
+    private static String fingerprint(byte[] secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret);
+            return "cfg-" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Immutable snapshot of the ring, replaced as a whole on reload.
+     * {@code unkeyed} verifies tokens without a {@code kid} header and is null once the configured key is retired.
+     */
+    private record Keys(
+            SigningKey active,
+            SigningKey unkeyed,
+            Map<String, SigningKey> byId,
+            Map<String, SigningKey> byHeaderSegment
+    ) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.blogs.app.security;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Raw 32-byte SHA-256 digest of a token, compared and hashed by content.
+ * Stored as {@code BYTEA} so the revoked tokens index holds half the bytes of the hex form.
+ */
+public final class TokenHash {
+
+    /**
+     * Length of a SHA-256 digest in bytes.
+     */
+    public static final int LENGTH = 32;
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final byte[] bytes;
+
+    private TokenHash(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Creates a token hash from a copy of raw digest bytes.
+     *
+     * @param bytes the 32 digest bytes
+     * @return the token hash
+     * @throws IllegalArgumentException if the digest is not 32 bytes long
+     */
+    public static TokenHash of(byte[] bytes) {
+        return new TokenHash(validate(bytes).clone());
+    }
+
+    /**
+     * Takes ownership of a freshly computed digest without copying it.
+     * The caller must not retain or modify the array afterwards.
+     *
+     * @param bytes the 32 digest bytes
+     * @return the token hash backed by the given array
+     */
+    static TokenHash wrap(byte[] bytes) {
+        return new TokenHash(validate(bytes));
+    }
+
+    /**
+     * Parses the hexadecimal form of a digest.
+     *
+     * @param hex 64 hexadecimal characters
+     * @return the token hash
+     */
+    public static TokenHash fromHex(String hex) {
+        return wrap(HexFormat.of().parseHex(hex));
+    }
+
+    /**
+     * @return a copy of the 32 digest bytes
+     */
+    public byte[] bytes() {
+        return bytes.clone();
+    }
+
+    /**
+     * Reads eight digest bytes as a big-endian long.
+     * The digest is uniformly distributed, so every word can be used directly as an independent hash.
+     *
+     * @param index word index between 0 and 3
+     * @return the word at the given index
+     */
+    public long word(int index) {
+        return (long) LONG_VIEW.get(bytes, index * Long.BYTES);
+    }
+
+    /**
+     * @return lowercase hexadecimal representation of the digest
+     */
+    public String toHex() {
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TokenHash that && Arrays.equals(bytes, that.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) word(0);
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+
+    private static byte[] validate(byte[] bytes) {
+        if (bytes == null || bytes.length != LENGTH) {
+            throw new IllegalArgumentException("Token hash must be " + LENGTH + " bytes");
+        }
+        return bytes;
+    }
+}
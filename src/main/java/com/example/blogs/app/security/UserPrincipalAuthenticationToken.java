@@ -1,32 +1,33 @@
 package com.example.blogs.app.security;
 
 import org.springframework.security.authentication.AbstractAuthenticationToken;
-import org.springframework.security.oauth2.jwt.Jwt;
 
 /**
  * Spring Security authentication token holding UserPrincipal and JWT credentials.
+ * Credentials are the decoded {@code Jwt} on the resource server decoder path
+ * and the raw access token on the {@link AccessTokenVerifier} fast path.
  */
 public class UserPrincipalAuthenticationToken extends AbstractAuthenticationToken {
 
     private final transient UserPrincipal principal;
-    private final transient Jwt jwt;
+    private final transient Object credentials;
 
     /**
-     * Creates an authenticated token with UserPrincipal and JWT.
+     * Creates an authenticated token with UserPrincipal and JWT credentials.
      *
-     * @param principal the user principal extracted from JWT claims
-     * @param jwt       the decoded JWT token
+     * @param principal   the user principal extracted from JWT claims
+     * @param credentials the decoded JWT token or the raw access token it was verified from
      */
-    public UserPrincipalAuthenticationToken(UserPrincipal principal, Jwt jwt) {
+    public UserPrincipalAuthenticationToken(UserPrincipal principal, Object credentials) {
         super(null);
         this.principal = principal;
-        this.jwt = jwt;
+        this.credentials = credentials;
         setAuthenticated(true);
     }
 
     @Override
     public Object getCredentials() {
-        return jwt;
+        return credentials;
     }
 
     @Override
@@ -38,7 +39,7 @@ public class UserPrincipalAuthenticationToken extends AbstractAuthenticationToke
             return false;
         }
         UserPrincipalAuthenticationToken that = (UserPrincipalAuthenticationToken) other;
-        return principal.equals(that.principal) && jwt.equals(that.jwt);
+        return principal.equals(that.principal) && credentials.equals(that.credentials);
     }
 
     @Override
@@ -50,7 +51,7 @@ public class UserPrincipalAuthenticationToken extends AbstractAuthenticationToke
     @Override
     public int hashCode() {
         int result = principal.hashCode();
-        result = 31 * result + jwt.hashCode();
+        result = 31 * result + credentials.hashCode();
         return result;
     }
 }
\ No newline at end of file
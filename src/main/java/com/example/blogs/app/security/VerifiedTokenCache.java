@@ -0,0 +1,28 @@
+package com.example.blogs.app.security;
+
+import java.time.Instant;
+
+/**
+ * Local cache of access tokens that already passed verification.
+ * A token is presented on many requests during its lifetime, so repeat presentations
+ * can skip the HMAC and claim parsing until the token expires.
+ */
+public interface VerifiedTokenCache {
+    /**
+     * Returns the principal of a previously verified token.
+     * Only a token identical to the cached one is served; sharing the signature segment is not enough.
+     *
+     * @param token compact JWT from the Authorization header
+     * @return the cached principal, or null if the token has not been verified or has expired
+     */
+    UserPrincipal get(String token);
+
+    /**
+     * Records a verified token until its expiration time.
+     *
+     * @param token     compact JWT that passed verification
+     * @param principal principal built from its claims
+     * @param expiresAt expiration time of the token
+     */
+    void put(String token, UserPrincipal principal, Instant expiresAt);
+}
@@ -0,0 +1,96 @@
+package com.example.blogs.app.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caffeine backed verified token cache.
+ * Entries are keyed by the signature segment, which is already a uniformly distributed MAC,
+ * and hold the full token so a hit requires an exact match.
+ * Each entry expires together with its token; the size bound uses Caffeine's W-TinyLFU admission,
+ * so a burst of one-off tokens does not flush the tokens of active sessions.
+ */
+@Component
+public class VerifiedTokenCacheImpl implements VerifiedTokenCache {
+
+    private static final String CACHE_NAME = "verified_access_tokens";
+
+    private final Cache<String, VerifiedToken> tokens;
+
+    /**
+     * Constructs the cache with its size bound and registers its metrics.
+     *
+     * @param maxSize       maximum number of cached tokens
+     * @param meterRegistry registry for the hit, miss, and eviction metrics and the hit ratio gauge
+     */
+    public VerifiedTokenCacheImpl(
+            @Value("${verified-token-cache.max-size}") long maxSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, CACHE_NAME);
+        meterRegistry.gauge(CACHE_NAME + ".hit_ratio", tokens, cache -> cache.stats().hitRate());
+    }
+
+    @Override
+    public UserPrincipal get(String token) {
+        VerifiedToken cached = tokens.getIfPresent(signature(token));
+        if (cached == null || !cached.token().equals(token) || isExpired(cached.expiresAt())) {
+            return null;
+        }
+        return cached.principal();
+    }
+
+    @Override
+    public void put(String token, UserPrincipal principal, Instant expiresAt) {
+        if (!isExpired(expiresAt)) {
+            tokens.put(signature(token), new VerifiedToken(token, principal, expiresAt));
+        }
+    }
+
+    private static boolean isExpired(Instant expiresAt) {
+        return System.currentTimeMillis() >= expiresAt.toEpochMilli();
+    }
+
+    private static String signature(String token) {
+        return token.substring(token.lastIndexOf('.') + 1);
+    }
+
+    private record VerifiedToken(String token, UserPrincipal principal, Instant expiresAt) {
+    }
+
+    /**
+     * Expires an entry at the expiration time of its token; reads and overwrites do not extend it.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.expiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.blogs.app.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter for probabilistic set membership checks.
+ * Answers "definitely absent" or "possibly present"; never produces false negatives.
+ * Bit positions are derived with double hashing (Kirsch-Mitzenmacher) from two 64-bit hashes.
+ */
+public class BloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final AtomicLongArray words;
+
+    private final long bitCount;
+
+    private final int hashFunctions;
+
+    /**
+     * Creates a filter sized for the expected number of insertions and target false positive rate.
+     *
+     * @param expectedInsertions       number of elements the filter is expected to hold
+     * @param falsePositiveProbability desired false positive probability (0 &lt; p &lt; 1)
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive");
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("False positive probability must be between 0 and 1");
+        }
+
+        long optimalBits = (long) Math.ceil(
+                -expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2))
+        );
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8L, Math.max(1L, (optimalBits + 63) / 64));
+
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Adds a value to the filter.
+     *
+     * @param value the value to add
+     */
+    public void put(CharSequence value) {
+        long hash = fnv1a(value);
+        put(mix(hash), mix(hash ^ GOLDEN_GAMMA));
+    }
+
+    /**
+     * Checks whether a value might have been added to the filter.
+     *
+     * @param value the value to check
+     * @return false if the value was definitely never added, true if it possibly was
+     */
+    public boolean mightContain(CharSequence value) {
+        long hash = fnv1a(value);
+        return mightContain(mix(hash), mix(hash ^ GOLDEN_GAMMA));
+    }
+
+    /**
+     * Adds an element identified by two independent 64-bit hashes.
+     *
+     * @param hash1 first hash of the element
+     * @param hash2 second hash of the element
+     */
+    public void put(long hash1, long hash2) {
+        long combined = hash1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (combined & Long.MAX_VALUE) % bitCount;
+            long mask = 1L << bit;
+            int index = (int) (bit >>> 6);
+            if ((words.get(index) & mask) == 0) {
+                words.accumulateAndGet(index, mask, (current, update) -> current | update);
+            }
+            combined += hash2;
+        }
+    }
+
+    /**
+     * Checks an element identified by two independent 64-bit hashes.
+     *
+     * @param hash1 first hash of the element
+     * @param hash2 second hash of the element
+     * @return false if the element was definitely never added, true if it possibly was
+     */
+    public boolean mightContain(long hash1, long hash2) {
+        long combined = hash1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (combined & Long.MAX_VALUE) % bitCount;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+            combined += hash2;
+        }
+        return true;
+    }
+
+    /**
+     * @return number of hash functions applied per element
+     */
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * @return total number of bits backing the filter
+     */
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    private static long fnv1a(CharSequence value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,328 @@
+package com.example.blogs.app.util;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Off-heap open addressing hash set of 256-bit digests with expiry timestamps, stored in a memory-mapped file.
+ * Reopening the file restores the set without reading or rehashing its entries, and entries never touch the heap.
+ * <p>
+ * Each slot holds the four digest words followed by the expiry timestamp; a zero timestamp marks an empty slot.
+ * Slots are probed linearly from the first digest word, which must already be uniformly distributed.
+ * Entries are never removed in place: {@link #rewrite} copies the unexpired entries into a fresh file
+ * of the requested capacity and atomically replaces the old one.
+ * <p>
+ * Lookups are lock-free and may run concurrently with a single writer; callers must serialize writes.
+ * The expiry timestamp is published with release semantics after the digest words, so a reader that observes
+ * an occupied slot also observes its digest.
+ */
+public final class MappedDigestSet {
+
+    /**
+     * Largest supported capacity; the whole file must fit into a single mapping.
+     */
+    public static final long MAX_CAPACITY = 1L << 25;
+
+    private static final long MAGIC = 0x5245564b_53455431L;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 64;
+
+    private static final int SLOT_SIZE = 40;
+
+    private static final int EXPIRY_OFFSET = 32;
+
+    private static final int VERSION_OFFSET = 8;
+
+    private static final int CAPACITY_OFFSET = 16;
+
+    private static final int SIZE_OFFSET = 24;
+
+    private static final int HIGH_WATER_MARK_OFFSET = 32;
+
+    private static final long EMPTY = 0L;
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final Path file;
+
+    private final MappedByteBuffer buffer;
+
+    private final long capacity;
+
+    private final long mask;
+
+    private long size;
+
+    private MappedDigestSet(Path file, MappedByteBuffer buffer, long capacity, long size) {
+        this.file = file;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.size = size;
+    }
+
+    /**
+     * Opens the set stored in the given file.
+     *
+     * @param file existing set file
+     * @return the mapped set
+     * @throws IOException if the file cannot be read or is not a valid set file
+     */
+    public static MappedDigestSet open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Digest set file is truncated: " + file);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            long capacity = buffer.getLong(CAPACITY_OFFSET);
+            long size = buffer.getLong(SIZE_OFFSET);
+            boolean valid = buffer.getLong(0) == MAGIC
+                    && buffer.getInt(VERSION_OFFSET) == VERSION
+                    && isValidCapacity(capacity)
+                    && fileSize == fileSize(capacity)
+                    && size >= 0 && size <= capacity;
+            if (!valid) {
+                throw new IOException("Not a valid digest set file: " + file);
+            }
+
+            return new MappedDigestSet(file, buffer, capacity, size);
+        }
+    }
+
+    /**
+     * Creates an empty set in the given file, replacing any existing file.
+     *
+     * @param file     target file
+     * @param capacity number of slots; a power of two up to {@link #MAX_CAPACITY}
+     * @return the mapped empty set
+     * @throws IOException if the file cannot be written
+     */
+    public static MappedDigestSet create(Path file, long capacity) throws IOException {
+        if (!isValidCapacity(capacity)) {
+            throw new IllegalArgumentException("Capacity must be a power of two up to " + MAX_CAPACITY);
+        }
+
+        Path temporary = temporaryFile(file);
+        MappedDigestSet set = createAt(temporary, capacity);
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return new MappedDigestSet(file, set.buffer, capacity, 0);
+    }
+
+    /**
+     * Returns the smallest valid capacity that keeps the given number of entries at or below half load.
+     *
+     * @param entries number of entries to hold
+     * @return power of two capacity, capped at {@link #MAX_CAPACITY}
+     */
+    public static long capacityFor(long entries) {
+        long required = Math.max(2L, entries * 2);
+        return Math.min(MAX_CAPACITY, Long.highestOneBit(required - 1) << 1);
+    }
+
+    /**
+     * Checks whether a digest is in the set, regardless of its expiry.
+     *
+     * @param w0 first digest word, used as the hash
+     * @param w1 second digest word
+     * @param w2 third digest word
+     * @param w3 fourth digest word
+     * @return true if the digest is present
+     */
+    public boolean contains(long w0, long w1, long w2, long w3) {
+        for (long i = w0 & mask, probes = 0; probes < capacity; i = (i + 1) & mask, probes++) {
+            int offset = slotOffset(i);
+            if ((long) LONG_VIEW.getAcquire(buffer, offset + EXPIRY_OFFSET) == EMPTY) {
+                return false;
+            }
+            if (matches(offset, w0, w1, w2, w3)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a digest with its expiry timestamp. Must not be called concurrently with other writes.
+     *
+     * @param w0        first digest word, used as the hash
+     * @param w1        second digest word
+     * @param w2        third digest word
+     * @param w3        fourth digest word
+     * @param expiresAt expiry as a non-zero timestamp; entries expiring before a rewrite cutoff are dropped
+     * @return true if the digest was added, false if it was already present
+     * @throws IllegalStateException if the set is full; callers should {@link #rewrite} it once {@link #needsGrowth()}
+     */
+    public boolean put(long w0, long w1, long w2, long w3, long expiresAt) {
+        if (expiresAt == EMPTY) {
+            throw new IllegalArgumentException("Expiry timestamp must not be zero");
+        }
+
+        for (long i = w0 & mask, probes = 0; probes < capacity; i = (i + 1) & mask, probes++) {
+            int offset = slotOffset(i);
+            if ((long) LONG_VIEW.get(buffer, offset + EXPIRY_OFFSET) == EMPTY) {
+                buffer.putLong(offset, w0);
+                buffer.putLong(offset + 8, w1);
+                buffer.putLong(offset + 16, w2);
+                buffer.putLong(offset + 24, w3);
+                LONG_VIEW.setRelease(buffer, offset + EXPIRY_OFFSET, expiresAt);
+                buffer.putLong(SIZE_OFFSET, ++size);
+                return true;
+            }
+            if (matches(offset, w0, w1, w2, w3)) {
+                return false;
+            }
+        }
+        throw new IllegalStateException("Digest set is full");
+    }
+
+    /**
+     * @return true once the set is more than half full and should be rewritten with a larger capacity
+     */
+    public boolean needsGrowth() {
+        return size * 2 > capacity && capacity < MAX_CAPACITY;
+    }
+
+    /**
+     * Counts the entries a {@link #rewrite} with the same cutoff would drop, without modifying the set.
+     *
+     * @param expiredUntil entries expiring at or before this timestamp are counted
+     * @return number of expired entries
+     */
+    public long countExpired(long expiredUntil) {
+        long expired = 0;
+        for (long i = 0; i < capacity; i++) {
+            long expiresAt = buffer.getLong(slotOffset(i) + EXPIRY_OFFSET);
+            if (expiresAt != EMPTY && expiresAt <= expiredUntil) {
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Copies all entries expiring after the cutoff into a fresh file of the given capacity
+     * and atomically replaces this set's file with it. This instance must not be written to afterwards,
+     * but stays readable until it is garbage collected.
+     *
+     * @param newCapacity  number of slots of the new set; a power of two up to {@link #MAX_CAPACITY}
+     * @param expiredUntil entries expiring at or before this timestamp are dropped
+     * @return the rewritten set, carrying over the high-water mark
+     * @throws IOException if the new file cannot be written
+     */
+    public MappedDigestSet rewrite(long newCapacity, long expiredUntil) throws IOException {
+        if (!isValidCapacity(newCapacity)) {
+            throw new IllegalArgumentException("Capacity must be a power of two up to " + MAX_CAPACITY);
+        }
+
+        Path temporary = temporaryFile(file);
+        MappedDigestSet target = createAt(temporary, newCapacity);
+        for (long i = 0; i < capacity; i++) {
+            int offset = slotOffset(i);
+            long expiresAt = buffer.getLong(offset + EXPIRY_OFFSET);
+            if (expiresAt != EMPTY && expiresAt > expiredUntil) {
+                target.put(
+                        buffer.getLong(offset),
+                        buffer.getLong(offset + 8),
+                        buffer.getLong(offset + 16),
+                        buffer.getLong(offset + 24),
+                        expiresAt
+                );
+            }
+        }
+        target.highWaterMark(highWaterMark());
+        target.buffer.force();
+
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return new MappedDigestSet(file, target.buffer, newCapacity, target.size);
+    }
+
+    /**
+     * @return caller-defined timestamp up to which the set is known to be complete
+     */
+    public long highWaterMark() {
+        return buffer.getLong(HIGH_WATER_MARK_OFFSET);
+    }
+
+    /**
+     * Records the timestamp up to which the set is known to be complete.
+     *
+     * @param highWaterMark caller-defined timestamp
+     */
+    public void highWaterMark(long highWaterMark) {
+        buffer.putLong(HIGH_WATER_MARK_OFFSET, highWaterMark);
+    }
+
+    /**
+     * Writes modified pages back to the file.
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    /**
+     * @return number of entries, including expired ones not yet dropped by a rewrite
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return number of slots
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    private boolean matches(int offset, long w0, long w1, long w2, long w3) {
+        return buffer.getLong(offset) == w0
+                && buffer.getLong(offset + 8) == w1
+                && buffer.getLong(offset + 16) == w2
+                && buffer.getLong(offset + 24) == w3;
+    }
+
+    private static MappedDigestSet createAt(Path file, long capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        )) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(capacity));
+            buffer.putLong(0, MAGIC);
+            buffer.putInt(VERSION_OFFSET, VERSION);
+            buffer.putLong(CAPACITY_OFFSET, capacity);
+            buffer.putLong(SIZE_OFFSET, 0);
+            buffer.putLong(HIGH_WATER_MARK_OFFSET, Long.MIN_VALUE);
+            return new MappedDigestSet(file, buffer, capacity, 0);
+        }
+    }
+
+    private static Path temporaryFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    private static boolean isValidCapacity(long capacity) {
+        return capacity > 0 && capacity <= MAX_CAPACITY && Long.bitCount(capacity) == 1;
+    }
+
+    private static long fileSize(long capacity) {
+        return HEADER_SIZE + capacity * SLOT_SIZE;
+    }
+
+    private static int slotOffset(long slot) {
+        return (int) (HEADER_SIZE + slot * SLOT_SIZE);
+    }
+}
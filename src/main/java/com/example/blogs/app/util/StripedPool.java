@@ -0,0 +1,68 @@
+package com.example.blogs.app.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, lock-free pool of reusable objects striped by thread id.
+ * Unlike a {@link ThreadLocal}, the number of pooled objects does not grow with the number of threads,
+ * which keeps it cheap under virtual threads, and acquiring never blocks or pins a carrier thread.
+ * When the slot of the current thread is empty a new object is created; when it is occupied on release
+ * the object is dropped.
+ *
+ * @param <T> type of the pooled objects; must not be shared while acquired
+ */
+public class StripedPool<T> {
+
+    private final AtomicReferenceArray<T> slots;
+
+    private final int mask;
+
+    private final Supplier<T> factory;
+
+    /**
+     * Creates a pool with a few slots per available processor.
+     *
+     * @param factory creates objects when the slot of the current thread is empty
+     */
+    public StripedPool(Supplier<T> factory) {
+        this(Runtime.getRuntime().availableProcessors() * 4, factory);
+    }
+
+    /**
+     * Creates a pool with the given number of slots, rounded up to a power of two.
+     *
+     * @param size    number of objects kept for reuse
+     * @param factory creates objects when the slot of the current thread is empty
+     */
+    public StripedPool(int size, Supplier<T> factory) {
+        int slotCount = size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(slotCount);
+        this.mask = slotCount - 1;
+        this.factory = factory;
+    }
+
+    /**
+     * Takes the object pooled in the current thread's slot, or creates a new one.
+     *
+     * @return an object owned by the caller until it is released
+     */
+    public T acquire() {
+        T pooled = slots.getAndSet(slot(), null);
+        return pooled != null ? pooled : factory.get();
+    }
+
+    /**
+     * Returns an object to the current thread's slot if it is empty.
+     * Objects left in an inconsistent state must not be released.
+     *
+     * @param value object previously obtained from {@link #acquire()}
+     */
+    public void release(T value) {
+        slots.compareAndSet(slot(), null, value);
+    }
+
+    private int slot() {
+        return (int) Thread.currentThread().threadId() & mask;
+    }
+}
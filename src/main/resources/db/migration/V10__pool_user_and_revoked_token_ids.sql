@@ -0,0 +1,8 @@
+-- Hibernate cannot batch inserts of IDENTITY columns because it needs each generated id back immediately.
+-- The entities now draw ids from these sequences through a pooled optimizer instead: one nextval reserves
+-- a block of 50 ids, which must match the allocationSize on the entity mappings (Hibernate refuses to start
+-- on a mismatch). Native inserts that fall back to the column default still take a whole block per row;
+-- ids stay unique, they just are not dense.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+
+ALTER SEQUENCE revoked_tokens_id_seq INCREMENT BY 50;
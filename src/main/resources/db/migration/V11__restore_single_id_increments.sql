@@ -0,0 +1,8 @@
+-- V10 raised the id sequence increments to 50 for pooled, batched JPA inserts, but no production path inserts
+-- users or revoked tokens through batched JPA saves: registration and bulk import use native INSERT statements,
+-- and revocations are written one at a time or as multi-row native inserts. Every one of those rows took the
+-- column default and with it a whole block of 50 ids, so the entities are back on identity generation and the
+-- sequences hand out one id per row again.
+ALTER SEQUENCE users_id_seq INCREMENT BY 1;
+
+ALTER SEQUENCE revoked_tokens_id_seq INCREMENT BY 1;
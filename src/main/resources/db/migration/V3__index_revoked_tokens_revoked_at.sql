@@ -0,0 +1,2 @@
+CREATE INDEX idx_revoked_tokens_revoked_at
+    ON revoked_tokens (revoked_at);
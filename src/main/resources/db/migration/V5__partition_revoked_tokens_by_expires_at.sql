@@ -0,0 +1,55 @@
+ALTER TABLE revoked_tokens RENAME TO revoked_tokens_legacy;
+ALTER TABLE revoked_tokens_legacy RENAME CONSTRAINT revoked_tokens_pkey TO revoked_tokens_legacy_pkey;
+ALTER TABLE revoked_tokens_legacy RENAME CONSTRAINT revoked_tokens_token_key TO revoked_tokens_legacy_token_key;
+DROP INDEX idx_revoked_tokens_expires_at;
+DROP INDEX idx_revoked_tokens_revoked_at;
+ALTER SEQUENCE revoked_tokens_id_seq OWNED BY NONE;
+
+-- Unique keys of a partitioned table must include the partition key.
+-- A token hash always carries the same expiration, so (token, expires_at) is as strict as token alone.
+CREATE TABLE revoked_tokens
+(
+    id         BIGINT      NOT NULL DEFAULT nextval('revoked_tokens_id_seq'),
+    token      VARCHAR(64) NOT NULL,
+    revoked_at TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP   NOT NULL,
+    PRIMARY KEY (id, expires_at),
+    UNIQUE (token, expires_at)
+) PARTITION BY RANGE (expires_at);
+
+ALTER SEQUENCE revoked_tokens_id_seq OWNED BY revoked_tokens.id;
+
+CREATE INDEX idx_revoked_tokens_revoked_at
+    ON revoked_tokens (revoked_at);
+
+-- Catches rows outside the pre-created daily partitions; purged with a regular DELETE.
+CREATE TABLE revoked_tokens_default PARTITION OF revoked_tokens DEFAULT;
+
+DO
+$$
+DECLARE
+    partition_day DATE;
+BEGIN
+    FOR partition_day IN
+        SELECT generate_series(
+                       (current_date - 1)::timestamp,
+                       GREATEST(current_date + 35, (SELECT max(expires_at)::date FROM revoked_tokens_legacy))::timestamp,
+                       interval '1 day'
+               )::date
+    LOOP
+        EXECUTE format(
+                'CREATE TABLE %I PARTITION OF revoked_tokens FOR VALUES FROM (%L) TO (%L)',
+                'revoked_tokens_p' || to_char(partition_day, 'YYYYMMDD'),
+                partition_day,
+                partition_day + 1
+        );
+    END LOOP;
+END
+$$;
+
+INSERT INTO revoked_tokens (id, token, revoked_at, expires_at)
+SELECT id, token, revoked_at, expires_at
+FROM revoked_tokens_legacy
+WHERE expires_at >= current_date - 1;
+
+DROP TABLE revoked_tokens_legacy;
@@ -0,0 +1,9 @@
+CREATE TABLE scheduled_job_runs
+(
+    job_name    VARCHAR(100) PRIMARY KEY,
+    owner_node  VARCHAR(255) NOT NULL,
+    started_at  TIMESTAMP    NOT NULL,
+    finished_at TIMESTAMP    NOT NULL,
+    duration_ms BIGINT       NOT NULL,
+    succeeded   BOOLEAN      NOT NULL
+);
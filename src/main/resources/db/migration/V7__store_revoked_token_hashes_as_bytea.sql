@@ -0,0 +1,8 @@
+-- Token hashes are SHA-256 digests; storing the raw 32 bytes instead of 64 hex characters
+-- halves the (token, expires_at) unique index. The type change propagates to every partition
+-- and rebuilds the unique index in place.
+ALTER TABLE revoked_tokens
+    ALTER COLUMN token TYPE BYTEA USING decode(token, 'hex');
+
+ALTER TABLE revoked_tokens
+    ADD CONSTRAINT chk_revoked_tokens_token_length CHECK (octet_length(token) = 32);
@@ -0,0 +1,15 @@
+-- Login looks a user up by either username or email. The previous single query ORed both columns, which
+-- Postgres can only answer with a BitmapOr over the two unique indexes followed by a heap fetch.
+-- Login now issues one equality lookup against whichever of these indexes matches the input shape.
+--
+-- Both indexes are on lower(...), so lookups are case-insensitive and no two accounts can differ only
+-- in case; the migration fails if existing rows already do, and those must be merged first.
+-- The INCLUDE columns are everything login reads. The looked-up column itself is included as well:
+-- the key only stores lower(...), and an index-only scan needs every column the query references,
+-- including the one inside the WHERE expression. Once the visibility map is set by autovacuum
+-- the lookup is answered by an index-only scan without touching the heap.
+CREATE UNIQUE INDEX idx_users_lower_username
+    ON users (lower(username)) INCLUDE (id, username, email, password_hash, profile_picture_url, token_epoch);
+
+CREATE UNIQUE INDEX idx_users_lower_email
+    ON users (lower(email)) INCLUDE (id, username, email, password_hash, profile_picture_url, token_epoch);
@@ -1,11 +1,11 @@
 package com.example.blogs.app.api.auth.controller;
 
 import com.example.blogs.app.api.auth.dto.*;
-import com.example.blogs.app.api.auth.entity.RevokedTokenEntity;
 import com.example.blogs.app.api.auth.exception.UnauthorizedException;
 import com.example.blogs.app.api.auth.service.AuthService;
 import com.example.blogs.app.exception.ExceptionHttpStatusMapper;
 import com.example.blogs.app.exception.GlobalExceptionHandler;
+import com.example.blogs.app.security.PrincipalCache;
 import com.example.blogs.app.security.UserPrincipal;
 import com.example.blogs.app.security.UserPrincipalAuthenticationToken;
 import lombok.SneakyThrows;
@@ -41,6 +41,9 @@ class AuthControllerTest {
     @MockitoBean
     private AuthService authService;
 
+    @MockitoBean
+    private PrincipalCache principalCache;
+
     @Test
     @SneakyThrows
     void register_shouldReturn201_whenSuccessfulRegistration() {
@@ -118,6 +121,31 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.errors[0]").value("Request body is required"));
     }
 
+    @Test
+    @SneakyThrows
+    void availability_shouldReturnAvailabilityOfQueriedNames() {
+        when(authService.checkAvailability("test", "test@gmail.com"))
+                .thenReturn(new AvailabilityResponse(true, false));
+
+        mockMvc.perform(get("/auth/availability")
+                        .param("username", "test")
+                        .param("email", "test@gmail.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usernameAvailable").value(true))
+                .andExpect(jsonPath("$.emailAvailable").value(false));
+    }
+
+    @Test
+    @SneakyThrows
+    void availability_shouldOmitNamesThatWereNotQueried() {
+        when(authService.checkAvailability("test", null)).thenReturn(new AvailabilityResponse(false, null));
+
+        mockMvc.perform(get("/auth/availability").param("username", "test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usernameAvailable").value(false))
+                .andExpect(jsonPath("$.emailAvailable").doesNotExist());
+    }
+
     @Test
     @SneakyThrows
     void login_shouldReturn200_whenSuccessfulLogin() {
@@ -222,7 +250,7 @@ class AuthControllerTest {
     @SneakyThrows
     void refreshToken_shouldReturn200_whenSuccessful() {
         when(authService.refreshAccessToken(any())).thenReturn(
-                new AccessTokenResponse("newAccessToken")
+                new AccessTokenResponse("newAccessToken", "newRefreshToken")
         );
 
         mockMvc.perform(post("/auth/refresh")
@@ -235,7 +263,9 @@ class AuthControllerTest {
                 )
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.accessToken")
-                        .value("newAccessToken"));
+                        .value("newAccessToken"))
+                .andExpect(jsonPath("$.refreshToken")
+                        .value("newRefreshToken"));
     }
 
     @Test
@@ -273,7 +303,7 @@ class AuthControllerTest {
     @Test
     @SneakyThrows
     void logout_shouldReturn204_whenSuccessful() {
-        when(authService.logout(any(LogoutRequest.class))).thenReturn(any(RevokedTokenEntity.class));
+        doNothing().when(authService).logout(any(LogoutRequest.class));
 
         mockMvc.perform(post("/auth/logout")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -302,8 +332,8 @@ class AuthControllerTest {
     @Test
     @SneakyThrows
     void logout_shouldReturn401_whenRefreshTokenIsInvalid() {
-        when(authService.logout(any()))
-                .thenThrow(new UnauthorizedException());
+        doThrow(new UnauthorizedException())
+                .when(authService).logout(any());
 
         mockMvc.perform(post("/auth/logout")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -316,4 +346,25 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.message")
                         .value("Unauthorized access"));
     }
+
+    @Test
+    @SneakyThrows
+    void logoutAll_shouldReturn204_andRevokeSessionsOfAuthenticatedUser() {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .claim("id", "1")
+                .build();
+        UserPrincipal userPrincipal = new UserPrincipal(1L, "test", "test@gmail.com", "picture");
+
+        SecurityContextHolder.getContext().setAuthentication(new UserPrincipalAuthenticationToken(userPrincipal, jwt));
+
+        try {
+            mockMvc.perform(post("/auth/logout-all"))
+                    .andExpect(status().isNoContent());
+
+            verify(authService).logoutAll(1L);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
 }
@@ -1,12 +1,19 @@
 package com.example.blogs.app.api.auth.repository;
 
+import com.example.blogs.app.api.auth.dto.RevokedTokenExpiry;
 import com.example.blogs.app.api.auth.entity.RevokedTokenEntity;
+import com.example.blogs.app.security.TokenHash;
 import com.example.blogs.app.support.AbstractPostgresTest;
+import com.example.blogs.app.support.TokenHashes;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -15,12 +22,15 @@ class RevokedTokenRepositoryTest extends AbstractPostgresTest {
     @Autowired
     private RevokedTokenRepository revokedTokenRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void existsByToken_shouldReturnTrue_whenTokenExists() {
         RevokedTokenEntity entity = createRevokedToken();
         revokedTokenRepository.save(entity);
 
-        boolean exists = revokedTokenRepository.existsByToken("token");
+        boolean exists = revokedTokenRepository.existsByToken(TokenHashes.of("token"));
 
         assertThat(exists).isTrue();
     }
@@ -30,37 +40,174 @@ class RevokedTokenRepositoryTest extends AbstractPostgresTest {
         RevokedTokenEntity entity = createRevokedToken();
         revokedTokenRepository.save(entity);
 
-        boolean exists = revokedTokenRepository.existsByToken("nonexistent-token");
+        boolean exists = revokedTokenRepository.existsByToken(TokenHashes.of("nonexistent-token"));
 
         assertThat(exists).isFalse();
     }
 
     @Test
-    void deleteByExpiresAtBefore_shouldDeleteExpiredTokens() {
+    void findPartitionDays_shouldListDailyPartitionsCreatedByMigration() {
+        LocalDate today = LocalDate.now();
+
+        List<LocalDate> days = revokedTokenRepository.findPartitionDays();
+
+        assertThat(days).contains(today, today.plusDays(30)).isSorted();
+    }
+
+    @Test
+    void createPartition_shouldRouteTokensOfThatDayIntoNewPartition() {
+        LocalDate day = LocalDate.now().plusDays(400);
+
+        revokedTokenRepository.createPartition(day);
+        revokedTokenRepository.createPartition(day);
+        revokedTokenRepository.save(RevokedTokenEntity.builder()
+                .token(TokenHashes.of("future-token"))
+                .expiresAt(day.atTime(12, 0))
+                .build());
+        revokedTokenRepository.flush();
+
+        assertThat(revokedTokenRepository.findPartitionDays()).contains(day);
+        assertThat(countRows("revoked_tokens_p" + day.format(DateTimeFormatter.BASIC_ISO_DATE))).isEqualTo(1);
+        assertThat(countRows("revoked_tokens_default")).isZero();
+    }
+
+    @Test
+    void dropPartition_shouldRemoveAllTokensOfThatDay() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        revokedTokenRepository.save(RevokedTokenEntity.builder()
+                .token(TokenHashes.of("expired-token"))
+                .expiresAt(yesterday.atTime(12, 0))
+                .build());
+        revokedTokenRepository.save(createRevokedToken());
+        revokedTokenRepository.flush();
+
+        revokedTokenRepository.dropPartition(yesterday);
+
+        assertThat(revokedTokenRepository.findPartitionDays()).doesNotContain(yesterday);
+        assertThat(revokedTokenRepository.existsByToken(TokenHashes.of("expired-token"))).isFalse();
+        assertThat(revokedTokenRepository.existsByToken(TokenHashes.of("token"))).isTrue();
+    }
+
+    @Test
+    void deleteExpiredFromDefaultPartition_shouldDeleteOnlyExpiredTokensOutsideDailyPartitions() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.save(RevokedTokenEntity.builder()
+                .token(TokenHashes.of("ancient-token"))
+                .expiresAt(now.minusYears(5))
+                .build());
+        revokedTokenRepository.save(createRevokedToken());
+        revokedTokenRepository.flush();
+
+        int deleted = revokedTokenRepository.deleteExpiredFromDefaultPartition(now, 100);
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(revokedTokenRepository.existsByToken(TokenHashes.of("ancient-token"))).isFalse();
+        assertThat(revokedTokenRepository.existsByToken(TokenHashes.of("token"))).isTrue();
+    }
+
+    @Test
+    void deleteExpiredFromDefaultPartition_shouldDeleteAtMostLimitRowsPerCall() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            revokedTokenRepository.save(RevokedTokenEntity.builder()
+                    .token(TokenHashes.of("ancient-token-" + i))
+                    .expiresAt(now.minusYears(5))
+                    .build());
+        }
+        revokedTokenRepository.flush();
+
+        assertThat(revokedTokenRepository.deleteExpiredFromDefaultPartition(now, 2)).isEqualTo(2);
+        assertThat(revokedTokenRepository.deleteExpiredFromDefaultPartition(now, 2)).isEqualTo(2);
+        assertThat(revokedTokenRepository.deleteExpiredFromDefaultPartition(now, 2)).isEqualTo(1);
+        assertThat(revokedTokenRepository.deleteExpiredFromDefaultPartition(now, 2)).isZero();
+    }
+
+    @Test
+    void findTokensByExpiresAtAfter_shouldReturnOnlyUnexpiredTokens() {
         LocalDateTime now = LocalDateTime.now();
-        RevokedTokenEntity expiredToken = RevokedTokenEntity.builder()
-                .token("expired-token")
+        revokedTokenRepository.save(RevokedTokenEntity.builder()
+                .token(TokenHashes.of("expired-token"))
                 .expiresAt(now.minusDays(1))
-                .build();
-        RevokedTokenEntity validToken = RevokedTokenEntity.builder()
-                .token("valid-token")
+                .build());
+        revokedTokenRepository.save(RevokedTokenEntity.builder()
+                .token(TokenHashes.of("valid-token"))
                 .expiresAt(now.plusDays(1))
-                .build();
-        revokedTokenRepository.save(expiredToken);
-        revokedTokenRepository.save(validToken);
+                .build());
+
+        List<TokenHash> tokens = revokedTokenRepository.findTokensByExpiresAtAfter(now);
+
+        assertThat(tokens).containsExactly(TokenHashes.of("valid-token"));
+    }
+
+    @Test
+    void findTokensByRevokedAtAfter_shouldReturnRecentlyRevokedTokens() {
+        revokedTokenRepository.save(createRevokedToken());
+
+        List<TokenHash> recent = revokedTokenRepository.findTokensByRevokedAtAfter(LocalDateTime.now().minusMinutes(1));
+        List<TokenHash> future = revokedTokenRepository.findTokensByRevokedAtAfter(LocalDateTime.now().plusMinutes(1));
+
+        assertThat(recent).containsExactly(TokenHashes.of("token"));
+        assertThat(future).isEmpty();
+    }
+
+    @Test
+    void findExpiries_shouldReturnHashesWithExpirations() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        revokedTokenRepository.save(RevokedTokenEntity.builder()
+                .token(TokenHashes.of("expired-token"))
+                .expiresAt(now.minusDays(1))
+                .build());
+        revokedTokenRepository.save(RevokedTokenEntity.builder()
+                .token(TokenHashes.of("valid-token"))
+                .expiresAt(now.plusDays(1))
+                .build());
 
-        revokedTokenRepository.deleteByExpiresAtBefore(now);
+        assertThat(revokedTokenRepository.findExpiriesByExpiresAtAfter(now))
+                .containsExactly(new RevokedTokenExpiry(TokenHashes.of("valid-token"), now.plusDays(1)));
+        assertThat(revokedTokenRepository.findExpiriesByRevokedAtAfter(now.minusMinutes(1)))
+                .extracting(RevokedTokenExpiry::token)
+                .containsExactlyInAnyOrder(TokenHashes.of("expired-token"), TokenHashes.of("valid-token"));
+    }
+
+    @Test
+    void insertAllIgnoringDuplicates_shouldInsertAllRowsInOneStatement_andSkipAlreadyRevokedTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.saveAndFlush(createRevokedToken());
+
+        int inserted = revokedTokenRepository.insertAllIgnoringDuplicates(List.of(
+                RevokedTokenEntity.builder().token(TokenHashes.of("token")).revokedAt(now).expiresAt(now.plusDays(1)).build(),
+                RevokedTokenEntity.builder().token(TokenHashes.of("token-1")).revokedAt(now).expiresAt(now.plusDays(1)).build(),
+                RevokedTokenEntity.builder().token(TokenHashes.of("token-2")).revokedAt(now).expiresAt(now.plusDays(1)).build()
+        ));
+
+        assertThat(inserted).isEqualTo(2);
+        assertThat(revokedTokenRepository.existsByToken(TokenHashes.of("token-1"))).isTrue();
+        assertThat(revokedTokenRepository.existsByToken(TokenHashes.of("token-2"))).isTrue();
+        assertThat(revokedTokenRepository.count()).isEqualTo(3);
+    }
 
-        boolean expiredExists = revokedTokenRepository.existsByToken("expired-token");
-        boolean validExists = revokedTokenRepository.existsByToken("valid-token");
+    @Test
+    void save_shouldStoreTokenHashAsRawDigestBytes() {
+        revokedTokenRepository.save(createRevokedToken());
+        revokedTokenRepository.flush();
+
+        byte[] stored = jdbcTemplate.queryForObject("SELECT token FROM revoked_tokens", byte[].class);
+
+        assertThat(stored).hasSize(TokenHash.LENGTH).isEqualTo(TokenHashes.of("token").bytes());
+    }
+
+    @Test
+    void insertAllIgnoringDuplicates_shouldDoNothing_whenListIsEmpty() {
+        assertThat(revokedTokenRepository.insertAllIgnoringDuplicates(List.of())).isZero();
+    }
 
-        assertThat(expiredExists).isFalse();
-        assertThat(validExists).isTrue();
+    private int countRows(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Integer.class);
     }
 
     private RevokedTokenEntity createRevokedToken() {
         return RevokedTokenEntity.builder()
-                .token("token")
+                .token(TokenHashes.of("token"))
                 .expiresAt(LocalDateTime.now().plusDays(1))
                 .build();
     }
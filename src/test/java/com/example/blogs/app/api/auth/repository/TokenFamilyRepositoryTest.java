@@ -0,0 +1,82 @@
+package com.example.blogs.app.api.auth.repository;
+
+import com.example.blogs.app.api.auth.entity.TokenFamilyEntity;
+import com.example.blogs.app.api.user.entity.UserEntity;
+import com.example.blogs.app.api.user.repository.UserRepository;
+import com.example.blogs.app.support.AbstractPostgresTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class TokenFamilyRepositoryTest extends AbstractPostgresTest {
+
+    @Autowired
+    private TokenFamilyRepository tokenFamilyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.saveAndFlush(UserEntity.builder()
+                .username("test")
+                .passwordHash("passwordHash")
+                .email("test@gmail.com")
+                .build()).getId();
+    }
+
+    @Test
+    void rotate_shouldAdvanceGeneration_onlyForCurrentGeneration() {
+        UUID id = createFamily(LocalDateTime.now().plusDays(30));
+
+        assertThat(tokenFamilyRepository.rotate(id, 0)).isEqualTo(1);
+        assertThat(tokenFamilyRepository.rotate(id, 0)).isZero();
+        assertThat(tokenFamilyRepository.rotate(id, 1)).isEqualTo(1);
+        assertThat(tokenFamilyRepository.findById(id)).get()
+                .extracting(TokenFamilyEntity::getGeneration)
+                .isEqualTo(2);
+    }
+
+    @Test
+    void rotate_shouldNotAdvanceRevokedFamily() {
+        UUID id = createFamily(LocalDateTime.now().plusDays(30));
+
+        assertThat(tokenFamilyRepository.revoke(id)).isEqualTo(1);
+        assertThat(tokenFamilyRepository.revoke(id)).isZero();
+        assertThat(tokenFamilyRepository.rotate(id, 0)).isZero();
+    }
+
+    @Test
+    void rotate_shouldNotMatchUnknownFamily() {
+        assertThat(tokenFamilyRepository.rotate(UUID.randomUUID(), 0)).isZero();
+        assertThat(tokenFamilyRepository.revoke(UUID.randomUUID())).isZero();
+    }
+
+    @Test
+    void deleteExpired_shouldRemoveOnlyExpiredFamilies() {
+        UUID expired = createFamily(LocalDateTime.now().minusDays(1));
+        UUID active = createFamily(LocalDateTime.now().plusDays(1));
+
+        int deleted = tokenFamilyRepository.deleteExpired(LocalDateTime.now());
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(tokenFamilyRepository.existsById(expired)).isFalse();
+        assertThat(tokenFamilyRepository.existsById(active)).isTrue();
+    }
+
+    private UUID createFamily(LocalDateTime expiresAt) {
+        return tokenFamilyRepository.saveAndFlush(TokenFamilyEntity.builder()
+                .userId(userId)
+                .expiresAt(expiresAt)
+                .build()).getId();
+    }
+}
@@ -3,17 +3,27 @@ package com.example.blogs.app.api.auth.repository.adapter;
 import com.example.blogs.app.api.auth.entity.RevokedTokenEntity;
 import com.example.blogs.app.api.auth.exception.FailedToCheckTokenRevokedException;
 import com.example.blogs.app.api.auth.exception.FailedToCleanRevokedTokensException;
+import com.example.blogs.app.api.auth.exception.FailedToCreateRevokedTokenPartitionsException;
 import com.example.blogs.app.api.auth.exception.FailedToRevokeTokenExecption;
 import com.example.blogs.app.api.auth.exception.TokenAlreadyRevokedException;
 import com.example.blogs.app.api.auth.repository.RevokedTokenRepository;
+import com.example.blogs.app.api.auth.revocation.RevocationPublisher;
+import com.example.blogs.app.api.auth.revocation.RevokedTokenFilter;
+import com.example.blogs.app.api.auth.revocation.RevokedTokenWriteBehind;
+import com.example.blogs.app.security.TokenHash;
+import com.example.blogs.app.support.TokenHashes;
 import com.example.blogs.app.util.SqlExceptionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.Mockito.*;
 import static org.assertj.core.api.Assertions.*;
@@ -21,26 +31,44 @@ import static org.assertj.core.api.Assertions.*;
 @ExtendWith(MockitoExtension.class)
 class RevokedTokenRepositoryAdapterImplTest {
 
+    private static final TokenHash TOKEN = TokenHashes.of("sampleToken");
+
     @Mock
     private RevokedTokenRepository revokedTokenJpaRepository;
 
     @Mock
     private SqlExceptionUtils sqlExceptionUtils;
 
+    @Mock
+    private RevokedTokenFilter revokedTokenFilter;
+
+    @Mock
+    private RevokedTokenWriteBehind revokedTokenWriteBehind;
+
+    @Mock
+    private RevocationPublisher revocationPublisher;
+
+    private MeterRegistry meterRegistry;
+
     private RevokedTokenRepositoryAdapter revokedTokenRepositoryAdapter;
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
         revokedTokenRepositoryAdapter = new RevokedTokenRepositoryAdapterImpl(
                 revokedTokenJpaRepository,
-                sqlExceptionUtils
+                sqlExceptionUtils,
+                revokedTokenFilter,
+                revokedTokenWriteBehind,
+                revocationPublisher,
+                meterRegistry
         );
     }
 
     @Test
     void saveRevokedToken_shouldSaveTokenSuccessfully() {
         RevokedTokenEntity mockedEntity = RevokedTokenEntity.builder()
-                .token("sampleToken")
+                .token(TOKEN)
                 .expiresAt(LocalDateTime.now().plusHours(1))
                 .build();
 
@@ -48,12 +76,14 @@ class RevokedTokenRepositoryAdapterImplTest {
                 .thenReturn(mockedEntity);
 
         RevokedTokenEntity result = revokedTokenRepositoryAdapter.saveRevokedToken(
-                "sampleToken",
+                TOKEN,
                 mockedEntity.getExpiresAt()
         );
 
         assertThat(result).isEqualTo(mockedEntity);
         verify(revokedTokenJpaRepository).save(any(RevokedTokenEntity.class));
+        verify(revokedTokenFilter).put(TOKEN, mockedEntity.getExpiresAt());
+        verify(revocationPublisher).publishRevokedTokens(List.of(mockedEntity));
     }
 
     @Test
@@ -65,12 +95,14 @@ class RevokedTokenRepositoryAdapterImplTest {
                 .thenReturn(true);
 
         assertThatThrownBy(() -> revokedTokenRepositoryAdapter.saveRevokedToken(
-                "sampleToken",
+                TOKEN,
                 expiresAt
         )).isInstanceOf(TokenAlreadyRevokedException.class);
 
         verify(revokedTokenJpaRepository).save(any(RevokedTokenEntity.class));
         verify(sqlExceptionUtils).containsUniqueViolation(any(Exception.class), eq("token"));
+        verify(revokedTokenFilter, never()).put(any(TokenHash.class), any(LocalDateTime.class));
+        verifyNoInteractions(revocationPublisher);
     }
 
     @Test
@@ -82,7 +114,7 @@ class RevokedTokenRepositoryAdapterImplTest {
                 .thenReturn(false);
 
         assertThatThrownBy(() -> revokedTokenRepositoryAdapter.saveRevokedToken(
-                "sampleToken",
+                TOKEN,
                 expiresAt
         )).isInstanceOf(FailedToRevokeTokenExecption.class);
 
@@ -90,57 +122,207 @@ class RevokedTokenRepositoryAdapterImplTest {
         verify(sqlExceptionUtils).containsUniqueViolation(any(Exception.class), eq("token"));
     }
 
+    @Test
+    void saveRevokedToken_shouldEnqueueWithoutSaving_whenWriteBehindIsEnabled() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(1);
+        when(revokedTokenWriteBehind.isEnabled()).thenReturn(true);
+        when(revokedTokenFilter.mightContain(TOKEN)).thenReturn(false);
+        when(revokedTokenWriteBehind.enqueue(any(RevokedTokenEntity.class))).thenReturn(true);
+
+        RevokedTokenEntity result = revokedTokenRepositoryAdapter.saveRevokedToken(TOKEN, expiresAt);
+
+        assertThat(result.getToken()).isEqualTo(TOKEN);
+        assertThat(result.getExpiresAt()).isEqualTo(expiresAt);
+        assertThat(result.getRevokedAt()).isNotNull();
+        verify(revokedTokenWriteBehind).enqueue(result);
+        verify(revokedTokenJpaRepository, never()).save(any(RevokedTokenEntity.class));
+        verifyNoInteractions(revocationPublisher);
+    }
+
+    @Test
+    void saveRevokedToken_shouldThrowTokenAlreadyRevokedException_whenTokenIsAlreadyBuffered() {
+        when(revokedTokenWriteBehind.isEnabled()).thenReturn(true);
+        when(revokedTokenWriteBehind.isPending(TOKEN)).thenReturn(true);
+
+        assertThatThrownBy(() -> revokedTokenRepositoryAdapter.saveRevokedToken(
+                TOKEN,
+                LocalDateTime.now().plusHours(1)
+        )).isInstanceOf(TokenAlreadyRevokedException.class);
+
+        verify(revokedTokenWriteBehind, never()).enqueue(any(RevokedTokenEntity.class));
+    }
+
+    @Test
+    void saveRevokedToken_shouldThrowTokenAlreadyRevokedException_whenTokenIsAlreadyPersisted() {
+        when(revokedTokenWriteBehind.isEnabled()).thenReturn(true);
+        when(revokedTokenFilter.mightContain(TOKEN)).thenReturn(true);
+        when(revokedTokenJpaRepository.existsByToken(TOKEN)).thenReturn(true);
+
+        assertThatThrownBy(() -> revokedTokenRepositoryAdapter.saveRevokedToken(
+                TOKEN,
+                LocalDateTime.now().plusHours(1)
+        )).isInstanceOf(TokenAlreadyRevokedException.class);
+
+        verify(revokedTokenWriteBehind, never()).enqueue(any(RevokedTokenEntity.class));
+    }
+
+    @Test
+    void saveRevokedToken_shouldThrowFailedToRevokeTokenException_whenSynchronousFlushFails() {
+        when(revokedTokenWriteBehind.isEnabled()).thenReturn(true);
+        when(revokedTokenFilter.mightContain(TOKEN)).thenReturn(false);
+        when(revokedTokenWriteBehind.enqueue(any(RevokedTokenEntity.class)))
+                .thenThrow(new RuntimeException("DB error"));
+
+        assertThatThrownBy(() -> revokedTokenRepositoryAdapter.saveRevokedToken(
+                TOKEN,
+                LocalDateTime.now().plusHours(1)
+        )).isInstanceOf(FailedToRevokeTokenExecption.class);
+    }
+
+    @Test
+    void isTokenRevoked_shouldReturnTrue_whenTokenIsWaitingForFlush() {
+        when(revokedTokenWriteBehind.isPending(TOKEN)).thenReturn(true);
+
+        boolean result = revokedTokenRepositoryAdapter.isTokenRevoked(TOKEN);
+
+        assertThat(result).isTrue();
+        verifyNoInteractions(revokedTokenFilter, revokedTokenJpaRepository);
+    }
+
     @Test
     void isTokenRevoked_shouldReturnTrue_whenTokenExists() {
-        when(revokedTokenJpaRepository.existsByToken(anyString())).thenReturn(true);
+        when(revokedTokenFilter.mightContain(any(TokenHash.class))).thenReturn(true);
+        when(revokedTokenJpaRepository.existsByToken(any(TokenHash.class))).thenReturn(true);
+
+        boolean result = revokedTokenRepositoryAdapter.isTokenRevoked(TOKEN);
+
+        assertThat(result).isTrue();
+        verify(revokedTokenJpaRepository).existsByToken(TOKEN);
+        assertThat(filterLookups("hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    void isTokenRevoked_shouldSkipDatabase_whenFilterKnowsTokenIsRevoked() {
+        when(revokedTokenFilter.definitelyContains(TOKEN)).thenReturn(true);
 
-        boolean result = revokedTokenRepositoryAdapter.isTokenRevoked("sampleToken");
+        boolean result = revokedTokenRepositoryAdapter.isTokenRevoked(TOKEN);
 
         assertThat(result).isTrue();
-        verify(revokedTokenJpaRepository).existsByToken("sampleToken");
+        verify(revokedTokenFilter, never()).mightContain(any(TokenHash.class));
+        verifyNoInteractions(revokedTokenJpaRepository);
+        assertThat(filterLookups("hit")).isEqualTo(1.0);
     }
 
     @Test
     void isTokenRevoked_shouldReturnFalse_whenTokenDoesNotExist() {
-        when(revokedTokenJpaRepository.existsByToken(anyString())).thenReturn(false);
+        when(revokedTokenFilter.mightContain(any(TokenHash.class))).thenReturn(true);
+        when(revokedTokenJpaRepository.existsByToken(any(TokenHash.class))).thenReturn(false);
 
-        boolean result = revokedTokenRepositoryAdapter.isTokenRevoked("sampleToken");
+        boolean result = revokedTokenRepositoryAdapter.isTokenRevoked(TOKEN);
 
         assertThat(result).isFalse();
-        verify(revokedTokenJpaRepository).existsByToken("sampleToken");
+        verify(revokedTokenJpaRepository).existsByToken(TOKEN);
+        assertThat(filterLookups("false_positive")).isEqualTo(1.0);
+    }
+
+    @Test
+    void isTokenRevoked_shouldSkipDatabase_whenFilterReportsMiss() {
+        when(revokedTokenFilter.mightContain(any(TokenHash.class))).thenReturn(false);
+
+        boolean result = revokedTokenRepositoryAdapter.isTokenRevoked(TOKEN);
+
+        assertThat(result).isFalse();
+        verify(revokedTokenJpaRepository, never()).existsByToken(any(TokenHash.class));
+        assertThat(filterLookups("miss")).isEqualTo(1.0);
     }
 
     @Test
     void isTokenRevoked_shouldThrowFailedToCheckTokenRevokedException_whenExceptionOccurs() {
-        when(revokedTokenJpaRepository.existsByToken(anyString()))
+        when(revokedTokenFilter.mightContain(any(TokenHash.class))).thenReturn(true);
+        when(revokedTokenJpaRepository.existsByToken(any(TokenHash.class)))
                 .thenThrow(new RuntimeException("DB error"));
 
-        assertThatThrownBy(() -> revokedTokenRepositoryAdapter.isTokenRevoked("sampleToken"))
+        assertThatThrownBy(() -> revokedTokenRepositoryAdapter.isTokenRevoked(TOKEN))
                 .isInstanceOf(FailedToCheckTokenRevokedException.class);
-        verify(revokedTokenJpaRepository).existsByToken("sampleToken");
+        verify(revokedTokenJpaRepository).existsByToken(TOKEN);
+    }
+
+    @Test
+    void dropExpiredPartitions_shouldDropOnlyPartitionsOfPastDays() {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 10, 15, 30);
+        when(revokedTokenJpaRepository.findPartitionDays()).thenReturn(List.of(
+                LocalDate.of(2025, 1, 8),
+                LocalDate.of(2025, 1, 9),
+                LocalDate.of(2025, 1, 10),
+                LocalDate.of(2025, 1, 11)
+        ));
+
+        int dropped = revokedTokenRepositoryAdapter.dropExpiredPartitions(now);
+
+        assertThat(dropped).isEqualTo(2);
+        verify(revokedTokenJpaRepository).dropPartition(LocalDate.of(2025, 1, 8));
+        verify(revokedTokenJpaRepository).dropPartition(LocalDate.of(2025, 1, 9));
+        verify(revokedTokenJpaRepository, never()).dropPartition(LocalDate.of(2025, 1, 10));
+        verify(revokedTokenJpaRepository, never()).dropPartition(LocalDate.of(2025, 1, 11));
     }
 
     @Test
-    void deleteExpiredTokens_shouldDeleteExpiredTokensSuccessfully() {
+    void dropExpiredPartitions_shouldThrowFailedToCleanRevokedTokensException_whenExceptionOccurs() {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 10, 15, 30);
+        when(revokedTokenJpaRepository.findPartitionDays()).thenReturn(List.of(LocalDate.of(2025, 1, 9)));
+        doThrow(new RuntimeException("DB error")).when(revokedTokenJpaRepository)
+                .dropPartition(LocalDate.of(2025, 1, 9));
+
+        assertThatThrownBy(() -> revokedTokenRepositoryAdapter.dropExpiredPartitions(now))
+                .isInstanceOf(FailedToCleanRevokedTokensException.class);
+    }
+
+    @Test
+    void deleteExpiredTokens_shouldDeleteOneBatch() {
         LocalDateTime now = LocalDateTime.now();
+        when(revokedTokenJpaRepository.deleteExpiredFromDefaultPartition(now, 100)).thenReturn(42);
 
-        revokedTokenRepositoryAdapter.deleteExpiredTokens(now);
+        int deleted = revokedTokenRepositoryAdapter.deleteExpiredTokens(now, 100);
 
-        verify(revokedTokenJpaRepository, times(1))
-                .deleteByExpiresAtBefore(now);
-        verify(revokedTokenJpaRepository).deleteByExpiresAtBefore(now);
+        assertThat(deleted).isEqualTo(42);
     }
 
     @Test
     void deleteExpiredTokens_shouldThrowFailedToCleanRevokedTokensException_whenExceptionOccurs() {
         LocalDateTime now = LocalDateTime.now();
-        doThrow(new RuntimeException("DB error")).when(revokedTokenJpaRepository)
-                .deleteByExpiresAtBefore(now);
+        when(revokedTokenJpaRepository.deleteExpiredFromDefaultPartition(now, 100))
+                .thenThrow(new RuntimeException("DB error"));
 
-        assertThatThrownBy(() -> revokedTokenRepositoryAdapter.deleteExpiredTokens(now))
+        assertThatThrownBy(() -> revokedTokenRepositoryAdapter.deleteExpiredTokens(now, 100))
                 .isInstanceOf(FailedToCleanRevokedTokensException.class);
-        verify(revokedTokenJpaRepository, times(1))
-                .deleteByExpiresAtBefore(now);
-        verify(revokedTokenJpaRepository).deleteByExpiresAtBefore(now);
+    }
+
+    @Test
+    void createPartitions_shouldCreateOnlyMissingDays() {
+        LocalDate from = LocalDate.of(2025, 1, 10);
+        when(revokedTokenJpaRepository.findPartitionDays()).thenReturn(List.of(from, from.plusDays(1)));
+
+        revokedTokenRepositoryAdapter.createPartitions(from, from.plusDays(3));
+
+        verify(revokedTokenJpaRepository, never()).createPartition(from);
+        verify(revokedTokenJpaRepository, never()).createPartition(from.plusDays(1));
+        verify(revokedTokenJpaRepository).createPartition(from.plusDays(2));
+        verify(revokedTokenJpaRepository).createPartition(from.plusDays(3));
+    }
+
+    @Test
+    void createPartitions_shouldCreateRemainingDays_andThenThrow_whenOneDayFails() {
+        LocalDate from = LocalDate.of(2025, 1, 10);
+        when(revokedTokenJpaRepository.findPartitionDays()).thenReturn(List.of());
+        doThrow(new RuntimeException("default partition contains rows")).when(revokedTokenJpaRepository)
+                .createPartition(from);
+
+        assertThatThrownBy(() -> revokedTokenRepositoryAdapter.createPartitions(from, from.plusDays(1)))
+                .isInstanceOf(FailedToCreateRevokedTokenPartitionsException.class);
+        verify(revokedTokenJpaRepository).createPartition(from.plusDays(1));
+    }
+
+    private double filterLookups(String result) {
+        return meterRegistry.counter("revoked_token_filter.lookups", "result", result).count();
     }
 }
@@ -0,0 +1,86 @@
+package com.example.blogs.app.api.auth.repository.adapter;
+
+import com.example.blogs.app.api.auth.entity.TokenFamilyEntity;
+import com.example.blogs.app.api.auth.exception.FailedToCleanTokenFamiliesException;
+import com.example.blogs.app.api.auth.exception.FailedToCreateTokenFamilyException;
+import com.example.blogs.app.api.auth.exception.FailedToUpdateTokenFamilyException;
+import com.example.blogs.app.api.auth.repository.TokenFamilyRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenFamilyRepositoryAdapterImplTest {
+
+    private static final UUID FAMILY_ID = UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e");
+
+    @Mock
+    private TokenFamilyRepository tokenFamilyRepository;
+
+    @InjectMocks
+    private TokenFamilyRepositoryAdapterImpl tokenFamilyRepositoryAdapter;
+
+    @Test
+    void createFamily_shouldReturnIdOfSavedFamily() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(30);
+        when(tokenFamilyRepository.save(any(TokenFamilyEntity.class))).thenAnswer(invocation -> {
+            TokenFamilyEntity entity = invocation.getArgument(0);
+            assertThat(entity.getUserId()).isEqualTo(1L);
+            assertThat(entity.getExpiresAt()).isEqualTo(expiresAt);
+            assertThat(entity.getGeneration()).isZero();
+            return TokenFamilyEntity.builder().id(FAMILY_ID).build();
+        });
+
+        assertThat(tokenFamilyRepositoryAdapter.createFamily(1L, expiresAt)).isEqualTo(FAMILY_ID);
+    }
+
+    @Test
+    void createFamily_shouldThrowFailedToCreateTokenFamilyException_whenSaveFails() {
+        when(tokenFamilyRepository.save(any(TokenFamilyEntity.class))).thenThrow(new RuntimeException("DB error"));
+
+        assertThatThrownBy(() -> tokenFamilyRepositoryAdapter.createFamily(1L, LocalDateTime.now()))
+                .isInstanceOf(FailedToCreateTokenFamilyException.class);
+    }
+
+    @Test
+    void rotate_shouldReportWhetherFamilyWasRotated() {
+        when(tokenFamilyRepository.rotate(FAMILY_ID, 2)).thenReturn(1);
+        when(tokenFamilyRepository.rotate(FAMILY_ID, 1)).thenReturn(0);
+
+        assertThat(tokenFamilyRepositoryAdapter.rotate(FAMILY_ID, 2)).isTrue();
+        assertThat(tokenFamilyRepositoryAdapter.rotate(FAMILY_ID, 1)).isFalse();
+    }
+
+    @Test
+    void revoke_shouldReportWhetherFamilyWasActive() {
+        when(tokenFamilyRepository.revoke(FAMILY_ID)).thenReturn(1, 0);
+
+        assertThat(tokenFamilyRepositoryAdapter.revoke(FAMILY_ID)).isTrue();
+        assertThat(tokenFamilyRepositoryAdapter.revoke(FAMILY_ID)).isFalse();
+    }
+
+    @Test
+    void rotate_shouldThrowFailedToUpdateTokenFamilyException_whenUpdateFails() {
+        when(tokenFamilyRepository.rotate(FAMILY_ID, 0)).thenThrow(new RuntimeException("DB error"));
+
+        assertThatThrownBy(() -> tokenFamilyRepositoryAdapter.rotate(FAMILY_ID, 0))
+                .isInstanceOf(FailedToUpdateTokenFamilyException.class);
+    }
+
+    @Test
+    void deleteExpiredFamilies_shouldThrowFailedToCleanTokenFamiliesException_whenDeleteFails() {
+        LocalDateTime now = LocalDateTime.now();
+        when(tokenFamilyRepository.deleteExpired(now)).thenThrow(new RuntimeException("DB error"));
+
+        assertThatThrownBy(() -> tokenFamilyRepositoryAdapter.deleteExpiredFamilies(now))
+                .isInstanceOf(FailedToCleanTokenFamiliesException.class);
+    }
+}
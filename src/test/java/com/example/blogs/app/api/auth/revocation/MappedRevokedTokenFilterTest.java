@@ -0,0 +1,161 @@
+package com.example.blogs.app.api.auth.revocation;
+
+import com.example.blogs.app.api.auth.dto.RevokedTokenExpiry;
+import com.example.blogs.app.api.auth.repository.RevokedTokenRepository;
+import com.example.blogs.app.support.TokenHashes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MappedRevokedTokenFilterTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void mightContain_shouldReturnTrue_beforeFilterIsLoaded() {
+        MappedRevokedTokenFilter filter = filter();
+
+        assertThat(filter.mightContain(TokenHashes.of("token"))).isTrue();
+        assertThat(filter.definitelyContains(TokenHashes.of("token"))).isFalse();
+    }
+
+    @Test
+    void warmUp_shouldLoadAllUnexpiredTokens_whenStoreIsNew() {
+        when(revokedTokenRepository.findExpiriesByExpiresAtAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(expiry("revoked-token", 1)));
+        MappedRevokedTokenFilter filter = filter();
+
+        filter.warmUp();
+
+        assertThat(filter.definitelyContains(TokenHashes.of("revoked-token"))).isTrue();
+        assertThat(filter.mightContain(TokenHashes.of("active-token"))).isFalse();
+        verify(revokedTokenRepository, never()).findExpiriesByRevokedAtAfter(any(LocalDateTime.class));
+    }
+
+    @Test
+    void warmUp_shouldOnlyLoadNewerRevocations_whenStoreIsReopened() {
+        when(revokedTokenRepository.findExpiriesByExpiresAtAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(expiry("old-token", 1)));
+        MappedRevokedTokenFilter first = filter();
+        first.warmUp();
+        first.put(TokenHashes.of("put-token"), LocalDateTime.now().plusDays(1));
+        first.shutdown();
+
+        when(revokedTokenRepository.findExpiriesByRevokedAtAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(expiry("new-token", 1)));
+        MappedRevokedTokenFilter reopened = filter();
+        reopened.warmUp();
+
+        assertThat(reopened.definitelyContains(TokenHashes.of("old-token"))).isTrue();
+        assertThat(reopened.definitelyContains(TokenHashes.of("put-token"))).isTrue();
+        assertThat(reopened.definitelyContains(TokenHashes.of("new-token"))).isTrue();
+        assertThat(reopened.mightContain(TokenHashes.of("active-token"))).isFalse();
+        verify(revokedTokenRepository, times(1)).findExpiriesByExpiresAtAfter(any(LocalDateTime.class));
+        verify(revokedTokenRepository).findExpiriesByRevokedAtAfter(any(LocalDateTime.class));
+    }
+
+    @Test
+    void warmUp_shouldStartOver_whenStoreFileIsUnreadable() throws IOException {
+        Files.writeString(directory.resolve("revoked-tokens.bin"), "not a digest set, but long enough to hold a header");
+        when(revokedTokenRepository.findExpiriesByExpiresAtAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(expiry("revoked-token", 1)));
+        MappedRevokedTokenFilter filter = filter();
+
+        filter.warmUp();
+
+        assertThat(filter.definitelyContains(TokenHashes.of("revoked-token"))).isTrue();
+    }
+
+    @Test
+    void put_shouldGrowStore_beyondInitialCapacity() {
+        when(revokedTokenRepository.findExpiriesByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of());
+        MappedRevokedTokenFilter filter = filter();
+        filter.warmUp();
+
+        IntStream.range(0, 100).forEach(i ->
+                filter.put(TokenHashes.of("token-" + i), LocalDateTime.now().plusDays(1)));
+
+        assertThat(IntStream.range(0, 100).allMatch(i -> filter.definitelyContains(TokenHashes.of("token-" + i))))
+                .isTrue();
+    }
+
+    @Test
+    void rebuild_shouldDropExpiredTokensWithoutQueryingDatabase() {
+        when(revokedTokenRepository.findExpiriesByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of());
+        MappedRevokedTokenFilter filter = filter();
+        filter.warmUp();
+        filter.put(TokenHashes.of("expiring-token"), LocalDateTime.now().plusHours(1));
+        filter.put(TokenHashes.of("valid-token"), LocalDateTime.now().plusDays(1));
+
+        filter.rebuild(LocalDateTime.now().plusHours(2));
+
+        assertThat(filter.definitelyContains(TokenHashes.of("expiring-token"))).isFalse();
+        assertThat(filter.definitelyContains(TokenHashes.of("valid-token"))).isTrue();
+        verify(revokedTokenRepository, times(1)).findExpiriesByExpiresAtAfter(any(LocalDateTime.class));
+    }
+
+    @Test
+    void rebuild_shouldKeepFile_whenFewEntriesHaveExpired() throws IOException {
+        when(revokedTokenRepository.findExpiriesByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of());
+        MappedRevokedTokenFilter filter = filter();
+        filter.warmUp();
+        filter.put(TokenHashes.of("expiring-token"), LocalDateTime.now().plusHours(1));
+        IntStream.range(0, 4).forEach(i -> filter.put(TokenHashes.of("valid-" + i), LocalDateTime.now().plusDays(1)));
+        Object fileKey = fileKey();
+
+        filter.rebuild(LocalDateTime.now().plusHours(2));
+
+        assertThat(fileKey()).isEqualTo(fileKey);
+        assertThat(filter.definitelyContains(TokenHashes.of("valid-0"))).isTrue();
+    }
+
+    @Test
+    void synchronize_shouldSkip_whenFilterIsNotLoaded() {
+        filter().synchronize();
+
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    void synchronize_shouldAddTokensRevokedByOtherInstances() {
+        when(revokedTokenRepository.findExpiriesByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of());
+        when(revokedTokenRepository.findExpiriesByRevokedAtAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(expiry("remote-token", 1)));
+        MappedRevokedTokenFilter filter = filter();
+        filter.warmUp();
+
+        filter.synchronize();
+
+        assertThat(filter.definitelyContains(TokenHashes.of("remote-token"))).isTrue();
+    }
+
+    private Object fileKey() throws IOException {
+        return Files.readAttributes(directory.resolve("revoked-tokens.bin"), BasicFileAttributes.class).fileKey();
+    }
+
+    private MappedRevokedTokenFilter filter() {
+        return new MappedRevokedTokenFilter(revokedTokenRepository, directory.resolve("revoked-tokens.bin"), 8, 0.25);
+    }
+
+    private static RevokedTokenExpiry expiry(String label, int daysAhead) {
+        return new RevokedTokenExpiry(TokenHashes.of(label), LocalDateTime.now().plusDays(daysAhead));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.blogs.app.api.auth.revocation;
+
+import com.example.blogs.app.api.auth.entity.RevokedTokenEntity;
+import com.example.blogs.app.support.SharedPostgresContainer;
+import com.example.blogs.app.support.TokenHashes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevocationListenerImplTest {
+
+    private static final String CHANNEL = "token_revocations";
+
+    @Mock
+    private RevokedTokenFilter revokedTokenFilter;
+
+    @Mock
+    private TokenEpochCache tokenEpochCache;
+
+    private MeterRegistry meterRegistry;
+
+    private RevocationListener revocationListener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        revocationListener = listener("jdbc:postgresql://localhost/unused", "user", "password");
+    }
+
+    @Test
+    void handle_shouldPutEveryTokenHashIntoFilter() {
+        revocationListener.handle("t:" + TokenHashes.of("token-1").toHex() + "@1893456000,"
+                + TokenHashes.of("token-2").toHex() + "@1893456060");
+
+        verify(revokedTokenFilter).put(TokenHashes.of("token-1"), LocalDateTime.of(2030, 1, 1, 0, 0));
+        verify(revokedTokenFilter).put(TokenHashes.of("token-2"), LocalDateTime.of(2030, 1, 1, 0, 1));
+        verifyNoInteractions(tokenEpochCache);
+        assertThat(meterRegistry.get("revocation_events.received").tag("type", "tokens").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void handle_shouldInvalidateEpoch_onLogoutAll() {
+        revocationListener.handle("u:42");
+
+        verify(tokenEpochCache).invalidate(42L);
+        verifyNoInteractions(revokedTokenFilter);
+    }
+
+    @Test
+    void handle_shouldIgnoreMalformedPayloads() {
+        assertThatCode(() -> {
+            revocationListener.handle("t:not-hex@1893456000");
+            revocationListener.handle("t:" + TokenHashes.of("token").toHex());
+            revocationListener.handle("u:not-a-number");
+            revocationListener.handle("x:unknown");
+        }).doesNotThrowAnyException();
+
+        verifyNoInteractions(revokedTokenFilter, tokenEpochCache);
+    }
+
+    @Test
+    void listen_shouldApplyNotificationsPublishedByAnotherInstance_andCatchUpAfterSubscribing() {
+        var postgres = SharedPostgresContainer.getInstance();
+        RevocationListenerImpl listener = listener(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        RevocationPublisher publisher = new RevocationPublisherImpl(
+                new JdbcTemplate(new DriverManagerDataSource(
+                        postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()
+                )),
+                true,
+                CHANNEL,
+                meterRegistry
+        );
+
+        listener.start();
+        try {
+            verify(revokedTokenFilter, timeout(5000)).synchronize();
+            verify(tokenEpochCache, timeout(5000)).invalidateAll();
+            assertThat(listener.isListening()).isTrue();
+
+            LocalDateTime expiresAt = LocalDateTime.of(2030, 1, 1, 0, 0);
+            publisher.publishRevokedTokens(List.of(RevokedTokenEntity.builder()
+                    .token(TokenHashes.of("token"))
+                    .expiresAt(expiresAt)
+                    .build()));
+            publisher.publishLogoutAll(7L);
+
+            verify(revokedTokenFilter, timeout(5000)).put(TokenHashes.of("token"), expiresAt);
+            verify(tokenEpochCache, timeout(5000)).invalidate(7L);
+        } finally {
+            listener.stop();
+        }
+        assertThat(listener.isListening()).isFalse();
+    }
+
+    private RevocationListenerImpl listener(String url, String username, String password) {
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl(url);
+        dataSourceProperties.setUsername(username);
+        dataSourceProperties.setPassword(password);
+        return new RevocationListenerImpl(
+                revokedTokenFilter,
+                tokenEpochCache,
+                true,
+                CHANNEL,
+                dataSourceProperties,
+                Duration.ofMillis(200),
+                Duration.ofMillis(100),
+                meterRegistry
+        );
+    }
+}
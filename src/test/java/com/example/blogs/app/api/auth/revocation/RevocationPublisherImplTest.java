@@ -0,0 +1,116 @@
+package com.example.blogs.app.api.auth.revocation;
+
+import com.example.blogs.app.api.auth.entity.RevokedTokenEntity;
+import com.example.blogs.app.security.TokenHash;
+import com.example.blogs.app.support.TokenHashes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevocationPublisherImplTest {
+
+    private static final String CHANNEL = "token_revocations";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private MeterRegistry meterRegistry;
+
+    private RevocationPublisher revocationPublisher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        revocationPublisher = new RevocationPublisherImpl(jdbcTemplate, true, CHANNEL, meterRegistry);
+    }
+
+    private static final LocalDateTime EXPIRES_AT = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void publishRevokedTokens_shouldSendHexHashesWithExpirationsInOneNotification() {
+        TokenHash first = TokenHashes.of("token-1");
+        TokenHash second = TokenHashes.of("token-2");
+
+        revocationPublisher.publishRevokedTokens(List.of(revokedToken(first), revokedToken(second)));
+
+        verify(jdbcTemplate).query(
+                eq("SELECT pg_notify(?, ?)"),
+                any(RowCallbackHandler.class),
+                eq(CHANNEL),
+                eq("t:" + first.toHex() + "@1893456000," + second.toHex() + "@1893456000")
+        );
+        assertThat(meterRegistry.get("revocation_events.published").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void publishRevokedTokens_shouldSplitPayloadsBelowNotificationSizeLimit() {
+        List<TokenHash> tokens = IntStream.range(0, 250).mapToObj(i -> TokenHashes.of("token-" + i)).toList();
+
+        revocationPublisher.publishRevokedTokens(tokens.stream().map(RevocationPublisherImplTest::revokedToken).toList());
+
+        ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(3)).query(anyString(), any(RowCallbackHandler.class), eq(CHANNEL), payloads.capture());
+        assertThat(payloads.getAllValues())
+                .allSatisfy(payload -> assertThat(payload).startsWith("t:").hasSizeLessThan(8000));
+        assertThat(payloads.getAllValues().stream()
+                .flatMap(payload -> Arrays.stream(payload.substring(2).split(",")))
+                .map(entry -> TokenHash.fromHex(entry.substring(0, entry.indexOf('@'))))
+                .toList()).isEqualTo(tokens);
+    }
+
+    @Test
+    void publishLogoutAll_shouldSendUserId() {
+        revocationPublisher.publishLogoutAll(42L);
+
+        verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(CHANNEL), eq("u:42"));
+    }
+
+    @Test
+    void publish_shouldCountFailureWithoutThrowing() {
+        doThrow(new DataAccessResourceFailureException("DB error"))
+                .when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any());
+
+        assertThatCode(() -> revocationPublisher.publishLogoutAll(42L)).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("revocation_events.publish_failures").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void publish_shouldDoNothing_whenDisabled() {
+        RevocationPublisher disabled = new RevocationPublisherImpl(jdbcTemplate, false, CHANNEL, meterRegistry);
+
+        disabled.publishRevokedTokens(List.of(revokedToken(TokenHashes.of("token"))));
+        disabled.publishLogoutAll(42L);
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void constructor_shouldRejectChannelNameThatIsNotAPlainIdentifier() {
+        assertThatThrownBy(() -> new RevocationPublisherImpl(jdbcTemplate, true, "revocations; DROP TABLE users", meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RevokedTokenEntity revokedToken(TokenHash token) {
+        return RevokedTokenEntity.builder()
+                .token(token)
+                .expiresAt(EXPIRES_AT)
+                .build();
+    }
+}
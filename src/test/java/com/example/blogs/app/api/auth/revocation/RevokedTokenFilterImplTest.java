@@ -0,0 +1,89 @@
+package com.example.blogs.app.api.auth.revocation;
+
+import com.example.blogs.app.api.auth.repository.RevokedTokenRepository;
+import com.example.blogs.app.support.TokenHashes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevokedTokenFilterImplTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private RevokedTokenFilterImpl revokedTokenFilter;
+
+    @BeforeEach
+    void setUp() {
+        revokedTokenFilter = new RevokedTokenFilterImpl(revokedTokenRepository, 1_000, 0.001);
+    }
+
+    @Test
+    void mightContain_shouldReturnTrue_beforeFilterIsLoaded() {
+        assertThat(revokedTokenFilter.mightContain(TokenHashes.of("token"))).isTrue();
+    }
+
+    @Test
+    void warmUp_shouldLoadUnexpiredTokens() {
+        when(revokedTokenRepository.findTokensByExpiresAtAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(TokenHashes.of("revoked-token")));
+
+        revokedTokenFilter.warmUp();
+
+        assertThat(revokedTokenFilter.mightContain(TokenHashes.of("revoked-token"))).isTrue();
+        assertThat(revokedTokenFilter.mightContain(TokenHashes.of("active-token"))).isFalse();
+    }
+
+    @Test
+    void put_shouldMakeTokenVisibleAfterLoad() {
+        when(revokedTokenRepository.findTokensByExpiresAtAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of());
+        revokedTokenFilter.warmUp();
+
+        revokedTokenFilter.put(TokenHashes.of("new-token"), LocalDateTime.now().plusDays(1));
+
+        assertThat(revokedTokenFilter.mightContain(TokenHashes.of("new-token"))).isTrue();
+        assertThat(revokedTokenFilter.definitelyContains(TokenHashes.of("new-token"))).isFalse();
+    }
+
+    @Test
+    void rebuild_shouldDropTokensThatAreNoLongerReturned() {
+        when(revokedTokenRepository.findTokensByExpiresAtAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(TokenHashes.of("expiring-token")))
+                .thenReturn(List.of());
+        revokedTokenFilter.warmUp();
+
+        revokedTokenFilter.rebuild(LocalDateTime.now());
+
+        assertThat(revokedTokenFilter.mightContain(TokenHashes.of("expiring-token"))).isFalse();
+    }
+
+    @Test
+    void synchronize_shouldSkip_whenFilterIsNotLoaded() {
+        revokedTokenFilter.synchronize();
+
+        verify(revokedTokenRepository, never()).findTokensByRevokedAtAfter(any(LocalDateTime.class));
+    }
+
+    @Test
+    void synchronize_shouldAddTokensRevokedByOtherInstances() {
+        when(revokedTokenRepository.findTokensByExpiresAtAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of());
+        when(revokedTokenRepository.findTokensByRevokedAtAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(TokenHashes.of("remote-token")));
+        revokedTokenFilter.warmUp();
+
+        revokedTokenFilter.synchronize();
+
+        assertThat(revokedTokenFilter.mightContain(TokenHashes.of("remote-token"))).isTrue();
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.blogs.app.api.auth.revocation;
+
+import com.example.blogs.app.api.auth.entity.RevokedTokenEntity;
+import com.example.blogs.app.api.auth.repository.RevokedTokenRepository;
+import com.example.blogs.app.security.TokenHash;
+import com.example.blogs.app.support.TokenHashes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevokedTokenWriteBehindImplTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private RevokedTokenFilter revokedTokenFilter;
+
+    @Mock
+    private RevocationPublisher revocationPublisher;
+
+    private MeterRegistry meterRegistry;
+
+    private RevokedTokenWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        writeBehind = new RevokedTokenWriteBehindImpl(
+                revokedTokenRepository,
+                revokedTokenFilter,
+                revocationPublisher,
+                true,
+                2,
+                3,
+                meterRegistry
+        );
+    }
+
+    @Test
+    void enqueue_shouldMakeTokenVisibleBeforeFlush() {
+        boolean enqueued = writeBehind.enqueue(revokedToken("token"));
+
+        assertThat(enqueued).isTrue();
+        assertThat(writeBehind.isPending(TokenHashes.of("token"))).isTrue();
+        assertThat(writeBehind.isPending(TokenHashes.of("other"))).isFalse();
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    void enqueue_shouldReturnFalse_whenTokenIsAlreadyPending() {
+        writeBehind.enqueue(revokedToken("token"));
+
+        assertThat(writeBehind.enqueue(revokedToken("token"))).isFalse();
+        assertThat(meterRegistry.get("revoked_token_write_behind.pending").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void flush_shouldWriteBatchesOfConfiguredSize_andRecordMetrics() {
+        List<List<TokenHash>> batches = capturedBatches();
+        writeBehind.enqueue(revokedToken("token-1"));
+        writeBehind.enqueue(revokedToken("token-2"));
+        writeBehind.enqueue(revokedToken("token-3"));
+
+        writeBehind.flush();
+
+        assertThat(batches).containsExactly(List.of(TokenHashes.of("token-1"), TokenHashes.of("token-2")), List.of(TokenHashes.of("token-3")));
+        assertThat(writeBehind.isPending(TokenHashes.of("token-1"))).isFalse();
+        assertThat(writeBehind.isPending(TokenHashes.of("token-3"))).isFalse();
+        assertThat(meterRegistry.get("revoked_token_write_behind.batch_size").summary().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("revoked_token_write_behind.batch_size").summary().totalAmount()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("revoked_token_write_behind.flush_duration").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("revoked_token_write_behind.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void flush_shouldAddPersistedTokensToFilter() {
+        when(revokedTokenRepository.insertAllIgnoringDuplicates(anyList())).thenReturn(1);
+        RevokedTokenEntity revokedToken = revokedToken("token");
+        writeBehind.enqueue(revokedToken);
+
+        writeBehind.flush();
+
+        verify(revokedTokenFilter).put(TokenHashes.of("token"), revokedToken.getExpiresAt());
+    }
+
+    @Test
+    void flush_shouldPublishEachPersistedBatch() {
+        capturedBatches();
+        RevokedTokenEntity first = revokedToken("token-1");
+        RevokedTokenEntity second = revokedToken("token-2");
+        RevokedTokenEntity third = revokedToken("token-3");
+        writeBehind.enqueue(first);
+        writeBehind.enqueue(second);
+        writeBehind.enqueue(third);
+
+        writeBehind.flush();
+
+        var inOrder = inOrder(revokedTokenFilter, revocationPublisher);
+        inOrder.verify(revokedTokenFilter).put(first.getToken(), first.getExpiresAt());
+        inOrder.verify(revokedTokenFilter).put(second.getToken(), second.getExpiresAt());
+        inOrder.verify(revocationPublisher).publishRevokedTokens(List.of(first, second));
+        inOrder.verify(revokedTokenFilter).put(third.getToken(), third.getExpiresAt());
+        inOrder.verify(revocationPublisher).publishRevokedTokens(List.of(third));
+    }
+
+    @Test
+    void flush_shouldCountRowsSkippedAsDuplicates() {
+        when(revokedTokenRepository.insertAllIgnoringDuplicates(anyList())).thenReturn(1);
+        writeBehind.enqueue(revokedToken("token-1"));
+        writeBehind.enqueue(revokedToken("token-2"));
+
+        writeBehind.flush();
+
+        assertThat(meterRegistry.counter("revoked_token_write_behind.duplicates").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void flush_shouldKeepEntriesBufferedAndInOrder_whenInsertFails() {
+        when(revokedTokenRepository.insertAllIgnoringDuplicates(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("DB down"))
+                .thenReturn(2);
+        writeBehind.enqueue(revokedToken("token-1"));
+        writeBehind.enqueue(revokedToken("token-2"));
+
+        assertThatThrownBy(() -> writeBehind.flush())
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(writeBehind.isPending(TokenHashes.of("token-1"))).isTrue();
+        assertThat(meterRegistry.counter("revoked_token_write_behind.flush_failures").count()).isEqualTo(1.0);
+        verifyNoInteractions(revokedTokenFilter);
+
+        writeBehind.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RevokedTokenEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(revokedTokenRepository, times(2)).insertAllIgnoringDuplicates(captor.capture());
+        assertThat(captor.getValue()).extracting(RevokedTokenEntity::getToken)
+                .containsExactly(TokenHashes.of("token-1"), TokenHashes.of("token-2"));
+        assertThat(writeBehind.isPending(TokenHashes.of("token-1"))).isFalse();
+    }
+
+    @Test
+    void enqueue_shouldFlushSynchronously_whenMaxPendingIsReached() {
+        when(revokedTokenRepository.insertAllIgnoringDuplicates(anyList())).thenAnswer(i -> ((List<?>) i.getArgument(0)).size());
+        writeBehind.enqueue(revokedToken("token-1"));
+        writeBehind.enqueue(revokedToken("token-2"));
+        writeBehind.enqueue(revokedToken("token-3"));
+        verifyNoInteractions(revokedTokenRepository);
+
+        writeBehind.enqueue(revokedToken("token-4"));
+
+        verify(revokedTokenRepository, times(2)).insertAllIgnoringDuplicates(anyList());
+        assertThat(writeBehind.isPending(TokenHashes.of("token-3"))).isFalse();
+        assertThat(writeBehind.isPending(TokenHashes.of("token-4"))).isTrue();
+    }
+
+    @Test
+    void enqueue_shouldRejectRevocation_whenSynchronousFlushFails() {
+        when(revokedTokenRepository.insertAllIgnoringDuplicates(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("DB down"));
+        writeBehind.enqueue(revokedToken("token-1"));
+        writeBehind.enqueue(revokedToken("token-2"));
+        writeBehind.enqueue(revokedToken("token-3"));
+
+        assertThatThrownBy(() -> writeBehind.enqueue(revokedToken("token-4")))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(writeBehind.isPending(TokenHashes.of("token-4"))).isFalse();
+        assertThat(writeBehind.isPending(TokenHashes.of("token-1"))).isTrue();
+    }
+
+    @Test
+    void enqueue_shouldNeverExceedMaxPending_underConcurrentCallers() throws Exception {
+        Set<TokenHash> persisted = ConcurrentHashMap.newKeySet();
+        AtomicInteger maxObservedPending = new AtomicInteger();
+        when(revokedTokenRepository.insertAllIgnoringDuplicates(anyList())).thenAnswer(invocation -> {
+            List<RevokedTokenEntity> batch = invocation.getArgument(0);
+            batch.forEach(revokedToken -> persisted.add(revokedToken.getToken()));
+            Thread.sleep(1);
+            return batch.size();
+        });
+        int threads = 8;
+        int tokensPerThread = 100;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < tokensPerThread; i++) {
+                        writeBehind.enqueue(revokedToken("token-" + thread + "-" + i));
+                        int pending = (int) meterRegistry.get("revoked_token_write_behind.pending").gauge().value();
+                        maxObservedPending.accumulateAndGet(pending, Math::max);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        writeBehind.flush();
+
+        assertThat(maxObservedPending.get()).isLessThanOrEqualTo(3);
+        assertThat(persisted).hasSize(threads * tokensPerThread);
+        assertThat(meterRegistry.get("revoked_token_write_behind.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void constructor_shouldRejectBatchSizeAboveStatementParameterLimit() {
+        assertThatThrownBy(() -> new RevokedTokenWriteBehindImpl(
+                revokedTokenRepository, revokedTokenFilter, revocationPublisher, true, 30000, 100, meterRegistry
+        )).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<List<TokenHash>> capturedBatches() {
+        List<List<TokenHash>> batches = new ArrayList<>();
+        when(revokedTokenRepository.insertAllIgnoringDuplicates(anyList())).thenAnswer(invocation -> {
+            List<RevokedTokenEntity> batch = invocation.getArgument(0);
+            batches.add(batch.stream().map(RevokedTokenEntity::getToken).toList());
+            return batch.size();
+        });
+        return batches;
+    }
+
+    private static RevokedTokenEntity revokedToken(String label) {
+        LocalDateTime now = LocalDateTime.now();
+        return RevokedTokenEntity.builder()
+                .token(TokenHashes.of(label))
+                .revokedAt(now)
+                .expiresAt(now.plusDays(1))
+                .build();
+    }
+}
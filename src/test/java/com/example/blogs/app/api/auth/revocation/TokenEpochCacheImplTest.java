@@ -0,0 +1,73 @@
+package com.example.blogs.app.api.auth.revocation;
+
+import com.example.blogs.app.api.user.exception.UserNotFoundException;
+import com.example.blogs.app.api.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenEpochCacheImplTest {
+
+    @Mock
+    private UserService userService;
+
+    private TokenEpochCache tokenEpochCache;
+
+    @BeforeEach
+    void setUp() {
+        tokenEpochCache = new TokenEpochCacheImpl(userService, Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    void currentEpoch_shouldLoadEpochOnce_andServeSubsequentLookupsFromCache() {
+        when(userService.findTokenEpoch(1L)).thenReturn(2);
+
+        assertThat(tokenEpochCache.currentEpoch(1L)).isEqualTo(2);
+        assertThat(tokenEpochCache.currentEpoch(1L)).isEqualTo(2);
+
+        verify(userService, times(1)).findTokenEpoch(1L);
+    }
+
+    @Test
+    void invalidate_shouldReloadEpochOnNextLookup() {
+        when(userService.findTokenEpoch(1L)).thenReturn(2, 3);
+
+        tokenEpochCache.currentEpoch(1L);
+        tokenEpochCache.invalidate(1L);
+
+        assertThat(tokenEpochCache.currentEpoch(1L)).isEqualTo(3);
+        verify(userService, times(2)).findTokenEpoch(1L);
+    }
+
+    @Test
+    void invalidateAll_shouldReloadEveryEpochOnNextLookup() {
+        when(userService.findTokenEpoch(1L)).thenReturn(2, 3);
+        when(userService.findTokenEpoch(2L)).thenReturn(5, 6);
+
+        tokenEpochCache.currentEpoch(1L);
+        tokenEpochCache.currentEpoch(2L);
+        tokenEpochCache.invalidateAll();
+
+        assertThat(tokenEpochCache.currentEpoch(1L)).isEqualTo(3);
+        assertThat(tokenEpochCache.currentEpoch(2L)).isEqualTo(6);
+    }
+
+    @Test
+    void currentEpoch_shouldPropagateUserNotFoundException_withoutCachingIt() {
+        when(userService.findTokenEpoch(1L))
+                .thenThrow(new UserNotFoundException())
+                .thenReturn(0);
+
+        assertThatThrownBy(() -> tokenEpochCache.currentEpoch(1L))
+                .isInstanceOf(UserNotFoundException.class);
+        assertThat(tokenEpochCache.currentEpoch(1L)).isZero();
+    }
+}
@@ -1,15 +1,22 @@
 package com.example.blogs.app.api.auth.service;
 
 import com.example.blogs.app.api.auth.dto.*;
-import com.example.blogs.app.api.auth.entity.RevokedTokenEntity;
-import com.example.blogs.app.api.auth.exception.FailedToParseClaimsException;
 import com.example.blogs.app.api.auth.exception.InvalidCredentialsException;
+import com.example.blogs.app.api.auth.exception.TokenAlreadyRevokedException;
 import com.example.blogs.app.api.auth.exception.UnauthorizedException;
 import com.example.blogs.app.api.auth.repository.adapter.RevokedTokenRepositoryAdapter;
+import com.example.blogs.app.api.auth.repository.adapter.TokenFamilyRepositoryAdapter;
+import com.example.blogs.app.api.auth.revocation.RevocationPublisher;
+import com.example.blogs.app.api.auth.revocation.TokenEpochCache;
 import com.example.blogs.app.api.user.dto.CreateUserCommand;
 import com.example.blogs.app.api.user.entity.UserEntity;
+import com.example.blogs.app.api.user.exception.EmailTakenException;
+import com.example.blogs.app.api.user.exception.UserNotFoundException;
+import com.example.blogs.app.api.user.exception.UsernameTakenException;
 import com.example.blogs.app.api.user.service.UserService;
 import com.example.blogs.app.security.Hasher;
+import com.example.blogs.app.security.TokenHash;
+import com.example.blogs.app.support.TokenHashes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,10 +25,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,6 +38,10 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class AuthServiceImplTest {
 
+    private static final UUID FAMILY_ID = UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e");
+
+    private static final Instant EXPIRES_AT = Instant.parse("2030-01-01T00:00:00Z");
+
     @Mock
     private UserService userService;
 
@@ -47,6 +60,18 @@ class AuthServiceImplTest {
     @Mock
     private Hasher hasher;
 
+    @Mock
+    private RefreshTokenVerifier refreshTokenVerifier;
+
+    @Mock
+    private TokenEpochCache tokenEpochCache;
+
+    @Mock
+    private TokenFamilyRepositoryAdapter tokenFamilyRepositoryAdapter;
+
+    @Mock
+    private RevocationPublisher revocationPublisher;
+
     private AuthService authService;
 
     @BeforeEach
@@ -57,7 +82,11 @@ class AuthServiceImplTest {
                 tokenPairGenerator,
                 jwtService,
                 revokedTokenRepositoryAdapter,
-                hasher
+                hasher,
+                refreshTokenVerifier,
+                tokenEpochCache,
+                tokenFamilyRepositoryAdapter,
+                revocationPublisher
         );
     }
 
@@ -109,6 +138,42 @@ class AuthServiceImplTest {
         assertThat(tokenPair.refreshToken()).isEqualTo("refresh");
     }
 
+    @Test
+    void register_shouldRejectTakenUsername_beforeHashingPassword() {
+        RegisterRequest request = new RegisterRequest("taken", "password123", "email@gmail.com");
+        when(userService.isUsernameTaken("taken")).thenReturn(true);
+
+        assertThatThrownBy(() -> authService.register(request))
+                .isInstanceOf(UsernameTakenException.class);
+
+        verifyNoInteractions(passwordEncoder);
+        verify(userService, never()).createUser(any());
+    }
+
+    @Test
+    void register_shouldRejectTakenEmail_beforeHashingPassword() {
+        RegisterRequest request = new RegisterRequest("testuser", "password123", "taken@gmail.com");
+        when(userService.isEmailTaken("taken@gmail.com")).thenReturn(true);
+
+        assertThatThrownBy(() -> authService.register(request))
+                .isInstanceOf(EmailTakenException.class);
+
+        verifyNoInteractions(passwordEncoder);
+        verify(userService, never()).createUser(any());
+    }
+
+    @Test
+    void checkAvailability_shouldReportOnlyQueriedNames() {
+        when(userService.isUsernameTaken("free")).thenReturn(false);
+        when(userService.isEmailTaken("taken@gmail.com")).thenReturn(true);
+
+        assertThat(authService.checkAvailability("free", "taken@gmail.com"))
+                .isEqualTo(new AvailabilityResponse(true, false));
+        assertThat(authService.checkAvailability(null, "taken@gmail.com"))
+                .isEqualTo(new AvailabilityResponse(null, false));
+        verify(userService, times(1)).isUsernameTaken(anyString());
+    }
+
     @Test
     void login_shouldReturnLoginRequestSuccessfully() {
         LoginRequest loginRequest = new LoginRequest("testuser", "password123");
@@ -126,6 +191,57 @@ class AuthServiceImplTest {
         verify(passwordEncoder).matches("password123", "hashedPassword");
     }
 
+    @Test
+    void login_shouldRehashPassword_whenStoredWorkFactorDiffers() {
+        LoginRequest loginRequest = new LoginRequest("testuser", "password123");
+        UserEntity mockUser = createUser(1L, "testuser", "email@gmail.com", "oldHash");
+
+        when(userService.findUserByUsernameOrEmail("testuser")).thenReturn(mockUser);
+        when(passwordEncoder.matches("password123", "oldHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("oldHash")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("newHash");
+        stubTokenGeneration("access", "refresh");
+
+        TokenPair tokenPair = authService.login(loginRequest);
+
+        assertThat(tokenPair.accessToken()).isEqualTo("access");
+        verify(userService).updatePasswordHash(1L, "newHash");
+        assertThat(mockUser.getPasswordHash()).isEqualTo("newHash");
+    }
+
+    @Test
+    void login_shouldSucceed_whenRehashFails() {
+        LoginRequest loginRequest = new LoginRequest("testuser", "password123");
+        UserEntity mockUser = createUser(1L, "testuser", "email@gmail.com", "oldHash");
+
+        when(userService.findUserByUsernameOrEmail("testuser")).thenReturn(mockUser);
+        when(passwordEncoder.matches("password123", "oldHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("oldHash")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("newHash");
+        doThrow(new RuntimeException("DB error")).when(userService).updatePasswordHash(1L, "newHash");
+        stubTokenGeneration("access", "refresh");
+
+        TokenPair tokenPair = authService.login(loginRequest);
+
+        assertThat(tokenPair.accessToken()).isEqualTo("access");
+        assertThat(mockUser.getPasswordHash()).isEqualTo("oldHash");
+    }
+
+    @Test
+    void login_shouldNotRehashPassword_whenWorkFactorMatches() {
+        LoginRequest loginRequest = new LoginRequest("testuser", "password123");
+        UserEntity mockUser = createUser(1L, "testuser", "email@gmail.com", "hashedPassword");
+
+        when(userService.findUserByUsernameOrEmail("testuser")).thenReturn(mockUser);
+        when(passwordEncoder.matches("password123", "hashedPassword")).thenReturn(true);
+        stubTokenGeneration("access", "refresh");
+
+        authService.login(loginRequest);
+
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userService, never()).updatePasswordHash(anyLong(), anyString());
+    }
+
     @Test
     void login_shouldThrowUnauthorizedExceptionForInvalidCredentials() {
         LoginRequest loginRequest = new LoginRequest("invalidUser", "wrongPassword");
@@ -137,7 +253,7 @@ class AuthServiceImplTest {
 
         verify(userService).findUserByUsernameOrEmail("invalidUser");
         verify(passwordEncoder, never()).matches(any(CharSequence.class), anyString());
-        verify(tokenPairGenerator, never()).generateTokens(any(UserEntity.class));
+        verify(tokenPairGenerator, never()).generateTokens(any(UserEntity.class), any(TokenFamily.class));
     }
 
     @Test
@@ -153,122 +269,180 @@ class AuthServiceImplTest {
 
         verify(userService).findUserByUsernameOrEmail("testuser");
         verify(passwordEncoder).matches("password123", "hashedPassword");
-        verify(tokenPairGenerator, never()).generateTokens(any(UserEntity.class));
+        verify(tokenPairGenerator, never()).generateTokens(any(UserEntity.class), any(TokenFamily.class));
     }
 
     @Test
-    void refreshAccessToken_shouldReturnNewAccessToken() {
-        Map<String, Object> accessTokenClaims = Map.ofEntries(
-                Map.entry("username", "testuser"),
-                Map.entry("email", "test@gmail.com"),
-                Map.entry("profilePictureUrl", "test")
-        );
+    void register_shouldStartTokenFamilyExpiringWithRefreshToken() {
+        RegisterRequest request = new RegisterRequest("testuser", "password123", "email@gmail.com");
+
+        stubPasswordEncoding("password123", "hashed");
+        stubUserCreation(createUser(1L, "testuser", "email@gmail.com", "hashed"));
+        stubTokenGeneration("access", "refresh");
 
-        Map<String, Object> fullClaims = new HashMap<>(accessTokenClaims);
-        fullClaims.put("sub", "1");
-        fullClaims.put("type", "refresh");
+        authService.register(request);
 
-        when(hasher.hash(anyString())).thenReturn("hashedRefreshToken");
-        when(revokedTokenRepositoryAdapter.isTokenRevoked(anyString())).thenReturn(false);
-        when(jwtService.parseClaims(anyString())).thenReturn(fullClaims);
-        when(jwtService.generateAccessToken(anyString(), anyMap()))
-                .thenReturn("newAccessToken");
+        verify(tokenFamilyRepositoryAdapter).createFamily(1L, LocalDateTime.ofEpochSecond(
+                EXPIRES_AT.getEpochSecond(), 0, ZoneOffset.UTC
+        ));
+        verify(tokenPairGenerator).generateTokens(any(UserEntity.class), eq(new TokenFamily(FAMILY_ID, 0, EXPIRES_AT)));
+    }
+
+    @Test
+    void refreshAccessToken_shouldRotateTokenWithinFamily() {
+        Map<String, Object> claims = familyClaims(2);
+        when(refreshTokenVerifier.verify("validRefreshToken")).thenReturn(new VerifiedRefreshToken(null, claims));
+        when(tokenFamilyRepositoryAdapter.rotate(FAMILY_ID, 2)).thenReturn(true);
+        when(tokenPairGenerator.rotateTokens(claims, new TokenFamily(FAMILY_ID, 3, EXPIRES_AT)))
+                .thenReturn(new TokenPair("newAccessToken", "newRefreshToken"));
 
         AccessTokenResponse accessTokenResponse = authService
                 .refreshAccessToken(new RefreshTokenRequest("validRefreshToken"));
 
         assertThat(accessTokenResponse.accessToken()).isEqualTo("newAccessToken");
-        verify(jwtService).generateAccessToken("1", accessTokenClaims);
+        assertThat(accessTokenResponse.refreshToken()).isEqualTo("newRefreshToken");
+        verify(tokenFamilyRepositoryAdapter, never()).revoke(any(UUID.class));
+        verifyNoInteractions(revokedTokenRepositoryAdapter);
     }
 
     @Test
-    void refreshAccessToken_shouldThrowUnauthorizedException_whenTokenIsInvalid() {
-        when(hasher.hash(anyString())).thenReturn("hashedRefreshToken");
-        when(revokedTokenRepositoryAdapter.isTokenRevoked(anyString())).thenReturn(false);
-        when(jwtService.parseClaims(anyString())).thenThrow(FailedToParseClaimsException.class);
+    void refreshAccessToken_shouldRevokeFamily_whenUsedTokenIsReplayed() {
+        when(refreshTokenVerifier.verify("usedRefreshToken"))
+                .thenReturn(new VerifiedRefreshToken(null, familyClaims(1)));
+        when(tokenFamilyRepositoryAdapter.rotate(FAMILY_ID, 1)).thenReturn(false);
+        when(tokenFamilyRepositoryAdapter.revoke(FAMILY_ID)).thenReturn(true);
 
-        RefreshTokenRequest request = new RefreshTokenRequest("invalidRefreshToken");
+        RefreshTokenRequest request = new RefreshTokenRequest("usedRefreshToken");
 
         assertThatThrownBy(() -> authService.refreshAccessToken(request))
                 .isInstanceOf(UnauthorizedException.class);
 
-        verify(jwtService).parseClaims(anyString());
-        verify(jwtService, never()).generateAccessToken(anyString(), anyMap());
+        verify(tokenFamilyRepositoryAdapter).revoke(FAMILY_ID);
+        verify(tokenPairGenerator, never()).rotateTokens(anyMap(), any(TokenFamily.class));
     }
 
     @Test
-    void refreshAccessToken_shouldThrowUnauthorizedException_whenTokenIsNotRefreshType() {
-        Map<String, Object> claims = Map.of(
-                "sub", "1",
-                "type", "access"
-        );
+    void refreshAccessToken_shouldMoveLegacyTokenIntoNewFamily() {
+        Map<String, Object> claims = new HashMap<>(Map.of("sub", "jti", "id", "1", "type", "refresh"));
+        claims.put("exp", EXPIRES_AT.getEpochSecond());
+        LocalDateTime expiresAt = LocalDateTime.ofEpochSecond(EXPIRES_AT.getEpochSecond(), 0, ZoneOffset.UTC);
+        when(refreshTokenVerifier.verify("legacyRefreshToken"))
+                .thenReturn(new VerifiedRefreshToken(TokenHashes.of("legacyRefreshToken"), claims));
+        when(tokenFamilyRepositoryAdapter.createFamily(1L, expiresAt)).thenReturn(FAMILY_ID);
+        when(tokenPairGenerator.rotateTokens(claims, new TokenFamily(FAMILY_ID, 0, EXPIRES_AT)))
+                .thenReturn(new TokenPair("newAccessToken", "newRefreshToken"));
+
+        AccessTokenResponse accessTokenResponse = authService
+                .refreshAccessToken(new RefreshTokenRequest("legacyRefreshToken"));
+
+        assertThat(accessTokenResponse.refreshToken()).isEqualTo("newRefreshToken");
+        verify(revokedTokenRepositoryAdapter).saveRevokedToken(TokenHashes.of("legacyRefreshToken"), expiresAt);
+    }
 
-        when(hasher.hash(anyString())).thenReturn("hashedRefreshToken");
-        when(revokedTokenRepositoryAdapter.isTokenRevoked(anyString())).thenReturn(false);
-        when(jwtService.parseClaims(anyString())).thenReturn(claims);
+    @Test
+    void refreshAccessToken_shouldReject_whenLegacyTokenIsRevokedConcurrently() {
+        Map<String, Object> claims = Map.of("sub", "jti", "id", "1", "type", "refresh", "exp", EXPIRES_AT.getEpochSecond());
+        when(refreshTokenVerifier.verify("legacyRefreshToken"))
+                .thenReturn(new VerifiedRefreshToken(TokenHashes.of("legacyRefreshToken"), claims));
+        when(revokedTokenRepositoryAdapter.saveRevokedToken(any(TokenHash.class), any(LocalDateTime.class)))
+                .thenThrow(new TokenAlreadyRevokedException());
 
-        RefreshTokenRequest request = new RefreshTokenRequest("invalidTypeToken");
+        RefreshTokenRequest request = new RefreshTokenRequest("legacyRefreshToken");
 
         assertThatThrownBy(() -> authService.refreshAccessToken(request))
                 .isInstanceOf(UnauthorizedException.class);
 
-        verify(jwtService).parseClaims("invalidTypeToken");
-        verify(jwtService, never()).generateAccessToken(anyString(), anyMap());
+        verifyNoInteractions(tokenFamilyRepositoryAdapter);
     }
 
     @Test
-    void refreshAccessToken_shouldThrowUnauthorizedException_whenTokenIsRevoked() {
-        when(hasher.hash(anyString())).thenReturn("hashedRefreshToken");
-        when(revokedTokenRepositoryAdapter.isTokenRevoked("hashedRefreshToken")).thenReturn(true);
+    void refreshAccessToken_shouldThrowUnauthorizedException_whenVerifierRejectsToken() {
+        when(refreshTokenVerifier.verify(anyString())).thenThrow(new UnauthorizedException());
 
         RefreshTokenRequest request = new RefreshTokenRequest("revokedToken");
 
         assertThatThrownBy(() -> authService.refreshAccessToken(request))
                 .isInstanceOf(UnauthorizedException.class);
 
-        verify(revokedTokenRepositoryAdapter).isTokenRevoked(anyString());
-        verify(jwtService, never()).parseClaims(anyString());
+        verify(refreshTokenVerifier).verify("revokedToken");
+        verifyNoInteractions(tokenFamilyRepositoryAdapter);
         verify(jwtService, never()).generateAccessToken(anyString(), anyMap());
     }
 
     @Test
-    void logout_shouldRevokeRefreshTokenSuccessfully() {
+    void logout_shouldRevokeTokenFamily() {
+        when(refreshTokenVerifier.verifySignature("validRefreshToken")).thenReturn(familyClaims(4));
+        when(tokenFamilyRepositoryAdapter.revoke(FAMILY_ID)).thenReturn(true);
+
+        authService.logout(new LogoutRequest("validRefreshToken"));
+
+        verify(tokenFamilyRepositoryAdapter).revoke(FAMILY_ID);
+        verifyNoInteractions(hasher, revokedTokenRepositoryAdapter);
+    }
+
+    @Test
+    void logout_shouldThrowTokenAlreadyRevokedException_whenFamilyIsAlreadyRevoked() {
+        when(refreshTokenVerifier.verifySignature("validRefreshToken")).thenReturn(familyClaims(4));
+        when(tokenFamilyRepositoryAdapter.revoke(FAMILY_ID)).thenReturn(false);
+
+        LogoutRequest request = new LogoutRequest("validRefreshToken");
+
+        assertThatThrownBy(() -> authService.logout(request))
+                .isInstanceOf(TokenAlreadyRevokedException.class);
+    }
+
+    @Test
+    void logout_shouldRevokeLegacyRefreshTokenSuccessfully() {
         LocalDateTime now = LocalDateTime.now().plusHours(1).withNano(0);
         Map<String, Object> claims = Map.ofEntries(
                 Map.entry("exp", now.toEpochSecond(ZoneOffset.UTC))
         );
-        RevokedTokenEntity mockedEntity = RevokedTokenEntity.builder()
-                .id(1L)
-                .token("hashedToken")
-                .expiresAt(now)
-                .build();
 
-        when(jwtService.parseClaims(anyString())).thenReturn(claims);
-        when(hasher.hash(anyString())).thenReturn("hashedToken");
-        when(revokedTokenRepositoryAdapter.saveRevokedToken(anyString(), any(LocalDateTime.class)))
-                .thenReturn(mockedEntity);
+        when(refreshTokenVerifier.verifySignature(anyString())).thenReturn(claims);
+        when(hasher.hash(anyString())).thenReturn(TokenHashes.of("hashedToken"));
 
         LogoutRequest request = new LogoutRequest("validRefreshToken");
-        RevokedTokenEntity revokedToken = authService.logout(request);
+        authService.logout(request);
 
-        assertThat(revokedToken).isNotNull();
-        verify(jwtService).parseClaims("validRefreshToken");
+        verify(refreshTokenVerifier).verifySignature("validRefreshToken");
         verify(hasher).hash("validRefreshToken");
-        verify(revokedTokenRepositoryAdapter).saveRevokedToken("hashedToken", now);
+        verify(revokedTokenRepositoryAdapter).saveRevokedToken(TokenHashes.of("hashedToken"), now);
+        verifyNoInteractions(tokenFamilyRepositoryAdapter);
     }
 
     @Test
     void logout_shouldThrowUnauthorizedException_whenTokenIsInvalid() {
-        when(jwtService.parseClaims(anyString())).thenThrow(FailedToParseClaimsException.class);
+        when(refreshTokenVerifier.verifySignature(anyString())).thenThrow(new UnauthorizedException());
 
         LogoutRequest request = new LogoutRequest("invalidRefreshToken");
 
         assertThatThrownBy(() -> authService.logout(request))
                 .isInstanceOf(UnauthorizedException.class);
 
-        verify(jwtService).parseClaims("invalidRefreshToken");
+        verify(refreshTokenVerifier).verifySignature("invalidRefreshToken");
         verify(hasher, never()).hash(anyString());
-        verify(revokedTokenRepositoryAdapter, never()).saveRevokedToken(anyString(), any(LocalDateTime.class));
+        verify(revokedTokenRepositoryAdapter, never()).saveRevokedToken(any(TokenHash.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void logoutAll_shouldIncrementEpochAndInvalidateCachedEpoch() {
+        authService.logoutAll(1L);
+
+        var inOrder = inOrder(userService, tokenEpochCache, revocationPublisher);
+        inOrder.verify(userService).incrementTokenEpoch(1L);
+        inOrder.verify(tokenEpochCache).invalidate(1L);
+        inOrder.verify(revocationPublisher).publishLogoutAll(1L);
+        verifyNoInteractions(revokedTokenRepositoryAdapter);
+    }
+
+    @Test
+    void logoutAll_shouldNotInvalidateCache_whenUserDoesNotExist() {
+        doThrow(new UserNotFoundException()).when(userService).incrementTokenEpoch(1L);
+
+        assertThatThrownBy(() -> authService.logoutAll(1L))
+                .isInstanceOf(UserNotFoundException.class);
+
+        verifyNoInteractions(tokenEpochCache, revocationPublisher);
     }
 
     private UserEntity createUser(Long id, String username, String email, String passwordHash) {
@@ -289,10 +463,23 @@ class AuthServiceImplTest {
     }
 
     private void stubTokenGeneration(String accessToken, String refreshToken) {
-        when(tokenPairGenerator.generateTokens(any(UserEntity.class)))
+        when(jwtService.refreshTokenExpiresAt(any(Instant.class))).thenReturn(EXPIRES_AT);
+        when(tokenFamilyRepositoryAdapter.createFamily(anyLong(), any(LocalDateTime.class))).thenReturn(FAMILY_ID);
+        when(tokenPairGenerator.generateTokens(any(UserEntity.class), any(TokenFamily.class)))
                 .thenReturn(new TokenPair(accessToken, refreshToken));
     }
 
+    private Map<String, Object> familyClaims(int generation) {
+        return Map.of(
+                "sub", "jti",
+                "id", "1",
+                "type", "refresh",
+                "exp", EXPIRES_AT.getEpochSecond(),
+                "fid", FAMILY_ID.toString(),
+                "gen", generation
+        );
+    }
+
     private void verifyUserCreatedWith(String username, String email, String passwordHash) {
         ArgumentCaptor<CreateUserCommand> captor = ArgumentCaptor.forClass(CreateUserCommand.class);
         verify(userService).createUser(captor.capture());
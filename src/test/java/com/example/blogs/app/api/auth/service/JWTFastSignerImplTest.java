@@ -0,0 +1,132 @@
+package com.example.blogs.app.api.auth.service;
+
+import com.example.blogs.app.security.SigningKey;
+import com.example.blogs.app.security.SigningKeyRing;
+import com.example.blogs.app.security.SigningKeyRingImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JWTFastSignerImplTest {
+
+    private static final String SECRET_KEY = "my-very-secure-secret-key-at-least-256-bits-long-for-hs256";
+
+    private static final SigningKeyRing KEY_RING = new SigningKeyRingImpl(SECRET_KEY, "");
+
+    private static final Instant ISSUED_AT = Instant.parse("2025-01-01T10:00:00.750Z");
+
+    private static final Instant EXPIRES_AT = ISSUED_AT.plusSeconds(900);
+
+    private final JWTFastSignerImpl signer = new JWTFastSignerImpl(KEY_RING, true);
+
+    @Test
+    void sign_shouldProduceSameTokenAsJwtBuilder_forTokenPairClaims() {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("id", "42");
+        claims.put("username", "john_doe");
+        claims.put("email", "john@example.com");
+        claims.put("profilePictureUrl", "");
+        claims.put("epoch", 3);
+        claims.put("type", "refresh");
+
+        assertThat(signer.sign("jti-1", claims, ISSUED_AT, EXPIRES_AT))
+                .isEqualTo(builderToken("jti-1", claims));
+    }
+
+    @Test
+    void sign_shouldProduceSameTokenAsJwtBuilder_forEscapedAndNonAsciiStrings() {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("username", "Zoë \"the\" \\ Ström");
+        claims.put("bio", "日本語 😀 /path");
+        claims.put("admin", true);
+        claims.put("balance", -1234567890123L);
+
+        assertThat(signer.sign("jti-2", claims, ISSUED_AT, EXPIRES_AT))
+                .isEqualTo(builderToken("jti-2", claims));
+    }
+
+    @Test
+    void sign_shouldProduceSameTokenAsJwtBuilder_forEveryPaddingLength() {
+        for (String username : List.of("a", "ab", "abc", "abcd")) {
+            Map<String, Object> claims = Map.of("username", username);
+
+            assertThat(signer.sign("jti", claims, ISSUED_AT, EXPIRES_AT))
+                    .isEqualTo(builderToken("jti", claims));
+        }
+    }
+
+    @Test
+    void sign_shouldProduceTokenAcceptedByJwtParser() {
+        Map<String, Object> claims = Map.of("username", "john_doe", "epoch", 0, "type", "access");
+
+        String token = signer.sign("jti-3", claims, ISSUED_AT, Instant.now().plusSeconds(60));
+
+        Claims parsed = Jwts.parser()
+                .verifyWith(KEY_RING.activeKey().secretKey())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        assertThat(parsed.getSubject()).isEqualTo("jti-3");
+        assertThat(parsed).containsEntry("username", "john_doe").containsEntry("epoch", 0).containsEntry("type", "access");
+        assertThat(parsed.getIssuedAt()).isEqualTo(Date.from(ISSUED_AT.minusMillis(750)));
+    }
+
+    @Test
+    void sign_shouldGrowBuffers_forLargeClaims() {
+        Map<String, Object> claims = Map.of("profilePictureUrl", "https://cdn.example.com/" + "x".repeat(5000));
+
+        assertThat(signer.sign("jti", claims, ISSUED_AT, EXPIRES_AT))
+                .isEqualTo(builderToken("jti", claims));
+        assertThat(signer.sign("jti", Map.of("type", "access"), ISSUED_AT, EXPIRES_AT))
+                .isEqualTo(builderToken("jti", Map.of("type", "access")));
+    }
+
+    @Test
+    void supports_shouldAcceptFlatStringNumberAndBooleanClaims() {
+        assertThat(signer.supports("jti", Map.of("id", "1", "epoch", 0, "admin", false, "big", 1L))).isTrue();
+    }
+
+    @Test
+    void supports_shouldRejectClaimsTheBuilderWouldSerializeDifferently() {
+        Map<String, Object> withNull = new HashMap<>();
+        withNull.put("username", null);
+
+        assertThat(signer.supports("jti", Map.of("roles", List.of("admin")))).isFalse();
+        assertThat(signer.supports("jti", Map.of("score", 1.5))).isFalse();
+        assertThat(signer.supports("jti", withNull)).isFalse();
+        assertThat(signer.supports("jti", Map.of("username", "line\nbreak"))).isFalse();
+        assertThat(signer.supports("jti", Map.of("username", "broken\uD800"))).isFalse();
+        assertThat(signer.supports("jti", Map.of("exp", 1L))).isFalse();
+        assertThat(signer.supports(null, Map.of())).isFalse();
+    }
+
+    @Test
+    void sign_shouldNameActiveKeyInHeader() {
+        String token = signer.sign("jti", Map.of("type", "access"), ISSUED_AT, EXPIRES_AT);
+
+        SigningKey activeKey = KEY_RING.activeKey();
+        assertThat(token).startsWith(activeKey.headerSegment() + ".");
+        assertThat(KEY_RING.findByHeaderSegment(token.substring(0, token.indexOf('.')))).isSameAs(activeKey);
+    }
+
+    private static String builderToken(String subject, Map<String, Object> claims) {
+        SigningKey key = KEY_RING.activeKey();
+        return Jwts.builder()
+                .header().keyId(key.id()).and()
+                .subject(subject)
+                .claims(claims)
+                .issuedAt(Date.from(ISSUED_AT))
+                .expiration(Date.from(EXPIRES_AT))
+                .signWith(key.secretKey())
+                .compact();
+    }
+}
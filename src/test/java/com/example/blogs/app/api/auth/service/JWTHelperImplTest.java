@@ -1,14 +1,18 @@
 package com.example.blogs.app.api.auth.service;
 
 import com.example.blogs.app.api.auth.exception.FailedToParseClaimsException;
+import com.example.blogs.app.security.SigningKeyRingImpl;
 import io.jsonwebtoken.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -27,12 +31,15 @@ class JWTHelperImplTest {
     @Mock
     private Jwt jwt;
 
+    @Mock
+    private JWTFastSigner jwtFastSigner;
+
     private JWTHelperImpl jwtHelper;
 
     @BeforeEach
     void setUp() {
         String secretKey = "my-very-secure-secret-key-at-least-256-bits-long-for-hs256";
-        jwtHelper = new JWTHelperImpl(secretKey, jwtParser);
+        jwtHelper = new JWTHelperImpl(new SigningKeyRingImpl(secretKey, ""), jwtParser, jwtFastSigner);
     }
 
     @Test
@@ -58,7 +65,7 @@ class JWTHelperImplTest {
         String token = jwtHelper.generateToken(subject, customClaims, duration);
 
         Claims claims = Jwts.parser()
-                .verifyWith(jwtHelper.getSigningKey())
+                .verifyWith(jwtHelper.getSigningKeyRing().activeKey().secretKey())
                 .build()
                 .parseSignedClaims(token)
                 .getPayload();
@@ -67,6 +74,50 @@ class JWTHelperImplTest {
         assertThat(claims).containsEntry("role", "admin");
     }
 
+    @Test
+    void generateToken_shouldNameActiveKeyInHeader() {
+        String token = jwtHelper.generateToken("user1", Map.of("role", "admin"), Duration.ofMinutes(15));
+
+        assertThat(token).startsWith(jwtHelper.getSigningKeyRing().activeKey().headerSegment() + ".");
+    }
+
+    @Test
+    void generateToken_shouldUseFastSigner_whenEnabledAndClaimsAreSupported() {
+        Map<String, Object> claims = Map.of("role", "admin");
+        when(jwtFastSigner.isEnabled()).thenReturn(true);
+        when(jwtFastSigner.supports("user1", claims)).thenReturn(true);
+        when(jwtFastSigner.sign(eq("user1"), eq(claims), any(Instant.class), any(Instant.class))).thenReturn("fast-token");
+
+        String token = jwtHelper.generateToken("user1", claims, Duration.ofMinutes(15));
+
+        assertThat(token).isEqualTo("fast-token");
+        ArgumentCaptor<Instant> issuedAt = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> expiresAt = ArgumentCaptor.forClass(Instant.class);
+        verify(jwtFastSigner).sign(eq("user1"), eq(claims), issuedAt.capture(), expiresAt.capture());
+        assertThat(Duration.between(issuedAt.getValue(), expiresAt.getValue())).isEqualTo(Duration.ofMinutes(15));
+    }
+
+    @Test
+    void generateToken_shouldUseJwtBuilder_whenFastSignerDoesNotSupportClaims() {
+        Map<String, Object> claims = Map.of("roles", List.of("admin"));
+        when(jwtFastSigner.isEnabled()).thenReturn(true);
+        when(jwtFastSigner.supports("user1", claims)).thenReturn(false);
+
+        String token = jwtHelper.generateToken("user1", claims, Duration.ofMinutes(15));
+
+        assertThat(token).isNotEmpty();
+        verify(jwtFastSigner, never()).sign(anyString(), anyMap(), any(Instant.class), any(Instant.class));
+    }
+
+    @Test
+    void generateToken_shouldUseJwtBuilder_whenFastSignerIsDisabled() {
+        String token = jwtHelper.generateToken("user1", Map.of("role", "admin"), Duration.ofMinutes(15));
+
+        assertThat(token).isNotEmpty();
+        verify(jwtFastSigner, never()).supports(anyString(), anyMap());
+        verify(jwtFastSigner, never()).sign(anyString(), anyMap(), any(Instant.class), any(Instant.class));
+    }
+
     @Test
     void parseClaims_shouldReturnClaimsSuccessfully() {
         Claims claims = Jwts.claims().build();
@@ -1,6 +1,10 @@
 package com.example.blogs.app.api.auth.service;
 
+import com.example.blogs.app.api.auth.exception.FailedToCreateRevokedTokenPartitionsException;
 import com.example.blogs.app.api.auth.repository.adapter.RevokedTokenRepositoryAdapter;
+import com.example.blogs.app.api.auth.repository.adapter.TokenFamilyRepositoryAdapter;
+import com.example.blogs.app.api.auth.revocation.RevokedTokenFilter;
+import com.example.blogs.app.scheduling.ClusterJobRunner;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,8 +16,11 @@ import org.springframework.scheduling.TriggerContext;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.scheduling.support.SimpleTriggerContext;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.AssertionsForClassTypes.*;
 import static org.mockito.Mockito.*;
@@ -24,6 +31,18 @@ class RevokedTokenCleanerImplTest {
     @Mock
     private RevokedTokenRepositoryAdapter revokedTokenRepositoryAdapter;
 
+    @Mock
+    private RevokedTokenPurger revokedTokenPurger;
+
+    @Mock
+    private RevokedTokenFilter revokedTokenFilter;
+
+    @Mock
+    private TokenFamilyRepositoryAdapter tokenFamilyRepositoryAdapter;
+
+    @Mock
+    private ClusterJobRunner clusterJobRunner;
+
     @Mock
     private ScheduledTaskRegistrar taskRegistrar;
 
@@ -32,14 +51,125 @@ class RevokedTokenCleanerImplTest {
     @BeforeEach
     void setUp() {
         String cron = "0 0 * * * *";
-        revokedTokenCleaner = new RevokedTokenCleanerImpl(revokedTokenRepositoryAdapter, cron);
+        revokedTokenCleaner = new RevokedTokenCleanerImpl(
+                revokedTokenRepositoryAdapter,
+                revokedTokenPurger,
+                revokedTokenFilter,
+                tokenFamilyRepositoryAdapter,
+                clusterJobRunner,
+                cron,
+                35,
+                Duration.ZERO,
+                Duration.ofMinutes(10)
+        );
     }
 
     @Test
     void cleanUpExpiredTokens_shouldInvokeRepositoryMethodSuccessfully() {
         revokedTokenCleaner.cleanUpExpiredTokens();
 
-        verify(revokedTokenRepositoryAdapter).deleteExpiredTokens(any(LocalDateTime.class));
+        verify(revokedTokenPurger).purge(any(LocalDateTime.class));
+    }
+
+    @Test
+    void cleanUpExpiredTokens_shouldDeleteExpiredTokenFamilies() {
+        revokedTokenCleaner.cleanUpExpiredTokens();
+
+        verify(tokenFamilyRepositoryAdapter).deleteExpiredFamilies(any(LocalDateTime.class));
+    }
+
+    @Test
+    void cleanUpExpiredTokens_shouldNotRebuildFilter() {
+        revokedTokenCleaner.cleanUpExpiredTokens();
+
+        verifyNoInteractions(revokedTokenFilter);
+    }
+
+    @Test
+    void cleanUpExpiredTokens_shouldCreateUpcomingPartitionsAfterCleanup() {
+        revokedTokenCleaner.cleanUpExpiredTokens();
+
+        LocalDate today = LocalDate.now();
+        var inOrder = inOrder(revokedTokenPurger, revokedTokenRepositoryAdapter);
+        inOrder.verify(revokedTokenPurger).purge(any(LocalDateTime.class));
+        inOrder.verify(revokedTokenRepositoryAdapter).createPartitions(today, today.plusDays(35));
+    }
+
+    @Test
+    void runScheduledCleanup_shouldRunCleanupExclusively_andThenRebuildFilter() {
+        when(clusterJobRunner.runExclusively(anyString(), any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        revokedTokenCleaner.runScheduledCleanup();
+
+        var inOrder = inOrder(clusterJobRunner, revokedTokenFilter);
+        inOrder.verify(clusterJobRunner).runExclusively(
+                eq(RevokedTokenCleanerImpl.JOB_NAME), eq(Duration.ZERO), eq(Duration.ofMinutes(10)), any(Runnable.class)
+        );
+        inOrder.verify(revokedTokenFilter).rebuild(any(LocalDateTime.class));
+    }
+
+    @Test
+    void runScheduledCleanup_shouldRebuildFilter_whenAnotherInstanceHoldsTheLock() {
+        when(clusterJobRunner.runExclusively(anyString(), any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenReturn(CompletableFuture.completedFuture(false));
+
+        revokedTokenCleaner.runScheduledCleanup();
+
+        verify(revokedTokenFilter).rebuild(any(LocalDateTime.class));
+        verifyNoInteractions(revokedTokenPurger);
+    }
+
+    @Test
+    void runScheduledCleanup_shouldRebuildFilter_whenCleanupFails() {
+        when(clusterJobRunner.runExclusively(anyString(), any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("boom")));
+
+        assertThatCode(() -> revokedTokenCleaner.runScheduledCleanup()).doesNotThrowAnyException();
+
+        verify(revokedTokenFilter).rebuild(any(LocalDateTime.class));
+    }
+
+    @Test
+    void runScheduledCleanup_shouldRebuildFilter_onlyOnceTheJitteredRunCompletes() {
+        CompletableFuture<Boolean> run = new CompletableFuture<>();
+        when(clusterJobRunner.runExclusively(anyString(), any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenReturn(run);
+
+        revokedTokenCleaner.runScheduledCleanup();
+        verifyNoInteractions(revokedTokenFilter);
+
+        run.complete(true);
+        verify(revokedTokenFilter).rebuild(any(LocalDateTime.class));
+    }
+
+    @Test
+    void runScheduledCleanup_shouldPassCleanupAsExclusiveJob() {
+        when(clusterJobRunner.runExclusively(anyString(), any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<Runnable>getArgument(3).run();
+                    return CompletableFuture.completedFuture(true);
+                });
+
+        revokedTokenCleaner.runScheduledCleanup();
+
+        verify(revokedTokenPurger).purge(any(LocalDateTime.class));
+    }
+
+    @Test
+    void preparePartitions_shouldCreateUpcomingPartitions() {
+        revokedTokenCleaner.preparePartitions();
+
+        LocalDate today = LocalDate.now();
+        verify(revokedTokenRepositoryAdapter).createPartitions(today, today.plusDays(35));
+    }
+
+    @Test
+    void preparePartitions_shouldNotFail_whenPartitionsCannotBeCreated() {
+        doThrow(new FailedToCreateRevokedTokenPartitionsException(new RuntimeException("DB error")))
+                .when(revokedTokenRepositoryAdapter).createPartitions(any(LocalDate.class), any(LocalDate.class));
+
+        assertThatCode(() -> revokedTokenCleaner.preparePartitions()).doesNotThrowAnyException();
     }
 
     @Test
@@ -0,0 +1,102 @@
+package com.example.blogs.app.api.auth.service;
+
+import com.example.blogs.app.api.auth.dto.PurgeReport;
+import com.example.blogs.app.api.auth.exception.FailedToCleanRevokedTokensException;
+import com.example.blogs.app.api.auth.repository.adapter.RevokedTokenRepositoryAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevokedTokenPurgerImplTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 10, 15, 30);
+
+    @Mock
+    private RevokedTokenRepositoryAdapter revokedTokenRepositoryAdapter;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void purge_shouldDeleteInBatchesUntilAPartialBatch() {
+        when(revokedTokenRepositoryAdapter.dropExpiredPartitions(NOW)).thenReturn(2);
+        when(revokedTokenRepositoryAdapter.deleteExpiredTokens(NOW, 10)).thenReturn(10, 10, 3);
+
+        PurgeReport report = purger(Duration.ofMinutes(1)).purge(NOW);
+
+        assertThat(report.droppedPartitions()).isEqualTo(2);
+        assertThat(report.deletedRows()).isEqualTo(23);
+        assertThat(report.batches()).isEqualTo(3);
+        assertThat(report.completed()).isTrue();
+        verify(revokedTokenRepositoryAdapter, times(3)).deleteExpiredTokens(NOW, 10);
+    }
+
+    @Test
+    void purge_shouldStopAtTimeBudget_andLeaveRemainderForNextRun() {
+        when(revokedTokenRepositoryAdapter.deleteExpiredTokens(NOW, 10)).thenReturn(10);
+
+        PurgeReport report = purger(Duration.ZERO).purge(NOW);
+
+        assertThat(report.batches()).isEqualTo(1);
+        assertThat(report.deletedRows()).isEqualTo(10);
+        assertThat(report.completed()).isFalse();
+        assertThat(meterRegistry.counter("revoked_token_purge.incomplete_runs").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void purge_shouldRecordProgressMetrics() {
+        when(revokedTokenRepositoryAdapter.dropExpiredPartitions(NOW)).thenReturn(1);
+        when(revokedTokenRepositoryAdapter.deleteExpiredTokens(NOW, 10)).thenReturn(10, 4);
+
+        purger(Duration.ofMinutes(1)).purge(NOW);
+
+        assertThat(meterRegistry.counter("revoked_token_purge.dropped_partitions").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("revoked_token_purge.deleted_rows").count()).isEqualTo(14.0);
+        assertThat(meterRegistry.counter("revoked_token_purge.batches").count()).isEqualTo(2.0);
+        assertThat(meterRegistry.counter("revoked_token_purge.incomplete_runs").count()).isZero();
+        assertThat(meterRegistry.timer("revoked_token_purge.duration").count()).isEqualTo(1);
+    }
+
+    @Test
+    void purge_shouldPropagateFailure_andKeepProgressOfCompletedBatches() {
+        when(revokedTokenRepositoryAdapter.deleteExpiredTokens(NOW, 10))
+                .thenReturn(10)
+                .thenThrow(new FailedToCleanRevokedTokensException(new RuntimeException("DB error")));
+
+        assertThatThrownBy(() -> purger(Duration.ofMinutes(1)).purge(NOW))
+                .isInstanceOf(FailedToCleanRevokedTokensException.class);
+        assertThat(meterRegistry.counter("revoked_token_purge.deleted_rows").count()).isEqualTo(10.0);
+    }
+
+    @Test
+    void constructor_shouldRejectNonPositiveBatchSize() {
+        assertThatThrownBy(() -> new RevokedTokenPurgerImpl(
+                revokedTokenRepositoryAdapter, 0, Duration.ZERO, Duration.ofMinutes(1), meterRegistry
+        )).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private RevokedTokenPurger purger(Duration timeBudget) {
+        return new RevokedTokenPurgerImpl(
+                revokedTokenRepositoryAdapter,
+                10,
+                Duration.ZERO,
+                timeBudget,
+                meterRegistry
+        );
+    }
+}
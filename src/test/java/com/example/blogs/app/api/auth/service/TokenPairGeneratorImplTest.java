@@ -1,20 +1,31 @@
 package com.example.blogs.app.api.auth.service;
 
+import com.example.blogs.app.api.auth.dto.TokenFamily;
 import com.example.blogs.app.api.auth.dto.TokenPair;
 import com.example.blogs.app.api.user.entity.UserEntity;
 import com.example.blogs.app.security.JtiGenerator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
 import static org.mockito.Mockito.*;
 import static org.assertj.core.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
 class TokenPairGeneratorImplTest {
 
+    private static final TokenFamily FAMILY = new TokenFamily(
+            UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e"), 0, Instant.parse("2030-01-01T00:00:00Z")
+    );
+
     @Mock
     private JWTService jwtService;
 
@@ -25,7 +36,7 @@ class TokenPairGeneratorImplTest {
 
     @BeforeEach
     void setUp() {
-        tokenPairGenerator = new TokenPairGeneratorImpl(jwtService, jtiGenerator);
+        tokenPairGenerator = new TokenPairGeneratorImpl(jwtService, jtiGenerator, false);
     }
 
     @Test
@@ -33,17 +44,17 @@ class TokenPairGeneratorImplTest {
         when(jtiGenerator.generateJti()).thenReturn("jti");
         when(jwtService.generateAccessToken(anyString(), anyMap()))
                 .thenReturn("accessToken");
-        when(jwtService.generateRefreshToken(anyString(), anyMap()))
+        when(jwtService.generateRefreshToken(anyString(), anyMap(), eq(FAMILY.expiresAt())))
                 .thenReturn("refreshToken");
 
         UserEntity user = createUserEntity("https://example.com/profile.jpg");
 
-        TokenPair tokenPair = tokenPairGenerator.generateTokens(user);
+        TokenPair tokenPair = tokenPairGenerator.generateTokens(user, FAMILY);
 
         assertThat(tokenPair.accessToken()).isEqualTo("accessToken");
         assertThat(tokenPair.refreshToken()).isEqualTo("refreshToken");
         verify(jwtService).generateAccessToken(anyString(), anyMap());
-        verify(jwtService).generateRefreshToken(anyString(), anyMap());
+        verify(jwtService).generateRefreshToken(anyString(), anyMap(), eq(FAMILY.expiresAt()));
         verify(jtiGenerator, times(2)).generateJti();
     }
 
@@ -52,20 +63,57 @@ class TokenPairGeneratorImplTest {
         when(jtiGenerator.generateJti()).thenReturn("jti");
         when(jwtService.generateAccessToken(anyString(), anyMap()))
                 .thenReturn("accessToken");
-        when(jwtService.generateRefreshToken(anyString(), anyMap()))
+        when(jwtService.generateRefreshToken(anyString(), anyMap(), eq(FAMILY.expiresAt())))
                 .thenReturn("refreshToken");
 
         UserEntity user = createUserEntity(null);
 
-        TokenPair tokenPair = tokenPairGenerator.generateTokens(user);
+        TokenPair tokenPair = tokenPairGenerator.generateTokens(user, FAMILY);
 
         assertThat(tokenPair.accessToken()).isEqualTo("accessToken");
         assertThat(tokenPair.refreshToken()).isEqualTo("refreshToken");
         verify(jwtService).generateAccessToken(anyString(), anyMap());
-        verify(jwtService).generateRefreshToken(anyString(), anyMap());
+        verify(jwtService).generateRefreshToken(anyString(), anyMap(), eq(FAMILY.expiresAt()));
         verify(jtiGenerator, times(2)).generateJti();
     }
 
+    @Test
+    void generateTokens_shouldWriteFamilyToRefreshTokenOnly() {
+        when(jtiGenerator.generateJti()).thenReturn("jti");
+
+        tokenPairGenerator.generateTokens(createUserEntity(null), FAMILY);
+
+        assertThat(capturedAccessClaims()).doesNotContainKeys("fid", "gen");
+        assertThat(capturedRefreshClaims())
+                .containsEntry("fid", FAMILY.id().toString())
+                .containsEntry("gen", 0)
+                .containsEntry("type", "refresh");
+    }
+
+    @Test
+    void rotateTokens_shouldCopyUserClaimsAndAdvanceGeneration() {
+        when(jtiGenerator.generateJti()).thenReturn("jti");
+        var refreshClaims = new HashMap<String, Object>(tokenPairGenerator.createClaims(createUserEntity(null), "refresh"));
+        refreshClaims.put("sub", "old-jti");
+        refreshClaims.put("exp", 1_893_456_000L);
+        refreshClaims.put("fid", FAMILY.id().toString());
+        refreshClaims.put("gen", 0);
+
+        tokenPairGenerator.rotateTokens(refreshClaims, new TokenFamily(FAMILY.id(), 1, FAMILY.expiresAt()));
+
+        assertThat(capturedRefreshClaims()).containsOnly(
+                entry("id", "1"),
+                entry("username", "testuser"),
+                entry("email", "test@gmail.com"),
+                entry("profilePictureUrl", ""),
+                entry("epoch", 0),
+                entry("type", "refresh"),
+                entry("fid", FAMILY.id().toString()),
+                entry("gen", 1)
+        );
+        assertThat(capturedAccessClaims()).containsEntry("type", "access").doesNotContainKeys("fid", "gen");
+    }
+
     @Test
     void createClaims_shouldReturnClaimsMapSuccessfully() {
         UserEntity user = createUserEntity("https://example.com/profile.jpg");
@@ -75,6 +123,7 @@ class TokenPairGeneratorImplTest {
         assertThat(claims).containsEntry("username", "testuser")
                 .containsEntry("email", "test@gmail.com")
                 .containsEntry("profilePictureUrl", "https://example.com/profile.jpg")
+                .containsEntry("epoch", 0)
                 .containsEntry("type", "access");
     }
 
@@ -90,6 +139,65 @@ class TokenPairGeneratorImplTest {
                 .containsEntry("type", "refresh");
     }
 
+    @Test
+    void createClaims_shouldOmitProfileClaims_inSlimMode() {
+        TokenPairGenerator slimGenerator = new TokenPairGeneratorImpl(jwtService, jtiGenerator, true);
+
+        var claims = slimGenerator.createClaims(createUserEntity("https://example.com/profile.jpg"), "access");
+
+        assertThat(claims).containsOnly(
+                entry("id", "1"),
+                entry("epoch", 0),
+                entry("type", "access")
+        );
+    }
+
+    @Test
+    void createAccessClaims_shouldCopyUserClaimsOfRefreshToken() {
+        var refreshClaims = new HashMap<String, Object>(tokenPairGenerator.createClaims(createUserEntity(null), "refresh"));
+        refreshClaims.put("sub", "jti");
+        refreshClaims.put("exp", 1_700_000_000L);
+
+        var claims = tokenPairGenerator.createAccessClaims(refreshClaims);
+
+        assertThat(claims).containsOnly(
+                entry("id", "1"),
+                entry("username", "testuser"),
+                entry("email", "test@gmail.com"),
+                entry("profilePictureUrl", ""),
+                entry("epoch", 0),
+                entry("type", "access")
+        );
+    }
+
+    @Test
+    void createAccessClaims_shouldCopyOnlyIdAndEpoch_inSlimMode() {
+        TokenPairGenerator slimGenerator = new TokenPairGeneratorImpl(jwtService, jtiGenerator, true);
+        var refreshClaims = tokenPairGenerator.createClaims(createUserEntity(null), "refresh");
+
+        var claims = slimGenerator.createAccessClaims(refreshClaims);
+
+        assertThat(claims).containsOnly(
+                entry("id", "1"),
+                entry("epoch", 0),
+                entry("type", "access")
+        );
+    }
+
+    private Map<String, Object> capturedAccessClaims() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(jwtService).generateAccessToken(eq("jti"), captor.capture());
+        return captor.getValue();
+    }
+
+    private Map<String, Object> capturedRefreshClaims() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(jwtService).generateRefreshToken(eq("jti"), captor.capture(), eq(FAMILY.expiresAt()));
+        return captor.getValue();
+    }
+
     private UserEntity createUserEntity(String profilePictureUrl) {
         return UserEntity.builder()
                 .id(1L)
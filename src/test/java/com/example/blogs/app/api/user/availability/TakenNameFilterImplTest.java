@@ -0,0 +1,101 @@
+package com.example.blogs.app.api.user.availability;
+
+import com.example.blogs.app.api.user.dto.UserNames;
+import com.example.blogs.app.api.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TakenNameFilterImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TakenNameFilterImpl takenNameFilter;
+
+    @BeforeEach
+    void setUp() {
+        takenNameFilter = new TakenNameFilterImpl(userRepository, 1_000, 0.001);
+    }
+
+    @Test
+    void mightContain_shouldReturnTrue_beforeFilterIsLoaded() {
+        assertThat(takenNameFilter.mightContainUsername("test")).isTrue();
+        assertThat(takenNameFilter.mightContainEmail("test@gmail.com")).isTrue();
+    }
+
+    @Test
+    void warmUp_shouldLoadRegisteredNames_ignoringCase() {
+        when(userRepository.streamAllNames()).thenReturn(Stream.of(new UserNames("Test", "Test@Gmail.com")));
+
+        takenNameFilter.warmUp();
+
+        assertThat(takenNameFilter.mightContainUsername("tEST")).isTrue();
+        assertThat(takenNameFilter.mightContainEmail("test@gmail.com")).isTrue();
+        assertThat(takenNameFilter.mightContainUsername("other")).isFalse();
+        assertThat(takenNameFilter.mightContainEmail("other@gmail.com")).isFalse();
+    }
+
+    @Test
+    void warmUp_shouldCloseTheNameStream() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(userRepository.streamAllNames())
+                .thenReturn(Stream.of(new UserNames("test", "test@gmail.com")).onClose(() -> closed.set(true)));
+
+        takenNameFilter.warmUp();
+
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void mightContain_shouldKeepUsernamesAndEmailsApart() {
+        when(userRepository.streamAllNames()).thenReturn(Stream.of(new UserNames("test", "test@gmail.com")));
+
+        takenNameFilter.warmUp();
+
+        assertThat(takenNameFilter.mightContainEmail("test")).isFalse();
+        assertThat(takenNameFilter.mightContainUsername("test@gmail.com")).isFalse();
+    }
+
+    @Test
+    void put_shouldMakeNamesVisibleAfterLoad() {
+        when(userRepository.streamAllNames()).thenReturn(Stream.empty());
+        takenNameFilter.warmUp();
+
+        takenNameFilter.put("new", "new@gmail.com");
+
+        assertThat(takenNameFilter.mightContainUsername("NEW")).isTrue();
+        assertThat(takenNameFilter.mightContainEmail("new@gmail.com")).isTrue();
+    }
+
+    @Test
+    void synchronize_shouldDoNothing_beforeFilterIsLoaded() {
+        takenNameFilter.synchronize();
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void synchronize_shouldLoadUsersRegisteredOnOtherInstances() {
+        when(userRepository.streamAllNames()).thenReturn(Stream.empty());
+        takenNameFilter.warmUp();
+        when(userRepository.findNamesByCreatedAtAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(new UserNames("remote", "remote@gmail.com")));
+
+        takenNameFilter.synchronize();
+
+        assertThat(takenNameFilter.mightContainUsername("remote")).isTrue();
+        assertThat(takenNameFilter.mightContainEmail("remote@gmail.com")).isTrue();
+    }
+}
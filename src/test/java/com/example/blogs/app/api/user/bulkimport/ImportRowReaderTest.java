@@ -0,0 +1,94 @@
+package com.example.blogs.app.api.user.bulkimport;
+
+import com.example.blogs.app.api.auth.dto.RegisterRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ImportRowReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void next_shouldReadCsvColumnsInHeaderOrder_withQuotedFields() throws IOException {
+        Path file = write("users.csv", """
+                Password,username,EMAIL
+                secret123,alice,alice@gmail.com
+                "pa,ss""word",bob,"bob@gmail.com"
+                """);
+
+        try (ImportRowReader reader = ImportRowReader.open(file, objectMapper)) {
+            assertThat(reader.next(10)).containsExactly(
+                    ImportRow.parsed(2, new RegisterRequest("alice", "secret123", "alice@gmail.com")),
+                    ImportRow.parsed(3, new RegisterRequest("bob", "pa,ss\"word", "bob@gmail.com"))
+            );
+            assertThat(reader.next(10)).isEmpty();
+        }
+    }
+
+    @Test
+    void next_shouldReportMalformedCsvRows_andSkipBlankLines() throws IOException {
+        Path file = write("users.csv", """
+                username,email,password
+                alice,alice@gmail.com
+
+                "bob,bob@gmail.com,secret123
+                """);
+
+        try (ImportRowReader reader = ImportRowReader.open(file, objectMapper)) {
+            assertThat(reader.next(10)).containsExactly(
+                    ImportRow.malformed(2, "Expected 3 fields but found 2"),
+                    ImportRow.malformed(4, "Unterminated quoted field")
+            );
+        }
+    }
+
+    @Test
+    void next_shouldReadNdjsonRows_inChunks() throws IOException {
+        Path file = write("users.ndjson", """
+                {"username":"alice","email":"alice@gmail.com","password":"secret123","extra":1}
+                {"username":"bob","email":"bob@gmail.com"}
+                [1, 2]
+                {not json
+                """);
+
+        try (ImportRowReader reader = ImportRowReader.open(file, objectMapper)) {
+            assertThat(reader.next(2)).containsExactly(
+                    ImportRow.parsed(1, new RegisterRequest("alice", "secret123", "alice@gmail.com")),
+                    ImportRow.parsed(2, new RegisterRequest("bob", null, "bob@gmail.com"))
+            );
+            assertThat(reader.next(2)).containsExactly(
+                    ImportRow.malformed(3, "Expected a JSON object"),
+                    ImportRow.malformed(4, "Malformed JSON")
+            );
+            assertThat(reader.next(2)).isEmpty();
+        }
+    }
+
+    @Test
+    void open_shouldRejectUnknownExtensionsAndIncompleteHeaders() throws IOException {
+        Path text = write("users.txt", "username,email,password\n");
+        Path header = write("users.csv", "username,email\n");
+
+        assertThat(ImportRowReader.supports(text)).isFalse();
+        assertThat(ImportRowReader.supports(directory.resolve("users.JSONL"))).isTrue();
+        assertThatThrownBy(() -> ImportRowReader.open(text, objectMapper))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ImportRowReader.open(header, objectMapper))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content);
+    }
+}
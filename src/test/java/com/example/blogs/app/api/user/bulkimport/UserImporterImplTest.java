@@ -0,0 +1,261 @@
+package com.example.blogs.app.api.user.bulkimport;
+
+import com.example.blogs.app.api.user.availability.TakenNameFilter;
+import com.example.blogs.app.api.user.dto.ImportedUser;
+import com.example.blogs.app.api.user.dto.UserImportProgress;
+import com.example.blogs.app.api.user.dto.UserImportRejection;
+import com.example.blogs.app.api.user.exception.FailedToImportUsersException;
+import com.example.blogs.app.api.user.repository.UserStagingRepository;
+import com.example.blogs.app.api.user.repository.UserStagingSession;
+import com.example.blogs.app.api.user.repository.adapter.UserRepositoryAdapter;
+import com.example.blogs.app.security.CalibratedPasswordEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserImporterImplTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private UserStagingRepository userStagingRepository;
+
+    @Mock
+    private UserStagingSession session;
+
+    @Mock
+    private UserRepositoryAdapter userRepositoryAdapter;
+
+    @Mock
+    private TakenNameFilter takenNameFilter;
+
+    @Mock
+    private CalibratedPasswordEncoder passwordEncoder;
+
+    @TempDir
+    private Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserImporterImpl userImporter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userImporter = new UserImporterImpl(
+                userStagingRepository,
+                userRepositoryAdapter,
+                takenNameFilter,
+                passwordEncoder,
+                VALIDATOR,
+                new ObjectMapper(),
+                2,
+                2,
+                meterRegistry
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImporter.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importFile_shouldImportValidRows_andWriteRejections() throws IOException {
+        Path file = write("users.csv", """
+                username,email,password
+                alice,alice@gmail.com,secret123
+                bo,bob@gmail.com,secret123
+                taken,taken@gmail.com,secret123
+                carol,carol@gmail.com,secret456
+                """);
+        when(userStagingRepository.openSession()).thenReturn(session);
+        when(userRepositoryAdapter.existsByUsername(anyString()))
+                .thenAnswer(invocation -> "taken".equals(invocation.getArgument(0)));
+        when(passwordEncoder.encode(any())).thenAnswer(invocation -> "hash:" + invocation.getArgument(0));
+        when(session.merge(anyList(), any())).thenReturn(
+                List.of(),
+                List.of(new UserImportRejection(5, UserImportRejection.Reason.DUPLICATE_IN_IMPORT, "Duplicate"))
+        );
+
+        UserImportProgress progress = userImporter.importFile(file);
+
+        assertThat(progress.status()).isEqualTo(UserImportProgress.Status.COMPLETED);
+        assertThat(progress.rowsRead()).isEqualTo(4);
+        assertThat(progress.imported()).isEqualTo(1);
+        assertThat(progress.rejected()).isEqualTo(3);
+        assertThat(progress.finishedAt()).isNotNull();
+        assertThat(Files.readAllLines(Path.of(progress.rejectionsFile()))).containsExactly(
+                "line,reason,detail",
+                "3,INVALID,\"Username must be between 3 and 16 characters\"",
+                "4,USERNAME_TAKEN,\"Username is already taken\"",
+                "5,DUPLICATE_IN_IMPORT,\"Duplicate\""
+        );
+
+        ArgumentCaptor<List<ImportedUser>> users = ArgumentCaptor.forClass(List.class);
+        verify(session, times(2)).merge(users.capture(), any());
+        assertThat(users.getAllValues()).containsExactly(
+                List.of(new ImportedUser(2, "alice", "alice@gmail.com", "hash:secret123")),
+                List.of(new ImportedUser(5, "carol", "carol@gmail.com", "hash:secret456"))
+        );
+        verify(passwordEncoder, times(2)).encode(any());
+        verify(takenNameFilter).put("alice", "alice@gmail.com");
+        verifyNoMoreInteractions(takenNameFilter);
+        verify(session).close();
+
+        assertThat(meterRegistry.get("user_import.rows").tag("result", "imported").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("user_import.rows").tag("result", "invalid").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("user_import.rows").tag("result", "username_taken").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void importFile_shouldRejectInvalidRows_withoutHashing() throws IOException {
+        Path file = write("users.ndjson", """
+                {"username":"alice","email":"not-an-email","password":"secret123"}
+                {"username":"bob","email":"bob@gmail.com","password":"short"}
+                {"username":"carol","email":"carol@%s.%s.com","password":"secret123"}
+                """.formatted("d".repeat(60), "e".repeat(40)));
+        when(userStagingRepository.openSession()).thenReturn(session);
+
+        UserImportProgress progress = userImporter.importFile(file);
+
+        assertThat(progress.status()).isEqualTo(UserImportProgress.Status.COMPLETED);
+        assertThat(progress.rejected()).isEqualTo(3);
+        assertThat(Files.readAllLines(Path.of(progress.rejectionsFile()))).containsExactly(
+                "line,reason,detail",
+                "1,INVALID,\"Email should be valid\"",
+                "2,INVALID,\"Password must be at least 8 characters long\"",
+                "3,INVALID,\"Email must be at most 100 characters\""
+        );
+        verifyNoInteractions(passwordEncoder, userRepositoryAdapter);
+    }
+
+    @Test
+    void importFile_shouldRejectPasswordsLongerThanBcryptAccepts_withoutHashing() throws IOException {
+        // 37 two-byte characters pass the length validation but exceed the 72 bytes BCrypt accepts
+        Path file = write("users.csv", "username,email,password\nalice,alice@gmail.com," + "é".repeat(37) + "\n");
+        when(userStagingRepository.openSession()).thenReturn(session);
+
+        UserImportProgress progress = userImporter.importFile(file);
+
+        assertThat(progress.status()).isEqualTo(UserImportProgress.Status.COMPLETED);
+        assertThat(progress.rejected()).isEqualTo(1);
+        assertThat(Files.readAllLines(Path.of(progress.rejectionsFile()))).containsExactly(
+                "line,reason,detail",
+                "2,INVALID,\"Password must be at most 72 bytes\""
+        );
+        verifyNoInteractions(passwordEncoder);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importFile_shouldRejectOnlyTheRow_whenItsPasswordCannotBeHashed() throws IOException {
+        Path file = write("users.csv", """
+                username,email,password
+                alice,alice@gmail.com,secret123
+                bob,bob@gmail.com,unhashable
+                """);
+        when(userStagingRepository.openSession()).thenReturn(session);
+        when(passwordEncoder.encode(any())).thenAnswer(invocation -> {
+            if ("unhashable".equals(invocation.getArgument(0))) {
+                throw new IllegalArgumentException("password cannot be hashed");
+            }
+            return "hash:" + invocation.getArgument(0);
+        });
+        when(session.merge(anyList(), any())).thenReturn(List.of());
+
+        UserImportProgress progress = userImporter.importFile(file);
+
+        assertThat(progress.status()).isEqualTo(UserImportProgress.Status.COMPLETED);
+        assertThat(progress.imported()).isEqualTo(1);
+        assertThat(progress.rejected()).isEqualTo(1);
+        assertThat(Files.readAllLines(Path.of(progress.rejectionsFile()))).containsExactly(
+                "line,reason,detail",
+                "3,INVALID,\"Password could not be hashed\""
+        );
+        ArgumentCaptor<List<ImportedUser>> users = ArgumentCaptor.forClass(List.class);
+        verify(session).merge(users.capture(), any());
+        assertThat(users.getValue()).containsExactly(new ImportedUser(2, "alice", "alice@gmail.com", "hash:secret123"));
+    }
+
+    @Test
+    void importFile_shouldReportFailure_andAllowNextImport() throws IOException {
+        Path file = write("users.csv", "username,email,password\nalice,alice@gmail.com,secret123\n");
+        when(userStagingRepository.openSession()).thenReturn(session);
+        when(passwordEncoder.encode(any())).thenReturn("hash");
+        when(session.merge(anyList(), any())).thenThrow(new FailedToImportUsersException(new SQLException("boom")));
+
+        UserImportProgress first = userImporter.importFile(file);
+        UserImportProgress second = userImporter.importFile(file);
+
+        assertThat(first.status()).isEqualTo(UserImportProgress.Status.FAILED);
+        assertThat(first.error()).isEqualTo("Failed to import users");
+        assertThat(second.status()).isEqualTo(UserImportProgress.Status.FAILED);
+        verify(session, times(2)).close();
+        verifyNoInteractions(takenNameFilter);
+    }
+
+    @Test
+    void start_shouldImportInBackground_andRejectConcurrentImports() throws Exception {
+        Path file = write("users.jsonl", "{\"username\":\"alice\",\"email\":\"alice@gmail.com\",\"password\":\"secret123\"}\n");
+        CountDownLatch release = new CountDownLatch(1);
+        when(userStagingRepository.openSession()).thenReturn(session);
+        when(passwordEncoder.encode(any())).thenReturn("hash");
+        when(session.merge(anyList(), any())).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+
+        userImporter.start(file);
+
+        assertThatThrownBy(() -> userImporter.start(file)).isInstanceOf(IllegalStateException.class);
+        assertThat(userImporter.progress().status()).isEqualTo(UserImportProgress.Status.RUNNING);
+
+        release.countDown();
+        verify(session, timeout(5000)).close();
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (userImporter.progress().status() == UserImportProgress.Status.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(userImporter.progress().status()).isEqualTo(UserImportProgress.Status.COMPLETED);
+        assertThat(userImporter.progress().imported()).isEqualTo(1);
+    }
+
+    @Test
+    void start_shouldRejectMissingAndUnsupportedFiles() throws IOException {
+        Path text = write("users.txt", "username,email,password\n");
+
+        assertThatThrownBy(() -> userImporter.start(directory.resolve("missing.csv")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> userImporter.start(text))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(userImporter.progress()).isNull();
+        verifyNoInteractions(userStagingRepository);
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content);
+    }
+}
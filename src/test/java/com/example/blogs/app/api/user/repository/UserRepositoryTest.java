@@ -1,15 +1,20 @@
 package com.example.blogs.app.api.user.repository;
 
+import com.example.blogs.app.api.user.dto.LoginCredentials;
+import com.example.blogs.app.api.user.dto.UserNames;
 import com.example.blogs.app.api.user.entity.UserEntity;
 import com.example.blogs.app.support.AbstractPostgresTest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -19,6 +24,9 @@ class UserRepositoryTest extends AbstractPostgresTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void saveUser_shouldSaveUserSuccessfully() {
         UserEntity partialUser = UserEntity.builder()
@@ -42,42 +50,179 @@ class UserRepositoryTest extends AbstractPostgresTest {
     }
 
     @Test
-    void findUserByUsernameOrEmail_shouldReturnUserByUsername_whenUserExists() {
-        UserEntity partialUser = UserEntity.builder()
+    void findLoginCredentialsByUsername_shouldIgnoreCase() {
+        UserEntity user = userRepository.save(UserEntity.builder()
+                .username("Test")
+                .passwordHash("passwordHash")
+                .email("test@gmail.com")
+                .profilePictureUrl("https://example.com/avatar.png")
+                .build());
+
+        assertThat(userRepository.findLoginCredentialsByUsername("tEST")).contains(new LoginCredentials(
+                user.getId(), "Test", "test@gmail.com", "passwordHash", "https://example.com/avatar.png", 0
+        ));
+        assertThat(userRepository.findLoginCredentialsByUsername("test@gmail.com")).isEmpty();
+    }
+
+    @Test
+    void findLoginCredentialsByEmail_shouldIgnoreCase() {
+        UserEntity user = userRepository.save(UserEntity.builder()
+                .username("test")
+                .passwordHash("passwordHash")
+                .email("Test@Gmail.com")
+                .build());
+
+        assertThat(userRepository.findLoginCredentialsByEmail("test@gmail.COM")).get()
+                .extracting(LoginCredentials::id, LoginCredentials::email, LoginCredentials::passwordHash)
+                .containsExactly(user.getId(), "Test@Gmail.com", "passwordHash");
+        assertThat(userRepository.findLoginCredentialsByEmail("test")).isEmpty();
+    }
+
+    @Test
+    void existsByUsernameAndEmailIgnoringCase_shouldMatchRegisteredNames() {
+        userRepository.save(UserEntity.builder()
+                .username("Test")
+                .passwordHash("passwordHash")
+                .email("Test@Gmail.com")
+                .build());
+
+        assertThat(userRepository.existsByUsernameIgnoringCase("tEST")).isTrue();
+        assertThat(userRepository.existsByUsernameIgnoringCase("other")).isFalse();
+        assertThat(userRepository.existsByEmailIgnoringCase("test@gmail.com")).isTrue();
+        assertThat(userRepository.existsByEmailIgnoringCase("other@gmail.com")).isFalse();
+    }
+
+    @Test
+    void findNames_shouldReturnNamesOfAllOrRecentlyCreatedUsers() {
+        userRepository.saveAndFlush(UserEntity.builder()
                 .username("test")
                 .passwordHash("passwordHash")
                 .email("test@gmail.com")
-                .build();
+                .build());
+
+        try (Stream<UserNames> names = userRepository.streamAllNames()) {
+            assertThat(names).containsExactly(new UserNames("test", "test@gmail.com"));
+        }
+        assertThat(userRepository.findNamesByCreatedAtAfter(LocalDateTime.now().minusMinutes(1)))
+                .containsExactly(new UserNames("test", "test@gmail.com"));
+        assertThat(userRepository.findNamesByCreatedAtAfter(LocalDateTime.now().plusMinutes(1))).isEmpty();
+    }
 
-        userRepository.save(partialUser);
+    @Test
+    void saveUser_shouldRejectUsernameOrEmailDifferingOnlyInCase() {
+        userRepository.saveAndFlush(UserEntity.builder()
+                .username("test")
+                .passwordHash("passwordHash")
+                .email("test@gmail.com")
+                .build());
+
+        assertThatThrownBy(() -> userRepository.saveAndFlush(UserEntity.builder()
+                .username("TEST")
+                .passwordHash("otherHash")
+                .email("other@gmail.com")
+                .build()))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("idx_users_lower_username");
+    }
 
-        Optional<UserEntity> actualUser = userRepository
-                .findUserByUsernameOrEmail("test", "test");
+    @Test
+    void insertIgnoringConflicts_shouldInsertUser() {
+        Optional<UserEntity> inserted = userRepository.insertIgnoringConflicts(
+                "test", "passwordHash", "test@gmail.com", LocalDateTime.now()
+        );
+
+        assertThat(inserted).isPresent();
+        assertThat(inserted.get().getId()).isNotNull().isPositive();
+        assertThat(inserted.get().getTokenEpoch()).isZero();
+        assertThat(userRepository.findById(inserted.get().getId())).get()
+                .extracting(UserEntity::getUsername, UserEntity::getEmail, UserEntity::getPasswordHash)
+                .containsExactly("test", "test@gmail.com", "passwordHash");
+    }
 
-        assertThat(actualUser).isPresent();
-        assertThat(actualUser.get().getUsername()).isEqualTo("test");
-        assertThat(actualUser.get().getEmail()).isEqualTo("test@gmail.com");
-        assertThat(actualUser.get().getPasswordHash()).isEqualTo("passwordHash");
-        assertThat(actualUser.get().getId()).isNotNull().isNotNegative();
+    @Test
+    void insertIgnoringConflicts_shouldReturnEmpty_whenUsernameOrEmailIsTakenIgnoringCase() {
+        userRepository.saveAndFlush(UserEntity.builder()
+                .username("test")
+                .passwordHash("passwordHash")
+                .email("test@gmail.com")
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(userRepository.insertIgnoringConflicts("TEST", "otherHash", "other@gmail.com", now)).isEmpty();
+        assertThat(userRepository.insertIgnoringConflicts("other", "otherHash", "Test@Gmail.com", now)).isEmpty();
+        assertThat(userRepository.insertIgnoringConflicts("other", "otherHash", "other@gmail.com", now)).isPresent();
+        assertThat(userRepository.count()).isEqualTo(2);
     }
 
     @Test
-    void findUserByUsernameOrEmail_shouldReturnUserByEmail_whenUserExists() {
-        UserEntity partialUser = UserEntity.builder()
+    void loginLookups_shouldUseIndexOnlyScans() {
+        userRepository.saveAndFlush(UserEntity.builder()
                 .username("test")
                 .passwordHash("passwordHash")
                 .email("test@gmail.com")
-                .build();
+                .build());
+        // A handful of rows is cheaper to scan sequentially; disable the alternatives to see the chosen index.
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL enable_bitmapscan = off");
+
+        assertThat(explain("SELECT id, username, email, password_hash, profile_picture_url, token_epoch "
+                + "FROM users WHERE lower(username) = lower('TEST')"))
+                .contains("Index Only Scan using idx_users_lower_username");
+        assertThat(explain("SELECT id, username, email, password_hash, profile_picture_url, token_epoch "
+                + "FROM users WHERE lower(email) = lower('TEST@gmail.com')"))
+                .contains("Index Only Scan using idx_users_lower_email");
+    }
+
+    @Test
+    void updatePasswordHash_shouldReplaceStoredHash() {
+        UserEntity user = userRepository.save(UserEntity.builder()
+                .username("test")
+                .passwordHash("oldHash")
+                .email("test@gmail.com")
+                .build());
+
+        int updated = userRepository.updatePasswordHash(user.getId(), "newHash");
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(userRepository.findById(user.getId()))
+                .get()
+                .extracting(UserEntity::getPasswordHash)
+                .isEqualTo("newHash");
+    }
+
+    @Test
+    void saveUser_shouldStartWithZeroTokenEpoch() {
+        UserEntity user = userRepository.save(UserEntity.builder()
+                .username("test")
+                .passwordHash("passwordHash")
+                .email("test@gmail.com")
+                .build());
 
-        userRepository.save(partialUser);
+        assertThat(userRepository.findTokenEpochById(user.getId())).contains(0);
+    }
 
-        Optional<UserEntity> actualUser = userRepository
-                .findUserByUsernameOrEmail("test@gmail.com", "test@gmail.com");
+    @Test
+    void incrementTokenEpoch_shouldIncrementStoredEpoch() {
+        UserEntity user = userRepository.save(UserEntity.builder()
+                .username("test")
+                .passwordHash("passwordHash")
+                .email("test@gmail.com")
+                .build());
+
+        int updated = userRepository.incrementTokenEpoch(user.getId());
+        userRepository.incrementTokenEpoch(user.getId());
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(userRepository.findTokenEpochById(user.getId())).contains(2);
+    }
+
+    @Test
+    void incrementTokenEpoch_shouldUpdateNothing_whenUserDoesNotExist() {
+        assertThat(userRepository.incrementTokenEpoch(-1L)).isZero();
+        assertThat(userRepository.findTokenEpochById(-1L)).isEmpty();
+    }
 
-        assertThat(actualUser).isPresent();
-        assertThat(actualUser.get().getUsername()).isEqualTo("test");
-        assertThat(actualUser.get().getEmail()).isEqualTo("test@gmail.com");
-        assertThat(actualUser.get().getPasswordHash()).isEqualTo("passwordHash");
-        assertThat(actualUser.get().getId()).isNotNull().isNotNegative();
+    private String explain(String query) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query, String.class));
     }
 }
@@ -0,0 +1,81 @@
+package com.example.blogs.app.api.user.repository;
+
+import com.example.blogs.app.api.user.dto.ImportedUser;
+import com.example.blogs.app.api.user.dto.UserImportRejection;
+import com.example.blogs.app.support.AbstractPostgresTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Staging sessions commit on their own connection, so the tests run outside a test transaction and clean up after
+@DataJpaTest
+@Import(UserStagingRepositoryImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserStagingRepositoryTest extends AbstractPostgresTest {
+
+    @Autowired
+    private UserStagingRepository userStagingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void merge_shouldInsertFreeUsers_andReportConflicts() {
+        jdbcTemplate.update(
+                "INSERT INTO users (username, email, password_hash) VALUES (?, ?, ?)",
+                "taken", "taken@gmail.com", "takenHash"
+        );
+
+        List<UserImportRejection> rejections;
+        try (UserStagingSession session = userStagingRepository.openSession()) {
+            rejections = session.merge(List.of(
+                    new ImportedUser(1, "alice", "alice@gmail.com", "hash1"),
+                    new ImportedUser(2, "TAKEN", "other2@gmail.com", "hash2"),
+                    new ImportedUser(3, "other3", "Taken@Gmail.com", "hash3"),
+                    new ImportedUser(4, "ALICE", "other4@gmail.com", "hash4"),
+                    new ImportedUser(5, "o\"k,5", "quoted@gmail.com", "hash5")
+            ), LocalDateTime.now());
+        }
+
+        assertThat(rejections)
+                .extracting(UserImportRejection::line, UserImportRejection::reason)
+                .containsExactly(
+                        tuple(2L, UserImportRejection.Reason.USERNAME_TAKEN),
+                        tuple(3L, UserImportRejection.Reason.EMAIL_TAKEN),
+                        tuple(4L, UserImportRejection.Reason.DUPLICATE_IN_IMPORT)
+                );
+        assertThat(jdbcTemplate.queryForList("SELECT username FROM users ORDER BY username", String.class))
+                .containsExactly("alice", "o\"k,5", "taken");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT password_hash FROM users WHERE username = 'alice'", String.class
+        )).isEqualTo("hash1");
+    }
+
+    @Test
+    void merge_shouldStageEachChunkOnItsOwn() {
+        try (UserStagingSession session = userStagingRepository.openSession()) {
+            assertThat(session.merge(List.of(new ImportedUser(1, "alice", "alice@gmail.com", "hash1")), LocalDateTime.now()))
+                    .isEmpty();
+            assertThat(session.merge(List.of(new ImportedUser(2, "bob", "bob@gmail.com", "hash2")), LocalDateTime.now()))
+                    .isEmpty();
+            assertThat(session.merge(List.of(), LocalDateTime.now())).isEmpty();
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM users", Long.class)).isEqualTo(2);
+    }
+}
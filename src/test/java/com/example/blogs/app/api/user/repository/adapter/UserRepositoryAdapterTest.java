@@ -1,12 +1,16 @@
 package com.example.blogs.app.api.user.repository.adapter;
 
+import com.example.blogs.app.api.user.availability.TakenNameFilter;
 import com.example.blogs.app.api.user.dto.CreateUserCommand;
+import com.example.blogs.app.api.user.dto.CreateUserResult;
+import com.example.blogs.app.api.user.dto.LoginCredentials;
 import com.example.blogs.app.api.user.entity.UserEntity;
-import com.example.blogs.app.api.user.exception.EmailTakenException;
 import com.example.blogs.app.api.user.exception.FailedToCreateUser;
-import com.example.blogs.app.api.user.exception.UsernameTakenException;
+import com.example.blogs.app.api.user.exception.FailedToFindUserException;
+import com.example.blogs.app.api.user.exception.FailedToUpdateUserException;
+import com.example.blogs.app.api.user.exception.UserNotFoundException;
 import com.example.blogs.app.api.user.repository.UserRepository;
-import org.hibernate.exception.ConstraintViolationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +19,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.mockito.Mockito.*;
@@ -26,68 +31,75 @@ class UserRepositoryAdapterTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TakenNameFilter takenNameFilter;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private UserRepositoryAdapter userRepositoryAdapter;
 
     @BeforeEach
     void setUp() {
-        userRepositoryAdapter = new UserRepositoryAdapterImpl(userRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        userRepositoryAdapter = new UserRepositoryAdapterImpl(userRepository, takenNameFilter, meterRegistry);
     }
 
     @Test
     void createUser_shouldCreateUserSuccessfully() {
         UserEntity mockUser = createTestUserEntity();
 
-        when(userRepository.save(any(UserEntity.class))).thenReturn(mockUser);
+        when(userRepository.insertIgnoringConflicts(
+                eq("testuser"), eq("hashedpassword"), eq("test@gmail.com"), any(LocalDateTime.class)
+        )).thenReturn(Optional.of(mockUser));
 
         CreateUserCommand command = createTestUserCommand();
-        UserEntity actualUser = userRepositoryAdapter.save(command);
+        CreateUserResult result = userRepositoryAdapter.save(command);
 
-        assertThat(actualUser.getId()).isEqualTo(1L);
-        assertThat(actualUser.getUsername()).isEqualTo("testuser");
-        assertThat(actualUser.getEmail()).isEqualTo("test@gmail.com");
-        assertThat(actualUser.getPasswordHash()).isEqualTo("hashedpassword");
-        verify(userRepository).save(any(UserEntity.class));
+        assertThat(result.status()).isEqualTo(CreateUserResult.Status.CREATED);
+        assertThat(result.user()).isSameAs(mockUser);
+        verify(takenNameFilter).put("testuser", "test@gmail.com");
+        verify(userRepository, never()).existsByUsernameIgnoringCase(anyString());
     }
 
     @Test
-    void createUser_shouldThrowExceptionWhenUsernameExists() {
-        DataAccessException exception = new DataIntegrityViolationException(
-                "could not execute statement",
-                new ConstraintViolationException("simulated", null, "users_username_key")
-        );
+    void createUser_shouldReportTakenUsername_whenInsertConflicts() {
+        when(userRepository.insertIgnoringConflicts(anyString(), anyString(), anyString(), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(userRepository.existsByUsernameIgnoringCase("testuser")).thenReturn(true);
 
-        when(userRepository
-                .save(any(UserEntity.class)))
-                .thenThrow(exception);
+        CreateUserResult result = userRepositoryAdapter.save(createTestUserCommand());
 
-        CreateUserCommand command = createTestUserCommand();
-        assertThatThrownBy(() -> userRepositoryAdapter.save(command))
-                .isInstanceOf(UsernameTakenException.class);
+        assertThat(result).isEqualTo(CreateUserResult.usernameTaken());
+        verify(userRepository, never()).existsByEmailIgnoringCase(anyString());
+        verify(takenNameFilter, never()).put(anyString(), anyString());
     }
 
     @Test
-    void createUser_shouldThrowExceptionWhenEmailExists() {
-        DataAccessException exception = new DataIntegrityViolationException(
-                "could not execute statement",
-                new ConstraintViolationException("simulated", null, "users_email_key")
-        );
+    void createUser_shouldReportTakenEmail_whenInsertConflictsOnEmailOnly() {
+        when(userRepository.insertIgnoringConflicts(anyString(), anyString(), anyString(), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(userRepository.existsByUsernameIgnoringCase("testuser")).thenReturn(false);
+        when(userRepository.existsByEmailIgnoringCase("test@gmail.com")).thenReturn(true);
 
-        when(userRepository
-                .save(any(UserEntity.class)))
-                .thenThrow(exception);
+        CreateUserResult result = userRepositoryAdapter.save(createTestUserCommand());
+
+        assertThat(result).isEqualTo(CreateUserResult.emailTaken());
+    }
+
+    @Test
+    void createUser_shouldThrowFailedToCreateUser_whenConflictCannotBeAttributed() {
+        when(userRepository.insertIgnoringConflicts(anyString(), anyString(), anyString(), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
 
         CreateUserCommand command = createTestUserCommand();
         assertThatThrownBy(() -> userRepositoryAdapter.save(command))
-                .isInstanceOf(EmailTakenException.class);
+                .isInstanceOf(FailedToCreateUser.class);
     }
 
     @Test
-    void createUser_shouldThrowGenericExceptionForOtherDataAccessIssues() {
-        DataAccessException exception = new DataIntegrityViolationException("generic data access issue");
-
-        when(userRepository
-                .save(any(UserEntity.class)))
-                .thenThrow(exception);
+    void createUser_shouldThrowFailedToCreateUser_whenInsertFails() {
+        when(userRepository.insertIgnoringConflicts(anyString(), anyString(), anyString(), any(LocalDateTime.class)))
+                .thenThrow(new DataIntegrityViolationException("generic data access issue"));
 
         CreateUserCommand command = createTestUserCommand();
         assertThatThrownBy(() -> userRepositoryAdapter.save(command))
@@ -95,68 +107,208 @@ class UserRepositoryAdapterTest {
     }
 
     @Test
-    void createUser_shouldThrowFailedToCreateUserForOtherConstraintViolations() {
-        DataAccessException exception = new DataIntegrityViolationException(
-                "could not execute statement",
-                new ConstraintViolationException("simulated", null, "some_other_constraint")
-        );
+    void existsByUsername_shouldSkipDatabase_whenFilterRulesUsernameOut() {
+        when(takenNameFilter.mightContainUsername("free")).thenReturn(false);
 
-        when(userRepository.save(any(UserEntity.class))).thenThrow(exception);
+        assertThat(userRepositoryAdapter.existsByUsername("free")).isFalse();
 
-        CreateUserCommand command = createTestUserCommand();
+        verifyNoInteractions(userRepository);
+        assertThat(meterRegistry.counter("taken_name_filter.lookups", "result", "miss").count()).isEqualTo(1);
+    }
 
-        assertThatThrownBy(() -> userRepositoryAdapter.save(command))
-                .isInstanceOf(FailedToCreateUser.class);
+    @Test
+    void existsByUsername_shouldConfirmWithDatabase_whenFilterMightContainUsername() {
+        when(takenNameFilter.mightContainUsername(anyString())).thenReturn(true);
+        when(userRepository.existsByUsernameIgnoringCase("taken")).thenReturn(true);
+        when(userRepository.existsByUsernameIgnoringCase("free")).thenReturn(false);
+
+        assertThat(userRepositoryAdapter.existsByUsername("taken")).isTrue();
+        assertThat(userRepositoryAdapter.existsByUsername("free")).isFalse();
+
+        assertThat(meterRegistry.counter("taken_name_filter.lookups", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("taken_name_filter.lookups", "result", "false_positive").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void existsByEmail_shouldConsultEmailFilter() {
+        when(takenNameFilter.mightContainEmail("free@gmail.com")).thenReturn(false);
+        when(takenNameFilter.mightContainEmail("taken@gmail.com")).thenReturn(true);
+        when(userRepository.existsByEmailIgnoringCase("taken@gmail.com")).thenReturn(true);
+
+        assertThat(userRepositoryAdapter.existsByEmail("free@gmail.com")).isFalse();
+        assertThat(userRepositoryAdapter.existsByEmail("taken@gmail.com")).isTrue();
+        verify(userRepository, never()).existsByEmailIgnoringCase("free@gmail.com");
+    }
+
+    @Test
+    void existsByUsername_shouldThrowFailedToFindUserException_whenQueryFails() {
+        when(takenNameFilter.mightContainUsername("test")).thenReturn(true);
+        when(userRepository.existsByUsernameIgnoringCase("test"))
+                .thenThrow(new DataIntegrityViolationException("generic data access issue"));
+
+        assertThatThrownBy(() -> userRepositoryAdapter.existsByUsername("test"))
+                .isInstanceOf(FailedToFindUserException.class);
     }
 
     @Test
-    void findByUsernameOrEmail_shouldReturnUserByUsername_whenUserExists() {
-        when(userRepository.findUserByUsernameOrEmail(anyString(), anyString()))
-                .thenReturn(Optional.of(createTestUserEntity()));
+    void findByUsernameOrEmail_shouldLookUpByUsername_whenInputHasNoAtSign() {
+        when(userRepository.findLoginCredentialsByUsername("TestUser"))
+                .thenReturn(Optional.of(createTestLoginCredentials()));
 
-        UserEntity user = userRepositoryAdapter.findByUsernameOrEmail("testuser");
+        UserEntity user = userRepositoryAdapter.findByUsernameOrEmail("TestUser");
 
+        assertThat(user.getId()).isEqualTo(1L);
         assertThat(user.getUsername()).isEqualTo("testuser");
         assertThat(user.getEmail()).isEqualTo("test@gmail.com");
         assertThat(user.getPasswordHash()).isEqualTo("hashedpassword");
-        verify(userRepository).findUserByUsernameOrEmail("testuser", "testuser");
+        assertThat(user.getProfilePictureUrl()).isEqualTo("https://example.com/avatar.png");
+        assertThat(user.getTokenEpoch()).isEqualTo(3);
+        verify(userRepository, never()).findLoginCredentialsByEmail(anyString());
     }
 
     @Test
-    void findByUsernameOrEmail_shouldReturnUserByEmail_whenUserExists() {
-        when(userRepository.findUserByUsernameOrEmail(anyString(), anyString()))
-                .thenReturn(Optional.of(createTestUserEntity()));
+    void findByUsernameOrEmail_shouldLookUpByEmail_whenInputHasAtSign() {
+        when(userRepository.findLoginCredentialsByEmail("test@gmail.com"))
+                .thenReturn(Optional.of(createTestLoginCredentials()));
 
         UserEntity user = userRepositoryAdapter.findByUsernameOrEmail("test@gmail.com");
 
         assertThat(user.getUsername()).isEqualTo("testuser");
         assertThat(user.getEmail()).isEqualTo("test@gmail.com");
-        assertThat(user.getPasswordHash()).isEqualTo("hashedpassword");
-        verify(userRepository).findUserByUsernameOrEmail("test@gmail.com", "test@gmail.com");
+        verify(userRepository, never()).findLoginCredentialsByUsername(anyString());
+    }
+
+    @Test
+    void findByUsernameOrEmail_shouldFallBackToUsername_whenNoEmailMatches() {
+        when(userRepository.findLoginCredentialsByEmail("test@user")).thenReturn(Optional.empty());
+        when(userRepository.findLoginCredentialsByUsername("test@user"))
+                .thenReturn(Optional.of(createTestLoginCredentials()));
+
+        UserEntity user = userRepositoryAdapter.findByUsernameOrEmail("test@user");
+
+        assertThat(user.getId()).isEqualTo(1L);
     }
 
     @Test
     void findByUsernameOrEmail_shouldThrowUserNotFoundException_whenUserDoesNotExist() {
-        when(userRepository.findUserByUsernameOrEmail(anyString(), anyString()))
+        when(userRepository.findLoginCredentialsByUsername("nonexistentuser"))
                 .thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> userRepositoryAdapter.findByUsernameOrEmail("nonexistentuser"))
-                .isInstanceOf(com.example.blogs.app.api.user.exception.UserNotFoundException.class);
-
-        verify(userRepository).findUserByUsernameOrEmail("nonexistentuser", "nonexistentuser");
+                .isInstanceOf(UserNotFoundException.class);
     }
 
     @Test
     void findByUsernameOrEmail_shouldThrowFailedToFindUserException_whenDataAccessExceptionOccurs() {
         DataAccessException exception = new DataIntegrityViolationException("generic data access issue");
 
-        when(userRepository.findUserByUsernameOrEmail(anyString(), anyString()))
+        when(userRepository.findLoginCredentialsByUsername("testuser"))
                 .thenThrow(exception);
 
         assertThatThrownBy(() -> userRepositoryAdapter.findByUsernameOrEmail("testuser"))
-                .isInstanceOf(com.example.blogs.app.api.user.exception.FailedToFindUserException.class);
+                .isInstanceOf(FailedToFindUserException.class);
+    }
+
+    @Test
+    void updatePasswordHash_shouldUpdateHash_whenUserExists() {
+        when(userRepository.updatePasswordHash(1L, "newHash")).thenReturn(1);
+
+        userRepositoryAdapter.updatePasswordHash(1L, "newHash");
+
+        verify(userRepository).updatePasswordHash(1L, "newHash");
+    }
+
+    @Test
+    void updatePasswordHash_shouldThrowUserNotFoundException_whenNoRowIsUpdated() {
+        when(userRepository.updatePasswordHash(1L, "newHash")).thenReturn(0);
+
+        assertThatThrownBy(() -> userRepositoryAdapter.updatePasswordHash(1L, "newHash"))
+                .isInstanceOf(UserNotFoundException.class);
+    }
+
+    @Test
+    void updatePasswordHash_shouldThrowFailedToUpdateUserException_whenDataAccessExceptionOccurs() {
+        when(userRepository.updatePasswordHash(1L, "newHash"))
+                .thenThrow(new DataIntegrityViolationException("generic data access issue"));
+
+        assertThatThrownBy(() -> userRepositoryAdapter.updatePasswordHash(1L, "newHash"))
+                .isInstanceOf(FailedToUpdateUserException.class);
+    }
+
+    @Test
+    void findById_shouldReturnUser_whenUserExists() {
+        UserEntity user = UserEntity.builder().id(1L).username("testuser").build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        assertThat(userRepositoryAdapter.findById(1L)).isSameAs(user);
+    }
+
+    @Test
+    void findById_shouldThrowUserNotFoundException_whenUserDoesNotExist() {
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> userRepositoryAdapter.findById(1L))
+                .isInstanceOf(UserNotFoundException.class);
+    }
+
+    @Test
+    void findById_shouldThrowFailedToFindUserException_whenDataAccessExceptionOccurs() {
+        when(userRepository.findById(1L))
+                .thenThrow(new DataIntegrityViolationException("generic data access issue"));
+
+        assertThatThrownBy(() -> userRepositoryAdapter.findById(1L))
+                .isInstanceOf(FailedToFindUserException.class);
+    }
 
-        verify(userRepository).findUserByUsernameOrEmail("testuser", "testuser");
+    @Test
+    void findTokenEpoch_shouldReturnEpoch_whenUserExists() {
+        when(userRepository.findTokenEpochById(1L)).thenReturn(Optional.of(3));
+
+        assertThat(userRepositoryAdapter.findTokenEpoch(1L)).isEqualTo(3);
+    }
+
+    @Test
+    void findTokenEpoch_shouldThrowUserNotFoundException_whenUserDoesNotExist() {
+        when(userRepository.findTokenEpochById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> userRepositoryAdapter.findTokenEpoch(1L))
+                .isInstanceOf(UserNotFoundException.class);
+    }
+
+    @Test
+    void findTokenEpoch_shouldThrowFailedToFindUserException_whenDataAccessExceptionOccurs() {
+        when(userRepository.findTokenEpochById(1L))
+                .thenThrow(new DataIntegrityViolationException("generic data access issue"));
+
+        assertThatThrownBy(() -> userRepositoryAdapter.findTokenEpoch(1L))
+                .isInstanceOf(FailedToFindUserException.class);
+    }
+
+    @Test
+    void incrementTokenEpoch_shouldIncrementEpoch_whenUserExists() {
+        when(userRepository.incrementTokenEpoch(1L)).thenReturn(1);
+
+        userRepositoryAdapter.incrementTokenEpoch(1L);
+
+        verify(userRepository).incrementTokenEpoch(1L);
+    }
+
+    @Test
+    void incrementTokenEpoch_shouldThrowUserNotFoundException_whenNoRowIsUpdated() {
+        when(userRepository.incrementTokenEpoch(1L)).thenReturn(0);
+
+        assertThatThrownBy(() -> userRepositoryAdapter.incrementTokenEpoch(1L))
+                .isInstanceOf(UserNotFoundException.class);
+    }
+
+    @Test
+    void incrementTokenEpoch_shouldThrowFailedToUpdateUserException_whenDataAccessExceptionOccurs() {
+        when(userRepository.incrementTokenEpoch(1L))
+                .thenThrow(new DataIntegrityViolationException("generic data access issue"));
+
+        assertThatThrownBy(() -> userRepositoryAdapter.incrementTokenEpoch(1L))
+                .isInstanceOf(FailedToUpdateUserException.class);
     }
 
     private UserEntity createTestUserEntity() {
@@ -168,6 +320,12 @@ class UserRepositoryAdapterTest {
                 .build();
     }
 
+    private LoginCredentials createTestLoginCredentials() {
+        return new LoginCredentials(
+                1L, "testuser", "test@gmail.com", "hashedpassword", "https://example.com/avatar.png", 3
+        );
+    }
+
     private CreateUserCommand createTestUserCommand() {
         return new CreateUserCommand(
                 "testuser",
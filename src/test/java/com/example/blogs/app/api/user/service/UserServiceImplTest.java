@@ -1,7 +1,10 @@
 package com.example.blogs.app.api.user.service;
 
 import com.example.blogs.app.api.user.dto.CreateUserCommand;
+import com.example.blogs.app.api.user.dto.CreateUserResult;
 import com.example.blogs.app.api.user.entity.UserEntity;
+import com.example.blogs.app.api.user.exception.EmailTakenException;
+import com.example.blogs.app.api.user.exception.UsernameTakenException;
 import com.example.blogs.app.api.user.repository.adapter.UserRepositoryAdapter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,7 +32,7 @@ class UserServiceImplTest {
     void createUser_shouldCreateUserSuccessfully() {
         UserEntity mockUser = createTestUser();
 
-        when(userRepositoryAdapter.save(any(CreateUserCommand.class))).thenReturn(mockUser);
+        when(userRepositoryAdapter.save(any(CreateUserCommand.class))).thenReturn(CreateUserResult.created(mockUser));
 
         CreateUserCommand command = new CreateUserCommand(
                 "testuser",
@@ -44,6 +47,17 @@ class UserServiceImplTest {
         verify(userRepositoryAdapter).save(any(CreateUserCommand.class));
     }
 
+    @Test
+    void createUser_shouldThrowTakenExceptions_whenNameIsTaken() {
+        CreateUserCommand command = new CreateUserCommand("testuser", "hashedpassword", "test@gmail.com");
+
+        when(userRepositoryAdapter.save(command)).thenReturn(CreateUserResult.usernameTaken());
+        assertThatThrownBy(() -> userService.createUser(command)).isInstanceOf(UsernameTakenException.class);
+
+        when(userRepositoryAdapter.save(command)).thenReturn(CreateUserResult.emailTaken());
+        assertThatThrownBy(() -> userService.createUser(command)).isInstanceOf(EmailTakenException.class);
+    }
+
     @Test
     void findUserByUsernameOrEmail_shouldReturnUserByUsernameSuccessfully() {
         UserEntity mockUser = createTestUser();
@@ -58,6 +72,22 @@ class UserServiceImplTest {
         verify(userRepositoryAdapter).findByUsernameOrEmail("testuser");
     }
 
+    @Test
+    void isUsernameTakenAndIsEmailTaken_shouldDelegateToAdapter() {
+        when(userRepositoryAdapter.existsByUsername("testuser")).thenReturn(true);
+        when(userRepositoryAdapter.existsByEmail("test@gmail.com")).thenReturn(false);
+
+        assertThat(userService.isUsernameTaken("testuser")).isTrue();
+        assertThat(userService.isEmailTaken("test@gmail.com")).isFalse();
+    }
+
+    @Test
+    void updatePasswordHash_shouldDelegateToAdapter() {
+        userService.updatePasswordHash(1L, "newHash");
+
+        verify(userRepositoryAdapter).updatePasswordHash(1L, "newHash");
+    }
+
     UserEntity createTestUser() {
         return UserEntity.builder()
                 .username("testuser")
@@ -65,4 +95,26 @@ class UserServiceImplTest {
                 .email("test@gmail.com")
                 .build();
     }
+
+    @Test
+    void findUserById_shouldDelegateToAdapter() {
+        UserEntity user = UserEntity.builder().id(1L).username("testuser").build();
+        when(userRepositoryAdapter.findById(1L)).thenReturn(user);
+
+        assertThat(userService.findUserById(1L)).isSameAs(user);
+    }
+
+    @Test
+    void findTokenEpoch_shouldDelegateToAdapter() {
+        when(userRepositoryAdapter.findTokenEpoch(1L)).thenReturn(2);
+
+        assertThat(userService.findTokenEpoch(1L)).isEqualTo(2);
+    }
+
+    @Test
+    void incrementTokenEpoch_shouldDelegateToAdapter() {
+        userService.incrementTokenEpoch(1L);
+
+        verify(userRepositoryAdapter).incrementTokenEpoch(1L);
+    }
 }
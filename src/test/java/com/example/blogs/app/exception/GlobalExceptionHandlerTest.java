@@ -1,11 +1,13 @@
 package com.example.blogs.app.exception;
 
+import com.example.blogs.app.api.auth.exception.PasswordHashingBusyException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -201,4 +203,16 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().timestamp()).isNotNull();
         assertThat(response.getBody().timestamp()).isBeforeOrEqualTo(LocalDateTime.now());
     }
-}
\ No newline at end of file
+
+    @Test
+    void handleException_withPasswordHashingBusyException_shouldReturnServiceUnavailableWithRetryAfter() {
+        Exception exception = new PasswordHashingBusyException(3);
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleException(exception, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().status()).isEqualTo(503);
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.blogs.app.scheduling;
+
+import com.example.blogs.app.support.AbstractPostgresTest;
+import com.example.blogs.app.support.SharedPostgresContainer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs several job runners against the shared database, each with its own connections,
+ * to simulate application instances competing for the same scheduled trigger.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ClusterJobRunnerImplTest extends AbstractPostgresTest {
+
+    private static final int INSTANCES = 4;
+
+    private final List<ClusterJobRunnerImpl> runners = new ArrayList<>();
+
+    private final List<SimpleMeterRegistry> meterRegistries = new ArrayList<>();
+
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    private String jobName;
+
+    @BeforeEach
+    void setUp() {
+        jobName = "test-job-" + UUID.randomUUID();
+        taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setPoolSize(INSTANCES);
+        taskScheduler.initialize();
+        for (int i = 0; i < INSTANCES; i++) {
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            meterRegistries.add(meterRegistry);
+            runners.add(new ClusterJobRunnerImpl(
+                    createDataSourceProperties(),
+                    new JobRunRepositoryImpl(new JdbcTemplate(createDataSource())),
+                    taskScheduler,
+                    meterRegistry,
+                    "node-" + i
+            ));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskScheduler.shutdown();
+    }
+
+    @Test
+    void runExclusively_shouldRunJobOnSingleInstance_whenInstancesTriggerConcurrently() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        List<Boolean> results = runConcurrently(() -> {
+            executions.incrementAndGet();
+            sleep(Duration.ofMillis(500));
+        });
+
+        assertThat(executions).hasValue(1);
+        assertThat(results).containsOnlyOnce(true);
+    }
+
+    @Test
+    void runExclusively_shouldRunJitteredJobOnScheduler_withoutBlockingCaller() {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Thread> jobThread = new AtomicReference<>();
+
+        CompletableFuture<Boolean> result = runners.get(0).runExclusively(jobName, Duration.ofMillis(50), Duration.ZERO, () -> {
+            jobThread.set(Thread.currentThread());
+            awaitQuietly(release);
+        });
+
+        assertThat(result).isNotDone();
+        release.countDown();
+        assertThat(result.join()).isTrue();
+        assertThat(jobThread.get()).isNotNull().isNotSameAs(Thread.currentThread());
+    }
+
+    @Test
+    void runExclusively_shouldRecordLastRunWithOwningNode() throws Exception {
+        runConcurrently(() -> sleep(Duration.ofMillis(100)));
+
+        JobRunReport report = runners.get(0).lastRun(jobName).orElseThrow();
+        assertThat(report.jobName()).isEqualTo(jobName);
+        assertThat(report.ownerNode()).isIn("node-0", "node-1", "node-2", "node-3");
+        assertThat(report.succeeded()).isTrue();
+        assertThat(report.duration()).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+        assertThat(report.finishedAt()).isAfterOrEqualTo(report.startedAt());
+    }
+
+    @Test
+    void runExclusively_shouldSkipRun_whenJobRanWithinMinInterval() {
+        AtomicInteger executions = new AtomicInteger();
+
+        boolean first = runners.get(0)
+                .runExclusively(jobName, Duration.ZERO, Duration.ofMinutes(10), executions::incrementAndGet).join();
+        boolean second = runners.get(1)
+                .runExclusively(jobName, Duration.ZERO, Duration.ofMinutes(10), executions::incrementAndGet).join();
+
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(executions).hasValue(1);
+        assertThat(meterRegistries.get(1)
+                .counter("scheduled_job.runs", "job", jobName, "outcome", "skipped_recent").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void runExclusively_shouldRunAgain_whenMinIntervalHasElapsed() {
+        AtomicInteger executions = new AtomicInteger();
+
+        runners.get(0).runExclusively(jobName, Duration.ZERO, Duration.ZERO, executions::incrementAndGet).join();
+        runners.get(1).runExclusively(jobName, Duration.ZERO, Duration.ZERO, executions::incrementAndGet).join();
+
+        assertThat(executions).hasValue(2);
+        assertThat(runners.get(0).lastRun(jobName).orElseThrow().ownerNode()).isEqualTo("node-1");
+    }
+
+    @Test
+    void runExclusively_shouldReleaseLock_whenJobFails() {
+        AtomicInteger executions = new AtomicInteger();
+
+        CompletableFuture<Boolean> failed = runners.get(0).runExclusively(jobName, Duration.ZERO, Duration.ZERO, () -> {
+            throw new IllegalStateException("boom");
+        });
+        boolean rerun = runners.get(1)
+                .runExclusively(jobName, Duration.ZERO, Duration.ZERO, executions::incrementAndGet).join();
+
+        assertThatThrownBy(failed::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+
+        assertThat(rerun).isTrue();
+        assertThat(executions).hasValue(1);
+    }
+
+    private List<Boolean> runConcurrently(Runnable job) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(INSTANCES);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (ClusterJobRunnerImpl runner : runners) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return runner.runExclusively(jobName, Duration.ofMillis(50), Duration.ofMinutes(10), job).join();
+                }));
+            }
+            start.countDown();
+
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static DataSourceProperties createDataSourceProperties() {
+        var postgres = SharedPostgresContainer.getInstance();
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(postgres.getJdbcUrl());
+        properties.setUsername(postgres.getUsername());
+        properties.setPassword(postgres.getPassword());
+        return properties;
+    }
+
+    private static DriverManagerDataSource createDataSource() {
+        var postgres = SharedPostgresContainer.getInstance();
+        return new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
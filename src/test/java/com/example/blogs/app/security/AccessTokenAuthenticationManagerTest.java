@@ -0,0 +1,54 @@
+package com.example.blogs.app.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.ProviderNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccessTokenAuthenticationManagerTest {
+
+    @Mock
+    private AccessTokenVerifier accessTokenVerifier;
+
+    @InjectMocks
+    private AccessTokenAuthenticationManager authenticationManager;
+
+    @Test
+    void authenticate_shouldReturnAuthenticatedPrincipal_whenTokenIsValid() {
+        UserPrincipal principal = new UserPrincipal(1L, "john_doe", "john@example.com", "");
+        when(accessTokenVerifier.verify("token")).thenReturn(principal);
+
+        Authentication authentication = authenticationManager.authenticate(new BearerTokenAuthenticationToken("token"));
+
+        assertThat(authentication.isAuthenticated()).isTrue();
+        assertThat(authentication.getPrincipal()).isEqualTo(principal);
+        assertThat(authentication.getCredentials()).isEqualTo("token");
+    }
+
+    @Test
+    void authenticate_shouldPropagateVerifierError_whenTokenIsInvalid() {
+        when(accessTokenVerifier.verify("token")).thenThrow(new InvalidBearerTokenException("Invalid JWT token"));
+
+        assertThatThrownBy(() -> authenticationManager.authenticate(new BearerTokenAuthenticationToken("token")))
+                .isInstanceOf(InvalidBearerTokenException.class);
+    }
+
+    @Test
+    void authenticate_shouldReject_whenAuthenticationIsNotBearerToken() {
+        assertThatThrownBy(() -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken("john_doe", "password")
+        )).isInstanceOf(ProviderNotFoundException.class);
+
+        verifyNoInteractions(accessTokenVerifier);
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.blogs.app.security;
+
+import com.example.blogs.app.api.user.exception.UserNotFoundException;
+import com.example.blogs.app.config.JWTConfig;
+import com.example.blogs.app.config.JWTDecoderConfig;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.*;
+
+class AccessTokenVerifierImplTest {
+
+    private static final String SECRET_KEY = "my-very-secure-secret-key-at-least-256-bits-long-for-hs256";
+
+    private static final String OTHER_SECRET_KEY = "another-secure-secret-key-at-least-256-bits-long-for-hs256";
+
+    private static final SecretKey SIGNING_KEY =
+            new SecretKeySpec(SECRET_KEY.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+
+    private final SigningKeyRing signingKeyRing = new SigningKeyRingImpl(SECRET_KEY, "");
+
+    private final PrincipalCache principalCache = mock(PrincipalCache.class);
+
+    private JwtDecoder jwtDecoder;
+
+    private final AccessTokenVerifierImpl verifier = verifier(signingKeyRing);
+
+    @Test
+    void verify_shouldBuildPrincipalWithoutDecoder_forApplicationToken() {
+        String token = token(claims("42", "john_doe", "john@example.com", "https://cdn.example.com/john.png"));
+
+        UserPrincipal principal = verifier.verify(token);
+
+        assertThat(principal).isEqualTo(
+                new UserPrincipal(42L, "john_doe", "john@example.com", "https://cdn.example.com/john.png")
+        );
+        verifyNoInteractions(jwtDecoder);
+    }
+
+    @Test
+    void verify_shouldMatchDecoderPath_forEscapedNonAsciiAndNullClaims() {
+        Map<String, Object> claims = claims("7", "Zoë \"the\" \\ Ström 😀", "zoe@example.com", null);
+        claims.put("roles", List.of("reader", Map.of("nested", true)));
+        claims.put("epoch", 3);
+
+        UserPrincipal principal = verifier.verify(token(claims));
+
+        assertThat(principal).isEqualTo(new UserPrincipal(7L, "Zoë \"the\" \\ Ström 😀", "zoe@example.com", null));
+        verifyNoInteractions(jwtDecoder);
+    }
+
+    @Test
+    void verify_shouldAcceptNumericId() {
+        Map<String, Object> claims = claims(null, "john_doe", "john@example.com", "");
+        claims.put("id", 42L);
+
+        assertThat(verifier.verify(token(claims)).id()).isEqualTo(42L);
+    }
+
+    @Test
+    void verify_shouldFallBackToDecoder_forOtherHeaders() {
+        String token = Jwts.builder()
+                .header().type("JWT").and()
+                .subject("jti")
+                .claims(claims("42", "john_doe", "john@example.com", ""))
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SIGNING_KEY)
+                .compact();
+
+        UserPrincipal principal = verifier.verify(token);
+
+        assertThat(principal).isEqualTo(new UserPrincipal(42L, "john_doe", "john@example.com", ""));
+        verify(jwtDecoder).decode(token);
+    }
+
+    @Test
+    void verify_shouldBuildPrincipalWithoutDecoder_forKeyedToken() {
+        String token = keyedToken(signingKeyRing.activeKey(), claims("42", "john_doe", "john@example.com", ""));
+
+        assertThat(verifier.verify(token)).isEqualTo(new UserPrincipal(42L, "john_doe", "john@example.com", ""));
+        verifyNoInteractions(jwtDecoder);
+    }
+
+    @Test
+    void verify_shouldAcceptTokensOfEveryRingKey_afterRotation(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("jwt-keys.properties");
+        Files.writeString(file, "active=k1\nkeys.k1=" + SECRET_KEY + "\nkeys.k2=" + OTHER_SECRET_KEY + "\n");
+        SigningKeyRing ring = new SigningKeyRingImpl(SECRET_KEY, file.toString());
+        AccessTokenVerifierImpl rotatingVerifier = verifier(ring);
+
+        String oldToken = keyedToken(ring.find("k1"), claims("1", "old", "old@example.com", ""));
+        String newToken = keyedToken(ring.find("k2"), claims("2", "new", "new@example.com", ""));
+
+        assertThat(rotatingVerifier.verify(oldToken).id()).isEqualTo(1L);
+        assertThat(rotatingVerifier.verify(newToken).id()).isEqualTo(2L);
+        verifyNoInteractions(jwtDecoder);
+    }
+
+    @Test
+    void verify_shouldReject_whenKeyIdIsNotInRing() {
+        SigningKey unknownKey = new SigningKey("unknown", OTHER_SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        String token = keyedToken(unknownKey, claims("42", "john_doe", "john@example.com", ""));
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(InvalidBearerTokenException.class);
+        verify(jwtDecoder).decode(token);
+    }
+
+    @Test
+    void verify_shouldReject_whenKeyIdNamesAnotherRingKey() {
+        SigningKey impostor = new SigningKey(
+                signingKeyRing.activeKey().id(), OTHER_SECRET_KEY.getBytes(StandardCharsets.UTF_8)
+        );
+        String token = keyedToken(impostor, claims("42", "john_doe", "john@example.com", ""));
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(InvalidBearerTokenException.class);
+    }
+
+    @Test
+    void verify_shouldResolveSlimTokenThroughPrincipalCache_onEveryRequest() {
+        UserPrincipal before = new UserPrincipal(42L, "john_doe", "john@example.com", "");
+        UserPrincipal after = new UserPrincipal(42L, "john_doe", "john@example.com", "https://cdn.example.com/john.png");
+        when(principalCache.get(42L)).thenReturn(before, after);
+        String token = token(slimClaims());
+
+        assertThat(verifier.verify(token)).isEqualTo(before);
+        assertThat(verifier.verify(token)).isEqualTo(after);
+        verifyNoInteractions(jwtDecoder);
+    }
+
+    @Test
+    void verify_shouldResolveSlimTokenThroughPrincipalCache_onDecoderPath() {
+        UserPrincipal principal = new UserPrincipal(42L, "john_doe", "john@example.com", "");
+        when(principalCache.get(42L)).thenReturn(principal);
+        String token = Jwts.builder()
+                .header().type("JWT").and()
+                .subject("jti")
+                .claims(slimClaims())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SIGNING_KEY)
+                .compact();
+
+        assertThat(verifier.verify(token)).isEqualTo(principal);
+        verify(jwtDecoder).decode(token);
+    }
+
+    @Test
+    void verify_shouldReject_whenSlimTokenUserNoLongerExists() {
+        when(principalCache.get(42L)).thenThrow(new UserNotFoundException());
+
+        assertThatThrownBy(() -> verifier.verify(token(slimClaims())))
+                .isInstanceOf(InvalidBearerTokenException.class);
+    }
+
+    @Test
+    void verify_shouldServeRepeatedTokenFromCache() {
+        String token = Jwts.builder()
+                .header().type("JWT").and()
+                .subject("jti")
+                .claims(claims("42", "john_doe", "john@example.com", ""))
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SIGNING_KEY)
+                .compact();
+
+        UserPrincipal first = verifier.verify(token);
+        UserPrincipal second = verifier.verify(token);
+
+        assertThat(second).isEqualTo(first);
+        verify(jwtDecoder, times(1)).decode(token);
+    }
+
+    @Test
+    void verify_shouldNotServeCachedPrincipal_forTamperedTokenReusingSignature() {
+        String token = token(claims("42", "john_doe", "john@example.com", ""));
+        verifier.verify(token);
+
+        assertThatThrownBy(() -> verifier.verify(withForgedId(token))).isInstanceOf(InvalidBearerTokenException.class);
+        assertThat(verifier.verify(token).id()).isEqualTo(42L);
+    }
+
+    @Test
+    void verify_shouldReject_whenSignatureIsTampered() {
+        String token = token(claims("42", "john_doe", "john@example.com", ""));
+        char last = token.charAt(token.length() - 2);
+        String tampered = token.substring(0, token.length() - 2) + (last == 'A' ? 'B' : 'A') + token.charAt(token.length() - 1);
+
+        assertThatThrownBy(() -> verifier.verify(tampered)).isInstanceOf(InvalidBearerTokenException.class);
+    }
+
+    @Test
+    void verify_shouldReject_whenPayloadIsTampered() {
+        String token = token(claims("42", "john_doe", "john@example.com", ""));
+
+        assertThatThrownBy(() -> verifier.verify(withForgedId(token))).isInstanceOf(InvalidBearerTokenException.class);
+    }
+
+    @Test
+    void verify_shouldReject_whenSignedWithAnotherKey() {
+        SecretKey otherKey = new SecretKeySpec(OTHER_SECRET_KEY.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        String token = Jwts.builder()
+                .subject("jti")
+                .claims(claims("42", "john_doe", "john@example.com", ""))
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(otherKey)
+                .compact();
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(InvalidBearerTokenException.class);
+    }
+
+    @Test
+    void verify_shouldReject_whenTokenIsExpired() {
+        String token = Jwts.builder()
+                .subject("jti")
+                .claims(claims("42", "john_doe", "john@example.com", ""))
+                .issuedAt(Date.from(Instant.now().minusSeconds(120)))
+                .expiration(Date.from(Instant.now().minusSeconds(60)))
+                .signWith(SIGNING_KEY)
+                .compact();
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(InvalidBearerTokenException.class);
+    }
+
+    @Test
+    void verify_shouldReject_whenTokenIsNotYetValid() {
+        String token = Jwts.builder()
+                .subject("jti")
+                .claims(claims("42", "john_doe", "john@example.com", ""))
+                .issuedAt(new Date())
+                .notBefore(Date.from(Instant.now().plusSeconds(60)))
+                .expiration(Date.from(Instant.now().plusSeconds(120)))
+                .signWith(SIGNING_KEY)
+                .compact();
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(InvalidBearerTokenException.class);
+    }
+
+    @Test
+    void verify_shouldReject_whenTokenIsMalformed() {
+        String token = token(claims("42", "john_doe", "john@example.com", ""));
+
+        assertThatThrownBy(() -> verifier.verify(token.substring(0, token.lastIndexOf('.'))))
+                .isInstanceOf(InvalidBearerTokenException.class);
+        assertThatThrownBy(() -> verifier.verify("not-a-token")).isInstanceOf(InvalidBearerTokenException.class);
+    }
+
+    private AccessTokenVerifierImpl verifier(SigningKeyRing ring) {
+        JwtDecoder decoder = new JWTDecoderConfig().jwtDecoder(new JWTConfig(ring).jwtParser());
+        jwtDecoder = mock(JwtDecoder.class, delegatesTo(decoder));
+        return new AccessTokenVerifierImpl(
+                ring,
+                jwtDecoder,
+                new JWTToUserPrincipalConverter(principalCache),
+                new VerifiedTokenCacheImpl(100, new SimpleMeterRegistry()),
+                principalCache
+        );
+    }
+
+    private static Map<String, Object> claims(String id, String username, String email, String profilePictureUrl) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("id", id);
+        claims.put("username", username);
+        claims.put("email", email);
+        claims.put("profilePictureUrl", profilePictureUrl);
+        return claims;
+    }
+
+    private static Map<String, Object> slimClaims() {
+        return Map.of("id", "42", "epoch", 0, "type", "access");
+    }
+
+    private static String token(Map<String, Object> claims) {
+        return Jwts.builder()
+                .subject("jti")
+                .claims(claims)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SIGNING_KEY)
+                .compact();
+    }
+
+    private static String keyedToken(SigningKey key, Map<String, Object> claims) {
+        return Jwts.builder()
+                .header().keyId(key.id()).and()
+                .subject("jti")
+                .claims(claims)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(key.secretKey())
+                .compact();
+    }
+
+    /**
+     * Replaces the id claim while keeping the original header and signature segments.
+     */
+    private static String withForgedId(String token) {
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                        .replace("\"42\"", "\"1\"")
+                        .getBytes(StandardCharsets.UTF_8)
+        );
+        return parts[0] + "." + forgedPayload + "." + parts[2];
+    }
+}
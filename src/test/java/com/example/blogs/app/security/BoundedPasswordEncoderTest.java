@@ -0,0 +1,97 @@
+package com.example.blogs.app.security;
+
+import com.example.blogs.app.api.auth.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    void encode_shouldDelegateOnHashingThread() {
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.encode("password")).thenAnswer(invocation -> Thread.currentThread().getName());
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofSeconds(1), Duration.ofSeconds(1), meterRegistry);
+
+        String result = encoder.encode("password");
+
+        assertThat(result).startsWith("password-hashing-");
+        assertThat(meterRegistry.timer("password_hashing.duration").count()).isEqualTo(1);
+    }
+
+    @Test
+    void matches_shouldFailFast_whenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder delegate = blockingDelegate(started);
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofSeconds(10), Duration.ofSeconds(2), meterRegistry);
+
+        CompletableFuture.runAsync(() -> encoder.matches("running", "hash"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(() -> encoder.matches("queued", "hash"));
+        await(() -> meterRegistry.get("password_hashing.queue_depth").gauge().value() == 1);
+
+        assertThatThrownBy(() -> encoder.matches("rejected", "hash"))
+                .isInstanceOf(PasswordHashingBusyException.class)
+                .extracting("retryAfterSeconds").isEqualTo(2L);
+        assertThat(meterRegistry.counter("password_hashing.rejections", "reason", "queue_full").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void matches_shouldDropTask_whenQueueWaitExceedsLimit() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder delegate = blockingDelegate(started);
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofMillis(50), Duration.ofSeconds(1), meterRegistry);
+
+        CompletableFuture.runAsync(() -> encoder.matches("running", "hash"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("queued", "hash"));
+        Thread.sleep(200);
+        release.countDown();
+
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(PasswordHashingBusyException.class);
+        assertThat(meterRegistry.counter("password_hashing.rejections", "reason", "queue_timeout").count())
+                .isEqualTo(1.0);
+    }
+
+    private PasswordEncoder blockingDelegate(CountDownLatch started) {
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.matches(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        return delegate;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.blogs.app.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CalibratedPasswordEncoderTest {
+
+    @Test
+    void encode_shouldEmbedConfiguredWorkFactor() {
+        CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(5);
+
+        String hash = encoder.encode("password");
+
+        assertThat(hash).startsWith("$2a$05$");
+        assertThat(encoder.matches("password", hash)).isTrue();
+    }
+
+    @Test
+    void upgradeEncoding_shouldReturnTrue_whenStoredWorkFactorIsLower() {
+        CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(5);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("password"))).isFalse();
+    }
+
+    @Test
+    void upgradeEncoding_shouldKeepHash_whenStoredWorkFactorIsHigher() {
+        CalibratedPasswordEncoder slowerNode = new CalibratedPasswordEncoder(5);
+        String hashFromFasterNode = new CalibratedPasswordEncoder(6).encode("password");
+
+        assertThat(slowerNode.matches("password", hashFromFasterNode)).isTrue();
+        assertThat(slowerNode.upgradeEncoding(hashFromFasterNode)).isFalse();
+    }
+
+    @Test
+    void upgradeEncoding_shouldReturnFalse_forUnrecognizedHashes() {
+        CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(5);
+
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+        assertThat(encoder.upgradeEncoding("plain")).isFalse();
+    }
+
+    @Test
+    void calibrate_shouldStayWithinBounds() {
+        assertThat(CalibratedPasswordEncoder.calibrate(Duration.ZERO, 4, 6)).isEqualTo(4);
+        assertThat(CalibratedPasswordEncoder.calibrate(Duration.ofHours(1), 4, 6)).isEqualTo(6);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.blogs.app.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JtiGeneratorImplTest {
+
+    private static final String CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+
+    private final JtiGeneratorImpl jtiGenerator = new JtiGeneratorImpl();
+
+    @Test
+    void generateJti_shouldReturnCrockfordBase32OfFixedLength() {
+        String jti = jtiGenerator.generateJti();
+
+        assertThat(jti).hasSize(JtiGeneratorImpl.LENGTH).matches("[0-9A-HJKMNP-TV-Z]+");
+    }
+
+    @Test
+    void generateJti_shouldEncodeUuidVersion7WithCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = decode(jtiGenerator.generateJti());
+        long after = System.currentTimeMillis();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.getMostSignificantBits() >>> 16).isBetween(before, after);
+    }
+
+    @Test
+    void generateJti_shouldSortByCreationTime() throws InterruptedException {
+        String earlier = jtiGenerator.generateJti();
+        Thread.sleep(2);
+        String later = jtiGenerator.generateJti();
+
+        assertThat(earlier).isLessThan(later);
+    }
+
+    @Test
+    void generateJti_shouldBeUnique_acrossThreads() {
+        Set<String> jtis = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 200_000).parallel().forEach(i -> jtis.add(jtiGenerator.generateJti()));
+
+        assertThat(jtis).hasSize(200_000);
+    }
+
+    @Test
+    void encode_shouldMatchBigEndianBase32OfValue() {
+        UUID uuid = UUID.fromString("0190b2c4-5d6e-7f80-9a1b-2c3d4e5f6071");
+
+        String encoded = JtiGeneratorImpl.encode(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+
+        assertThat(decode(encoded)).isEqualTo(uuid);
+        assertThat(JtiGeneratorImpl.encode(0, 0)).isEqualTo("0".repeat(26));
+        assertThat(JtiGeneratorImpl.encode(-1, -1)).isEqualTo("7" + "Z".repeat(25));
+    }
+
+    private static UUID decode(String jti) {
+        BigInteger value = BigInteger.ZERO;
+        for (char c : jti.toCharArray()) {
+            value = value.shiftLeft(5).or(BigInteger.valueOf(CROCKFORD.indexOf(c)));
+        }
+        return new UUID(value.shiftRight(64).longValue(), value.longValue());
+    }
+}
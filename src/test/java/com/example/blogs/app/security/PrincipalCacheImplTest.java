@@ -0,0 +1,79 @@
+package com.example.blogs.app.security;
+
+import com.example.blogs.app.api.user.entity.UserEntity;
+import com.example.blogs.app.api.user.exception.UserNotFoundException;
+import com.example.blogs.app.api.user.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheImplTest {
+
+    @Mock
+    private UserService userService;
+
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCacheImpl(userService, Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void get_shouldLoadPrincipalOnce_andServeSubsequentLookupsFromCache() {
+        when(userService.findUserById(1L)).thenReturn(user("https://example.com/profile.jpg"));
+
+        UserPrincipal expected = new UserPrincipal(1L, "testuser", "test@gmail.com", "https://example.com/profile.jpg");
+        assertThat(principalCache.get(1L)).isEqualTo(expected);
+        assertThat(principalCache.get(1L)).isEqualTo(expected);
+
+        verify(userService, times(1)).findUserById(1L);
+    }
+
+    @Test
+    void get_shouldUseEmptyProfilePictureUrl_whenUserHasNone() {
+        when(userService.findUserById(1L)).thenReturn(user(null));
+
+        assertThat(principalCache.get(1L).profilePictureUrl()).isEmpty();
+    }
+
+    @Test
+    void invalidate_shouldReloadPrincipalOnNextLookup() {
+        when(userService.findUserById(1L)).thenReturn(user(null), user("https://example.com/new.jpg"));
+
+        principalCache.get(1L);
+        principalCache.invalidate(1L);
+
+        assertThat(principalCache.get(1L).profilePictureUrl()).isEqualTo("https://example.com/new.jpg");
+        verify(userService, times(2)).findUserById(1L);
+    }
+
+    @Test
+    void get_shouldPropagateUserNotFoundException_withoutCachingIt() {
+        when(userService.findUserById(1L))
+                .thenThrow(new UserNotFoundException())
+                .thenReturn(user(null));
+
+        assertThatThrownBy(() -> principalCache.get(1L))
+                .isInstanceOf(UserNotFoundException.class);
+        assertThat(principalCache.get(1L).id()).isEqualTo(1L);
+    }
+
+    private static UserEntity user(String profilePictureUrl) {
+        return UserEntity.builder()
+                .id(1L)
+                .username("testuser")
+                .email("test@gmail.com")
+                .profilePictureUrl(profilePictureUrl)
+                .build();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.blogs.app.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SigningKeyRingImplTest {
+
+    private static final String SECRET_KEY = "my-very-secure-secret-key-at-least-256-bits-long-for-hs256";
+
+    private static final String FIRST_KEY = "first-secure-secret-key-at-least-256-bits-long-for-hs256";
+
+    private static final String SECOND_KEY = "second-secure-secret-key-at-least-256-bits-long-for-hs256";
+
+    private static final String UNKEYED_HEADER_SEGMENT = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void constructor_shouldSignWithConfiguredKey_whenNoFileIsSet() {
+        SigningKeyRing ring = new SigningKeyRingImpl(SECRET_KEY, "");
+
+        SigningKey activeKey = ring.activeKey();
+        assertThat(activeKey.id()).startsWith("cfg-");
+        assertThat(activeKey.secretKey().getEncoded()).isEqualTo(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        assertThat(ring.find(activeKey.id())).isSameAs(activeKey);
+        assertThat(ring.find(null)).isSameAs(activeKey);
+    }
+
+    @Test
+    void constructor_shouldDeriveSameKeyId_forSameSecret() {
+        assertThat(new SigningKeyRingImpl(SECRET_KEY, "").activeKey().id())
+                .isEqualTo(new SigningKeyRingImpl(SECRET_KEY, "").activeKey().id())
+                .isNotEqualTo(new SigningKeyRingImpl(FIRST_KEY, "").activeKey().id());
+    }
+
+    @Test
+    void findByHeaderSegment_shouldResolveKeyedAndUnkeyedHeaders() throws IOException {
+        SigningKeyRing ring = new SigningKeyRingImpl(SECRET_KEY, writeKeyRing("k1", FIRST_KEY, SECOND_KEY).toString());
+
+        SigningKey first = ring.find("k1");
+        SigningKey second = ring.find("k2");
+        assertThat(ring.findByHeaderSegment(first.headerSegment())).isSameAs(first);
+        assertThat(ring.findByHeaderSegment(second.headerSegment())).isSameAs(second);
+        assertThat(ring.findByHeaderSegment(UNKEYED_HEADER_SEGMENT)).isSameAs(ring.find(null));
+        assertThat(ring.findByHeaderSegment("eyJhbGciOiJub25lIn0")).isNull();
+        assertThat(ring.find("unknown")).isNull();
+    }
+
+    @Test
+    void constructor_shouldLoadKeysFromFile() throws IOException {
+        SigningKeyRing ring = new SigningKeyRingImpl(SECRET_KEY, writeKeyRing("k2", FIRST_KEY, SECOND_KEY).toString());
+
+        assertThat(ring.activeKey().id()).isEqualTo("k2");
+        assertThat(ring.activeKey().secretKey().getEncoded()).isEqualTo(SECOND_KEY.getBytes(StandardCharsets.UTF_8));
+        assertThat(ring.find("k1")).isNotNull();
+        assertThat(ring.find(null).secretKey().getEncoded()).isEqualTo(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void reload_shouldSwapActiveKey_whenFileChanges() throws IOException {
+        Path file = writeKeyRing("k1", FIRST_KEY, SECOND_KEY);
+        SigningKeyRing ring = new SigningKeyRingImpl(SECRET_KEY, file.toString());
+        SigningKey first = ring.find("k1");
+
+        writeKeyRing("k2", FIRST_KEY, SECOND_KEY);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+        ring.reload();
+
+        assertThat(ring.activeKey().id()).isEqualTo("k2");
+        assertThat(ring.findByHeaderSegment(first.headerSegment()).id()).isEqualTo("k1");
+    }
+
+    @Test
+    void reload_shouldRejectTokensOfConfiguredKey_onceFileRetiresIt() throws IOException {
+        Path file = writeKeyRing("k1", FIRST_KEY, SECOND_KEY);
+        SigningKeyRing ring = new SigningKeyRingImpl(SECRET_KEY, file.toString());
+        SigningKey configured = ring.find(null);
+        assertThat(ring.find(configured.id())).isSameAs(configured);
+
+        Files.writeString(file, Files.readString(file) + "configured-key.retired=true\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+        ring.reload();
+
+        assertThat(ring.find(null)).isNull();
+        assertThat(ring.find(configured.id())).isNull();
+        assertThat(ring.findByHeaderSegment(configured.headerSegment())).isNull();
+        assertThat(ring.findByHeaderSegment(UNKEYED_HEADER_SEGMENT)).isNull();
+        assertThat(ring.find("k1")).isNotNull();
+        assertThat(ring.activeKey().id()).isEqualTo("k1");
+    }
+
+    @Test
+    void constructor_shouldFail_whenRetiredConfiguredKeyIsActive() throws IOException {
+        SigningKey configured = new SigningKeyRingImpl(SECRET_KEY, "").activeKey();
+        Path file = directory.resolve("retired-active.properties");
+        Files.writeString(file, "active=" + configured.id() + "\nkeys.k1=" + FIRST_KEY + "\nconfigured-key.retired=true\n");
+
+        assertThatThrownBy(() -> new SigningKeyRingImpl(SECRET_KEY, file.toString()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void reload_shouldKeepCurrentKeys_whenFileIsInvalid() throws IOException {
+        Path file = writeKeyRing("k1", FIRST_KEY, SECOND_KEY);
+        SigningKeyRing ring = new SigningKeyRingImpl(SECRET_KEY, file.toString());
+
+        Files.writeString(file, "active=missing\nkeys.k1=" + FIRST_KEY + "\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+        ring.reload();
+
+        assertThat(ring.activeKey().id()).isEqualTo("k1");
+        assertThat(ring.find("k2")).isNotNull();
+    }
+
+    @Test
+    void constructor_shouldFail_whenFileIsInvalid() throws IOException {
+        Path missingActive = directory.resolve("missing-active.properties");
+        Files.writeString(missingActive, "keys.k1=" + FIRST_KEY + "\n");
+        Path shortKey = directory.resolve("short-key.properties");
+        Files.writeString(shortKey, "active=k1\nkeys.k1=too-short\n");
+
+        assertThatThrownBy(() -> new SigningKeyRingImpl(SECRET_KEY, missingActive.toString()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new SigningKeyRingImpl(SECRET_KEY, shortKey.toString()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new SigningKeyRingImpl(SECRET_KEY, directory.resolve("absent").toString()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void constructor_shouldRejectShortConfiguredKey() {
+        assertThatThrownBy(() -> new SigningKeyRingImpl("too-short", ""))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Path writeKeyRing(String activeKeyId, String firstKey, String secondKey) throws IOException {
+        Path file = directory.resolve("jwt-keys.properties");
+        Files.writeString(file, "active=" + activeKeyId + "\nkeys.k1=" + firstKey + "\nkeys.k2=" + secondKey + "\n");
+        return file;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.blogs.app.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TokenHashTest {
+
+    private static final String ABC_SHA256 = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    private final Hasher hasher = new HasherImpl();
+
+    @Test
+    void hash_shouldReturnRawSha256Digest() {
+        TokenHash hash = hasher.hash("abc");
+
+        assertThat(hash.bytes()).isEqualTo(HexFormat.of().parseHex(ABC_SHA256));
+        assertThat(hash.toHex()).isEqualTo(ABC_SHA256);
+    }
+
+    @Test
+    void equals_shouldCompareDigestContent() {
+        TokenHash first = hasher.hash("token");
+        TokenHash second = TokenHash.fromHex(first.toHex());
+
+        assertThat(first).isEqualTo(second).hasSameHashCodeAs(second);
+        assertThat(first).isNotEqualTo(hasher.hash("other-token"));
+    }
+
+    @Test
+    void of_shouldCopyBytes() {
+        byte[] bytes = new byte[TokenHash.LENGTH];
+        TokenHash hash = TokenHash.of(bytes);
+
+        bytes[0] = 1;
+        hash.bytes()[1] = 1;
+
+        assertThat(hash.bytes()).containsOnly(0);
+    }
+
+    @Test
+    void of_shouldRejectDigestOfWrongLength() {
+        assertThatThrownBy(() -> TokenHash.of(new byte[16]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void word_shouldReadBigEndianLongs() {
+        TokenHash hash = TokenHash.fromHex(ABC_SHA256);
+
+        assertThat(hash.word(0)).isEqualTo(0xba7816bf8f01cfeaL);
+        assertThat(hash.word(3)).isEqualTo(0xb410ff61f20015adL);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.blogs.app.support;
+
+import com.example.blogs.app.security.HasherImpl;
+import com.example.blogs.app.security.TokenHash;
+
+/**
+ * Test helper producing distinct, deterministic token hashes from readable labels.
+ */
+public final class TokenHashes {
+
+    private static final HasherImpl HASHER = new HasherImpl();
+
+    private TokenHashes() {
+    }
+
+    /**
+     * @param label readable name of the token in the test
+     * @return SHA-256 hash of the label
+     */
+    public static TokenHash of(String label) {
+        return HASHER.hash(label);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.blogs.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_shouldReturnTrue_forEveryInsertedValue() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        IntStream.range(0, 1_000).forEach(i -> filter.put("token-" + i));
+
+        assertThat(IntStream.range(0, 1_000).allMatch(i -> filter.mightContain("token-" + i))).isTrue();
+    }
+
+    @Test
+    void mightContain_shouldReturnFalse_whenFilterIsEmpty() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        assertThat(filter.mightContain("token")).isFalse();
+    }
+
+    @Test
+    void mightContain_shouldKeepFalsePositiveRateNearConfiguredProbability() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("revoked-" + i));
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain("active-" + i))
+                .count();
+
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidArguments() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.blogs.app.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MappedDigestSetTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void contains_shouldReturnTrue_onlyForAddedDigests() throws IOException {
+        MappedDigestSet set = MappedDigestSet.create(directory.resolve("set"), 1024);
+        long[][] digests = digests(400, 1);
+
+        for (long[] digest : digests) {
+            assertThat(put(set, digest, 100)).isTrue();
+        }
+
+        assertThat(set.size()).isEqualTo(400);
+        for (long[] digest : digests) {
+            assertThat(contains(set, digest)).isTrue();
+        }
+        for (long[] digest : digests(400, 2)) {
+            assertThat(contains(set, digest)).isFalse();
+        }
+    }
+
+    @Test
+    void put_shouldReturnFalse_forDuplicateDigest() throws IOException {
+        MappedDigestSet set = MappedDigestSet.create(directory.resolve("set"), 16);
+        long[] digest = {1, 2, 3, 4};
+
+        assertThat(put(set, digest, 100)).isTrue();
+        assertThat(put(set, digest, 200)).isFalse();
+        assertThat(set.size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_shouldDistinguishDigestsThatCollideOnFirstWord() throws IOException {
+        MappedDigestSet set = MappedDigestSet.create(directory.resolve("set"), 16);
+
+        put(set, new long[]{7, 1, 1, 1}, 100);
+        put(set, new long[]{7, 1, 1, 2}, 100);
+
+        assertThat(contains(set, new long[]{7, 1, 1, 1})).isTrue();
+        assertThat(contains(set, new long[]{7, 1, 1, 2})).isTrue();
+        assertThat(contains(set, new long[]{7, 1, 1, 3})).isFalse();
+    }
+
+    @Test
+    void open_shouldRestoreEntriesAndHighWaterMark() throws IOException {
+        Path file = directory.resolve("set");
+        MappedDigestSet set = MappedDigestSet.create(file, 1024);
+        long[][] digests = digests(300, 3);
+        for (long[] digest : digests) {
+            put(set, digest, 100);
+        }
+        set.highWaterMark(42);
+        set.force();
+
+        MappedDigestSet reopened = MappedDigestSet.open(file);
+
+        assertThat(reopened.size()).isEqualTo(300);
+        assertThat(reopened.capacity()).isEqualTo(1024);
+        assertThat(reopened.highWaterMark()).isEqualTo(42);
+        for (long[] digest : digests) {
+            assertThat(contains(reopened, digest)).isTrue();
+        }
+    }
+
+    @Test
+    void open_shouldRejectFileThatIsNotADigestSet() throws IOException {
+        Path file = directory.resolve("set");
+        Files.writeString(file, "not a digest set, but long enough to hold a header of sixty-four bytes");
+
+        assertThatThrownBy(() -> MappedDigestSet.open(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rewrite_shouldDropExpiredEntries_andGrowCapacity() throws IOException {
+        Path file = directory.resolve("set");
+        MappedDigestSet set = MappedDigestSet.create(file, 16);
+        long[] expired = {1, 1, 1, 1};
+        long[] active = {2, 2, 2, 2};
+        put(set, expired, 100);
+        put(set, active, 200);
+        set.highWaterMark(7);
+
+        MappedDigestSet rewritten = set.rewrite(64, 100);
+
+        assertThat(rewritten.capacity()).isEqualTo(64);
+        assertThat(rewritten.size()).isEqualTo(1);
+        assertThat(rewritten.highWaterMark()).isEqualTo(7);
+        assertThat(contains(rewritten, active)).isTrue();
+        assertThat(contains(rewritten, expired)).isFalse();
+        assertThat(MappedDigestSet.open(file).size()).isEqualTo(1);
+        assertThat(Files.exists(directory.resolve("set.tmp"))).isFalse();
+    }
+
+    @Test
+    void countExpired_shouldCountEntriesExpiringAtOrBeforeCutoff() throws IOException {
+        MappedDigestSet set = MappedDigestSet.create(directory.resolve("set"), 16);
+        put(set, new long[]{1, 1, 1, 1}, 100);
+        put(set, new long[]{2, 2, 2, 2}, 150);
+        put(set, new long[]{3, 3, 3, 3}, 200);
+
+        assertThat(set.countExpired(99)).isZero();
+        assertThat(set.countExpired(150)).isEqualTo(2);
+        assertThat(set.size()).isEqualTo(3);
+    }
+
+    @Test
+    void needsGrowth_shouldReportMoreThanHalfLoad() throws IOException {
+        MappedDigestSet set = MappedDigestSet.create(directory.resolve("set"), 8);
+        long[][] digests = digests(5, 4);
+
+        for (int i = 0; i < 4; i++) {
+            put(set, digests[i], 100);
+        }
+        assertThat(set.needsGrowth()).isFalse();
+
+        put(set, digests[4], 100);
+        assertThat(set.needsGrowth()).isTrue();
+    }
+
+    @Test
+    void capacityFor_shouldKeepLoadAtMostHalf() {
+        assertThat(MappedDigestSet.capacityFor(0)).isEqualTo(2);
+        assertThat(MappedDigestSet.capacityFor(4)).isEqualTo(8);
+        assertThat(MappedDigestSet.capacityFor(5)).isEqualTo(16);
+        assertThat(MappedDigestSet.capacityFor(Long.MAX_VALUE / 4)).isEqualTo(MappedDigestSet.MAX_CAPACITY);
+    }
+
+    @Test
+    void create_shouldRejectCapacityThatIsNotAPowerOfTwo() {
+        assertThatThrownBy(() -> MappedDigestSet.create(directory.resolve("set"), 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static boolean put(MappedDigestSet set, long[] digest, long expiresAt) {
+        return set.put(digest[0], digest[1], digest[2], digest[3], expiresAt);
+    }
+
+    private static boolean contains(MappedDigestSet set, long[] digest) {
+        return set.contains(digest[0], digest[1], digest[2], digest[3]);
+    }
+
+    private static long[][] digests(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[][] digests = new long[count][];
+        for (int i = 0; i < count; i++) {
+            digests[i] = new long[]{random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong()};
+        }
+        return digests;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.blogs.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StripedPoolTest {
+
+    @Test
+    void acquire_shouldReuseReleasedObject_onSameThread() {
+        StripedPool<Object> pool = new StripedPool<>(4, Object::new);
+
+        Object first = pool.acquire();
+        pool.release(first);
+
+        assertThat(pool.acquire()).isSameAs(first);
+    }
+
+    @Test
+    void acquire_shouldCreateNewObject_whileSlotIsInUse() {
+        AtomicInteger created = new AtomicInteger();
+        StripedPool<Integer> pool = new StripedPool<>(4, created::incrementAndGet);
+
+        Integer first = pool.acquire();
+        Integer second = pool.acquire();
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat(created).hasValue(2);
+    }
+
+    @Test
+    void release_shouldDropObject_whenSlotIsOccupied() {
+        StripedPool<Object> pool = new StripedPool<>(1, Object::new);
+        Object first = pool.acquire();
+        Object second = pool.acquire();
+
+        pool.release(first);
+        pool.release(second);
+
+        assertThat(pool.acquire()).isSameAs(first);
+        assertThat(pool.acquire()).isNotSameAs(second);
+    }
+}